@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.core;
+
+import com.github.codeframes.hal.tooling.utils.Validate;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Selects the {@link Embeddable}'s of a resource to be embedded, such as those requested with an
+ * <code>?embed=items,author</code> query parameter, by rel and by depth. The rels selected apply at every depth, where
+ * the Embeddable's of a resource are at depth 1, those of the resources embedded within them at depth 2 and so on.
+ * Embeddable's not selected are neither given links nor serialized.
+ * <p>
+ * Where a serializer cannot be handed the selector of a response directly, such as a JSON provider invoked after a
+ * JAX-RS WriterInterceptor, the selector may instead be made current for the thread writing the response with
+ * {@link #enter(EmbedSelector)}, and restored with {@link #restore(EmbedSelector)} once written.
+ */
+public final class EmbedSelector {
+
+    /**
+     * An EmbedSelector selecting every Embeddable, at any depth.
+     */
+    public static final EmbedSelector ALL = new EmbedSelector(null, Integer.MAX_VALUE);
+
+    private static final ThreadLocal<EmbedSelector> CURRENT = new ThreadLocal<>();
+
+    private final Set<String> rels;
+    private final int maxDepth;
+
+    private EmbedSelector(@Nullable Set<String> rels, int maxDepth) {
+        this.rels = rels;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns an EmbedSelector selecting only Embeddable's of the given rels, at any depth.
+     *
+     * @param rels the rels of the Embeddable's to select
+     * @return EmbedSelector selecting only Embeddable's of rels
+     */
+    public static EmbedSelector of(String... rels) {
+        return of(Arrays.asList(Validate.notNull(rels, "rels")));
+    }
+
+    /**
+     * Returns an EmbedSelector selecting only Embeddable's of the given rels, at any depth.
+     *
+     * @param rels the rels of the Embeddable's to select
+     * @return EmbedSelector selecting only Embeddable's of rels
+     */
+    public static EmbedSelector of(Collection<String> rels) {
+        return new EmbedSelector(Collections.unmodifiableSet(new HashSet<>(Validate.notNull(rels, "rels"))), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns an EmbedSelector selecting only Embeddable's of the rels of the given comma separated list, such as the
+     * value of an <code>embed</code> query parameter, ignoring whitespace around each rel.
+     *
+     * @param rels a comma separated list of the rels of the Embeddable's to select
+     * @return EmbedSelector selecting only Embeddable's of rels or {@link #ALL} if rels is {@code null} or blank
+     */
+    public static EmbedSelector parse(@Nullable String rels) {
+        if (rels == null) {
+            return ALL;
+        }
+        final Set<String> relSet = new HashSet<>();
+        for (String rel : rels.split(",")) {
+            final String trimmedRel = rel.trim();
+            if (!trimmedRel.isEmpty()) {
+                relSet.add(trimmedRel);
+            }
+        }
+        return relSet.isEmpty() ? ALL : new EmbedSelector(Collections.unmodifiableSet(relSet), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the EmbedSelector of the response being written on the current thread, or {@code null} if none.
+     */
+    @Nullable
+    public static EmbedSelector current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given selector that of the response being written on the current thread, returning the selector it
+     * replaces, to be restored with {@link #restore(EmbedSelector)} once written.
+     *
+     * @param embedSelector the selector of the response being written
+     * @return the selector replaced or {@code null} if none
+     */
+    @Nullable
+    public static EmbedSelector enter(EmbedSelector embedSelector) {
+        Validate.notNull(embedSelector, "embedSelector");
+        final EmbedSelector previous = CURRENT.get();
+        CURRENT.set(embedSelector);
+        return previous;
+    }
+
+    /**
+     * Restores the selector of the current thread returned by {@link #enter(EmbedSelector)}.
+     *
+     * @param previous the selector returned by {@link #enter(EmbedSelector)}, possibly {@code null}
+     */
+    public static void restore(@Nullable EmbedSelector previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Returns an EmbedSelector selecting the Embeddable's of this selector up to the given depth only.
+     *
+     * @param maxDepth the depth of the most deeply nested Embeddable's to select, 0 selecting none
+     * @return EmbedSelector selecting the Embeddable's of this selector up to maxDepth
+     * @throws IllegalArgumentException if maxDepth is negative
+     */
+    public EmbedSelector withMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException(
+                    String.format("'%s' argument cannot be negative, got: %d", "maxDepth", maxDepth));
+        }
+        return new EmbedSelector(rels, maxDepth);
+    }
+
+    /**
+     * @return the depth of the most deeply nested Embeddable's selected, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return {@code true} if every Embeddable is selected, at any depth, {@code false} otherwise
+     */
+    public boolean selectsAll() {
+        return rels == null && maxDepth == Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param rel   the rel of an Embeddable
+     * @param depth the depth of the Embeddable, 1 for the Embeddable's of the resource written
+     * @return {@code true} if the Embeddable is to be embedded, {@code false} otherwise
+     */
+    public boolean selects(@Nullable String rel, int depth) {
+        return depth <= maxDepth && (rels == null || rels.contains(rel));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rels, maxDepth);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final EmbedSelector other = (EmbedSelector) obj;
+        return Objects.equals(this.rels, other.rels)
+                && this.maxDepth == other.maxDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "EmbedSelector{" +
+                "rels=" + (rels == null ? "*" : rels) +
+                ", maxDepth=" + (maxDepth == Integer.MAX_VALUE ? "*" : maxDepth) +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class EmbedSelectorTest extends Specification {
+
+    def "test ALL selects any rel at any depth"() {
+        expect:
+          EmbedSelector.ALL.selectsAll()
+          EmbedSelector.ALL.selects('items', 1)
+          EmbedSelector.ALL.selects(null, Integer.MAX_VALUE)
+          EmbedSelector.ALL.toString() == 'EmbedSelector{rels=*, maxDepth=*}'
+    }
+
+    def "test of"() {
+        given:
+          def embedSelector = EmbedSelector.of('items', 'author')
+        expect:
+          !embedSelector.selectsAll()
+          embedSelector.selects('items', 1)
+          embedSelector.selects('author', 2)
+          !embedSelector.selects('reviews', 1)
+          !embedSelector.selects(null, 1)
+          embedSelector == EmbedSelector.of(['author', 'items'])
+    }
+
+    def "test withMaxDepth"() {
+        given:
+          def embedSelector = EmbedSelector.of('items').withMaxDepth(1)
+        expect:
+          embedSelector.maxDepth == 1
+          embedSelector.selects('items', 1)
+          !embedSelector.selects('items', 2)
+          !EmbedSelector.ALL.withMaxDepth(0).selects('items', 1)
+          !EmbedSelector.ALL.withMaxDepth(2).selectsAll()
+    }
+
+    def "test withMaxDepth with negative depth"() {
+        when:
+          EmbedSelector.ALL.withMaxDepth(-1)
+        then:
+          thrown(IllegalArgumentException)
+    }
+
+    @Unroll
+    def "test parse of '#rels'"() {
+        expect:
+          EmbedSelector.parse(rels) == expected
+        where:
+          rels               || expected
+          null               || EmbedSelector.ALL
+          ''                 || EmbedSelector.ALL
+          ' , '              || EmbedSelector.ALL
+          'items'            || EmbedSelector.of('items')
+          ' items , author,' || EmbedSelector.of('items', 'author')
+    }
+
+    def "test enter and restore"() {
+        given:
+          def outer = EmbedSelector.of('items')
+          def inner = EmbedSelector.of('author')
+        expect:
+          EmbedSelector.current() == null
+        when:
+          def previousOfOuter = EmbedSelector.enter(outer)
+          def previousOfInner = EmbedSelector.enter(inner)
+        then:
+          previousOfOuter == null
+          previousOfInner.is(outer)
+          EmbedSelector.current().is(inner)
+        when:
+          EmbedSelector.restore(previousOfInner)
+        then:
+          EmbedSelector.current().is(outer)
+        when:
+          EmbedSelector.restore(previousOfOuter)
+        then:
+          EmbedSelector.current() == null
+    }
+}
@@ -16,6 +16,7 @@
 package com.github.codeframes.hal.tooling.json
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.github.codeframes.hal.tooling.core.EmbedSelector
 import com.github.codeframes.hal.tooling.core.Embeddable
 import com.github.codeframes.hal.tooling.core.Embedded
 import com.github.codeframes.hal.tooling.core.HalRepresentable
@@ -194,4 +195,55 @@ class EmbeddedResourceSerializationITest extends Specification {
 
         String name = "hal_B2"
     }
-}
\ No newline at end of file
+
+    def "test serialisation of bean with embedded resources selected by EmbedSelector"() {
+        when:
+          def json = mapper.writer()
+                  .withAttribute(EmbedSelector.class, EmbedSelector.of("items", "parts").withMaxDepth(depth))
+                  .writeValueAsString(new BeanWithNestedEmbeddedResources())
+
+        then:
+          json == JsonUtil.json_string(expected)
+
+        where:
+          depth | expected
+          0     | '{"name":"bean"}'
+          1     | '{"name":"bean","_embedded":{"items":{"name":"item"}}}'
+          2     | '{"name":"bean","_embedded":{"items":{"name":"item","_embedded":{"parts":{"name":"part"}}}}}'
+    }
+
+    def "test serialisation of bean with embedded resources selected by current EmbedSelector"() {
+        given:
+          def previous = EmbedSelector.enter(EmbedSelector.of("items"))
+
+        when:
+          def json = mapper.writeValueAsString(new BeanWithNestedEmbeddedResources())
+
+        then:
+          json == JsonUtil.json_string('{"name":"bean","_embedded":{"items":{"name":"item"}}}')
+
+        cleanup:
+          EmbedSelector.restore(previous)
+    }
+
+    static class BeanWithNestedEmbeddedResources implements HalRepresentable {
+
+        String name = "bean"
+
+        Embedded items = new Embedded("items", new NestedResource("item", new Embedded("parts", new NestedResource("part", null))))
+
+        Embedded owner = new Embedded("owner", [name: "owner"])
+    }
+
+    static class NestedResource implements HalRepresentable {
+
+        String name
+
+        Embedded parts
+
+        NestedResource(String name, Embedded parts) {
+            this.name = name
+            this.parts = parts
+        }
+    }
+}
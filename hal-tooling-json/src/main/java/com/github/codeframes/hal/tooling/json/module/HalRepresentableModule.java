@@ -21,6 +21,8 @@ import com.github.codeframes.hal.tooling.json.ser.HalRepresentableSerializerModi
 import com.github.codeframes.hal.tooling.json.ser.HalSerializers;
 import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
 import com.github.codeframes.hal.tooling.json.ser.embedded.EmbeddableMixIn;
+import com.github.codeframes.hal.tooling.json.ser.links.DefaultLinksSerializerFactory;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializerFactory;
 
 /**
  * A Jackson Module providing serialization support for {@link com.github.codeframes.hal.tooling.core.HalRepresentable HalRepresentable}
@@ -38,19 +40,31 @@ public class HalRepresentableModule extends SimpleModule {
     private static final long serialVersionUID = 3629200267739999260L;
 
     private final HalSerializationConfig serializationConfig;
+    private final LinksSerializerFactory linksSerializerFactory;
 
     public HalRepresentableModule() {
         this(HalSerializationConfig.defaultInstance());
     }
 
     public HalRepresentableModule(HalSerializationConfig serializationConfig) {
+        this(serializationConfig, DefaultLinksSerializerFactory.INSTANCE);
+    }
+
+    /**
+     * @param serializationConfig    the serialization options
+     * @param linksSerializerFactory the factory of the serializers writing the <b>_links</b> of each HalRepresentable
+     *                               type, such as one writing links from their link bindings rather than the values of
+     *                               Link properties
+     */
+    public HalRepresentableModule(HalSerializationConfig serializationConfig, LinksSerializerFactory linksSerializerFactory) {
         this.serializationConfig = serializationConfig;
+        this.linksSerializerFactory = linksSerializerFactory;
     }
 
     @Override
     public void setupModule(SetupContext context) {
         super.setupModule(context);
-        context.addBeanSerializerModifier(new HalRepresentableSerializerModifier(serializationConfig));
+        context.addBeanSerializerModifier(new HalRepresentableSerializerModifier(serializationConfig, linksSerializerFactory));
         context.addSerializers(new HalSerializers());
         context.setMixInAnnotations(Embeddable.class, EmbeddableMixIn.class);
     }
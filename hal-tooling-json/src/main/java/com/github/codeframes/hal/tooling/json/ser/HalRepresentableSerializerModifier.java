@@ -22,13 +22,22 @@ import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
 import com.github.codeframes.hal.tooling.core.HalRepresentable;
 import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
+import com.github.codeframes.hal.tooling.json.ser.links.DefaultLinksSerializerFactory;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializerFactory;
 
 public final class HalRepresentableSerializerModifier extends BeanSerializerModifier {
 
     private final HalSerializationConfig halSerializationConfig;
+    private final LinksSerializerFactory linksSerializerFactory;
 
     public HalRepresentableSerializerModifier(HalSerializationConfig halSerializationConfig) {
+        this(halSerializationConfig, DefaultLinksSerializerFactory.INSTANCE);
+    }
+
+    public HalRepresentableSerializerModifier(HalSerializationConfig halSerializationConfig,
+                                              LinksSerializerFactory linksSerializerFactory) {
         this.halSerializationConfig = halSerializationConfig;
+        this.linksSerializerFactory = linksSerializerFactory;
     }
 
     @Override
@@ -37,7 +46,7 @@ public final class HalRepresentableSerializerModifier extends BeanSerializerModi
                                               JsonSerializer<?> serializer) {
 
         if (serializer instanceof BeanSerializerBase && HalRepresentable.class.isAssignableFrom(beanDesc.getBeanClass())) {
-            return HalSerializerFactory.newHalSerializer(halSerializationConfig, (BeanSerializerBase) serializer);
+            return HalSerializerFactory.newHalSerializer(halSerializationConfig, linksSerializerFactory, (BeanSerializerBase) serializer);
         }
         return super.modifySerializer(serializationConfig, beanDesc, serializer);
     }
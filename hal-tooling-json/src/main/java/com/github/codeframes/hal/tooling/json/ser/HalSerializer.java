@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.impl.ObjectIdWriter;
 import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
 import com.github.codeframes.hal.tooling.json.ser.embedded.EmbeddedsSerializer;
+import com.github.codeframes.hal.tooling.json.ser.embedded.SelectiveEmbeddedsSerializer;
 import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer;
 
 import java.io.IOException;
@@ -86,7 +87,11 @@ public class HalSerializer extends BeanSerializerBase {
 
         serializeFields(bean, jGen, provider);
 
-        embeddedsSerializer.serializeFields(bean, jGen);
+        if (embeddedsSerializer instanceof SelectiveEmbeddedsSerializer) {
+            ((SelectiveEmbeddedsSerializer) embeddedsSerializer).serializeFields(bean, jGen, provider);
+        } else {
+            embeddedsSerializer.serializeFields(bean, jGen);
+        }
 
         jGen.writeEndObject();
     }
@@ -15,22 +15,18 @@
  */
 package com.github.codeframes.hal.tooling.json.ser;
 
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
-import com.github.codeframes.hal.tooling.core.Curie;
 import com.github.codeframes.hal.tooling.core.Embeddable;
 import com.github.codeframes.hal.tooling.json.core.BeanPropertyReader;
 import com.github.codeframes.hal.tooling.json.core.HalBeanProperties;
 import com.github.codeframes.hal.tooling.json.core.HalBeanPropertiesProvider;
-import com.github.codeframes.hal.tooling.json.core.JavaTypes;
 import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
 import com.github.codeframes.hal.tooling.json.ser.embedded.DefaultEmbeddedsSerializer;
 import com.github.codeframes.hal.tooling.json.ser.embedded.EmbeddedsSerializer;
-import com.github.codeframes.hal.tooling.json.ser.links.DefaultLinksSerializer;
+import com.github.codeframes.hal.tooling.json.ser.links.DefaultLinksSerializerFactory;
 import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer;
-import com.github.codeframes.hal.tooling.json.ser.links.processors.LinkProcessor;
-import com.github.codeframes.hal.tooling.json.ser.links.processors.LinkProcessorFactory;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,60 +38,24 @@ public final class HalSerializerFactory {
 
     static HalSerializer newHalSerializer(final HalSerializationConfig halSerializationConfig,
                                           final BeanSerializerBase serializer) {
+        return newHalSerializer(halSerializationConfig, DefaultLinksSerializerFactory.INSTANCE, serializer);
+    }
+
+    static HalSerializer newHalSerializer(final HalSerializationConfig halSerializationConfig,
+                                          final LinksSerializerFactory linksSerializerFactory,
+                                          final BeanSerializerBase serializer) {
 
         final HalBeanProperties halBeanProperties = HalBeanPropertiesProvider.getProperties(serializer);
 
         final List<BeanPropertyWriter> properties = halBeanProperties.getProperties();
         final List<BeanPropertyWriter> filteredProperties = halBeanProperties.getFilteredProperties();
 
-        final LinksSerializer linksSerializer = getLinksSerializer(halSerializationConfig, halBeanProperties);
+        final LinksSerializer linksSerializer = linksSerializerFactory.newLinksSerializer(halSerializationConfig, halBeanProperties);
         final EmbeddedsSerializer embeddedsSerializer = getEmbeddedSerializer(halBeanProperties);
 
         return new HalSerializer(serializer, properties, filteredProperties, linksSerializer, embeddedsSerializer);
     }
 
-    private static LinksSerializer getLinksSerializer(final HalSerializationConfig halSerializationConfig,
-                                                      final HalBeanProperties halBeanProperties) {
-        final LinksSerializer linksSerializer;
-        if (halBeanProperties.hasLinkProperties() || halBeanProperties.hasCurieProperties()) {
-
-            final List<BeanPropertyWriter> linkProperties = halBeanProperties.getLinkProperties();
-
-            final List<LinkProcessor> linkProcessors = new ArrayList<>(linkProperties.size());
-            for (BeanPropertyWriter linkProperty : linkProperties) {
-                linkProcessors.add(LinkProcessorFactory.newLinkProcessor(halSerializationConfig, linkProperty));
-            }
-            linksSerializer = new DefaultLinksSerializer(linkProcessors, toCuriePropertyReaders(halBeanProperties.getCurieProperties()));
-        } else {
-            linksSerializer = LinksSerializer.NO_OP;
-        }
-        return linksSerializer;
-    }
-
-    private static List<BeanPropertyReader> toCuriePropertyReaders(final List<BeanPropertyWriter> curiePropertyWriters) {
-        List<BeanPropertyReader> curiePropertyReaders = new ArrayList<>(curiePropertyWriters.size());
-        for (BeanPropertyWriter curieProperty : curiePropertyWriters) {
-            if (isCurieType(curieProperty)) {
-                curiePropertyReaders.add(new BeanPropertyReader<Curie>(curieProperty));
-            } else {
-                curiePropertyReaders.add(new BeanPropertyReader<Iterable<Curie>>(curieProperty));
-            }
-        }
-        return curiePropertyReaders;
-    }
-
-    private static boolean isCurieType(final BeanPropertyWriter property) {
-        final JavaType type = property.getType();
-        if (JavaTypes.CURIE.equals(type)) {
-            return true;
-        } else if (JavaTypes.isIterableCurieType(type)) {
-            return false;
-        } else {
-            throw new IllegalArgumentException(
-                    String.format("BeanPropertyWriter must refer to a type of: %s or an Iterable thereof", Curie.class));
-        }
-    }
-
     private static EmbeddedsSerializer getEmbeddedSerializer(final HalBeanProperties halBeanProperties) {
         if (halBeanProperties.hasEmbeddableProperties()) {
             final List<BeanPropertyReader<Embeddable>> embeddableProperties = toEmbeddablePropertyReaders(halBeanProperties.getEmbeddableProperties());
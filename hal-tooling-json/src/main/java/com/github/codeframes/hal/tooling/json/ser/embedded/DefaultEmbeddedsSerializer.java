@@ -17,13 +17,23 @@ package com.github.codeframes.hal.tooling.json.ser.embedded;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.Embeddable;
 import com.github.codeframes.hal.tooling.json.core.BeanPropertyReader;
 
 import java.io.IOException;
 import java.util.*;
 
-public class DefaultEmbeddedsSerializer implements EmbeddedsSerializer {
+/**
+ * Writes the Embeddable's of a bean as an <code>_embedded</code> field. Where an {@link EmbedSelector} is given as a
+ * per-call attribute, i.e. <code>objectMapper.writer().withAttribute(EmbedSelector.class, embedSelector)</code>, only
+ * the Embeddable's it selects are written, at the current depth of embedding. Without such an attribute the
+ * {@link EmbedSelector#current() current} EmbedSelector of the thread, if any, is honoured instead.
+ */
+public class DefaultEmbeddedsSerializer implements SelectiveEmbeddedsSerializer {
+
+    private static final Object EMBED_DEPTH_ATTRIBUTE = DefaultEmbeddedsSerializer.class.getName() + ".embedDepth";
 
     private final List<BeanPropertyReader<Embeddable>> embeddableProperties;
 
@@ -34,15 +44,51 @@ public class DefaultEmbeddedsSerializer implements EmbeddedsSerializer {
         this.embeddableProperties = new ArrayList<>(embeddableProperties);
     }
 
+    /**
+     * Returns whether the value being serialized by the given provider is written within the <code>_embedded</code>
+     * field of a bean whose Embeddable's were selected by an EmbedSelector.
+     */
+    static boolean isSelecting(SerializerProvider provider) {
+        return provider.getAttribute(EMBED_DEPTH_ATTRIBUTE) != null;
+    }
+
     @Override
     public void serializeFields(Object bean, JsonGenerator jGen) throws IOException {
-        final Map<String, Object> embeddeds = getEmbeddeds(bean);
+        final Map<String, Object> embeddeds = getEmbeddeds(bean, EmbedSelector.ALL, 1);
         if (!embeddeds.isEmpty()) {
             jGen.writeObjectField("_embedded", embeddeds);
         }
     }
 
-    private Map<String, Object> getEmbeddeds(final Object bean) throws JsonMappingException {
+    @Override
+    public void serializeFields(Object bean, JsonGenerator jGen, SerializerProvider provider) throws IOException {
+        final EmbedSelector embedSelector = getEmbedSelector(provider);
+        if (embedSelector == null || embedSelector.selectsAll()) {
+            serializeFields(bean, jGen);
+        } else {
+            // Written through the provider, rather than the generator's codec, so that the selector and depth
+            // attributes carry over to the embedded resources
+            final Integer parentDepth = (Integer) provider.getAttribute(EMBED_DEPTH_ATTRIBUTE);
+            final int depth = parentDepth == null ? 1 : parentDepth + 1;
+            final Map<String, Object> embeddeds = getEmbeddeds(bean, embedSelector, depth);
+            if (!embeddeds.isEmpty()) {
+                provider.setAttribute(EMBED_DEPTH_ATTRIBUTE, depth);
+                try {
+                    provider.defaultSerializeField("_embedded", embeddeds, jGen);
+                } finally {
+                    provider.setAttribute(EMBED_DEPTH_ATTRIBUTE, parentDepth);
+                }
+            }
+        }
+    }
+
+    private static EmbedSelector getEmbedSelector(SerializerProvider provider) {
+        final EmbedSelector embedSelector = (EmbedSelector) provider.getAttribute(EmbedSelector.class);
+        return embedSelector == null ? EmbedSelector.current() : embedSelector;
+    }
+
+    private Map<String, Object> getEmbeddeds(final Object bean, final EmbedSelector embedSelector, final int depth)
+            throws JsonMappingException {
         final Map<String, Object> embeddeds = new TreeMap<>(new Comparator<String>() {
             @Override
             public int compare(String rel1, String rel2) {
@@ -52,7 +98,7 @@ public class DefaultEmbeddedsSerializer implements EmbeddedsSerializer {
 
         for (BeanPropertyReader<Embeddable> embeddableProperty : embeddableProperties) {
             final Embeddable embeddable = embeddableProperty.get(bean);
-            if (embeddable != null) {
+            if (embeddable != null && embedSelector.selects(embeddable.getRel(), depth)) {
                 embeddeds.put(embeddable.getRel(), embeddable);
             }
         }
@@ -26,6 +26,11 @@ public class EmbeddedSerializer extends JsonSerializer<Embedded> {
 
     @Override
     public void serialize(final Embedded embedded, final JsonGenerator jGen, final SerializerProvider provider) throws IOException {
-        jGen.writeObject(embedded.getResource());
+        if (DefaultEmbeddedsSerializer.isSelecting(provider)) {
+            // Written through the provider so that the selector and depth attributes carry over to the resource
+            provider.defaultSerializeValue(embedded.getResource(), jGen);
+        } else {
+            jGen.writeObject(embedded.getResource());
+        }
     }
 }
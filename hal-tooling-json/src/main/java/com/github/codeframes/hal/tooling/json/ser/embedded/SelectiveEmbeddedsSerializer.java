@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.json.ser.embedded;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
+
+import java.io.IOException;
+
+/**
+ * An EmbeddedsSerializer writing only the Embeddable's selected by the {@link EmbedSelector} given as a per-call
+ * attribute of the SerializerProvider, where one is. The HalSerializer calls
+ * {@link #serializeFields(Object, JsonGenerator, SerializerProvider)} in place of
+ * {@link #serializeFields(Object, JsonGenerator)} for implementations of this interface.
+ */
+public interface SelectiveEmbeddedsSerializer extends EmbeddedsSerializer {
+
+    void serializeFields(Object bean, JsonGenerator jGen, SerializerProvider provider) throws IOException;
+}
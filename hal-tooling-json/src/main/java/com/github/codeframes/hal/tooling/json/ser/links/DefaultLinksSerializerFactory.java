@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.json.ser.links;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.github.codeframes.hal.tooling.core.Curie;
+import com.github.codeframes.hal.tooling.json.core.BeanPropertyReader;
+import com.github.codeframes.hal.tooling.json.core.HalBeanProperties;
+import com.github.codeframes.hal.tooling.json.core.JavaTypes;
+import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
+import com.github.codeframes.hal.tooling.json.ser.links.processors.LinkProcessor;
+import com.github.codeframes.hal.tooling.json.ser.links.processors.LinkProcessorFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates {@link DefaultLinksSerializer}'s, serializing the Link and Curie property values of beans.
+ */
+public final class DefaultLinksSerializerFactory implements LinksSerializerFactory, Serializable {
+
+    private static final long serialVersionUID = 4306361985183614620L;
+
+    public static final DefaultLinksSerializerFactory INSTANCE = new DefaultLinksSerializerFactory();
+
+    private DefaultLinksSerializerFactory() {
+    }
+
+    @Override
+    public LinksSerializer newLinksSerializer(final HalSerializationConfig halSerializationConfig,
+                                              final HalBeanProperties halBeanProperties) {
+        final LinksSerializer linksSerializer;
+        if (halBeanProperties.hasLinkProperties() || halBeanProperties.hasCurieProperties()) {
+
+            final List<BeanPropertyWriter> linkProperties = halBeanProperties.getLinkProperties();
+
+            final List<LinkProcessor> linkProcessors = new ArrayList<>(linkProperties.size());
+            for (BeanPropertyWriter linkProperty : linkProperties) {
+                linkProcessors.add(LinkProcessorFactory.newLinkProcessor(halSerializationConfig, linkProperty));
+            }
+            linksSerializer = new DefaultLinksSerializer(linkProcessors, toCuriePropertyReaders(halBeanProperties.getCurieProperties()));
+        } else {
+            linksSerializer = LinksSerializer.NO_OP;
+        }
+        return linksSerializer;
+    }
+
+    private static List<BeanPropertyReader> toCuriePropertyReaders(final List<BeanPropertyWriter> curiePropertyWriters) {
+        List<BeanPropertyReader> curiePropertyReaders = new ArrayList<>(curiePropertyWriters.size());
+        for (BeanPropertyWriter curieProperty : curiePropertyWriters) {
+            if (isCurieType(curieProperty)) {
+                curiePropertyReaders.add(new BeanPropertyReader<Curie>(curieProperty));
+            } else {
+                curiePropertyReaders.add(new BeanPropertyReader<Iterable<Curie>>(curieProperty));
+            }
+        }
+        return curiePropertyReaders;
+    }
+
+    private static boolean isCurieType(final BeanPropertyWriter property) {
+        final JavaType type = property.getType();
+        if (JavaTypes.CURIE.equals(type)) {
+            return true;
+        } else if (JavaTypes.isIterableCurieType(type)) {
+            return false;
+        } else {
+            throw new IllegalArgumentException(
+                    String.format("BeanPropertyWriter must refer to a type of: %s or an Iterable thereof", Curie.class));
+        }
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
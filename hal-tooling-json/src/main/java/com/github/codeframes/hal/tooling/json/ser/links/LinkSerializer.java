@@ -26,26 +26,49 @@ public class LinkSerializer extends JsonSerializer<Link> {
 
     @Override
     public void serialize(final Link link, final JsonGenerator jGen, final SerializerProvider provider) throws IOException {
+        writeLink(jGen, link.getHref(), link.isTemplated(), link.getType(), link.getDeprecation(), link.getName(),
+                link.getProfile(), link.getTitle(), link.getHreflang());
+    }
+
+    /**
+     * Writes a link object of the given properties, as a {@link Link} of the same properties is serialized. Allows
+     * writers of links, such as those resolving hrefs straight into the JsonGenerator, to do so without constructing a
+     * Link. Optional properties are omitted where {@code null}.
+     *
+     * @param jGen        the generator to write the link object to
+     * @param href        the href of the link
+     * @param templated   whether or not href is a URI Template
+     * @param type        the media type of the link or {@code null}
+     * @param deprecation the deprecation URL of the link or {@code null}
+     * @param name        the name of the link or {@code null}
+     * @param profile     the profile of the link or {@code null}
+     * @param title       the title of the link or {@code null}
+     * @param hreflang    the language of the link or {@code null}
+     * @throws IOException if thrown by jGen
+     */
+    public static void writeLink(final JsonGenerator jGen, final String href, final boolean templated,
+                                 final String type, final String deprecation, final String name,
+                                 final String profile, final String title, final String hreflang) throws IOException {
 
         jGen.writeStartObject();
 
-        jGen.writeStringField("href", link.getHref());
+        jGen.writeStringField("href", href);
 
-        if (link.isTemplated()) {
+        if (templated) {
             jGen.writeBooleanField("templated", true);
         }
 
-        writeNonNullStringField(jGen, "type", link.getType());
-        writeNonNullStringField(jGen, "deprecation", link.getDeprecation());
-        writeNonNullStringField(jGen, "name", link.getName());
-        writeNonNullStringField(jGen, "profile", link.getProfile());
-        writeNonNullStringField(jGen, "title", link.getTitle());
-        writeNonNullStringField(jGen, "hreflang", link.getHreflang());
+        writeNonNullStringField(jGen, "type", type);
+        writeNonNullStringField(jGen, "deprecation", deprecation);
+        writeNonNullStringField(jGen, "name", name);
+        writeNonNullStringField(jGen, "profile", profile);
+        writeNonNullStringField(jGen, "title", title);
+        writeNonNullStringField(jGen, "hreflang", hreflang);
 
         jGen.writeEndObject();
     }
 
-    private void writeNonNullStringField(final JsonGenerator jGen, final String name, final String value) throws IOException {
+    private static void writeNonNullStringField(final JsonGenerator jGen, final String name, final String value) throws IOException {
         if (value != null) {
             jGen.writeStringField(name, value);
         }
@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.json.ser.links;
+
+import com.github.codeframes.hal.tooling.json.core.HalBeanProperties;
+import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
+
+/**
+ * Creates the {@link LinksSerializer} of each HalRepresentable type, once per type.
+ */
+public interface LinksSerializerFactory {
+
+    LinksSerializer newLinksSerializer(HalSerializationConfig halSerializationConfig, HalBeanProperties halBeanProperties);
+}
@@ -38,8 +38,12 @@ public final class LinkProcessorFactory {
         }
     }
 
-    private static LinkSerializationMethod getSerializationMethod(HalSerializationConfig halSerializationConfig,
-                                                                  BeanPropertyWriter property) {
+    /**
+     * Returns the method of serialization of the given Link property, as annotated on the property or its declaring
+     * class, else the default of halSerializationConfig.
+     */
+    public static LinkSerializationMethod getSerializationMethod(HalSerializationConfig halSerializationConfig,
+                                                                 BeanPropertyWriter property) {
         LinkSerialization linkSerialization = property.getAnnotation(LinkSerialization.class);
         if (linkSerialization == null) {
             linkSerialization = property.getMember().getDeclaringClass().getAnnotation(LinkSerialization.class);
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.impl.ObjectIdWriter;
 import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
 import com.github.codeframes.hal.tooling.json.ser.embedded.EmbeddedsSerializer;
+import com.github.codeframes.hal.tooling.json.ser.embedded.SelectiveEmbeddedsSerializer;
 import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer;
 import mockit.Deencapsulation;
 import mockit.Injectable;
@@ -110,4 +111,30 @@ public class HalSerializerTest {
 
         halSerializer.serialize(bean, mockJGen, mockProvider);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSerialize_with_SelectiveEmbeddedsSerializer(@Mocked final JsonGenerator mockJGen,
+                                                                @Mocked final SerializerProvider mockProvider,
+                                                                @Mocked final SelectiveEmbeddedsSerializer mockSelectiveEmbeddedsSerializer) throws Exception {
+
+        final Object bean = new Object();
+
+        new StrictExpectations() {
+            {
+                mockJGen.getOutputContext().inRoot();
+                result = true;
+
+                mockJGen.writeStartObject();
+
+                mockLinksSerializer.serializeFields(bean, mockJGen, true);
+
+                mockSelectiveEmbeddedsSerializer.serializeFields(bean, mockJGen, mockProvider);
+
+                mockJGen.writeEndObject();
+            }
+        };
+
+        new HalSerializer(mockSerializer, properties, filteredProperties, mockLinksSerializer, mockSelectiveEmbeddedsSerializer)
+                .serialize(bean, mockJGen, mockProvider);
+    }
+}
@@ -17,6 +17,8 @@ package com.github.codeframes.hal.tooling.json.ser.embedded;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.Embeddable;
 import com.github.codeframes.hal.tooling.core.Embedded;
 import com.github.codeframes.hal.tooling.json.core.BeanPropertyReader;
@@ -82,6 +84,139 @@ public class DefaultEmbeddedsSerializerTest {
         serializer.serializeFields(bean, mockJGen);
     }
 
+    @Test
+    public void testSerializeFields_without_EmbedSelector(@Mocked final JsonGenerator mockJGen, @Mocked final SerializerProvider mockProvider) throws Exception {
+
+        final Embeddable embeddable = new Embedded<>("resource", new Object());
+
+        List<BeanPropertyReader<Embeddable>> embeddableProperties = Collections.singletonList(
+                stubProperty("resource", embeddable)
+        );
+
+        final Map<String, Object> embeddables = new LinkedHashMap<>();
+        embeddables.put("resource", embeddable);
+
+        new StrictExpectations() {
+            {
+                mockProvider.getAttribute(EmbedSelector.class);
+                result = EmbedSelector.ALL;
+
+                mockJGen.writeObjectField("_embedded", embeddables);
+
+                mockProvider.defaultSerializeField(anyString, any, mockJGen);
+                times = 0;
+            }
+        };
+
+        Object bean = new Object();
+
+        DefaultEmbeddedsSerializer serializer = new DefaultEmbeddedsSerializer(embeddableProperties);
+        serializer.serializeFields(bean, mockJGen, mockProvider);
+    }
+
+    @Test
+    public void testSerializeFields_with_EmbedSelector(@Mocked final JsonGenerator mockJGen, @Mocked final SerializerProvider mockProvider) throws Exception {
+
+        Embeddable embeddable1 = new Embedded<>("resource_1", new Object());
+        Embeddable embeddable2 = new Embedded<>("resource_2", new Object());
+
+        List<BeanPropertyReader<Embeddable>> embeddableProperties = Arrays.asList(
+                stubProperty("resource_A", embeddable1),
+                stubProperty("resource_B", embeddable2)
+        );
+
+        final Map<String, Object> embeddables = new LinkedHashMap<>();
+        embeddables.put("resource_2", embeddable2);
+
+        new StrictExpectations() {
+            {
+                mockProvider.getAttribute(EmbedSelector.class);
+                result = EmbedSelector.of("resource_2").withMaxDepth(2);
+
+                mockProvider.getAttribute(withInstanceOf(String.class));
+                result = 1;
+
+                mockProvider.setAttribute(withInstanceOf(String.class), 2);
+
+                mockProvider.defaultSerializeField("_embedded", embeddables, mockJGen);
+
+                mockProvider.setAttribute(withInstanceOf(String.class), 1);
+            }
+        };
+
+        Object bean = new Object();
+
+        DefaultEmbeddedsSerializer serializer = new DefaultEmbeddedsSerializer(embeddableProperties);
+        serializer.serializeFields(bean, mockJGen, mockProvider);
+    }
+
+    @Test
+    public void testSerializeFields_with_current_EmbedSelector(@Mocked final JsonGenerator mockJGen, @Mocked final SerializerProvider mockProvider) throws Exception {
+
+        Embeddable embeddable1 = new Embedded<>("resource_1", new Object());
+        Embeddable embeddable2 = new Embedded<>("resource_2", new Object());
+
+        List<BeanPropertyReader<Embeddable>> embeddableProperties = Arrays.asList(
+                stubProperty("resource_A", embeddable1),
+                stubProperty("resource_B", embeddable2)
+        );
+
+        final Map<String, Object> embeddables = new LinkedHashMap<>();
+        embeddables.put("resource_1", embeddable1);
+
+        new StrictExpectations() {
+            {
+                mockProvider.getAttribute(EmbedSelector.class);
+                result = null;
+
+                mockProvider.getAttribute(withInstanceOf(String.class));
+                result = null;
+
+                mockProvider.setAttribute(withInstanceOf(String.class), 1);
+
+                mockProvider.defaultSerializeField("_embedded", embeddables, mockJGen);
+
+                mockProvider.setAttribute(withInstanceOf(String.class), null);
+            }
+        };
+
+        Object bean = new Object();
+
+        DefaultEmbeddedsSerializer serializer = new DefaultEmbeddedsSerializer(embeddableProperties);
+        final EmbedSelector previous = EmbedSelector.enter(EmbedSelector.of("resource_1"));
+        try {
+            serializer.serializeFields(bean, mockJGen, mockProvider);
+        } finally {
+            EmbedSelector.restore(previous);
+        }
+    }
+
+    @Test
+    public void testSerializeFields_with_EmbedSelector_beyond_max_depth(@Mocked final JsonGenerator mockJGen, @Mocked final SerializerProvider mockProvider) throws Exception {
+
+        List<BeanPropertyReader<Embeddable>> embeddableProperties = Collections.singletonList(
+                stubProperty("resource", new Embedded<>("resource", new Object()))
+        );
+
+        new StrictExpectations() {
+            {
+                mockProvider.getAttribute(EmbedSelector.class);
+                result = EmbedSelector.ALL.withMaxDepth(1);
+
+                mockProvider.getAttribute(withInstanceOf(String.class));
+                result = 1;
+
+                mockProvider.defaultSerializeField(anyString, any, mockJGen);
+                times = 0;
+            }
+        };
+
+        Object bean = new Object();
+
+        DefaultEmbeddedsSerializer serializer = new DefaultEmbeddedsSerializer(embeddableProperties);
+        serializer.serializeFields(bean, mockJGen, mockProvider);
+    }
+
     static BeanPropertyReader<Embeddable> stubProperty(final String name, final Embeddable embeddable) {
         return new BeanPropertyReader<Embeddable>(null) {
             @Override
@@ -140,6 +140,24 @@ class JaxRsLinkInjectorITest extends Specification {
           uriParametersBindingOptionRepresentation.link == new Link("self", "/api/date/2017-01-23T00:00:00.000Z")
     }
 
+    def "test injectLinks with uri parameters binding option and strict uri encoding"() {
+        given:
+          def mockUriInfo = Mock(UriInfo) {
+              getPathParameters() >> new MultivaluedHashMap([date: '2017-01-23T00:00:00.000Z'])
+              getQueryParameters() >> new MultivaluedHashMap([:])
+          }
+          def uriParametersBindingOptionRepresentation = new UriParametersBindingOptionRepresentation()
+          def linkELContext = new JaxRsLinkELContext(uriParametersBindingOptionRepresentation, new UriParameters(mockUriInfo))
+          linkInjector = LinkInjector.instanceBuilder()
+                  .linkTemplateFactory(new JaxRsLinkTemplateFactory())
+                  .strictUriEncoding(true)
+                  .build()
+        when:
+          linkInjector.injectLinks(uriParametersBindingOptionRepresentation, linkContextResolver, linkELContext)
+        then:
+          uriParametersBindingOptionRepresentation.link == new Link("self", "/api/date/2017-01-23T00%3A00%3A00.000Z")
+    }
+
     static class UriParametersBindingOptionRepresentation implements HalRepresentable {
 
         @LinkRel(value = '/api/date/{date}', bindingOptions = [LinkRel.BindingOption.URI_PARAMETERS])
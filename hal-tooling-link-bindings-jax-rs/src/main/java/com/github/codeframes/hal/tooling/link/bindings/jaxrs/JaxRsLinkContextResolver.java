@@ -15,18 +15,48 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.jaxrs;
 
-import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.Style;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheableLinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.utils.LinkTemplateUtils;
 
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.net.URI;
 
 /**
  * A JAX-RS specific LinkContextResolver.
+ * <p>
+ * The base URI and base path of the request are normalised once, on construction, such that templates which
+ * {@link UriBuilder#path(String)} would append without encoding are resolved by string concatenation. Any other
+ * template is resolved by {@link UriBuilder}.
+ * <p>
+ * The base URI is captured from the {@link UriInfo} given on construction, the resolver never consulting it again. A
+ * resolver is therefore immutable and may be used from threads other than that of the request, such as those of
+ * parallel link injection, even where the UriInfo is a proxy onto a thread bound request.
  */
-public class JaxRsLinkContextResolver implements LinkContextResolver {
+public class JaxRsLinkContextResolver implements CacheableLinkContextResolver {
 
-    private final UriInfo uriInfo;
+    // Marks a base that must be resolved against by UriBuilder
+    private static final String UNSUPPORTED = new String();
+
+    private static final boolean[] PATH_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            PATH_CHARS[c] = true;
+            PATH_CHARS[c - 'a' + 'A'] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            PATH_CHARS[c] = true;
+        }
+        for (char c : "-._~!$&'()*+,;=:@/".toCharArray()) {
+            PATH_CHARS[c] = true;
+        }
+    }
+
+    private final URI baseUri;
+    private final String absolutePrefix;
+    private final String absolutePathPrefix;
 
     /**
      * Constructs a new JaxRsLinkContextResolver for a given request.
@@ -35,12 +65,17 @@ public class JaxRsLinkContextResolver implements LinkContextResolver {
      *                URI information
      */
     public JaxRsLinkContextResolver(UriInfo uriInfo) {
-        this.uriInfo = uriInfo;
+        this.baseUri = uriInfo.getBaseUri();
+        this.absolutePrefix = toAbsolutePrefix(baseUri);
+        this.absolutePathPrefix = toAbsolutePathPrefix(baseUri);
     }
 
     @Override
     public String resolveAbsolute(String template) {
-        return uriInfo.getBaseUriBuilder().path(template).toTemplate();
+        if (absolutePrefix != UNSUPPORTED && isPathPreserved(template)) {
+            return appendPath(absolutePrefix, template);
+        }
+        return UriBuilder.fromUri(baseUri).path(template).toTemplate();
     }
 
     @Override
@@ -48,12 +83,105 @@ public class JaxRsLinkContextResolver implements LinkContextResolver {
         if (LinkTemplateUtils.isAbsolute(template)) {
             return template;
         }
-        final String basePath = uriInfo.getBaseUri().getPath();
+        if (absolutePathPrefix != UNSUPPORTED && isPathPreserved(template)) {
+            return appendPath(absolutePathPrefix, template);
+        }
+        final String basePath = baseUri.getPath();
         return UriBuilder.fromPath(basePath).path(template).toTemplate();
     }
 
     @Override
     public String resolveRelativePath(String template) {
+        if (isPathPreserved(template)) {
+            return template;
+        }
         return UriBuilder.fromPath(template).toTemplate();
     }
+
+    /**
+     * Returns the base URI of the request for {@link Style#ABSOLUTE}, the path of the base URI for
+     * {@link Style#ABSOLUTE_PATH} and the style itself for {@link Style#RELATIVE_PATH}, which is request independent.
+     *
+     * @param style the style of resolution
+     * @return the key identifying the resolution context for style
+     */
+    @Override
+    public Object getResolutionKey(Style style) {
+        switch (style) {
+            case ABSOLUTE:
+                return baseUri;
+            case ABSOLUTE_PATH:
+                return baseUri.getPath();
+            default:
+                return style;
+        }
+    }
+
+    /**
+     * Returns the template of baseUri as built by {@link UriBuilder#toTemplate()}, or {@link #UNSUPPORTED} where
+     * baseUri has parts following its path or parts UriBuilder may normalise.
+     */
+    private static String toAbsolutePrefix(URI baseUri) {
+        if (baseUri == null
+                || baseUri.isOpaque()
+                || baseUri.getScheme() == null
+                || baseUri.getRawUserInfo() != null
+                || baseUri.getHost() == null
+                || baseUri.getRawQuery() != null
+                || baseUri.getRawFragment() != null
+                || !isPathPreserved(baseUri.getRawPath())) {
+            return UNSUPPORTED;
+        }
+        final StringBuilder sb = new StringBuilder()
+                .append(baseUri.getScheme()).append("://")
+                .append(baseUri.getHost());
+        if (baseUri.getPort() != -1) {
+            sb.append(':').append(baseUri.getPort());
+        }
+        return sb.append(baseUri.getRawPath()).toString();
+    }
+
+    private static String toAbsolutePathPrefix(URI baseUri) {
+        final String basePath = baseUri == null ? null : baseUri.getPath();
+        return basePath != null && isPathPreserved(basePath) ? basePath : UNSUPPORTED;
+    }
+
+    /**
+     * Appends path to base with a single '/' separator, as {@link UriBuilder#path(String)} does.
+     */
+    private static String appendPath(String base, String path) {
+        if (path.isEmpty()) {
+            return base;
+        }
+        final boolean baseEndsWithSlash = !base.isEmpty() && base.charAt(base.length() - 1) == '/';
+        final boolean pathStartsWithSlash = path.charAt(0) == '/';
+        if (!base.isEmpty() && !baseEndsWithSlash && !pathStartsWithSlash) {
+            return base + '/' + path;
+        } else if (baseEndsWithSlash && pathStartsWithSlash) {
+            return base + path.substring(1);
+        }
+        return base + path;
+    }
+
+    /**
+     * Returns whether {@link UriBuilder#path(String)} appends path unencoded, i.e. it consists only of characters
+     * permitted in a URI path and URI Template parameters, whose content is preserved as is.
+     */
+    private static boolean isPathPreserved(String path) {
+        boolean inParameter = false;
+        for (int i = 0; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if (inParameter) {
+                if (c == '{') {
+                    return false;
+                }
+                inParameter = c != '}';
+            } else if (c == '{') {
+                inParameter = true;
+            } else if (c >= 128 || !PATH_CHARS[c]) {
+                return false;
+            }
+        }
+        return !inParameter;
+    }
 }
@@ -26,6 +26,9 @@ import java.util.Set;
  * A stripped down implementation of a Map, to serve as a means to simply retrieve uri parameter values, used in link
  * binding EL expressions. Mutator and iteration methods are not supported and if invoked will result in an
  * {@link UnsupportedOperationException}.
+ * <p>
+ * The path and query parameters are obtained from the UriInfo on construction, so a UriParameters remains usable on
+ * threads other than that of the request, such as when links are created lazily on serialization.
  */
 public class UriParameters implements Map<String, Object> {
 
@@ -15,9 +15,12 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.jaxrs.providers;
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.HalRepresentable;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.inject.InjectionOptions;
 import com.github.codeframes.hal.tooling.link.bindings.inject.LinkInjector;
 import com.github.codeframes.hal.tooling.link.bindings.jaxrs.JaxRsLinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.jaxrs.JaxRsLinkTemplateFactory;
@@ -26,6 +29,7 @@ import com.github.codeframes.hal.tooling.link.bindings.jaxrs.context.JaxRsLinkEL
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.WriterInterceptor;
@@ -35,17 +39,60 @@ import java.io.IOException;
 /**
  * A discoverable JAX-RS extension providing a {@link LinkInjector} with resource method binding support for the
  * injection of links into {@link HalRepresentable} types.
+ * <p>
+ * Constructed with the names of query parameters, the interceptor may also inject only the links and embedded resources
+ * requested. Where the request has the links query parameter, such as <code>?links=self,next</code>, only the links of
+ * the comma separated rels given are injected. Likewise where the request has the embed query parameter, such as
+ * <code>?embed=items,author</code>, only the embedded resources of the comma separated rels given are injected, the
+ * selection being made {@link EmbedSelector#current() current} while the entity is written so that a serializer honouring
+ * it, such as that of hal-tooling-json, writes only those embedded resources too. As
+ * query parameters of these names may already carry other meanings for an API, neither is read by the discoverable
+ * instance; register an instance constructed with the names to use, e.g.
+ * {@code new LinkInjectorInterceptor(LINKS_QUERY_PARAMETER, EMBED_QUERY_PARAMETER)}, in its place.
  */
 @Provider
 public class LinkInjectorInterceptor implements WriterInterceptor {
 
+    /**
+     * The conventional query parameter of the comma separated rels of the links to inject.
+     */
+    public static final String LINKS_QUERY_PARAMETER = "links";
+
+    /**
+     * The conventional query parameter of the comma separated rels of the embedded resources to inject.
+     */
+    public static final String EMBED_QUERY_PARAMETER = "embed";
+
     private final LinkInjector linkInjector = LinkInjector.instanceBuilder()
             .linkTemplateFactory(new JaxRsLinkTemplateFactory())
             .build();
+    private final String linksQueryParameter;
+    private final String embedQueryParameter;
 
     @Context
     private UriInfo uriInfo;
 
+    /**
+     * Constructs a LinkInjectorInterceptor injecting all links and embedded resources, regardless of query parameters.
+     */
+    public LinkInjectorInterceptor() {
+        this(null, null);
+    }
+
+    /**
+     * Constructs a LinkInjectorInterceptor injecting only the links and embedded resources of the rels given by the
+     * query parameters of the given names, where present.
+     *
+     * @param linksQueryParameter the query parameter of the comma separated rels of the links to inject, or
+     *                            {@code null} to inject the links of all rels
+     * @param embedQueryParameter the query parameter of the comma separated rels of the embedded resources to inject,
+     *                            or {@code null} to inject all embedded resources
+     */
+    public LinkInjectorInterceptor(String linksQueryParameter, String embedQueryParameter) {
+        this.linksQueryParameter = linksQueryParameter;
+        this.embedQueryParameter = embedQueryParameter;
+    }
+
     /**
      * Performs link injection if the context entity is an instanceof {@link HalRepresentable} else No-Op.
      *
@@ -57,11 +104,43 @@ public class LinkInjectorInterceptor implements WriterInterceptor {
     @Override
     public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
         final Object entity = context.getEntity();
+        EmbedSelector embedSelector = EmbedSelector.ALL;
         if (entity instanceof HalRepresentable) {
             final LinkELContext linkELContext = new JaxRsLinkELContext(entity, new UriParameters(uriInfo));
             final LinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(uriInfo);
-            linkInjector.injectLinks((HalRepresentable) entity, linkContextResolver, linkELContext);
+            final InjectionOptions options = getInjectionOptions();
+            if (options.injectsAll()) {
+                linkInjector.injectLinks((HalRepresentable) entity, linkContextResolver, linkELContext);
+            } else {
+                linkInjector.injectLinks((HalRepresentable) entity, linkContextResolver, linkELContext, options);
+            }
+            embedSelector = options.getEmbedSelector();
+        }
+        if (embedSelector.selectsAll()) {
+            context.proceed();
+        } else {
+            // The entity is serialized by the MessageBodyWriter on this thread, within proceed()
+            final EmbedSelector previous = EmbedSelector.enter(embedSelector);
+            try {
+                context.proceed();
+            } finally {
+                EmbedSelector.restore(previous);
+            }
+        }
+    }
+
+    private InjectionOptions getInjectionOptions() {
+        if (linksQueryParameter == null && embedQueryParameter == null) {
+            return InjectionOptions.DEFAULT;
+        }
+        final MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
+        InjectionOptions options = InjectionOptions.DEFAULT;
+        if (linksQueryParameter != null) {
+            options = options.withRelFilter(RelFilter.parse(queryParameters.getFirst(linksQueryParameter)));
+        }
+        if (embedQueryParameter != null) {
+            options = options.withEmbedSelector(EmbedSelector.parse(queryParameters.getFirst(embedQueryParameter)));
         }
-        context.proceed();
+        return options;
     }
 }
@@ -15,10 +15,10 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.jaxrs;
 
+import com.github.codeframes.hal.tooling.link.bindings.Style;
 import mockit.Expectations;
 import mockit.Injectable;
 import mockit.Mocked;
-import mockit.Tested;
 import org.junit.Test;
 
 import javax.ws.rs.core.UriBuilder;
@@ -34,28 +34,108 @@ public class JaxRsLinkContextResolverTest {
     @Injectable
     UriInfo mockUriInfo;
 
-    @Tested
-    JaxRsLinkContextResolver linkContextResolver;
-
     @Test
     public void testResolveAbsolute() throws Exception {
 
-        final String template = "template";
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api/");
+            times = 1;
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        assertThat(linkContextResolver.resolveAbsolute("items/{id}"), is(equalTo("http://localhost:8080/api/items/{id}")));
+        assertThat(linkContextResolver.resolveAbsolute("/items{?page,size}"), is(equalTo("http://localhost:8080/api/items{?page,size}")));
+        assertThat(linkContextResolver.resolveAbsolute(""), is(equalTo("http://localhost:8080/api/")));
+    }
+
+    @Test
+    public void testResolveAbsolute_with_base_uri_without_trailing_slash() throws Exception {
+
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost/api");
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        assertThat(linkContextResolver.resolveAbsolute("items"), is(equalTo("http://localhost/api/items")));
+        assertThat(linkContextResolver.resolveAbsolute("/items"), is(equalTo("http://localhost/api/items")));
+    }
+
+    @Test
+    public void testResolveAbsolute_with_base_uri_without_path() throws Exception {
+
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("https://localhost:8443");
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        assertThat(linkContextResolver.resolveAbsolute("items"), is(equalTo("https://localhost:8443/items")));
+        assertThat(linkContextResolver.resolveAbsolute("/items"), is(equalTo("https://localhost:8443/items")));
+    }
+
+    @Test
+    public void testResolveAbsolute_with_template_requiring_encoding(@Mocked final UriBuilder mockUriBuilder) throws Exception {
+
+        final String template = "items/caf\u00e9";
 
         new Expectations() {{
-            mockUriInfo.getBaseUriBuilder().path(template).toTemplate();
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api/");
+
+            UriBuilder.fromUri(new URI("http://localhost:8080/api/")).path(template).toTemplate();
             result = "template - resolveAbsolute";
         }};
 
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
         String resolveAbsolute = linkContextResolver.resolveAbsolute(template);
         assertThat(resolveAbsolute, is(equalTo("template - resolveAbsolute")));
     }
 
     @Test
-    public void testResolveAbsolutePath(@Mocked final UriBuilder mockUriBuilder) throws Exception {
+    public void testResolveAbsolute_with_base_uri_containing_query(@Mocked final UriBuilder mockUriBuilder) throws Exception {
 
         final String template = "template";
 
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api/?q");
+
+            UriBuilder.fromUri(new URI("http://localhost:8080/api/?q")).path(template).toTemplate();
+            result = "template - resolveAbsolute";
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        String resolveAbsolute = linkContextResolver.resolveAbsolute(template);
+        assertThat(resolveAbsolute, is(equalTo("template - resolveAbsolute")));
+    }
+
+    @Test
+    public void testResolveAbsolutePath() throws Exception {
+
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api");
+            times = 1;
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        assertThat(linkContextResolver.resolveAbsolutePath("items/{id}"), is(equalTo("/api/items/{id}")));
+        assertThat(linkContextResolver.resolveAbsolutePath("/items"), is(equalTo("/api/items")));
+    }
+
+    @Test
+    public void testResolveAbsolutePath_with_template_requiring_encoding(@Mocked final UriBuilder mockUriBuilder) throws Exception {
+
+        final String template = "a template";
+
         new Expectations() {{
             mockUriInfo.getBaseUri();
             result = new URI("/api");
@@ -64,6 +144,8 @@ public class JaxRsLinkContextResolverTest {
             result = "template - resolveAbsolutePath";
         }};
 
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
         String resolveAbsolutePath = linkContextResolver.resolveAbsolutePath(template);
         assertThat(resolveAbsolutePath, is(equalTo("template - resolveAbsolutePath")));
     }
@@ -71,6 +153,13 @@ public class JaxRsLinkContextResolverTest {
     @Test
     public void testResolveAbsolutePath_with_an_absolute_template() throws Exception {
 
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api");
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
         String template = "http://localhost:8080/";
 
         String resolveAbsolutePath = linkContextResolver.resolveAbsolutePath(template);
@@ -78,16 +167,81 @@ public class JaxRsLinkContextResolverTest {
     }
 
     @Test
-    public void testResolveRelativePath(@Mocked final UriBuilder mockUriBuilder) throws Exception {
+    public void testResolve_reads_uriInfo_only_on_construction() throws Exception {
 
-        final String template = "template";
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api/");
+            times = 1;
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        assertThat(linkContextResolver.resolveAbsolute("items"), is(equalTo("http://localhost:8080/api/items")));
+        assertThat(linkContextResolver.resolveAbsolutePath("items"), is(equalTo("/api/items")));
+        assertThat(linkContextResolver.getResolutionKey(Style.ABSOLUTE), is(equalTo((Object) new URI("http://localhost:8080/api/"))));
+        assertThat(linkContextResolver.getResolutionKey(Style.ABSOLUTE_PATH), is(equalTo((Object) "/api/")));
+    }
+
+    @Test
+    public void testResolveRelativePath() throws Exception {
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        String resolveRelativePath = linkContextResolver.resolveRelativePath("items/{id}{?page}");
+        assertThat(resolveRelativePath, is(equalTo("items/{id}{?page}")));
+    }
+
+    @Test
+    public void testResolveRelativePath_with_template_requiring_encoding(@Mocked final UriBuilder mockUriBuilder) throws Exception {
+
+        final String template = "items/{id";
 
         new Expectations() {{
             UriBuilder.fromPath(template).toTemplate();
             result = "template - resolveRelativePath";
         }};
 
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
         String resolveRelativePath = linkContextResolver.resolveRelativePath(template);
         assertThat(resolveRelativePath, is(equalTo("template - resolveRelativePath")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetResolutionKey_for_absolute() throws Exception {
+
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api");
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        Object resolutionKey = linkContextResolver.getResolutionKey(Style.ABSOLUTE);
+        assertThat(resolutionKey, is(equalTo((Object) new URI("http://localhost:8080/api"))));
+    }
+
+    @Test
+    public void testGetResolutionKey_for_absolute_path() throws Exception {
+
+        new Expectations() {{
+            mockUriInfo.getBaseUri();
+            result = new URI("http://localhost:8080/api");
+        }};
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        Object resolutionKey = linkContextResolver.getResolutionKey(Style.ABSOLUTE_PATH);
+        assertThat(resolutionKey, is(equalTo((Object) "/api")));
+    }
+
+    @Test
+    public void testGetResolutionKey_for_relative_path() throws Exception {
+
+        JaxRsLinkContextResolver linkContextResolver = new JaxRsLinkContextResolver(mockUriInfo);
+
+        Object resolutionKey = linkContextResolver.getResolutionKey(Style.RELATIVE_PATH);
+        assertThat(resolutionKey, is(equalTo((Object) Style.RELATIVE_PATH)));
+    }
+}
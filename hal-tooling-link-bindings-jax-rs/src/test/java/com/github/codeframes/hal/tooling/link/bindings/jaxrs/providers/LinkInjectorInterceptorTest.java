@@ -15,19 +15,29 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.jaxrs.providers;
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.HalRepresentable;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.link.bindings.inject.InjectionOptions;
 import com.github.codeframes.hal.tooling.link.bindings.inject.LinkInjector;
 import com.github.codeframes.hal.tooling.link.bindings.jaxrs.JaxRsLinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.jaxrs.context.JaxRsLinkELContext;
 import mockit.Deencapsulation;
+import mockit.Delegate;
+import mockit.Expectations;
 import mockit.Mocked;
 import mockit.StrictExpectations;
+import mockit.Verifications;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.WriterInterceptorContext;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
 public class LinkInjectorInterceptorTest {
 
     @Mocked
@@ -43,9 +53,13 @@ public class LinkInjectorInterceptorTest {
 
     @Before
     public void setUp() throws Exception {
-        interceptor = new LinkInjectorInterceptor();
+        interceptor = newInterceptor(new LinkInjectorInterceptor());
+    }
+
+    private LinkInjectorInterceptor newInterceptor(LinkInjectorInterceptor interceptor) {
         Deencapsulation.setField(interceptor, mockLinkInjector);
         Deencapsulation.setField(interceptor, mockUriInfo);
+        return interceptor;
     }
 
     @Test
@@ -69,6 +83,176 @@ public class LinkInjectorInterceptorTest {
         interceptor.aroundWriteTo(mockContext);
     }
 
+    @Test
+    public void aroundWriteTo_with_HalRepresentable_entity_and_links_query_parameter() throws Exception {
+
+        final Representation representation = new Representation();
+        interceptor = newInterceptor(new LinkInjectorInterceptor(
+                LinkInjectorInterceptor.LINKS_QUERY_PARAMETER, LinkInjectorInterceptor.EMBED_QUERY_PARAMETER));
+
+        new Expectations() {{
+            mockUriInfo.getQueryParameters().getFirst("links");
+            result = "self,next";
+        }};
+
+        new StrictExpectations() {{
+            mockContext.getEntity();
+            result = representation;
+
+            mockLinkInjector.injectLinks(
+                    representation,
+                    withInstanceOf(JaxRsLinkContextResolver.class),
+                    withInstanceOf(JaxRsLinkELContext.class),
+                    InjectionOptions.DEFAULT.withRelFilter(RelFilter.of("self", "next"))
+            );
+
+            mockContext.proceed();
+        }};
+
+        interceptor.aroundWriteTo(mockContext);
+    }
+
+    @Test
+    public void aroundWriteTo_with_HalRepresentable_entity_and_embed_query_parameter() throws Exception {
+
+        final Representation representation = new Representation();
+        interceptor = newInterceptor(new LinkInjectorInterceptor(
+                LinkInjectorInterceptor.LINKS_QUERY_PARAMETER, LinkInjectorInterceptor.EMBED_QUERY_PARAMETER));
+
+        new Expectations() {{
+            mockUriInfo.getQueryParameters().getFirst("embed");
+            result = "items";
+        }};
+
+        new StrictExpectations() {{
+            mockContext.getEntity();
+            result = representation;
+
+            mockLinkInjector.injectLinks(
+                    representation,
+                    withInstanceOf(JaxRsLinkContextResolver.class),
+                    withInstanceOf(JaxRsLinkELContext.class),
+                    InjectionOptions.DEFAULT.withEmbedSelector(EmbedSelector.of("items"))
+            );
+
+            mockContext.proceed();
+        }};
+
+        interceptor.aroundWriteTo(mockContext);
+    }
+
+    @Test
+    public void aroundWriteTo_with_HalRepresentable_entity_and_embed_query_parameter_selects_while_written() throws Exception {
+
+        final Representation representation = new Representation();
+        interceptor = newInterceptor(new LinkInjectorInterceptor(
+                LinkInjectorInterceptor.LINKS_QUERY_PARAMETER, LinkInjectorInterceptor.EMBED_QUERY_PARAMETER));
+
+        new Expectations() {{
+            mockUriInfo.getQueryParameters().getFirst("embed");
+            result = "items";
+
+            mockContext.getEntity();
+            result = representation;
+
+            mockContext.proceed();
+            result = new Delegate<Void>() {
+                @SuppressWarnings("unused")
+                void proceed() {
+                    assertThat(EmbedSelector.current(), is(EmbedSelector.of("items")));
+                }
+            };
+            times = 1;
+        }};
+
+        interceptor.aroundWriteTo(mockContext);
+
+        assertThat(EmbedSelector.current(), is(nullValue()));
+    }
+
+    @Test
+    public void aroundWriteTo_with_HalRepresentable_entity_and_no_embed_query_parameter_selects_nothing_while_written() throws Exception {
+
+        final Representation representation = new Representation();
+        interceptor = newInterceptor(new LinkInjectorInterceptor(
+                LinkInjectorInterceptor.LINKS_QUERY_PARAMETER, LinkInjectorInterceptor.EMBED_QUERY_PARAMETER));
+
+        new Expectations() {{
+            mockContext.getEntity();
+            result = representation;
+
+            mockContext.proceed();
+            result = new Delegate<Void>() {
+                @SuppressWarnings("unused")
+                void proceed() {
+                    assertThat(EmbedSelector.current(), is(nullValue()));
+                }
+            };
+            times = 1;
+        }};
+
+        interceptor.aroundWriteTo(mockContext);
+    }
+
+    @Test
+    public void aroundWriteTo_with_HalRepresentable_entity_ignores_query_parameters_by_default() throws Exception {
+
+        final Representation representation = new Representation();
+
+        new StrictExpectations() {{
+            mockContext.getEntity();
+            result = representation;
+
+            mockLinkInjector.injectLinks(
+                    representation,
+                    withInstanceOf(JaxRsLinkContextResolver.class),
+                    withInstanceOf(JaxRsLinkELContext.class)
+            );
+
+            mockContext.proceed();
+        }};
+
+        interceptor.aroundWriteTo(mockContext);
+
+        new Verifications() {{
+            mockUriInfo.getQueryParameters().getFirst(anyString);
+            times = 0;
+        }};
+    }
+
+    @Test
+    public void aroundWriteTo_with_HalRepresentable_entity_and_configured_query_parameter() throws Exception {
+
+        final Representation representation = new Representation();
+        interceptor = newInterceptor(new LinkInjectorInterceptor(null, "expand"));
+
+        new Expectations() {{
+            mockUriInfo.getQueryParameters().getFirst("expand");
+            result = "items";
+        }};
+
+        new StrictExpectations() {{
+            mockContext.getEntity();
+            result = representation;
+
+            mockLinkInjector.injectLinks(
+                    representation,
+                    withInstanceOf(JaxRsLinkContextResolver.class),
+                    withInstanceOf(JaxRsLinkELContext.class),
+                    InjectionOptions.DEFAULT.withEmbedSelector(EmbedSelector.of("items"))
+            );
+
+            mockContext.proceed();
+        }};
+
+        interceptor.aroundWriteTo(mockContext);
+
+        new Verifications() {{
+            mockUriInfo.getQueryParameters().getFirst("links");
+            times = 0;
+        }};
+    }
+
     @Test
     public void aroundWriteTo_with_non_HalRepresentable_entity() throws Exception {
 
@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.github.codeframes.hal.tooling.core.Curie
+import com.github.codeframes.hal.tooling.core.Embedded
+import com.github.codeframes.hal.tooling.core.HalRepresentable
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.json.LinkSerialization
+import com.github.codeframes.hal.tooling.json.module.HalRepresentableModule
+import com.github.codeframes.hal.tooling.link.bindings.Binding
+import com.github.codeframes.hal.tooling.link.bindings.CurieDef
+import com.github.codeframes.hal.tooling.link.bindings.CurieDefs
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver
+import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkContextResolver
+import com.github.codeframes.hal.tooling.link.bindings.inject.LinkInjector
+import spock.lang.Specification
+
+@SuppressWarnings("GroovyUnusedDeclaration")
+class FusedHalWriterITest extends Specification {
+
+    LinkContextResolver linkContextResolver
+    FusedHalWriter halWriter
+    ObjectMapper fusedMapper
+    ObjectMapper mapper
+
+    def setup() {
+        linkContextResolver = new LiteralLinkContextResolver()
+        halWriter = FusedHalWriter.defaultInstance()
+        fusedMapper = new ObjectMapper()
+        fusedMapper.registerModule(halWriter.newModule())
+        mapper = new ObjectMapper()
+        mapper.registerModule(new HalRepresentableModule())
+    }
+
+    def "test writeValueAsString writes links of bean as injected"() {
+        expect:
+          fusedJson(bean) == injectedJson(bean.getClass().newInstance() as HalRepresentable)
+        where:
+          bean << [
+                  new LinksBean(),
+                  new CuriedLinksBean(),
+                  new ConditionalLinksBean(),
+                  new BeanWithEmbeddedResources(),
+                  new BeanWithoutLinks()
+          ]
+    }
+
+    def "test writeValueAsString writes links straight from bindings"() {
+        when:
+          def json = fusedJson(new CuriedLinksBean())
+        then:
+          json == json_string('''
+            {
+                "_links": {
+                    "self": {
+                        "href": "/api/items/1"
+                    },
+                    "curies": [
+                        {
+                            "name": "ns1",
+                            "href": "http://localhost:8080/ns1/rels/{rel}",
+                            "templated": true
+                        },
+                        {
+                            "name": "ns2",
+                            "href": "http://localhost:8080/ns2/rels/{rel}",
+                            "templated": true
+                        }
+                    ],
+                    "ns1:search": {
+                        "href": "/api/items{?q}",
+                        "templated": true,
+                        "title": "Search"
+                    }
+                },
+                "id": "1"
+            }
+            ''')
+    }
+
+    def "test writeValueAsString with caching options writes links of bean as injected"() {
+        given:
+          def expressionValueStatistics = new CacheStatistics()
+          halWriter = FusedHalWriter.instanceBuilder()
+                  .memoizeExpressionValues(expressionValueStatistics)
+                  .staticLinkCacheStatistics(new CacheStatistics())
+                  .cacheHrefs(10, new CacheStatistics())
+                  .build()
+          fusedMapper = new ObjectMapper()
+          fusedMapper.registerModule(halWriter.newModule())
+        expect:
+          fusedJson(bean) == injectedJson(bean.getClass().newInstance() as HalRepresentable)
+          expressionValueStatistics.getMissCount() > 0
+        where:
+          bean << [
+                  new CuriedLinksBean(),
+                  new BeanWithEmbeddedResources()
+          ]
+    }
+
+    def "test writeValueAsString leaves link fields unset"() {
+        given:
+          def bean = new LinksBean()
+        when:
+          fusedJson(bean)
+        then:
+          bean.self == null
+          bean.links == null
+    }
+
+    def "test writeValueAsString of bean with links not bound falls back to writing link fields"() {
+        expect:
+          fusedJson(bean) == injectedJson(bean.getClass().newInstance() as HalRepresentable)
+        where:
+          bean << [
+                  new UnboundLinkBean(),
+                  new ExplicitLinksBean()
+          ]
+    }
+
+    def "test writeValueAsString of embedded bean with links not bound resolves curies of entity"() {
+        expect:
+          fusedJson(bean) == injectedJson(bean.getClass().newInstance() as HalRepresentable)
+        where:
+          bean << [
+                  new UnboundBeanWithEmbeddedUnboundItem(),
+                  new BeanWithEmbeddedUnboundItem()
+          ]
+    }
+
+    def "test module writes link fields when not written by FusedHalWriter"() {
+        given:
+          def bean = new LinksBean()
+          LinkInjector.defaultInstance().injectLinks(bean, linkContextResolver)
+        expect:
+          fusedMapper.writeValueAsString(bean) == mapper.writeValueAsString(bean)
+    }
+
+    def "test writeValueAsString restores previous link context"() {
+        given:
+          def bean = new LinksBean()
+        when:
+          fusedJson(bean)
+        then:
+          FusedLinkContext.current() == null
+    }
+
+    String fusedJson(HalRepresentable bean) {
+        return halWriter.writeValueAsString(fusedMapper.writer(), bean, linkContextResolver)
+    }
+
+    String injectedJson(HalRepresentable bean) {
+        LinkInjector.defaultInstance().injectLinks(bean, linkContextResolver)
+        return mapper.writeValueAsString(bean)
+    }
+
+    static String json_string(String json) {
+        return json.replaceAll("\\s", "")
+    }
+
+    static class LinksBean implements HalRepresentable {
+
+        String id = "1"
+
+        @LinkRel(value = "/api/items/{id}", bindingOptions = [LinkRel.BindingOption.INSTANCE_PARAMETERS])
+        Link self
+
+        @LinkRels([
+                @LinkRel(rel = "next", value = "/api/items/2", type = "application/hal+json"),
+                @LinkRel(rel = "alternate", value = "http://localhost:8080/api/items/1", name = "abs", profile = "item",
+                        title = "Item", hreflang = "en", deprecation = "http://localhost:8080/deprecation"),
+                @LinkRel(rel = "find", value = "/api/items/{id}")
+        ])
+        List<Link> links
+    }
+
+    static class CuriedLinksBean implements HalRepresentable {
+
+        String id = "1"
+
+        @LinkRel(value = "/api/items/{id}", bindings = [@Binding(name = "id", value = '${instance.id}')])
+        Link self
+
+        @CurieDefs([
+                @CurieDef(name = "ns2", value = "http://localhost:8080/ns2/rels/{rel}"),
+                @CurieDef(name = "ns1", value = "http://localhost:8080/ns1/rels/{rel}")
+        ])
+        List<Curie> curies
+
+        @LinkRel(rel = "ns1:search", value = "/api/items{?q}", title = "Search")
+        Link search
+    }
+
+    static class ConditionalLinksBean implements HalRepresentable {
+
+        boolean enabled = false
+
+        @LinkRel(rel = "enabled", value = "/api/enabled", condition = '${instance.enabled}')
+        Link enabledLink
+
+        @LinkRel(rel = "disabled", value = "/api/disabled", condition = '${!instance.enabled}')
+        Link disabledLink
+    }
+
+    static class BeanWithEmbeddedResources implements HalRepresentable {
+
+        String id = "0"
+
+        @CurieDef(name = "doc", value = "http://localhost:8080/rels/{rel}")
+        Curie curie
+
+        @LinkRel(value = "/api/items")
+        Link self
+
+        Embedded items = new Embedded("items", [new ItemBean("1"), new ItemBean("2")])
+
+        Embedded item = new Embedded("item", new ItemBean("3"))
+    }
+
+    static class ItemBean implements HalRepresentable {
+
+        String id
+
+        @LinkRel(value = "/api/items/{id}?entity={entityId}", bindings = [
+                @Binding(name = "id", value = '${instance.id}'),
+                @Binding(name = "entityId", value = '${entity.id}')
+        ])
+        Link self
+
+        @CurieDef(name = "ignored", value = "http://localhost:8080/ignored/{rel}")
+        Curie curie
+
+        ItemBean(String id) {
+            this.id = id
+        }
+    }
+
+    static class BeanWithoutLinks implements HalRepresentable {
+
+        String id = "1"
+    }
+
+    static class UnboundLinkBean implements HalRepresentable {
+
+        @LinkRel(value = "/api/items")
+        Link self
+
+        Link other = new Link("other", "/api/other")
+    }
+
+    static class UnboundBeanWithEmbeddedUnboundItem implements HalRepresentable {
+
+        @CurieDef(name = "doc", value = "http://localhost:8080/rels/{rel}")
+        Curie curie
+
+        @LinkRel(value = "/api/items")
+        Link self
+
+        Link other = new Link("other", "/api/other")
+
+        Embedded item = new Embedded("item", new UnboundItemBean("1"))
+    }
+
+    static class BeanWithEmbeddedUnboundItem implements HalRepresentable {
+
+        @CurieDef(name = "doc", value = "http://localhost:8080/rels/{rel}")
+        Curie curie
+
+        @LinkRel(value = "/api/items")
+        Link self
+
+        Embedded items = new Embedded("items", [new UnboundItemBean("1"), new UnboundItemBean("2")])
+    }
+
+    static class UnboundItemBean implements HalRepresentable {
+
+        String id
+
+        @LinkRel(rel = "doc:item", value = "/api/items/{id}", bindings = [@Binding(name = "id", value = '${instance.id}')])
+        Link item
+
+        Link other = new Link("other", "/api/other")
+
+        UnboundItemBean(String id) {
+            this.id = id
+        }
+    }
+
+    @LinkSerialization(LinkSerialization.LinkSerializationMethod.EXPLICIT)
+    static class ExplicitLinksBean implements HalRepresentable {
+
+        @LinkRels([
+                @LinkRel(rel = "first", value = "/api/items/1"),
+                @LinkRel(rel = "second", value = "/api/items/2")
+        ])
+        List<Link> items
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.codeframes.hal.tooling.core.HalRepresentable;
+import com.github.codeframes.hal.tooling.json.module.HalRepresentableModule;
+import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializerFactory;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDef;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDefs;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
+import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.api.LinkTemplateFactory;
+import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkTemplateFactory;
+import com.github.codeframes.hal.tooling.link.bindings.context.DefaultLinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.DefaultLinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionValueCache;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.core.HrefCache;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptorFactory;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptorFactoryOptions;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes;
+import com.github.codeframes.hal.tooling.link.bindings.inject.LinkInjector;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplateExpander;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriValueResolver;
+import com.github.codeframes.hal.tooling.utils.Validate;
+
+import javax.annotation.Nullable;
+import javax.el.ExpressionFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes {@link HalRepresentable} entities in a single pass, resolving the links bound with one of
+ * ({@link LinkRel LinkRel}, {@link LinkRels LinkRels}, {@link CurieDef CurieDef}, {@link CurieDefs CurieDefs}) and
+ * writing them straight into the <b>_links</b> of the entity, and of any HalRepresentable beans embedded within it,
+ * rather than first injecting them into Link and Curie fields with a
+ * {@link LinkInjector}.
+ * <p/>
+ * The ObjectWriter's given to the writer must be of an {@link com.fasterxml.jackson.databind.ObjectMapper ObjectMapper}
+ * with a {@link HalRepresentableModule} created with the writer's {@link #getLinksSerializerFactory()} registered.
+ * <p/>
+ * Example:
+ * <pre>{@code
+ * FusedHalWriter halWriter = FusedHalWriter.defaultInstance();
+ * ObjectMapper mapper = new ObjectMapper();
+ * mapper.registerModule(halWriter.newModule());
+ * halWriter.writeValue(mapper.writer(), outputStream, entity, linkContextResolver);
+ * }</pre>
+ * Link and Curie fields are left unset. Where any bean's links cannot be written from its bindings, such as one with
+ * Link fields not annotated with {@link LinkRel LinkRel} or sharing a rel, the links of the entity, and of all beans
+ * embedded within it, are first injected, once, and the values of that bean's fields written as by default.
+ * <p/>
+ * The options of {@link LinkInjector.LinkInjectorBuilder} concerning the resolution of links are offered by
+ * {@link FusedHalWriterBuilder}, and apply equally to links injected as above. Those concerning only how links are
+ * injected into fields (compiled link setters, parallel injection, lazy links, injecting embedded beans once and the
+ * maximum embed depth) have no equivalent when writing links and are not offered; such injection uses their defaults.
+ */
+public final class FusedHalWriter {
+
+    private final ExpressionEngine expressionEngine;
+    private final UriTemplateExpander uriTemplateExpander;
+    private final CacheStatistics expressionValueCacheStatistics;
+    private final LinksSerializerFactory linksSerializerFactory;
+    private final LinkInjector linkInjector;
+
+    private FusedHalWriter(ExpressionEngine expressionEngine,
+                           UriTemplateExpander uriTemplateExpander,
+                           @Nullable CacheStatistics expressionValueCacheStatistics,
+                           LinksSerializerFactory linksSerializerFactory,
+                           LinkInjector linkInjector) {
+        this.expressionEngine = expressionEngine;
+        this.uriTemplateExpander = uriTemplateExpander;
+        this.expressionValueCacheStatistics = expressionValueCacheStatistics;
+        this.linksSerializerFactory = linksSerializerFactory;
+        this.linkInjector = linkInjector;
+    }
+
+    /**
+     * Returns a FusedHalWriter with default options.
+     */
+    public static FusedHalWriter defaultInstance() {
+        return Holder.DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Returns a builder for constructing a FusedHalWriter.
+     */
+    public static FusedHalWriterBuilder instanceBuilder() {
+        return new FusedHalWriterBuilder();
+    }
+
+    /**
+     * Returns the factory of the serializers writing the <b>_links</b> of each HalRepresentable type from its link
+     * bindings, to be given to the {@link HalRepresentableModule} of the ObjectWriter's used by this writer.
+     */
+    public LinksSerializerFactory getLinksSerializerFactory() {
+        return linksSerializerFactory;
+    }
+
+    /**
+     * Returns a new HalRepresentableModule with default serialization options, writing links with this writer.
+     */
+    public HalRepresentableModule newModule() {
+        return newModule(HalSerializationConfig.defaultInstance());
+    }
+
+    /**
+     * Returns a new HalRepresentableModule with the given serialization options, writing links with this writer.
+     *
+     * @param serializationConfig the serialization options
+     */
+    public HalRepresentableModule newModule(HalSerializationConfig serializationConfig) {
+        return new HalRepresentableModule(serializationConfig, linksSerializerFactory);
+    }
+
+    /**
+     * Writes the given entity to the given outputStream with the given objectWriter, writing links as they would be
+     * injected by {@link LinkInjector#injectLinks(HalRepresentable, LinkContextResolver)
+     * LinkInjector.injectLinks(entity, linkContextResolver)}.
+     *
+     * @param objectWriter        the writer of the entity
+     * @param outputStream        the stream to write the entity to
+     * @param entity              the bean to write
+     * @param linkContextResolver responsible for resolving link contexts which is used for link styling
+     * @throws IOException if an error occurs while writing the entity
+     */
+    public void writeValue(ObjectWriter objectWriter,
+                           OutputStream outputStream,
+                           HalRepresentable entity,
+                           LinkContextResolver linkContextResolver) throws IOException {
+        final FusedLinkContext previous = enter(entity, linkContextResolver);
+        try {
+            objectWriter.writeValue(outputStream, entity);
+        } finally {
+            FusedLinkContext.restore(previous);
+        }
+    }
+
+    /**
+     * Writes the given entity as a String with the given objectWriter, writing links as they would be injected by
+     * {@link LinkInjector#injectLinks(HalRepresentable, LinkContextResolver)
+     * LinkInjector.injectLinks(entity, linkContextResolver)}.
+     *
+     * @param objectWriter        the writer of the entity
+     * @param entity              the bean to write
+     * @param linkContextResolver responsible for resolving link contexts which is used for link styling
+     * @return the written entity
+     * @throws JsonProcessingException if an error occurs while writing the entity
+     */
+    public String writeValueAsString(ObjectWriter objectWriter,
+                                     HalRepresentable entity,
+                                     LinkContextResolver linkContextResolver) throws JsonProcessingException {
+        final FusedLinkContext previous = enter(entity, linkContextResolver);
+        try {
+            return objectWriter.writeValueAsString(entity);
+        } finally {
+            FusedLinkContext.restore(previous);
+        }
+    }
+
+    private FusedLinkContext enter(HalRepresentable entity, LinkContextResolver linkContextResolver) {
+        Validate.notNull(entity, "entity");
+        Validate.notNull(linkContextResolver, "linkContextResolver");
+        final LinkELContext linkELContext = new DefaultLinkELContext(entity);
+        final ExpressionValueCache expressionValueCache = expressionValueCacheStatistics == null
+                ? null
+                : new ExpressionValueCache(expressionValueCacheStatistics);
+        final LinkContext linkContext = new DefaultLinkContext(
+                expressionEngine, linkContextResolver, uriTemplateExpander, linkELContext, expressionValueCache);
+        return FusedLinkContext.enter(new FusedLinkContext(entity, linkELContext, linkContext, linkContextResolver, linkInjector));
+    }
+
+    /**
+     * Builder class for constructing FusedHalWriter's.
+     */
+    public static final class FusedHalWriterBuilder {
+
+        private ExpressionEngine expressionEngine;
+        private LinkTemplateFactory linkTemplateFactory;
+        private List<UriValueResolver<?>> uriValueResolvers;
+        private boolean strictUriEncoding;
+        private LinkBindingsIndexes linkBindingsIndexes;
+        private CacheStatistics expressionValueCacheStatistics;
+        private CacheStatistics staticLinkCacheStatistics;
+        private int hrefCacheMaximumSize;
+        private CacheStatistics hrefCacheStatistics;
+
+        private FusedHalWriterBuilder() {
+        }
+
+        /**
+         * Specifies the Expression Factory to use for the parsing of any expression's declared with
+         * {@link LinkRel LinkRel} annotations. Equivalent to specifying an {@link ELExpressionEngine} backed by the
+         * given expressionFactory, replacing any previously specified Expression Engine.
+         *
+         * @param expressionFactory factory to use for the parsing of expression's
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder expressionFactory(ExpressionFactory expressionFactory) {
+            Validate.notNull(expressionFactory, "FusedHalWriterBuilder.expressionFactory");
+            this.expressionEngine = new ELExpressionEngine(expressionFactory);
+            return this;
+        }
+
+        /**
+         * Specifies the Expression Engine to use for the compilation and evaluation of any expression's declared with
+         * {@link LinkRel LinkRel} annotations, replacing any previously specified Expression Factory.
+         *
+         * @param expressionEngine engine to use for the compilation and evaluation of expression's
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder expressionEngine(ExpressionEngine expressionEngine) {
+            this.expressionEngine = Validate.notNull(expressionEngine, "FusedHalWriterBuilder.expressionEngine");
+            return this;
+        }
+
+        /**
+         * Specifies the Link Template Factory to use for constructing Link Templates.
+         *
+         * @param linkTemplateFactory factory to use for the construction of Link Templates
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder linkTemplateFactory(LinkTemplateFactory linkTemplateFactory) {
+            this.linkTemplateFactory = Validate.notNull(linkTemplateFactory, "FusedHalWriterBuilder.linkTemplateFactory");
+            return this;
+        }
+
+        /**
+         * Specifies the URI Value Resolvers to use for resolving types to String representations used for parameter
+         * substitution in URI Template expansion.
+         *
+         * @param uriValueResolvers type resolvers for converting types to Strings used for parameter substitution in
+         *                          URI Template expansion.
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder uriValueResolvers(Collection<UriValueResolver<?>> uriValueResolvers) {
+            this.uriValueResolvers = new ArrayList<>(Validate.notNull(uriValueResolvers, "FusedHalWriterBuilder.uriValueResolvers"));
+            return this;
+        }
+
+        /**
+         * Specifies whether or not to percent-encode values substituted in URI Template expansion strictly as defined by
+         * RFC6570, see {@link LinkInjector.LinkInjectorBuilder#strictUriEncoding(boolean)}. Disabled by default.
+         *
+         * @param strictUriEncoding {@code true} to encode values as defined by RFC6570, {@code false} otherwise
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder strictUriEncoding(boolean strictUriEncoding) {
+            this.strictUriEncoding = strictUriEncoding;
+            return this;
+        }
+
+        /**
+         * Specifies the compile time indexes to consult for the link binding fields and bean properties of
+         * {@link HalRepresentable} types, see {@link LinkInjector.LinkInjectorBuilder#linkBindingsIndexes(LinkBindingsIndexes)}.
+         * Defaults to the indexes available to the current thread's context class loader.
+         *
+         * @param linkBindingsIndexes the indexes to consult for link binding fields and bean properties
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder linkBindingsIndexes(LinkBindingsIndexes linkBindingsIndexes) {
+            this.linkBindingsIndexes = Validate.notNull(linkBindingsIndexes, "FusedHalWriterBuilder.linkBindingsIndexes");
+            return this;
+        }
+
+        /**
+         * Specifies that the values of link binding and condition expressions are to be memoized per bean, see
+         * {@link LinkInjector.LinkInjectorBuilder#memoizeExpressionValues(CacheStatistics)}. Disabled by default.
+         *
+         * @param statistics the statistics to record expression value cache hits and misses to
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder memoizeExpressionValues(CacheStatistics statistics) {
+            this.expressionValueCacheStatistics = Validate.notNull(statistics, "FusedHalWriterBuilder.statistics");
+            return this;
+        }
+
+        /**
+         * Specifies the statistics to record hits and misses of the caches of static links to, see
+         * {@link LinkInjector.LinkInjectorBuilder#staticLinkCacheStatistics(CacheStatistics)}.
+         *
+         * @param statistics the statistics to record static link cache hits and misses to
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder staticLinkCacheStatistics(CacheStatistics statistics) {
+            this.staticLinkCacheStatistics = Validate.notNull(statistics, "FusedHalWriterBuilder.statistics");
+            return this;
+        }
+
+        /**
+         * Specifies that the hrefs of links containing EL expressions or URI Template parameters are to be cached, at
+         * most maximumSize across all links, see {@link LinkInjector.LinkInjectorBuilder#cacheHrefs(int, CacheStatistics)}.
+         * Disabled by default.
+         *
+         * @param maximumSize the maximum number of hrefs to cache
+         * @param statistics  the statistics to record href cache hits and misses to
+         * @return {@code this}
+         */
+        public FusedHalWriterBuilder cacheHrefs(int maximumSize, CacheStatistics statistics) {
+            Validate.notNull(statistics, "FusedHalWriterBuilder.statistics");
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException(
+                        String.format("'%s' argument must be greater than 0, got: %d", "FusedHalWriterBuilder.maximumSize", maximumSize));
+            }
+            this.hrefCacheMaximumSize = maximumSize;
+            this.hrefCacheStatistics = statistics;
+            return this;
+        }
+
+        /**
+         * Returns a FusedHalWriter configured with the specified options of this builder.
+         */
+        public FusedHalWriter build() {
+            final ExpressionEngine expressionEngine = this.expressionEngine == null
+                    ? new ELExpressionEngine(ExpressionFactory.newInstance())
+                    : this.expressionEngine;
+            final LinkTemplateFactory linkTemplateFactory = this.linkTemplateFactory == null
+                    ? new LiteralLinkTemplateFactory()
+                    : this.linkTemplateFactory;
+            final List<UriValueResolver<?>> uriValueResolvers = this.uriValueResolvers == null
+                    ? Collections.<UriValueResolver<?>>emptyList()
+                    : this.uriValueResolvers;
+            final LinkBindingsIndexes linkBindingsIndexes = this.linkBindingsIndexes == null
+                    ? LinkBindingsIndexes.load()
+                    : this.linkBindingsIndexes;
+            final HrefCache hrefCache = hrefCacheStatistics == null
+                    ? null
+                    : new HrefCache(hrefCacheMaximumSize, hrefCacheStatistics);
+            // Injects the links of beans whose links cannot be written from their bindings
+            final LinkInjector.LinkInjectorBuilder linkInjectorBuilder = LinkInjector.instanceBuilder()
+                    .expressionEngine(expressionEngine)
+                    .linkTemplateFactory(linkTemplateFactory)
+                    .uriValueResolvers(uriValueResolvers)
+                    .strictUriEncoding(strictUriEncoding)
+                    .linkBindingsIndexes(linkBindingsIndexes);
+            if (expressionValueCacheStatistics != null) {
+                linkInjectorBuilder.memoizeExpressionValues(expressionValueCacheStatistics);
+            }
+            if (staticLinkCacheStatistics != null) {
+                linkInjectorBuilder.staticLinkCacheStatistics(staticLinkCacheStatistics);
+            }
+            if (hrefCacheStatistics != null) {
+                linkInjectorBuilder.cacheHrefs(hrefCacheMaximumSize, hrefCacheStatistics);
+            }
+            final LinkDescriptorFactory linkDescriptorFactory = new LinkDescriptorFactory(
+                    linkTemplateFactory,
+                    expressionEngine,
+                    LinkDescriptorFactoryOptions.DEFAULT
+                            .withLinkBindingsIndexes(linkBindingsIndexes)
+                            .withStaticLinkCacheStatistics(staticLinkCacheStatistics)
+                            .withHrefCache(hrefCache));
+            return new FusedHalWriter(
+                    expressionEngine,
+                    new UriTemplateExpander(uriValueResolvers, strictUriEncoding),
+                    expressionValueCacheStatistics,
+                    new FusedLinksSerializerFactory(linkDescriptorFactory),
+                    linkInjectorBuilder.build());
+        }
+    }
+
+    private static class Holder {
+        static final FusedHalWriter DEFAULT_INSTANCE = new FusedHalWriterBuilder().build();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json;
+
+import com.github.codeframes.hal.tooling.core.HalRepresentable;
+import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.inject.LinkInjector;
+
+/**
+ * The link context of the entity being written by a {@link FusedHalWriter} on the current thread, from which the
+ * links of the entity and of any beans embedded within it are written.
+ */
+final class FusedLinkContext {
+
+    private static final ThreadLocal<FusedLinkContext> CURRENT = new ThreadLocal<>();
+
+    private final HalRepresentable entity;
+    private final LinkELContext entityLinkELContext;
+    private final LinkContext entityLinkContext;
+    private final LinkContextResolver linkContextResolver;
+    private final LinkInjector linkInjector;
+    private boolean entityInjected;
+
+    FusedLinkContext(HalRepresentable entity,
+                     LinkELContext entityLinkELContext,
+                     LinkContext entityLinkContext,
+                     LinkContextResolver linkContextResolver,
+                     LinkInjector linkInjector) {
+        this.entity = entity;
+        this.entityLinkELContext = entityLinkELContext;
+        this.entityLinkContext = entityLinkContext;
+        this.linkContextResolver = linkContextResolver;
+        this.linkInjector = linkInjector;
+    }
+
+    /**
+     * Returns the link context of the entity being written on the current thread, or {@code null} if none.
+     */
+    static FusedLinkContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given context that of the entity being written on the current thread, returning the context it
+     * replaces, to be restored with {@link #restore(FusedLinkContext)} once written.
+     */
+    static FusedLinkContext enter(FusedLinkContext context) {
+        final FusedLinkContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return previous;
+    }
+
+    static void restore(FusedLinkContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Returns the LinkContext of the given bean, either the entity or a bean embedded within it.
+     */
+    LinkContext forBean(Object bean) {
+        return bean == entity ? entityLinkContext : entityLinkContext.forBean(bean);
+    }
+
+    /**
+     * Injects the links of the entity, and of the beans embedded within it, into their fields, for beans whose links
+     * cannot be written from their bindings. The entity is injected once, as by {@link LinkInjector}, so embedded beans
+     * resolve curies declared by the entity and are not injected again for each bean written.
+     */
+    void injectLinks() {
+        if (!entityInjected) {
+            entityInjected = true;
+            linkInjector.injectLinks(entity, linkContextResolver, entityLinkELContext);
+        }
+    }
+}
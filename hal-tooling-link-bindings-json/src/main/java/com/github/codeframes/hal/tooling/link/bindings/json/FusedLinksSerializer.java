@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.codeframes.hal.tooling.core.Curie;
+import com.github.codeframes.hal.tooling.core.Rels;
+import com.github.codeframes.hal.tooling.json.ser.links.LinkSerializer;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptor;
+import com.github.codeframes.hal.tooling.link.bindings.core.Href;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes <b>_links</b> by resolving the hrefs of LinkDescriptors straight into the JsonGenerator, in the order of
+ * the DefaultLinksSerializer, when written by a {@link FusedHalWriter}. Otherwise the values of the Link properties
+ * are written, as by the DefaultLinksSerializer.
+ */
+final class FusedLinksSerializer implements LinksSerializer {
+
+    private final LinksSerializer defaultLinksSerializer;
+    private final LinkDescriptor[] linkDescriptors;
+    private final CurieDescriptor[] curieDescriptors;
+    private final int curiesIndex;
+
+    /**
+     * @param defaultLinksSerializer the serializer of the Link property values, used where no FusedHalWriter is writing
+     * @param linkDescriptors        the descriptors of the links, ordered by rel
+     * @param curieDescriptors       the descriptors of the curies, ordered by name
+     */
+    FusedLinksSerializer(LinksSerializer defaultLinksSerializer,
+                         List<LinkDescriptor> linkDescriptors,
+                         List<CurieDescriptor> curieDescriptors) {
+        this.defaultLinksSerializer = defaultLinksSerializer;
+        this.linkDescriptors = linkDescriptors.toArray(new LinkDescriptor[linkDescriptors.size()]);
+        this.curieDescriptors = curieDescriptors.toArray(new CurieDescriptor[curieDescriptors.size()]);
+        // Curies follow only a self link
+        this.curiesIndex = !linkDescriptors.isEmpty() && Rels.SELF.equals(linkDescriptors.get(0).getRel()) ? 1 : 0;
+    }
+
+    @Override
+    public void serializeFields(final Object bean, final JsonGenerator jGen, final boolean inRoot) throws IOException {
+        final FusedLinkContext fusedLinkContext = FusedLinkContext.current();
+        if (fusedLinkContext == null) {
+            defaultLinksSerializer.serializeFields(bean, jGen, inRoot);
+            return;
+        }
+
+        final LinkContext linkContext = fusedLinkContext.forBean(bean);
+        final boolean writeCuries = inRoot && curieDescriptors.length > 0;
+        boolean started = false;
+        for (int i = 0; i < linkDescriptors.length; i++) {
+            if (writeCuries && i == curiesIndex) {
+                started = startLinks(jGen, started);
+                writeCuries(jGen, linkContext);
+            }
+            final LinkDescriptor linkDescriptor = linkDescriptors[i];
+            final Href href = linkDescriptor.toHref(linkContext);
+            if (href != null) {
+                started = startLinks(jGen, started);
+                writeLink(jGen, linkDescriptor, href);
+            }
+        }
+        if (writeCuries && curiesIndex == linkDescriptors.length) {
+            started = startLinks(jGen, started);
+            writeCuries(jGen, linkContext);
+        }
+        if (started) {
+            jGen.writeEndObject();
+        }
+    }
+
+    private static boolean startLinks(final JsonGenerator jGen, final boolean started) throws IOException {
+        if (!started) {
+            jGen.writeObjectFieldStart("_links");
+        }
+        return true;
+    }
+
+    private void writeCuries(final JsonGenerator jGen, final LinkContext linkContext) throws IOException {
+        final List<Curie> curies = new ArrayList<>(curieDescriptors.length);
+        for (CurieDescriptor curieDescriptor : curieDescriptors) {
+            curies.add(curieDescriptor.toCurie(linkContext));
+        }
+        // Written by the serializer of the ObjectWriter, as by the DefaultLinksSerializer
+        jGen.writeObjectField(Rels.CURIES, curies);
+    }
+
+    private static void writeLink(final JsonGenerator jGen, final LinkDescriptor linkDescriptor, final Href href) throws IOException {
+        jGen.writeFieldName(linkDescriptor.getRel());
+        LinkSerializer.writeLink(jGen, href.getValue(), href.isTemplated(), linkDescriptor.getType(),
+                linkDescriptor.getDeprecation(), linkDescriptor.getName(), linkDescriptor.getProfile(),
+                linkDescriptor.getTitle(), linkDescriptor.getHreflang());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.github.codeframes.hal.tooling.json.LinkSerialization.LinkSerializationMethod;
+import com.github.codeframes.hal.tooling.json.core.HalBeanProperties;
+import com.github.codeframes.hal.tooling.json.core.JavaTypes;
+import com.github.codeframes.hal.tooling.json.core.RelComparator;
+import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig;
+import com.github.codeframes.hal.tooling.json.ser.links.DefaultLinksSerializerFactory;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializerFactory;
+import com.github.codeframes.hal.tooling.json.ser.links.processors.LinkProcessorFactory;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDef;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDefs;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptor;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptorFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates {@link FusedLinksSerializer}'s for HalRepresentable types whose Link and Curie properties are all bound
+ * with {@link LinkRel LinkRel}, {@link LinkRels LinkRels}, {@link CurieDef CurieDef} or {@link CurieDefs CurieDefs}
+ * annotations. Types with any other Link or Curie properties, or with {@link LinkRels LinkRels} properties serialized
+ * explicitly, are given the serializer of the {@link DefaultLinksSerializerFactory}, injecting their links first.
+ */
+final class FusedLinksSerializerFactory implements LinksSerializerFactory {
+
+    private static final Comparator<LinkDescriptor> REL_ORDER = new Comparator<LinkDescriptor>() {
+
+        private final RelComparator relComparator = new RelComparator();
+
+        @Override
+        public int compare(LinkDescriptor linkDescriptor1, LinkDescriptor linkDescriptor2) {
+            return relComparator.compare(linkDescriptor1.getRel(), linkDescriptor2.getRel());
+        }
+    };
+
+    private static final Comparator<CurieDescriptor> NAME_ORDER = new Comparator<CurieDescriptor>() {
+        @Override
+        public int compare(CurieDescriptor curieDescriptor1, CurieDescriptor curieDescriptor2) {
+            return curieDescriptor1.getName().compareTo(curieDescriptor2.getName());
+        }
+    };
+
+    private final LinkDescriptorFactory linkDescriptorFactory;
+
+    FusedLinksSerializerFactory(LinkDescriptorFactory linkDescriptorFactory) {
+        this.linkDescriptorFactory = linkDescriptorFactory;
+    }
+
+    @Override
+    public LinksSerializer newLinksSerializer(HalSerializationConfig halSerializationConfig, HalBeanProperties halBeanProperties) {
+        final LinksSerializer defaultLinksSerializer = DefaultLinksSerializerFactory.INSTANCE
+                .newLinksSerializer(halSerializationConfig, halBeanProperties);
+        if (defaultLinksSerializer == LinksSerializer.NO_OP) {
+            return defaultLinksSerializer;
+        }
+
+        final List<LinkDescriptor> linkDescriptors = getLinkDescriptors(halSerializationConfig, halBeanProperties);
+        final List<CurieDescriptor> curieDescriptors = getCurieDescriptors(halBeanProperties);
+        if (linkDescriptors == null || curieDescriptors == null) {
+            return new InjectingLinksSerializer(defaultLinksSerializer);
+        }
+        return new FusedLinksSerializer(defaultLinksSerializer, linkDescriptors, curieDescriptors);
+    }
+
+    /**
+     * Returns the descriptors of the links of the given properties ordered by rel, or {@code null} if not all are
+     * bound, are serialized explicitly as a List or share a rel.
+     */
+    private List<LinkDescriptor> getLinkDescriptors(HalSerializationConfig halSerializationConfig,
+                                                    HalBeanProperties halBeanProperties) {
+        final List<LinkDescriptor> linkDescriptors = new ArrayList<>();
+        for (BeanPropertyWriter property : halBeanProperties.getLinkProperties()) {
+            final JavaType type = property.getType();
+            final Class<?> declaringClass = property.getMember().getDeclaringClass();
+            final LinkRel linkRel = property.getAnnotation(LinkRel.class);
+            final LinkRels linkRels = property.getAnnotation(LinkRels.class);
+            if (JavaTypes.LINK.equals(type) && linkRel != null) {
+                linkDescriptors.add(linkDescriptorFactory.createLinkDescriptor(declaringClass, linkRel));
+            } else if (JavaTypes.isIterableLinkType(type) && linkRels != null
+                    && LinkProcessorFactory.getSerializationMethod(halSerializationConfig, property) == LinkSerializationMethod.IMPLICIT) {
+                linkDescriptors.addAll(linkDescriptorFactory.createLinkDescriptors(declaringClass, linkRels));
+            } else {
+                return null;
+            }
+        }
+
+        final Set<String> rels = new HashSet<>();
+        for (LinkDescriptor linkDescriptor : linkDescriptors) {
+            if (!rels.add(linkDescriptor.getRel())) {
+                // Implicitly serialized as an array of the links sharing the rel
+                return null;
+            }
+        }
+        Collections.sort(linkDescriptors, REL_ORDER);
+        return linkDescriptors;
+    }
+
+    /**
+     * Returns the descriptors of the curies of the given properties ordered by name, or {@code null} if not all are
+     * bound.
+     */
+    private List<CurieDescriptor> getCurieDescriptors(HalBeanProperties halBeanProperties) {
+        final List<CurieDescriptor> curieDescriptors = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (BeanPropertyWriter property : halBeanProperties.getCurieProperties()) {
+            final CurieDef curieDef = property.getAnnotation(CurieDef.class);
+            final CurieDefs curieDefs = property.getAnnotation(CurieDefs.class);
+            final List<CurieDescriptor> propertyCurieDescriptors;
+            if (JavaTypes.CURIE.equals(property.getType()) && curieDef != null) {
+                propertyCurieDescriptors = Collections.singletonList(linkDescriptorFactory.createCurieDescriptor(curieDef));
+            } else if (JavaTypes.isIterableCurieType(property.getType()) && curieDefs != null) {
+                propertyCurieDescriptors = linkDescriptorFactory.createCurieDescriptors(curieDefs);
+            } else {
+                return null;
+            }
+            for (CurieDescriptor curieDescriptor : propertyCurieDescriptors) {
+                // As a set of curies ordered by name, the first of any curies sharing a name is written
+                if (names.add(curieDescriptor.getName())) {
+                    curieDescriptors.add(curieDescriptor);
+                }
+            }
+        }
+        Collections.sort(curieDescriptors, NAME_ORDER);
+        return curieDescriptors;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes the values of the Link properties of beans whose links cannot be written from their bindings, having first
+ * injected them when written by a {@link FusedHalWriter}.
+ */
+final class InjectingLinksSerializer implements LinksSerializer {
+
+    private final LinksSerializer defaultLinksSerializer;
+
+    InjectingLinksSerializer(LinksSerializer defaultLinksSerializer) {
+        this.defaultLinksSerializer = defaultLinksSerializer;
+    }
+
+    @Override
+    public void serializeFields(final Object bean, final JsonGenerator jGen, final boolean inRoot) throws IOException {
+        final FusedLinkContext fusedLinkContext = FusedLinkContext.current();
+        if (fusedLinkContext != null) {
+            fusedLinkContext.injectLinks();
+        }
+        defaultLinksSerializer.serializeFields(bean, jGen, inRoot);
+    }
+}
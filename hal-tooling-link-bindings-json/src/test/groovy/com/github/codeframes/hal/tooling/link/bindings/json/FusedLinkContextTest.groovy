@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json
+
+import com.github.codeframes.hal.tooling.core.HalRepresentable
+import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext
+import com.github.codeframes.hal.tooling.link.bindings.inject.LinkInjector
+import spock.lang.Specification
+
+class FusedLinkContextTest extends Specification {
+
+    def entity = Mock(HalRepresentable)
+    def entityLinkELContext = Mock(LinkELContext)
+    def entityLinkContext = Mock(LinkContext)
+    def linkContextResolver = Mock(LinkContextResolver)
+    def linkInjector = Mock(LinkInjector)
+
+    def fusedLinkContext = new FusedLinkContext(entity, entityLinkELContext, entityLinkContext, linkContextResolver, linkInjector)
+
+    def "test enter makes context current until restored"() {
+        when:
+          def previous = FusedLinkContext.enter(fusedLinkContext)
+        then:
+          previous == null
+          FusedLinkContext.current() == fusedLinkContext
+        when:
+          FusedLinkContext.restore(previous)
+        then:
+          FusedLinkContext.current() == null
+    }
+
+    def "test restore reinstates previous context"() {
+        given:
+          def outer = FusedLinkContext.enter(fusedLinkContext)
+          def previous = FusedLinkContext.enter(new FusedLinkContext(Mock(HalRepresentable), entityLinkELContext,
+                  entityLinkContext, linkContextResolver, linkInjector))
+        when:
+          FusedLinkContext.restore(previous)
+        then:
+          FusedLinkContext.current() == fusedLinkContext
+        cleanup:
+          FusedLinkContext.restore(outer)
+    }
+
+    def "test forBean returns link context of entity"() {
+        expect:
+          fusedLinkContext.forBean(entity) == entityLinkContext
+    }
+
+    def "test forBean returns link context of embedded bean"() {
+        given:
+          def bean = new Object()
+          def beanLinkContext = Mock(LinkContext)
+        when:
+          def linkContext = fusedLinkContext.forBean(bean)
+        then:
+          1 * entityLinkContext.forBean(bean) >> beanLinkContext
+          linkContext == beanLinkContext
+    }
+
+    def "test injectLinks of entity"() {
+        when:
+          fusedLinkContext.injectLinks()
+        then:
+          1 * linkInjector.injectLinks(entity, linkContextResolver, entityLinkELContext)
+    }
+
+    def "test injectLinks injects entity once"() {
+        when:
+          fusedLinkContext.injectLinks()
+          fusedLinkContext.injectLinks()
+        then:
+          1 * linkInjector.injectLinks(entity, linkContextResolver, entityLinkELContext)
+          0 * entityLinkELContext.withInstance(_)
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.json
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase
+import com.github.codeframes.hal.tooling.core.Curie
+import com.github.codeframes.hal.tooling.core.HalRepresentable
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.json.LinkSerialization
+import com.github.codeframes.hal.tooling.json.core.HalBeanProperties
+import com.github.codeframes.hal.tooling.json.core.HalBeanPropertiesProvider
+import com.github.codeframes.hal.tooling.json.ser.config.HalSerializationConfig
+import com.github.codeframes.hal.tooling.json.ser.links.LinksSerializer
+import com.github.codeframes.hal.tooling.link.bindings.CurieDef
+import com.github.codeframes.hal.tooling.link.bindings.CurieDefs
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels
+import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkTemplateFactory
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptorFactory
+import spock.lang.Specification
+
+@SuppressWarnings("GroovyUnusedDeclaration")
+class FusedLinksSerializerFactoryTest extends Specification {
+
+    FusedLinksSerializerFactory linksSerializerFactory = new FusedLinksSerializerFactory(
+            new LinkDescriptorFactory(new LiteralLinkTemplateFactory()))
+
+    def "test newLinksSerializer orders link descriptors by rel and curie descriptors by name"() {
+        when:
+          def linksSerializer = newLinksSerializer(BoundBean)
+        then:
+          linksSerializer instanceof FusedLinksSerializer
+          linksSerializer.linkDescriptors*.rel == ["self", "a", "b", "c"]
+          linksSerializer.curieDescriptors*.name == ["ns1", "ns2"]
+          linksSerializer.curiesIndex == 1
+    }
+
+    static class BoundBean implements HalRepresentable {
+
+        @LinkRel(rel = "b", value = "/b")
+        Link b
+
+        @LinkRels([
+                @LinkRel(rel = "c", value = "/c"),
+                @LinkRel(rel = "a", value = "/a")
+        ])
+        List<Link> links
+
+        @LinkRel(value = "/")
+        Link self
+
+        @CurieDef(name = "ns2", value = "/ns2/{rel}")
+        Curie curie
+
+        @CurieDefs([
+                @CurieDef(name = "ns1", value = "/ns1/{rel}"),
+                @CurieDef(name = "ns2", value = "/other/ns2/{rel}")
+        ])
+        List<Curie> curies
+    }
+
+    def "test newLinksSerializer writes curies first without a self link"() {
+        when:
+          def linksSerializer = newLinksSerializer(BoundBeanWithoutSelf)
+        then:
+          linksSerializer instanceof FusedLinksSerializer
+          linksSerializer.curiesIndex == 0
+    }
+
+    static class BoundBeanWithoutSelf implements HalRepresentable {
+
+        @LinkRel(rel = "a", value = "/a")
+        Link a
+    }
+
+    def "test newLinksSerializer returns NO_OP for bean without links"() {
+        expect:
+          newLinksSerializer(BeanWithoutLinks) == LinksSerializer.NO_OP
+    }
+
+    static class BeanWithoutLinks implements HalRepresentable {
+
+        String text
+    }
+
+    def "test newLinksSerializer falls back to injecting links for default serializer"() {
+        expect:
+          newLinksSerializer(type) instanceof InjectingLinksSerializer
+        where:
+          type << [UnboundLinkBean, UnboundCurieBean, ExplicitLinksBean, SharedRelBean]
+    }
+
+    static class UnboundLinkBean implements HalRepresentable {
+
+        @LinkRel(value = "/")
+        Link self
+
+        Link other
+    }
+
+    static class UnboundCurieBean implements HalRepresentable {
+
+        @LinkRel(value = "/")
+        Link self
+
+        Curie curie
+    }
+
+    @LinkSerialization(LinkSerialization.LinkSerializationMethod.EXPLICIT)
+    static class ExplicitLinksBean implements HalRepresentable {
+
+        @LinkRels([@LinkRel(rel = "a", value = "/a")])
+        List<Link> links
+    }
+
+    static class SharedRelBean implements HalRepresentable {
+
+        @LinkRel(rel = "a", value = "/a/1")
+        Link a
+
+        @LinkRels([@LinkRel(rel = "a", value = "/a/2")])
+        List<Link> links
+    }
+
+    LinksSerializer newLinksSerializer(Class<?> type) {
+        return linksSerializerFactory.newLinksSerializer(HalSerializationConfig.defaultInstance(), getProperties(type))
+    }
+
+    static HalBeanProperties getProperties(Class<?> type) {
+        def mapper = new ObjectMapper()
+        def serializerProvider = mapper.serializerProvider.createInstance(mapper.serializationConfig, mapper.serializerFactory)
+        return HalBeanPropertiesProvider.getProperties(serializerProvider.findValueSerializer(type) as BeanSerializerBase)
+    }
+}
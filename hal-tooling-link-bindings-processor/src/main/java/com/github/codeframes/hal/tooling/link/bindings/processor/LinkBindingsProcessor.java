@@ -0,0 +1,434 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.processor;
+
+import com.github.codeframes.hal.tooling.core.Curie;
+import com.github.codeframes.hal.tooling.core.Embeddable;
+import com.github.codeframes.hal.tooling.core.HalRepresentable;
+import com.github.codeframes.hal.tooling.core.Link;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDef;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDefs;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.beans.Introspector;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Annotation processor checking the declaration of link bindings ({@link LinkRel LinkRel}, {@link LinkRels LinkRels},
+ * {@link CurieDef CurieDef}, {@link CurieDefs CurieDefs}) at compile time and generating a {@link LinkBindingsIndex}
+ * of the link binding fields and bean properties of compiled types, registered as a service for discovery by
+ * {@link com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes#load() LinkBindingsIndexes}.
+ * <p>
+ * The index holds names only, sparing the reflective scanning of fields and bean properties at runtime; link
+ * descriptors and setters are still created, and their EL expressions and templates parsed, on first injection of a
+ * type, where errors not checked here, such as malformed expressions or templates, are raised.
+ * <p>
+ * An index is generated for each processing round in which indexable types are found, the fully qualified name of which
+ * may be specified with the {@value #INDEX_OPTION} option, otherwise a name unique to the indexed types is generated
+ * within the package of the first indexed type. Types not indexed are resolved through reflection at runtime.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(LinkBindingsProcessor.INDEX_OPTION)
+public class LinkBindingsProcessor extends AbstractProcessor {
+
+    /**
+     * Option specifying the fully qualified name of the generated index.
+     */
+    public static final String INDEX_OPTION = "halLinkBindingsIndex";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + LinkBindingsIndex.class.getName();
+
+    private final Map<String, IndexEntry> indexEntries = new TreeMap<>();
+    private final List<String> indexNames = new ArrayList<>();
+    private final Set<List<Object>> reported = new HashSet<>();
+    private boolean errorRaised;
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        if (roundEnv.processingOver()) {
+            if (!indexNames.isEmpty() && !errorRaised) {
+                writeServiceFile();
+            }
+        } else {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+                index(type);
+            }
+            if (!indexEntries.isEmpty() && !errorRaised) {
+                writeIndex();
+            }
+            indexEntries.clear();
+        }
+        return false;
+    }
+
+    private void index(TypeElement type) {
+        for (TypeElement memberType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            index(memberType);
+        }
+        if (type.getKind() != ElementKind.CLASS) {
+            return;
+        }
+
+        final List<String> fieldNames = new ArrayList<>();
+        final List<String> bindingFieldNames = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (isBindingField(field)) {
+                validate(field);
+                bindingFieldNames.add(field.getSimpleName().toString());
+            }
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fieldNames.add(field.getSimpleName().toString());
+            }
+        }
+
+        final boolean halRepresentable = isSubtype(type.asType(), HalRepresentable.class);
+        if (!halRepresentable && bindingFieldNames.isEmpty()) {
+            return;
+        }
+        validateHierarchy(type, halRepresentable);
+
+        final String typeName = elements.getBinaryName(type).toString();
+        indexEntries.put(typeName, new IndexEntry(typeName, fieldNames, bindingFieldNames, getPropertyNames(type)));
+    }
+
+    private boolean isBindingField(VariableElement field) {
+        return isAnnotationPresent(field, LinkRel.class)
+                || isAnnotationPresent(field, LinkRels.class)
+                || isAnnotationPresent(field, CurieDef.class)
+                || isAnnotationPresent(field, CurieDefs.class)
+                || isSubtype(field.asType(), Embeddable.class);
+    }
+
+    private void validate(VariableElement field) {
+        if (isAnnotationPresent(field, LinkRel.class)) {
+            requireType(field, LinkRel.class, Link.class);
+        } else if (isAnnotationPresent(field, LinkRels.class)) {
+            requireType(field, LinkRels.class, List.class);
+            final LinkRel[] linkRels = field.getAnnotation(LinkRels.class).value();
+            for (int i = 1; i < linkRels.length; i++) {
+                if (linkRels[i].rel().equals(LinkRel.DEFAULT_REL)) {
+                    error(field, "self rel MUST be declared first when using " + LinkRels.class.getName());
+                }
+            }
+        } else if (isAnnotationPresent(field, CurieDef.class)) {
+            requireType(field, CurieDef.class, Curie.class);
+        } else if (isAnnotationPresent(field, CurieDefs.class)) {
+            requireType(field, CurieDefs.class, List.class);
+        }
+    }
+
+    private void requireType(VariableElement field, Class<? extends Annotation> annotation, Class<?> type) {
+        final TypeMirror fieldType = types.erasure(field.asType());
+        if (!types.isSameType(fieldType, types.erasure(getTypeElement(type).asType()))) {
+            error(field, String.format("A field annotated with: %s must be of type: %s, got: %s", annotation, type, fieldType));
+        }
+    }
+
+    /**
+     * Validates rels are unique throughout the hierarchy of the given type, skipping hidden fields as with link
+     * injection, and that for HalRepresentable types curied rels have a matching curie. A {@link LinkRel LinkRel} field
+     * with no matching curie fails link injection of the type as a root entity, so is an error; curied rels of
+     * {@link LinkRels LinkRels} fields are not checked at injection, so are warned of only.
+     */
+    private void validateHierarchy(TypeElement type, boolean halRepresentable) {
+        final Set<String> fieldNames = new HashSet<>();
+        final Map<String, VariableElement> rels = new LinkedHashMap<>();
+        final Set<String> curies = new HashSet<>();
+
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (isAnnotationPresent(field, CurieDef.class)) {
+                    curies.add(field.getAnnotation(CurieDef.class).name());
+                } else if (isAnnotationPresent(field, CurieDefs.class)) {
+                    for (CurieDef curieDef : field.getAnnotation(CurieDefs.class).value()) {
+                        curies.add(curieDef.name());
+                    }
+                }
+
+                if (field.getModifiers().contains(Modifier.STATIC) || !fieldNames.add(field.getSimpleName().toString())) {
+                    continue;
+                }
+                if (isAnnotationPresent(field, LinkRel.class)) {
+                    addRel(rels, field.getAnnotation(LinkRel.class).rel(), field);
+                } else if (isAnnotationPresent(field, LinkRels.class)) {
+                    for (LinkRel linkRel : field.getAnnotation(LinkRels.class).value()) {
+                        addRel(rels, linkRel.rel(), field);
+                    }
+                }
+            }
+        }
+
+        if (halRepresentable) {
+            for (Map.Entry<String, VariableElement> rel : rels.entrySet()) {
+                final int index = rel.getKey().indexOf(':');
+                if (index != -1 && !curies.contains(rel.getKey().substring(0, index))) {
+                    final String message = "No curie found for rel: '" + rel.getKey() + "'";
+                    if (isAnnotationPresent(rel.getValue(), LinkRel.class)) {
+                        error(rel.getValue(), message);
+                    } else {
+                        warning(rel.getValue(), message);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addRel(Map<String, VariableElement> rels, String rel, VariableElement field) {
+        if (rels.containsKey(rel)) {
+            error(field, String.format("Duplicate rel found: '%s', on %s", rel, field.getEnclosingElement()));
+        } else {
+            rels.put(rel, field);
+        }
+    }
+
+    /**
+     * Returns the names of the bean properties of the given type, as would be discovered by
+     * {@link Introspector#getBeanInfo(Class)}.
+     */
+    private List<String> getPropertyNames(TypeElement type) {
+        final Set<String> propertyNames = new TreeSet<>();
+        propertyNames.add("class");
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                final Set<Modifier> modifiers = method.getModifiers();
+                if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                final String propertyName = getPropertyName(method);
+                if (propertyName != null) {
+                    propertyNames.add(propertyName);
+                }
+            }
+        }
+        return new ArrayList<>(propertyNames);
+    }
+
+    private static String getPropertyName(ExecutableElement method) {
+        final String name = method.getSimpleName().toString();
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final TypeMirror returnType = method.getReturnType();
+        final boolean isVoid = returnType.getKind() == TypeKind.VOID;
+
+        final String propertyName;
+        if (name.startsWith("get") && name.length() > 3) {
+            boolean getter = !isVoid && (parameters.isEmpty()
+                    || parameters.size() == 1 && parameters.get(0).asType().getKind() == TypeKind.INT);
+            propertyName = getter ? name.substring(3) : null;
+        } else if (name.startsWith("is") && name.length() > 2) {
+            propertyName = parameters.isEmpty() && returnType.getKind() == TypeKind.BOOLEAN ? name.substring(2) : null;
+        } else if (name.startsWith("set") && name.length() > 3) {
+            boolean setter = isVoid && (parameters.size() == 1
+                    || parameters.size() == 2 && parameters.get(0).asType().getKind() == TypeKind.INT);
+            propertyName = setter ? name.substring(3) : null;
+        } else {
+            propertyName = null;
+        }
+        return propertyName == null ? null : Introspector.decapitalize(propertyName);
+    }
+
+    private void writeIndex() {
+        final String indexName = getIndexName();
+        final int index = indexName.lastIndexOf('.');
+        final String packageName = index == -1 ? null : indexName.substring(0, index);
+        final String simpleName = indexName.substring(index + 1);
+
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(indexName);
+            try (Writer writer = sourceFile.openWriter()) {
+                if (packageName != null) {
+                    writer.write("package " + packageName + ";\n\n");
+                }
+                writer.write("/**\n * Generated by " + getClass().getName() + ", do not edit.\n */\n");
+                writer.write("public final class " + simpleName + " implements " + LinkBindingsIndex.class.getName() + " {\n\n");
+                writer.write("    @Override\n");
+                writer.write("    public void registerTypes(TypeRegistry registry) {\n");
+                for (IndexEntry indexEntry : indexEntries.values()) {
+                    writer.write("        registry.register(" + literal(indexEntry.typeName) + ",\n");
+                    writer.write("                " + literal(indexEntry.fieldNames) + ",\n");
+                    writer.write("                " + literal(indexEntry.bindingFieldNames) + ",\n");
+                    writer.write("                " + literal(indexEntry.propertyNames) + ");\n");
+                }
+                writer.write("    }\n}\n");
+            }
+            indexNames.add(indexName);
+        } catch (IOException e) {
+            error("Could not write link bindings index: " + indexName + ", " + e);
+        }
+    }
+
+    /**
+     * Writes the service file registering the indexes generated by this compilation, retaining those registered by any
+     * earlier compilation into the same output, as with incremental compilation, which still exist. Indexes generated
+     * by this compilation are registered last, so take precedence for types indexed again.
+     */
+    private void writeServiceFile() {
+        final Set<String> serviceIndexNames = new LinkedHashSet<>();
+        for (String indexName : readServiceFile()) {
+            if (elements.getTypeElement(indexName) != null) {
+                serviceIndexNames.add(indexName);
+            }
+        }
+        serviceIndexNames.removeAll(indexNames);
+        serviceIndexNames.addAll(indexNames);
+
+        try {
+            final FileObject serviceFile = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = serviceFile.openWriter()) {
+                for (String indexName : serviceIndexNames) {
+                    writer.write(indexName + "\n");
+                }
+            }
+        } catch (IOException e) {
+            error("Could not write link bindings index service file: " + SERVICE_FILE + ", " + e);
+        }
+    }
+
+    private List<String> readServiceFile() {
+        final List<String> names = new ArrayList<>();
+        try {
+            final FileObject serviceFile = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(serviceFile.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int comment = line.indexOf('#');
+                    final String indexName = (comment == -1 ? line : line.substring(0, comment)).trim();
+                    if (!indexName.isEmpty()) {
+                        names.add(indexName);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No service file has been written to the output yet
+        }
+        return names;
+    }
+
+    private String getIndexName() {
+        final String indexName = processingEnv.getOptions().get(INDEX_OPTION);
+        if (indexName != null && !indexName.isEmpty()) {
+            return indexNames.isEmpty() ? indexName : indexName + '_' + (indexNames.size() + 1);
+        }
+
+        final String firstTypeName = indexEntries.keySet().iterator().next();
+        final int index = firstTypeName.lastIndexOf('.');
+        final String packagePrefix = index == -1 ? "" : firstTypeName.substring(0, index + 1);
+        return packagePrefix + "LinkBindingsIndex_" + Integer.toHexString(indexEntries.keySet().hashCode());
+    }
+
+    private static String literal(String value) {
+        return '"' + value + '"';
+    }
+
+    private static String literal(List<String> values) {
+        final StringBuilder literal = new StringBuilder("new String[]{");
+        for (int i = 0; i < values.size(); i++) {
+            literal.append(i == 0 ? "" : ", ").append(literal(values.get(i)));
+        }
+        return literal.append('}').toString();
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+        return superType.getQualifiedName().contentEquals(Object.class.getName()) ? null : superType;
+    }
+
+    private boolean isSubtype(TypeMirror type, Class<?> superType) {
+        final TypeElement superTypeElement = getTypeElement(superType);
+        return superTypeElement != null
+                && types.isSubtype(types.erasure(type), types.erasure(superTypeElement.asType()));
+    }
+
+    private TypeElement getTypeElement(Class<?> type) {
+        return elements.getTypeElement(type.getCanonicalName());
+    }
+
+    private static boolean isAnnotationPresent(Element element, Class<? extends Annotation> annotation) {
+        return element.getAnnotation(annotation) != null;
+    }
+
+    private void error(String message) {
+        errorRaised = true;
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message);
+    }
+
+    private void error(Element element, String message) {
+        errorRaised = true;
+        if (reported.add(Arrays.<Object>asList(element, message))) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        }
+    }
+
+    private void warning(Element element, String message) {
+        if (reported.add(Arrays.<Object>asList(element, message))) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+        }
+    }
+
+    private static final class IndexEntry {
+
+        final String typeName;
+        final List<String> fieldNames;
+        final List<String> bindingFieldNames;
+        final List<String> propertyNames;
+
+        IndexEntry(String typeName, List<String> fieldNames, List<String> bindingFieldNames, List<String> propertyNames) {
+            this.typeName = typeName;
+            this.fieldNames = fieldNames;
+            this.bindingFieldNames = bindingFieldNames;
+            this.propertyNames = propertyNames;
+        }
+    }
+}
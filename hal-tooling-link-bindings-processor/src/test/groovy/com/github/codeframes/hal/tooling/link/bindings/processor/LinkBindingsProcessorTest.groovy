@@ -0,0 +1,410 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.processor
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes
+import spock.lang.Specification
+
+import javax.tools.*
+import java.beans.Introspector
+import java.nio.file.Files
+
+@SuppressWarnings("GroovyUnusedDeclaration")
+class LinkBindingsProcessorTest extends Specification {
+
+    static final String INDEX_SERVICE_FILE = 'META-INF/services/com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndex'
+
+    File outputDir
+
+    DiagnosticCollector<JavaFileObject> diagnostics
+
+    def setup() {
+        outputDir = Files.createTempDirectory('link-bindings-processor').toFile()
+        diagnostics = new DiagnosticCollector<>()
+    }
+
+    def cleanup() {
+        outputDir.deleteDir()
+    }
+
+    def "test index generated for HalRepresentable type"() {
+        when:
+          def success = compile(['-AhalLinkBindingsIndex=test.TestIndex'], 'test.Entity': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.*;
+              import com.github.codeframes.hal.tooling.link.bindings.*;
+              import java.util.List;
+
+              public class Entity implements HalRepresentable {
+                  @LinkRel("/entities/1")
+                  private Link self;
+                  @LinkRels({@LinkRel(rel = "items", value = "/items")})
+                  private List<Link> links;
+                  private Embedded<Entity> children;
+                  private static String NAME;
+                  private String name;
+
+                  public String getName() { return name; }
+                  public void setName(String name) { this.name = name; }
+                  public boolean isActive() { return true; }
+                  public String getURL() { return null; }
+                  public static String getStatic() { return NAME; }
+                  String getPackagePrivate() { return null; }
+              }
+          ''')
+        then:
+          success
+          new File(outputDir, INDEX_SERVICE_FILE).text.trim() == 'test.TestIndex'
+        when:
+          def classLoader = newClassLoader()
+          def entityClass = classLoader.loadClass('test.Entity')
+          def indexedType = LinkBindingsIndexes.load(classLoader).get(entityClass)
+        then:
+          indexedType.fieldNames == ['self', 'links', 'children', 'name'] as Set
+          indexedType.bindingFieldNames == ['self', 'links', 'children']
+          indexedType.propertyNames == ['class', 'name', 'active', 'URL'] as Set
+          indexedType.getBindingFields(entityClass)*.name == ['self', 'links', 'children']
+    }
+
+    def "test index property names match Introspector"() {
+        when:
+          def success = compile('test.Bean': '''
+              package test;
+
+              public class Bean extends Base implements com.github.codeframes.hal.tooling.core.HalRepresentable {
+                  public int getIndexed(int i) { return i; }
+                  public void setIndexed(int i, int value) { }
+                  public void setWriteOnly(String value) { }
+                  public String setNotASetter(String value) { return value; }
+                  public String get() { return null; }
+                  public Boolean isNotAGetter() { return null; }
+                  public void getNotAGetter() { }
+                  public String getXY() { return null; }
+              }
+          ''', 'test.Base': '''
+              package test;
+
+              public class Base {
+                  public long getId() { return 0; }
+              }
+          ''')
+        then:
+          success
+        when:
+          def classLoader = newClassLoader()
+          def beanClass = classLoader.loadClass('test.Bean')
+          def indexedType = LinkBindingsIndexes.load(classLoader).get(beanClass)
+        then:
+          indexedType.propertyNames == Introspector.getBeanInfo(beanClass).propertyDescriptors*.name as Set
+          indexedType.propertyNames == ['class', 'id', 'indexed', 'writeOnly', 'XY'] as Set
+    }
+
+    def "test index generated for type declaring link bindings only"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+
+              public class Item {
+                  @LinkRel("/items/1")
+                  private Link self;
+
+                  public static class NoBindings {
+                      private String name;
+                  }
+              }
+          ''')
+        then:
+          success
+        when:
+          def classLoader = newClassLoader()
+          def linkBindingsIndexes = LinkBindingsIndexes.load(classLoader)
+        then:
+          linkBindingsIndexes.get(classLoader.loadClass('test.Item')).bindingFieldNames == ['self']
+          linkBindingsIndexes.get(classLoader.loadClass('test.Item$NoBindings')) == null
+    }
+
+    def "test default index name"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              public class Item implements com.github.codeframes.hal.tooling.core.HalRepresentable {
+              }
+          ''')
+        then:
+          success
+          new File(outputDir, INDEX_SERVICE_FILE).text.trim() ==~ /test\.LinkBindingsIndex_[0-9a-f]+/
+    }
+
+    def "test service file retains indexes of earlier compilation"() {
+        given:
+          compile(['-AhalLinkBindingsIndex=test.FirstIndex'], 'test.First': '''
+              package test;
+
+              public class First implements com.github.codeframes.hal.tooling.core.HalRepresentable {
+              }
+          ''')
+          new File(outputDir, INDEX_SERVICE_FILE) << 'test.DeletedIndex\n'
+        when:
+          def success = compile(['-AhalLinkBindingsIndex=test.SecondIndex'], 'test.Second': '''
+              package test;
+
+              public class Second implements com.github.codeframes.hal.tooling.core.HalRepresentable {
+              }
+          ''')
+        then:
+          success
+          new File(outputDir, INDEX_SERVICE_FILE).readLines() == ['test.FirstIndex', 'test.SecondIndex']
+        when:
+          def classLoader = newClassLoader()
+          def linkBindingsIndexes = LinkBindingsIndexes.load(classLoader)
+        then:
+          linkBindingsIndexes.get(classLoader.loadClass('test.First')) != null
+          linkBindingsIndexes.get(classLoader.loadClass('test.Second')) != null
+    }
+
+    def "test no index generated without link bindings"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              public class Item {
+                  private String name;
+              }
+          ''')
+        then:
+          success
+          !new File(outputDir, INDEX_SERVICE_FILE).exists()
+    }
+
+    def "test invalid field types"() {
+        when:
+          def success = compile('test.Item': """
+              package test;
+
+              import com.github.codeframes.hal.tooling.link.bindings.*;
+
+              public class Item {
+                  @LinkRel("/items/1")
+                  private String self;
+                  @LinkRels({@LinkRel(rel = "next", value = "/items/2")})
+                  private String links;
+                  @CurieDef(name = "doc", value = "/docs/{rel}")
+                  private String curie;
+                  @CurieDefs({@CurieDef(name = "doc", value = "/docs/{rel}")})
+                  private String curies;
+              }
+          """)
+        then:
+          !success
+          errors() == [
+                  "A field annotated with: ${LinkRel} must be of type: ${Link}, got: java.lang.String".toString(),
+                  "A field annotated with: interface com.github.codeframes.hal.tooling.link.bindings.LinkRels must be of type: interface java.util.List, got: java.lang.String",
+                  "A field annotated with: interface com.github.codeframes.hal.tooling.link.bindings.CurieDef must be of type: class com.github.codeframes.hal.tooling.core.Curie, got: java.lang.String",
+                  "A field annotated with: interface com.github.codeframes.hal.tooling.link.bindings.CurieDefs must be of type: interface java.util.List, got: java.lang.String"
+          ]
+    }
+
+    def "test self rel not declared first"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.*;
+              import java.util.List;
+
+              public class Item {
+                  @LinkRels({@LinkRel(rel = "next", value = "/items/2"), @LinkRel("/items/1")})
+                  private List<Link> links;
+              }
+          ''')
+        then:
+          !success
+          errors() == ['self rel MUST be declared first when using com.github.codeframes.hal.tooling.link.bindings.LinkRels']
+    }
+
+    def "test duplicate rels within hierarchy"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+
+              public class Item extends Base {
+                  @LinkRel(rel = "next", value = "/items/2")
+                  private Link link;
+              }
+          ''', 'test.Base': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+
+              public class Base {
+                  @LinkRel(rel = "next", value = "/items/3")
+                  private Link next;
+              }
+          ''')
+        then:
+          !success
+          errors() == ["Duplicate rel found: 'next', on test.Base"]
+    }
+
+    def "test hidden rels within hierarchy"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+
+              public class Item extends Base {
+                  @LinkRel(rel = "next", value = "/items/2")
+                  private Link link;
+              }
+          ''', 'test.Base': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+
+              public class Base {
+                  @LinkRel(rel = "next", value = "/items/3")
+                  private Link link;
+              }
+          ''')
+        then:
+          success
+    }
+
+    def "test curied rel with no matching curie"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.*;
+              import com.github.codeframes.hal.tooling.link.bindings.*;
+
+              public class Item implements HalRepresentable {
+                  @CurieDef(name = "doc", value = "/docs/{rel}")
+                  private Curie curie;
+                  @LinkRel(rel = "ex:next", value = "/items/2")
+                  private Link next;
+              }
+          ''')
+        then:
+          !success
+          errors() == ["No curie found for rel: 'ex:next'"]
+    }
+
+    def "test curied rel with no curies declared"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.*;
+              import com.github.codeframes.hal.tooling.link.bindings.*;
+
+              public class Item implements HalRepresentable {
+                  @LinkRel(rel = "ex:next", value = "/items/2")
+                  private Link next;
+              }
+          ''')
+        then:
+          !success
+          errors() == ["No curie found for rel: 'ex:next'"]
+    }
+
+    def "test curied rels of LinkRels with no matching curie"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.*;
+              import com.github.codeframes.hal.tooling.link.bindings.*;
+              import java.util.List;
+
+              public class Item implements HalRepresentable {
+                  @LinkRels({@LinkRel(rel = "ex:next", value = "/items/2")})
+                  private List<Link> links;
+              }
+          ''')
+        then:
+          success
+          diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.WARNING }*.getMessage(null) == ["No curie found for rel: 'ex:next'"]
+    }
+
+    def "test curied rel of type not HalRepresentable"() {
+        when:
+          def success = compile('test.Item': '''
+              package test;
+
+              import com.github.codeframes.hal.tooling.core.Link;
+              import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+
+              public class Item {
+                  @LinkRel(rel = "ex:next", value = "/items/2")
+                  private Link next;
+              }
+          ''')
+        then:
+          success
+          diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.WARNING }.isEmpty()
+    }
+
+    private boolean compile(Map<String, String> sources, List<String> options = []) {
+        def compiler = ToolProvider.getSystemJavaCompiler()
+        def fileManager = compiler.getStandardFileManager(diagnostics, null, null)
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, [outputDir])
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, [outputDir])
+        fileManager.setLocation(StandardLocation.CLASS_PATH, [Link, LinkRel].collect {
+            new File(it.protectionDomain.codeSource.location.toURI())
+        } + outputDir)
+
+        def compilationUnits = sources.collect { name, source ->
+            new SimpleJavaFileObject(URI.create("string:///${name.replace('.', '/')}.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source
+                }
+            }
+        }
+
+        def task = compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits)
+        task.setProcessors([new LinkBindingsProcessor()])
+        try {
+            return task.call()
+        } finally {
+            fileManager.close()
+        }
+    }
+
+    private List<String> errors() {
+        return diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.ERROR }*.getMessage(null)
+    }
+
+    private ClassLoader newClassLoader() {
+        return new URLClassLoader([outputDir.toURI().toURL()] as URL[], getClass().classLoader)
+    }
+}
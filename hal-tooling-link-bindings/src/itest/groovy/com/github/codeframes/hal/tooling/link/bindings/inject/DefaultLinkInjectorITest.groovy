@@ -16,12 +16,14 @@
 package com.github.codeframes.hal.tooling.link.bindings.inject
 
 import com.github.codeframes.hal.tooling.core.Curie
+import com.github.codeframes.hal.tooling.core.EmbedSelector
 import com.github.codeframes.hal.tooling.core.Embedded
 import com.github.codeframes.hal.tooling.core.HalRepresentable
 import com.github.codeframes.hal.tooling.core.Link
 import com.github.codeframes.hal.tooling.link.bindings.*
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver
 import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkContextResolver
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter
 import com.github.codeframes.hal.tooling.link.bindings.uri.UriValueResolver
 import spock.lang.Specification
 
@@ -162,6 +164,30 @@ class DefaultLinkInjectorITest extends Specification {
           noExceptionThrown()
     }
 
+    def "test injectAllLinks"() {
+        given:
+          def bean_1 = new BeanWithEmbeddedInstanceBoundResources(id: "1")
+          def bean_2 = new BeanWithEmbeddedInstanceBoundResources(id: "2")
+          def bean_3 = new BeanWithBoundELExpressions()
+        when:
+          linkInjector.injectAllLinks([bean_1, null, bean_2, bean_3], linkContextResolver)
+        then:
+          (bean_1.embedded.resource as List<InstanceBoundBean>)*.link == [new Link("self", "/api/items/1?entity=1"),
+                                                                         new Link("self", "/api/items/2?entity=1"),
+                                                                         new Link("self", "/api/items/3?entity=1")]
+          (bean_2.embedded.resource as List<InstanceBoundBean>)*.link == [new Link("self", "/api/items/1?entity=2"),
+                                                                         new Link("self", "/api/items/2?entity=2"),
+                                                                         new Link("self", "/api/items/3?entity=2")]
+          bean_3.link_1 == new Link("el-expression-one", "/api/123")
+    }
+
+    def "test injectAllLinks with null collection of entities"() {
+        when:
+          linkInjector.injectAllLinks(null, linkContextResolver)
+        then:
+          noExceptionThrown()
+    }
+
     def "test injectLinks with embedded resource containing null entity"() {
         given:
           def bean = new BeanWithNullEmbeddedResource()
@@ -194,6 +220,46 @@ class DefaultLinkInjectorITest extends Specification {
         Embedded embedded = new Embedded("resource", [new AbsoluteLinksBean(), new AbsoluteLinksBean()])
     }
 
+    def "test injectLinks with embedded resource containing list of entities with instance bindings"() {
+        given:
+          def bean = new BeanWithEmbeddedInstanceBoundResources()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          List<InstanceBoundBean> embeddedResources = bean.embedded.resource as List<InstanceBoundBean>
+          embeddedResources*.link == [new Link("self", "/api/items/1?entity=0"),
+                                      new Link("self", "/api/items/2?entity=0"),
+                                      new Link("self", "/api/items/3?entity=0")]
+          embeddedResources*.embedded*.resource*.link == [new Link("self", "/api/items/11?entity=0"),
+                                                          new Link("self", "/api/items/21?entity=0"),
+                                                          new Link("self", "/api/items/31?entity=0")]
+    }
+
+    static class BeanWithEmbeddedInstanceBoundResources implements HalRepresentable {
+
+        String id = "0"
+
+        Embedded embedded = new Embedded("items", [new InstanceBoundBean("1"), new InstanceBoundBean("2"), new InstanceBoundBean("3")])
+    }
+
+    static class InstanceBoundBean {
+
+        @LinkRel(value = "/api/items/{id}?entity={entityId}", bindings = [
+                @Binding(name = "id", value = '${instance.id}'),
+                @Binding(name = "entityId", value = '${entity.id}')
+        ])
+        Link link
+
+        String id
+
+        Embedded embedded
+
+        InstanceBoundBean(String id) {
+            this.id = id
+            this.embedded = id.length() == 1 ? new Embedded("item", new InstanceBoundBean(id + "1")) : null
+        }
+    }
+
     def "test injectLinks with embedded EL expression"() {
         given:
           def bean = new BeanWithEmbeddedELExpressions()
@@ -283,6 +349,29 @@ class DefaultLinkInjectorITest extends Specification {
         String orderId = '123'
     }
 
+    def "test injectLinks with exploded list and prefixed instance parameters"() {
+        given:
+          def bean = new ExplodedInstanceParamsBean()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          bean.link == new Link("self", "/api/orders/ord?ids=1&ids=2&ids=3&status=open&status=on+hold")
+          bean.template == new Link("search", "/api/orders{?ids*,filter*}")
+    }
+
+    static class ExplodedInstanceParamsBean implements HalRepresentable {
+
+        @LinkRel(value = '/api/orders/{type:3}{?ids*,status*}', bindingOptions = [LinkRel.BindingOption.INSTANCE_PARAMETERS])
+        Link link
+
+        @LinkRel(rel = 'search', value = '/api/orders{?ids*,filter*}')
+        Link template
+
+        String type = 'order'
+        List<Integer> ids = [1, 2, 3]
+        String[] status = ['open', 'on hold']
+    }
+
     def "test injectLinks with UriValueResolver using instance parameters binding option"() {
         given:
           def linkInjector = LinkInjector.instanceBuilder().uriValueResolvers([new DateUriValueResolver()]).build()
@@ -353,6 +442,229 @@ class DefaultLinkInjectorITest extends Specification {
         Date date = new Date(0)
     }
 
+    def "test injectLinks with RelFilter"() {
+        given:
+          def bean = new RelFilteredBean()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver, null, InjectionOptions.DEFAULT.withRelFilter(RelFilter.of("self", "next")))
+        then:
+          bean.self == new Link("self", "/api/items")
+          bean.prev == null
+          bean.links == [new Link("next", "/api/items?page=2")]
+          bean.embedded.resource*.self == [new Link("self", "/api/items/1"), new Link("self", "/api/items/2")]
+          bean.embedded.resource*.item == [null, null]
+          bean.idReads == 0
+    }
+
+    def "test injectAllLinks with RelFilter"() {
+        given:
+          def bean_1 = new RelFilteredBean()
+          def bean_2 = new RelFilteredBean()
+        when:
+          linkInjector.injectAllLinks([bean_1, bean_2], linkContextResolver, InjectionOptions.DEFAULT.withRelFilter(RelFilter.parse("prev, item")))
+        then:
+          [bean_1, bean_2]*.self == [null, null]
+          [bean_1, bean_2]*.prev == [new Link("prev", "/api/items?page=0"), new Link("prev", "/api/items?page=0")]
+          [bean_1, bean_2]*.links == [[], []]
+          bean_1.embedded.resource*.item == [new Link("item", "/api/items/1"), new Link("item", "/api/items/2")]
+          bean_2.embedded.resource*.item == [new Link("item", "/api/items/1"), new Link("item", "/api/items/2")]
+    }
+
+    static class RelFilteredBean implements HalRepresentable {
+
+        @LinkRel("/api/items")
+        Link self
+
+        @LinkRel(rel = "prev", value = "/api/items?page={page}", bindings = @Binding(name = "page", value = '${instance.previousPage}'))
+        Link prev
+
+        @LinkRels(@LinkRel(rel = "next", value = "/api/items?page=2"))
+        List<Link> links
+
+        Embedded embedded = new Embedded("items", [new RelFilteredItem("1"), new RelFilteredItem("2")])
+
+        int idReads
+
+        int getPreviousPage() {
+            idReads++
+            return 0
+        }
+    }
+
+    static class RelFilteredItem {
+
+        @LinkRel(value = "/api/items/{id}", bindings = @Binding(name = "id", value = '${instance.id}'))
+        Link self
+
+        @LinkRel(rel = "item", value = "/api/items/{id}", bindings = @Binding(name = "id", value = '${instance.id}'))
+        Link item
+
+        String id
+
+        RelFilteredItem(String id) {
+            this.id = id
+        }
+    }
+
+    def "test injectLinks with EmbedSelector"() {
+        given:
+          def bean = new BeanWithNestedEmbeddeds()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver, null,
+                  InjectionOptions.DEFAULT.withEmbedSelector(EmbedSelector.of("items", "parts").withMaxDepth(1)))
+        then:
+          bean.self == new Link("self", "/api/beans/1")
+          bean.items.resource*.self == [new Link("self", "/api/items/1"), new Link("self", "/api/items/2")]
+          bean.items.resource*.parts*.resource*.self == [[null], [null]]
+          bean.owner.resource.self == null
+    }
+
+    def "test injectAllLinks with EmbedSelector"() {
+        given:
+          def bean_1 = new BeanWithNestedEmbeddeds()
+          def bean_2 = new BeanWithNestedEmbeddeds()
+        when:
+          linkInjector.injectAllLinks([bean_1, bean_2], linkContextResolver, InjectionOptions.DEFAULT.withEmbedSelector(EmbedSelector.parse("owner,parts")))
+        then:
+          [bean_1, bean_2]*.items*.resource*.self == [[null, null], [null, null]]
+          [bean_1, bean_2]*.owner*.resource*.self == [new Link("self", "/api/owners/1"), new Link("self", "/api/owners/1")]
+    }
+
+    static class BeanWithNestedEmbeddeds implements HalRepresentable {
+
+        @LinkRel("/api/beans/1")
+        Link self
+
+        Embedded items = new Embedded("items", [new EmbeddedItem("1"), new EmbeddedItem("2")])
+
+        Embedded owner = new Embedded("owner", new EmbeddedOwner())
+    }
+
+    static class EmbeddedItem {
+
+        @LinkRel(value = "/api/items/{id}", bindings = @Binding(name = "id", value = '${instance.id}'))
+        Link self
+
+        Embedded parts = new Embedded("parts", [new EmbeddedOwner()])
+
+        String id
+
+        EmbeddedItem(String id) {
+            this.id = id
+        }
+    }
+
+    static class EmbeddedOwner {
+
+        @LinkRel("/api/owners/1")
+        Link self
+    }
+
+    def "test injectLinks with cyclic embedded resources by default"() {
+        given:
+          def node_1 = new NodeBean("1")
+          def node_2 = new NodeBean("2")
+          node_1.next = new Embedded("next", node_2)
+          node_2.next = new Embedded("next", node_1)
+          def bean = new BeanWithEmbeddedNodes(node_1, [node_2, node_1])
+        and:
+          def linkInjector = LinkInjector.defaultInstance()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          node_1.self == new Link("self", "/api/nodes/1")
+          node_2.self == new Link("self", "/api/nodes/2")
+    }
+
+    def "test injectLinks with cyclic embedded resources and injectEmbeddedOnce"() {
+        given:
+          def node_1 = new NodeBean("1")
+          def node_2 = new NodeBean("2")
+          node_1.next = new Embedded("next", node_2)
+          node_2.next = new Embedded("next", node_1)
+          def bean = new BeanWithEmbeddedNodes(node_1, [node_2, node_1])
+        and:
+          def linkInjector = LinkInjector.instanceBuilder().injectEmbeddedOnce(true).build()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          node_1.self == new Link("self", "/api/nodes/1")
+          node_2.self == new Link("self", "/api/nodes/2")
+    }
+
+    def "test injectLinks with cyclic embedded resources bounded by maxEmbedDepth"() {
+        given:
+          def node_1 = new NodeBean("1")
+          def node_2 = new NodeBean("2")
+          node_1.next = new Embedded("next", node_2)
+          node_2.next = new Embedded("next", node_1)
+          def bean = new BeanWithEmbeddedNodes(node_1, [])
+        and:
+          def linkInjector = LinkInjector.instanceBuilder().maxEmbedDepth(5).build()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          node_1.self == new Link("self", "/api/nodes/1")
+          node_2.self == new Link("self", "/api/nodes/2")
+    }
+
+    def "test injectLinks with injectEmbeddedOnce and maxEmbedDepth injects a bean again at a shallower depth"() {
+        given:
+          def node_1 = new NodeBean("1")
+          def node_2 = new NodeBean("2")
+          def node_3 = new NodeBean("3")
+          node_1.next = new Embedded("next", node_2)
+          node_2.next = new Embedded("next", node_3)
+          def bean = new BeanWithEmbeddedNodes(node_1, [node_2])
+        and:
+          def linkInjector = LinkInjector.instanceBuilder().injectEmbeddedOnce(true).maxEmbedDepth(2).build()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          node_1.self == new Link("self", "/api/nodes/1")
+          node_2.self == new Link("self", "/api/nodes/2")
+          node_3.self == new Link("self", "/api/nodes/3")
+    }
+
+    def "test injectLinks with maxEmbedDepth"() {
+        given:
+          def linkInjector = LinkInjector.instanceBuilder().maxEmbedDepth(1).build()
+          def bean = new BeanWithEmbeddedInstanceBoundResources()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          bean.embedded.resource*.link == [new Link("link", "/api/items/1?entity=0"),
+                                           new Link("link", "/api/items/2?entity=0"),
+                                           new Link("link", "/api/items/3?entity=0")]
+          bean.embedded.resource*.embedded*.resource*.link == [null, null, null]
+    }
+
+    static class BeanWithEmbeddedNodes implements HalRepresentable {
+
+        Embedded first
+
+        Embedded nodes
+
+        BeanWithEmbeddedNodes(NodeBean first, List<NodeBean> nodes) {
+            this.first = new Embedded("first", first)
+            this.nodes = new Embedded("nodes", nodes)
+        }
+    }
+
+    static class NodeBean {
+
+        @LinkRel(value = "/api/nodes/{id}", bindings = @Binding(name = "id", value = '${instance.id}'))
+        Link self
+
+        Embedded next
+
+        String id
+
+        NodeBean(String id) {
+            this.id = id
+        }
+    }
+
     static class DateUriValueResolver implements UriValueResolver<Date> {
 
         @Override
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+
+class HrefCacheLinkInjectorITest extends DefaultLinkInjectorITest {
+
+    def statistics = new CacheStatistics()
+
+    def setup() {
+        linkInjector = LinkInjector.instanceBuilder().cacheHrefs(100, statistics).build()
+    }
+
+    def "test injectLinks reuses hrefs of equal binding values"() {
+        given:
+          def first = new BeanWithEmbeddedInstanceBoundResources()
+          def second = new BeanWithEmbeddedInstanceBoundResources()
+        when:
+          linkInjector.injectLinks(first, linkContextResolver)
+          linkInjector.injectLinks(second, linkContextResolver)
+        then:
+          second.embedded.resource*.link == first.embedded.resource*.link
+          second.embedded.resource[0].link == new Link("link", "/api/items/1?entity=0")
+          statistics.missCount == 6
+          statistics.hitCount == 6
+    }
+
+    def "test injectLinks does not cache static links"() {
+        given:
+          def bean = new RelativeLinkBean()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          statistics.missCount == 0
+          statistics.hitCount == 0
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Embedded
+import com.github.codeframes.hal.tooling.core.HalRepresentable
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.Binding
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels
+
+class LazyLinkInjectorITest extends DefaultLinkInjectorITest {
+
+    def setup() {
+        linkInjector = LinkInjector.instanceBuilder().lazyLinks(true).build()
+    }
+
+    def "test injectLinks with lazy links defers link creation until accessed"() {
+        given:
+          def bean = new CountingBean()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          bean.idReads == 0
+          bean.link == new Link("self", "/api/items/1")
+        when:
+          def links = bean.links.collect()
+        then:
+          links == [new Link("item", "/api/items/1"), new Link("items", "/api/items")]
+          bean.idReads == 2
+    }
+
+    static class CountingBean implements HalRepresentable {
+
+        @LinkRel("/api/items/1")
+        Link link
+
+        @LinkRels([
+                @LinkRel(rel = "item", value = "/api/items/{id}", bindings = @Binding(name = "id", value = '${instance.id}')),
+                @LinkRel(rel = "items", value = "/api/items", condition = '${instance.id != null}')
+        ])
+        List<Link> links
+
+        int idReads
+
+        String getId() {
+            idReads++
+            return "1"
+        }
+    }
+
+    def "test injectLinks with lazy links of embedded list elements"() {
+        given:
+          def bean = new BeanWithEmbeddedLinkListResources()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          (bean.embedded.resource as List<LinkListBean>)*.links == [
+                  [new Link("item", "/api/items/1?entity=0")],
+                  [new Link("item", "/api/items/2?entity=0")],
+                  [new Link("item", "/api/items/3?entity=0")]]
+    }
+
+    def "test injectAllLinks with lazy links"() {
+        given:
+          def bean_1 = new BeanWithEmbeddedLinkListResources(id: "1")
+          def bean_2 = new BeanWithEmbeddedLinkListResources(id: "2")
+        when:
+          linkInjector.injectAllLinks([bean_1, bean_2], linkContextResolver)
+        then:
+          (bean_1.embedded.resource as List<LinkListBean>)*.links*.href.flatten() ==
+                  ["/api/items/1?entity=1", "/api/items/2?entity=1", "/api/items/3?entity=1"]
+          (bean_2.embedded.resource as List<LinkListBean>)*.links*.href.flatten() ==
+                  ["/api/items/1?entity=2", "/api/items/2?entity=2", "/api/items/3?entity=2"]
+    }
+
+    static class BeanWithEmbeddedLinkListResources implements HalRepresentable {
+
+        String id = "0"
+
+        Embedded embedded = new Embedded("items", [new LinkListBean("1"), new LinkListBean("2"), new LinkListBean("3")])
+    }
+
+    static class LinkListBean {
+
+        @LinkRels(@LinkRel(rel = "item", value = "/api/items/{id}?entity={entityId}", bindings = [
+                @Binding(name = "id", value = '${instance.id}'),
+                @Binding(name = "entityId", value = '${entity.id}')
+        ]))
+        List<Link> links
+
+        String id
+
+        LinkListBean(String id) {
+            this.id = id
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+
+class MemoizingLinkInjectorITest extends DefaultLinkInjectorITest {
+
+    def statistics = new CacheStatistics()
+
+    def setup() {
+        linkInjector = LinkInjector.instanceBuilder().memoizeExpressionValues(statistics).build()
+    }
+
+    def "test injectLinks evaluates repeated binding once per bean"() {
+        given:
+          def bean = new BeanWithInstanceParametersBindingOption()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          bean.links == [new Link("binding-inst-param", "/api/orders/123/items/"),
+                         new Link("binding-retain-unexpanded", "/api/orders/123/items/{itemId}")]
+          statistics.missCount == 1
+          statistics.hitCount == 1
+    }
+}
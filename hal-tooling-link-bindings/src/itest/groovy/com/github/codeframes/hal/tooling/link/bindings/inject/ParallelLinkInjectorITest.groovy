@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Embedded
+import com.github.codeframes.hal.tooling.core.HalRepresentable
+import com.github.codeframes.hal.tooling.core.Link
+
+import java.util.concurrent.ForkJoinPool
+
+class ParallelLinkInjectorITest extends DefaultLinkInjectorITest {
+
+    ForkJoinPool pool = new ForkJoinPool(4)
+
+    def setup() {
+        linkInjector = LinkInjector.instanceBuilder().parallelInjection(pool, 1).build()
+    }
+
+    def cleanup() {
+        pool.shutdown()
+    }
+
+    def "test injectLinks with large embedded list of entities with instance bindings"() {
+        given:
+          def bean = new BeanWithLargeEmbeddedList()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          List<DefaultLinkInjectorITest.InstanceBoundBean> embeddedResources = bean.embedded.resource as List<DefaultLinkInjectorITest.InstanceBoundBean>
+          embeddedResources*.link == (1..1000).collect { new Link("self", "/api/items/$it?entity=0") }
+          embeddedResources[0..8]*.embedded*.resource*.link == (1..9).collect { new Link("self", "/api/items/${it}1?entity=0") }
+    }
+
+    def "test injectLinks with nested large embedded lists"() {
+        given:
+          def bean = new BeanWithNestedEmbeddedLists()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          List<BeanWithLargeEmbeddedList> outer = bean.embedded.resource as List<BeanWithLargeEmbeddedList>
+          outer.every {
+              (it.embedded.resource as List<DefaultLinkInjectorITest.InstanceBoundBean>)*.link == (1..1000).collect { new Link("self", "/api/items/$it?entity=0") }
+          }
+    }
+
+    static class BeanWithLargeEmbeddedList implements HalRepresentable {
+
+        String id = "0"
+
+        Embedded embedded = new Embedded("items", (1..1000).collect { new DefaultLinkInjectorITest.InstanceBoundBean(it as String) })
+    }
+
+    static class BeanWithNestedEmbeddedLists implements HalRepresentable {
+
+        String id = "0"
+
+        Embedded embedded = new Embedded("lists", (1..8).collect { new BeanWithLargeEmbeddedList() })
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+
+class StaticLinkCacheLinkInjectorITest extends DefaultLinkInjectorITest {
+
+    def statistics = new CacheStatistics()
+
+    def setup() {
+        linkInjector = LinkInjector.instanceBuilder().staticLinkCacheStatistics(statistics).build()
+    }
+
+    def "test injectLinks reuses static links"() {
+        given:
+          def first = new RelativeLinkBean()
+          def second = new RelativeLinkBean()
+        when:
+          linkInjector.injectLinks(first, linkContextResolver)
+          linkInjector.injectLinks(second, linkContextResolver)
+        then:
+          first.rel == new Link("rel", "/rel")
+          second.rel.is(first.rel)
+          statistics.missCount == 1
+          statistics.hitCount == 1
+    }
+
+    def "test injectLinks does not cache links with EL expressions"() {
+        given:
+          def bean = new BeanWithEmbeddedELExpressions()
+        when:
+          linkInjector.injectLinks(bean, linkContextResolver)
+        then:
+          statistics.missCount == 0
+          statistics.hitCount == 0
+    }
+}
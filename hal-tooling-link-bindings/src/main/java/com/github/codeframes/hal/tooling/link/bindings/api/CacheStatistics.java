@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe hit and miss counts of the caches sharing this instance, such as those of a LinkInjector memoizing
+ * expression values or caching static links.
+ */
+public final class CacheStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @return the number of times a cached value was reused
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of times a value was not cached and had to be computed
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Records a cache hit.
+     */
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Records a cache miss.
+     */
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.api;
+
+import com.github.codeframes.hal.tooling.link.bindings.Style;
+
+import javax.annotation.Nullable;
+
+/**
+ * A LinkContextResolver able to identify, by key, the context it resolves templates against for each {@link Style}.
+ * This allows the links of templates with no request dependent parts, i.e. no EL expressions or URI Template
+ * parameters, to be resolved once and reused for every resolver with an equal key.
+ */
+public interface CacheableLinkContextResolver extends LinkContextResolver {
+
+    /**
+     * Returns a key identifying the context that templates are resolved against for the given style. Any two resolvers
+     * returning equal keys for a style MUST resolve every template to the same result for that style, for example a
+     * key of the base URI templates are resolved against.
+     *
+     * @param style the style of resolution
+     * @return the key identifying the resolution context for style or {@code null} if results must not be reused
+     */
+    @Nullable
+    Object getResolutionKey(Style style);
+}
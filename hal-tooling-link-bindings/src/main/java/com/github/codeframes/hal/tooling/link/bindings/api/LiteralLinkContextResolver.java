@@ -15,11 +15,13 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.api;
 
+import com.github.codeframes.hal.tooling.link.bindings.Style;
+
 /**
  * A LinkContextResolver implementation that provides <b>No</b> URI <a href="https://tools.ietf.org/html/rfc3986">[RFC3986]</a>
  * or URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> resolution.
  */
-public class LiteralLinkContextResolver implements LinkContextResolver {
+public class LiteralLinkContextResolver implements CacheableLinkContextResolver {
 
     /**
      * Returns the literal value, template.
@@ -56,4 +58,15 @@ public class LiteralLinkContextResolver implements LinkContextResolver {
     public String resolveRelativePath(String template) {
         return template;
     }
+
+    /**
+     * Returns the given style, as templates are resolved to their literal value regardless of context.
+     *
+     * @param style the style of resolution
+     * @return style
+     */
+    @Override
+    public Object getResolutionKey(Style style) {
+        return style;
+    }
 }
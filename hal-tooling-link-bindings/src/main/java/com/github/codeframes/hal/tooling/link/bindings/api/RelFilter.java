@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.api;
+
+import com.github.codeframes.hal.tooling.utils.Validate;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The rels of the links to be injected, such as those requested with a <code>?links=self,next</code> query parameter.
+ * Links of any other rel are neither evaluated nor created, in the entity or any bean embedded within it. Curies are
+ * always injected, so that the rels of the links injected may be expanded.
+ */
+public final class RelFilter {
+
+    /**
+     * A RelFilter accepting links of any rel.
+     */
+    public static final RelFilter ALL = new RelFilter(null);
+
+    private final Set<String> rels;
+
+    private RelFilter(@Nullable Set<String> rels) {
+        this.rels = rels;
+    }
+
+    /**
+     * Returns a RelFilter accepting only links of the given rels.
+     *
+     * @param rels the rels of the links to accept
+     * @return RelFilter accepting only links of rels
+     */
+    public static RelFilter of(String... rels) {
+        return of(Arrays.asList(Validate.notNull(rels, "rels")));
+    }
+
+    /**
+     * Returns a RelFilter accepting only links of the given rels.
+     *
+     * @param rels the rels of the links to accept
+     * @return RelFilter accepting only links of rels
+     */
+    public static RelFilter of(Collection<String> rels) {
+        return new RelFilter(Collections.unmodifiableSet(new HashSet<>(Validate.notNull(rels, "rels"))));
+    }
+
+    /**
+     * Returns a RelFilter accepting only links of the rels of the given comma separated list, such as the value of a
+     * <code>links</code> query parameter, ignoring whitespace around each rel.
+     *
+     * @param rels a comma separated list of the rels of the links to accept
+     * @return RelFilter accepting only links of rels or {@link #ALL} if rels is {@code null} or blank
+     */
+    public static RelFilter parse(@Nullable String rels) {
+        if (rels == null) {
+            return ALL;
+        }
+        final Set<String> relSet = new HashSet<>();
+        for (String rel : rels.split(",")) {
+            final String trimmedRel = rel.trim();
+            if (!trimmedRel.isEmpty()) {
+                relSet.add(trimmedRel);
+            }
+        }
+        return relSet.isEmpty() ? ALL : new RelFilter(Collections.unmodifiableSet(relSet));
+    }
+
+    /**
+     * @param rel the rel of a link
+     * @return {@code true} if links of rel are to be injected, {@code false} otherwise
+     */
+    public boolean accepts(String rel) {
+        return rels == null || rels.contains(rel);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(rels);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final RelFilter other = (RelFilter) obj;
+        return Objects.equals(this.rels, other.rels);
+    }
+
+    @Override
+    public String toString() {
+        return "RelFilter{" +
+                "rels=" + (rels == null ? "*" : rels) +
+                '}';
+    }
+}
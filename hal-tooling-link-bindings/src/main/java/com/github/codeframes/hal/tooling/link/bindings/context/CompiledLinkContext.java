@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import com.github.codeframes.hal.tooling.link.bindings.Style;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * A LinkContext evaluating expressions compiled ahead of time and identifying the context hrefs are resolved against,
+ * such that resolved links may be reused. Implemented by {@link DefaultLinkContext}.
+ * <p>
+ * This interface is internal to the link bindings and may gain methods in any release; other LinkContext
+ * implementations are adapted by {@link LinkContexts#compiled(LinkContext)} instead.
+ */
+public interface CompiledLinkContext extends LinkContext {
+
+    /**
+     * Returns a Cursor for obtaining the LinkContext of each of a number of beans in turn, such as the elements of an
+     * embedded list, each equivalent to {@link #forBean(Object)}.
+     *
+     * @return a new Cursor over beans of this LinkContext
+     */
+    Cursor newCursor();
+
+    /**
+     * Evaluates and returns the result of a pre-compiled boolean expression.
+     *
+     * @param expression a compiled expression to evaluate as a boolean
+     * @return the result of the evaluated expression
+     */
+    boolean evaluateAsBoolean(LinkExpression expression);
+
+    /**
+     * Evaluates and returns the result of a pre-compiled String expression.
+     *
+     * @param expression a compiled expression to evaluate as a String
+     * @return the result of the evaluated expression
+     */
+    String evaluateAsString(LinkExpression expression);
+
+    /**
+     * Expands the given template and returns a URI or URI Template dependant on parameters given.
+     *
+     * @param template         a URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> to expand
+     * @param bindings         a Map of URI Template parameter bindings to be used in template expansion. Binding names
+     *                         are to match up with an associated URI Template parameter and the values a compiled
+     *                         expression, that when evaluated are used for parameter substitution.
+     * @param removeUnexpanded determines whether or not to preserve templated parameters where no substitution value is
+     *                         available. {@code true} to remove, {@code false} to retain
+     * @return a URI or URI Template dependant on parameters given
+     */
+    String expandCompiled(String template, Map<String, LinkExpression> bindings, boolean removeUnexpanded);
+
+    /**
+     * Expands the given compiled template and returns a URI or URI Template dependant on parameters given.
+     *
+     * @param template         a compiled URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> to
+     *                         expand
+     * @param bindings         a Map of URI Template parameter bindings to be used in template expansion. Binding names
+     *                         are to match up with an associated URI Template parameter and the values a compiled
+     *                         expression, that when evaluated are used for parameter substitution.
+     * @param removeUnexpanded determines whether or not to preserve templated parameters where no substitution value is
+     *                         available. {@code true} to remove, {@code false} to retain
+     * @return a URI or URI Template dependant on parameters given
+     */
+    String expandCompiled(UriTemplate template, Map<String, LinkExpression> bindings, boolean removeUnexpanded);
+
+    /**
+     * Evaluates and returns the result of a pre-compiled expression, such as a URI Template parameter binding.
+     *
+     * @param expression a compiled expression to evaluate
+     * @return the result of the evaluated expression
+     */
+    Object evaluate(LinkExpression expression);
+
+    /**
+     * Expands the given compiled template with values already evaluated, such as by
+     * {@link #evaluate(LinkExpression)}, and returns a URI or URI Template dependant on the values given.
+     *
+     * @param template         a compiled URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> to
+     *                         expand
+     * @param values           a Map of the values to use for parameter substitution, by parameter name
+     * @param removeUnexpanded determines whether or not to preserve templated parameters where no substitution value is
+     *                         available. {@code true} to remove, {@code false} to retain
+     * @return a URI or URI Template dependant on the values given
+     */
+    String expandEvaluated(UriTemplate template, Map<String, Object> values, boolean removeUnexpanded);
+
+    /**
+     * Returns a key identifying the context that {@link #style(Style, String)} resolves templates against for the given
+     * style, such that results may be reused for any LinkContext returning an equal key.
+     *
+     * @param style the style of resolution
+     * @return the key identifying the resolution context for style or {@code null} if results must not be reused
+     * @see com.github.codeframes.hal.tooling.link.bindings.api.CacheableLinkContextResolver
+     */
+    @Nullable
+    Object getResolutionKey(Style style);
+
+    /**
+     * A cursor over the beans of a LinkContext, which may reuse a single LinkContext for all beans.
+     */
+    interface Cursor {
+
+        /**
+         * Returns a LinkContext for the given bean, only valid until the next call to this method.
+         *
+         * @param bean the bean to get a LinkContext on
+         * @return LinkContext for the given bean
+         */
+        LinkContext moveTo(Object bean);
+    }
+}
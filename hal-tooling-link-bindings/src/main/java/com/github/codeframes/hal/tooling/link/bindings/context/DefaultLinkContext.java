@@ -16,29 +16,32 @@
 package com.github.codeframes.hal.tooling.link.bindings.context;
 
 import com.github.codeframes.hal.tooling.link.bindings.Style;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheableLinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate;
 import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplateExpander;
 
+import javax.annotation.Nullable;
 import javax.el.ExpressionFactory;
-import javax.el.ValueExpression;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * The default LinkContext implementation used for resolving links.
  */
-public class DefaultLinkContext implements LinkContext {
+public class DefaultLinkContext implements CompiledLinkContext {
 
-    private final ExpressionFactory expressionFactory;
+    private final ExpressionEngine expressionEngine;
     private final LinkContextResolver linkContextResolver;
     private final UriTemplateExpander uriTemplateExpander;
     private final LinkELContext linkELContext;
+    private final ExpressionValueCache expressionValueCache;
 
     /**
      * Constructs a DefaultLinkContext.
      *
-     * @param expressionFactory   the ExpressionFactory, used for parsing expression's into {@link ValueExpression}'s
-     *                            used in the evaluation process.
+     * @param expressionFactory   the ExpressionFactory, used for parsing expression's into
+     *                            {@link javax.el.ValueExpression ValueExpression}'s used in the evaluation process.
      * @param linkContextResolver the Link Context Resolver for resolving URI's or URI Template's to either absolute,
      *                            absolute path or relative path forms.
      * @param uriTemplateExpander the URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> Expander.
@@ -48,29 +51,104 @@ public class DefaultLinkContext implements LinkContext {
                               LinkContextResolver linkContextResolver,
                               UriTemplateExpander uriTemplateExpander,
                               LinkELContext linkELContext) {
-        this.expressionFactory = expressionFactory;
+        this(new ELExpressionEngine(expressionFactory), linkContextResolver, uriTemplateExpander, linkELContext);
+    }
+
+    /**
+     * Constructs a DefaultLinkContext.
+     *
+     * @param expressionEngine    the ExpressionEngine, used for evaluating any expression's not already compiled.
+     * @param linkContextResolver the Link Context Resolver for resolving URI's or URI Template's to either absolute,
+     *                            absolute path or relative path forms.
+     * @param uriTemplateExpander the URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> Expander.
+     * @param linkELContext       the Link ELContext, used for EL evaluations.
+     */
+    public DefaultLinkContext(ExpressionEngine expressionEngine,
+                              LinkContextResolver linkContextResolver,
+                              UriTemplateExpander uriTemplateExpander,
+                              LinkELContext linkELContext) {
+        this(expressionEngine, linkContextResolver, uriTemplateExpander, linkELContext, null);
+    }
+
+    /**
+     * Constructs a DefaultLinkContext memoizing the values of compiled expressions per bean.
+     *
+     * @param expressionEngine     the ExpressionEngine, used for evaluating any expression's not already compiled.
+     * @param linkContextResolver  the Link Context Resolver for resolving URI's or URI Template's to either absolute,
+     *                             absolute path or relative path forms.
+     * @param uriTemplateExpander  the URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> Expander.
+     * @param linkELContext        the Link ELContext, used for EL evaluations.
+     * @param expressionValueCache the cache of compiled expression values for the current bean, a new scope of which is
+     *                             used for each bean given to {@link #forBean(Object)}, or {@code null} to evaluate
+     *                             compiled expressions on each use.
+     */
+    public DefaultLinkContext(ExpressionEngine expressionEngine,
+                              LinkContextResolver linkContextResolver,
+                              UriTemplateExpander uriTemplateExpander,
+                              LinkELContext linkELContext,
+                              ExpressionValueCache expressionValueCache) {
+        this.expressionEngine = expressionEngine;
         this.linkContextResolver = linkContextResolver;
         this.uriTemplateExpander = uriTemplateExpander;
         this.linkELContext = linkELContext;
+        this.expressionValueCache = expressionValueCache;
+    }
+
+    /**
+     * Returns a Cursor over each of a number of entities in turn, such as the entities of a batch, each equivalent to
+     * a DefaultLinkContext constructed with a {@link DefaultLinkELContext} for the entity, but reusing a single
+     * LinkContext for all entities.
+     *
+     * @param expressionEngine     the ExpressionEngine, used for evaluating any expression's not already compiled.
+     * @param linkContextResolver  the Link Context Resolver for resolving URI's or URI Template's to either absolute,
+     *                             absolute path or relative path forms.
+     * @param uriTemplateExpander  the URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> Expander.
+     * @param expressionValueCache the cache of compiled expression values, a new scope of which is used for the
+     *                             entities, or {@code null} to evaluate compiled expressions on each use.
+     * @return a new Cursor over entities
+     */
+    public static Cursor newEntityCursor(ExpressionEngine expressionEngine,
+                                         LinkContextResolver linkContextResolver,
+                                         UriTemplateExpander uriTemplateExpander,
+                                         @Nullable ExpressionValueCache expressionValueCache) {
+        // The entity cursor provides the LinkELContext, the outer context only provides the shared collaborators
+        final DefaultLinkContext linkContext = new DefaultLinkContext(
+                expressionEngine, linkContextResolver, uriTemplateExpander, null, expressionValueCache);
+        return linkContext.new BeanCursor(DefaultLinkELContext.newEntityCursor());
     }
 
     @Override
     public LinkContext forBean(Object bean) {
         LinkELContext newLinkELContext = linkELContext.withInstance(bean);
-        return new DefaultLinkContext(expressionFactory, linkContextResolver, uriTemplateExpander, newLinkELContext);
+        return new DefaultLinkContext(expressionEngine, linkContextResolver, uriTemplateExpander, newLinkELContext,
+                expressionValueCache == null ? null : expressionValueCache.newScope());
+    }
+
+    @Override
+    public Cursor newCursor() {
+        return new BeanCursor(linkELContext.newCursor());
     }
 
     @Override
     public boolean evaluateAsBoolean(String expression) {
-        ValueExpression valExpr = expressionFactory.createValueExpression(linkELContext, expression, boolean.class);
-        Object value = valExpr.getValue(linkELContext);
+        Object value = expressionEngine.evaluate(expression, boolean.class, linkELContext);
         return Boolean.TRUE.equals(value);
     }
 
     @Override
     public String evaluateAsString(String expression) {
-        ValueExpression valExpr = expressionFactory.createValueExpression(linkELContext, expression, String.class);
-        return (String) valExpr.getValue(linkELContext);
+        return (String) expressionEngine.evaluate(expression, String.class, linkELContext);
+    }
+
+    @Override
+    public boolean evaluateAsBoolean(LinkExpression expression) {
+        Object value = getValue(expression);
+        return Boolean.TRUE.equals(value);
+    }
+
+    @Override
+    public String evaluateAsString(LinkExpression expression) {
+        return (String) getValue(expression);
     }
 
     @Override
@@ -82,9 +160,42 @@ public class DefaultLinkContext implements LinkContext {
         return uriTemplateExpander.expand(template, bindingParameters, removeUnexpanded);
     }
 
+    @Override
+    public String expandCompiled(String template, Map<String, LinkExpression> bindings, boolean removeUnexpanded) {
+        return uriTemplateExpander.expand(template, evaluateBindings(bindings), removeUnexpanded);
+    }
+
+    @Override
+    public String expandCompiled(UriTemplate template, Map<String, LinkExpression> bindings, boolean removeUnexpanded) {
+        return uriTemplateExpander.expand(template, evaluateBindings(bindings), removeUnexpanded);
+    }
+
+    @Override
+    public String expandEvaluated(UriTemplate template, Map<String, Object> values, boolean removeUnexpanded) {
+        return uriTemplateExpander.expand(template, values, removeUnexpanded);
+    }
+
+    @Override
+    public Object evaluate(LinkExpression expression) {
+        return getValue(expression);
+    }
+
+    private Map<String, Object> evaluateBindings(Map<String, LinkExpression> bindings) {
+        Map<String, Object> bindingParameters = new HashMap<>();
+        for (Map.Entry<String, LinkExpression> binding : bindings.entrySet()) {
+            bindingParameters.put(binding.getKey(), getValue(binding.getValue()));
+        }
+        return bindingParameters;
+    }
+
     private Object evaluateAsObject(String expression) {
-        ValueExpression valExpr = expressionFactory.createValueExpression(linkELContext, expression, Object.class);
-        return valExpr.getValue(linkELContext);
+        return expressionEngine.evaluate(expression, Object.class, linkELContext);
+    }
+
+    private Object getValue(LinkExpression expression) {
+        return expressionValueCache == null
+                ? expression.getValue(linkELContext)
+                : expressionValueCache.getValue(expression, linkELContext);
     }
 
     @Override
@@ -100,4 +211,35 @@ public class DefaultLinkContext implements LinkContext {
                 return linkContextResolver.resolveAbsolute(template);
         }
     }
+
+    @Override
+    public Object getResolutionKey(Style style) {
+        return linkContextResolver instanceof CacheableLinkContextResolver
+                ? ((CacheableLinkContextResolver) linkContextResolver).getResolutionKey(style)
+                : null;
+    }
+
+    private final class BeanCursor implements Cursor {
+
+        private final LinkELContext.Cursor linkELContextCursor;
+        private DefaultLinkContext linkContext;
+
+        BeanCursor(LinkELContext.Cursor linkELContextCursor) {
+            this.linkELContextCursor = linkELContextCursor;
+        }
+
+        @Override
+        public LinkContext moveTo(Object bean) {
+            final LinkELContext newLinkELContext = linkELContextCursor.moveTo(bean);
+            if (linkContext != null && linkContext.linkELContext == newLinkELContext) {
+                if (linkContext.expressionValueCache != null) {
+                    linkContext.expressionValueCache.clear();
+                }
+            } else {
+                linkContext = new DefaultLinkContext(expressionEngine, linkContextResolver, uriTemplateExpander, newLinkELContext,
+                        expressionValueCache == null ? null : expressionValueCache.newScope());
+            }
+            return linkContext;
+        }
+    }
 }
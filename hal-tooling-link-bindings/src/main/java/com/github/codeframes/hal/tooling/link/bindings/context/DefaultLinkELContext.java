@@ -18,9 +18,7 @@ package com.github.codeframes.hal.tooling.link.bindings.context;
 import com.github.codeframes.hal.tooling.utils.Validate;
 
 import javax.el.*;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * The default LinkELContext implementation providing access to the following identifiers:
@@ -45,6 +43,19 @@ public class DefaultLinkELContext extends LinkELContext {
      */
     public static final String ENTITY_OBJECT = "entity";
 
+    static final ELResolver EL_RESOLVER = createELResolver();
+
+    private static final ClassValue<Boolean> WITH_INSTANCE_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("withInstance", Object.class).getDeclaringClass() != DefaultLinkELContext.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
     private final Map<String, Object> objects;
 
     /**
@@ -70,6 +81,10 @@ public class DefaultLinkELContext extends LinkELContext {
         this.objects = Collections.unmodifiableMap(objects);
     }
 
+    private DefaultLinkELContext(InstanceObjects objects) {
+        this.objects = objects;
+    }
+
     private static Map<String, Object> toObjects(Object entity, Map<String, Object> identifiers) {
         final Map<String, Object> objects = new HashMap<>(2 + identifiers.size());
         for (Map.Entry<String, Object> entry : identifiers.entrySet()) {
@@ -80,22 +95,85 @@ public class DefaultLinkELContext extends LinkELContext {
         return objects;
     }
 
+    /**
+     * Returns a DefaultLinkELContext for the given instance, sharing all other objects with this context rather than
+     * copying them.
+     */
     @Override
     public LinkELContext withInstance(Object instance) {
-        final Map<String, Object> newObjects = new HashMap<>(this.objects);
-        newObjects.put(INSTANCE_OBJECT, Validate.notNull(instance, INSTANCE_OBJECT));
-        return new DefaultLinkELContext(newObjects);
+        return new DefaultLinkELContext(new InstanceObjects(getSharedObjects(), Validate.notNull(instance, INSTANCE_OBJECT)));
     }
 
+    /**
+     * Returns a Cursor reusing a single DefaultLinkELContext for all instances, repositioned on each call to
+     * {@link Cursor#moveTo(Object)}. Subclasses overriding {@link #withInstance(Object)} are given the default
+     * Cursor, delegating to {@link #withInstance(Object)} for each instance.
+     */
     @Override
-    public ELResolver getELResolver() {
+    public Cursor newCursor() {
+        if (WITH_INSTANCE_OVERRIDDEN.get(getClass())) {
+            return super.newCursor();
+        }
+
+        final InstanceObjects instanceObjects = new InstanceObjects(getSharedObjects(), objects.get(INSTANCE_OBJECT));
+        final DefaultLinkELContext linkELContext = new DefaultLinkELContext(instanceObjects);
+        return new Cursor() {
+            @Override
+            public LinkELContext moveTo(Object instance) {
+                instanceObjects.instance = Validate.notNull(instance, INSTANCE_OBJECT);
+                return linkELContext;
+            }
+        };
+    }
+
+    /**
+     * Returns a Cursor reusing a single DefaultLinkELContext for each of a number of entities in turn, such as the
+     * entities of a batch, each equivalent to {@link #DefaultLinkELContext(Object)}.
+     *
+     * @return a new Cursor over entities
+     */
+    public static Cursor newEntityCursor() {
+        final EntityObjects entityObjects = new EntityObjects();
+        final DefaultLinkELContext linkELContext = new DefaultLinkELContext(entityObjects);
+        return new Cursor() {
+            @Override
+            public LinkELContext moveTo(Object entity) {
+                entityObjects.entity = Validate.notNull(entity, ENTITY_OBJECT);
+                return linkELContext;
+            }
+        };
+    }
+
+    private Map<String, Object> getSharedObjects() {
+        return objects instanceof InstanceObjects ? ((InstanceObjects) objects).sharedObjects : objects;
+    }
+
+    private static ELResolver createELResolver() {
         CompositeELResolver resolver = new CompositeELResolver();
-        resolver.add(new LinkELContextResolver(this.objects));
+        resolver.add(new LinkELContextResolver());
         resolver.add(new MapELResolver(true));
         resolver.add(new BeanELResolver(true));
         return resolver;
     }
 
+    /**
+     * Returns the ELResolver shared across all DefaultLinkELContext instances, object identifiers are resolved against
+     * the objects of the context being evaluated.
+     */
+    @Override
+    public ELResolver getELResolver() {
+        return EL_RESOLVER;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Object getContext(Class key) {
+        if (key == LinkELContextResolver.class) {
+            return objects;
+        }
+        return super.getContext(key);
+    }
+
     @Override
     public FunctionMapper getFunctionMapper() {
         return null;
@@ -105,4 +183,61 @@ public class DefaultLinkELContext extends LinkELContext {
     public VariableMapper getVariableMapper() {
         return null;
     }
+
+    /**
+     * A read only view of shared objects with the instance object overridden.
+     */
+    private static final class InstanceObjects extends AbstractMap<String, Object> {
+
+        private final Map<String, Object> sharedObjects;
+        private Object instance;
+
+        InstanceObjects(Map<String, Object> sharedObjects, Object instance) {
+            this.sharedObjects = sharedObjects;
+            this.instance = instance;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return INSTANCE_OBJECT.equals(key) ? instance : sharedObjects.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return INSTANCE_OBJECT.equals(key) || sharedObjects.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Map<String, Object> objects = new HashMap<>(sharedObjects);
+            objects.put(INSTANCE_OBJECT, instance);
+            return Collections.unmodifiableMap(objects).entrySet();
+        }
+    }
+
+    /**
+     * A read only view of the entity object, which is also the instance object.
+     */
+    private static final class EntityObjects extends AbstractMap<String, Object> {
+
+        private Object entity;
+
+        @Override
+        public Object get(Object key) {
+            return containsKey(key) ? entity : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return ENTITY_OBJECT.equals(key) || INSTANCE_OBJECT.equals(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Map<String, Object> objects = new HashMap<>(2);
+            objects.put(ENTITY_OBJECT, entity);
+            objects.put(INSTANCE_OBJECT, entity);
+            return Collections.unmodifiableMap(objects).entrySet();
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import javax.el.*;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * The default, EL backed, ExpressionEngine. Compiles Link expressions into {@link LinkExpression}'s, such that an
+ * expression is parsed only once and then only evaluated thereafter. Simple property paths, such as those created by
+ * {@link LinkELContext#toParameterExpression} and {@link LinkELContext#toUriParameterExpression}, are compiled into
+ * direct getter invocations bypassing EL evaluation altogether.
+ */
+public class ELExpressionEngine implements ExpressionEngine {
+
+    private static final ELContext PARSE_CONTEXT = new ParseContext();
+
+    private final ExpressionFactory expressionFactory;
+
+    /**
+     * Constructs an ELExpressionEngine.
+     *
+     * @param expressionFactory the ExpressionFactory, used for parsing expression's into {@link ValueExpression}'s
+     */
+    public ELExpressionEngine(ExpressionFactory expressionFactory) {
+        this.expressionFactory = expressionFactory;
+    }
+
+    @Override
+    public LinkExpression compile(String expression, Class<?> expectedType) {
+        ValueExpression valueExpression;
+        try {
+            valueExpression = expressionFactory.createValueExpression(PARSE_CONTEXT, expression, expectedType);
+        } catch (FunctionReferenceException e) {
+            // Functions can only be resolved by the ELContext the expression is later evaluated against
+            valueExpression = null;
+        }
+        final LinkExpression elLinkExpression =
+                new ELLinkExpression(expressionFactory, valueExpression, expression, expectedType);
+        final LinkExpression propertyPathLinkExpression =
+                PropertyPathLinkExpression.of(expressionFactory, elLinkExpression, expectedType);
+        return propertyPathLinkExpression == null ? elLinkExpression : propertyPathLinkExpression;
+    }
+
+    @Override
+    public Object evaluate(String expression, Class<?> expectedType, LinkELContext linkELContext) {
+        return expressionFactory.createValueExpression(linkELContext, expression, expectedType).getValue(linkELContext);
+    }
+
+    private static final class ELLinkExpression implements LinkExpression {
+
+        private final ExpressionFactory expressionFactory;
+        private final ValueExpression valueExpression;
+        private final String expression;
+        private final Class<?> expectedType;
+
+        ELLinkExpression(ExpressionFactory expressionFactory,
+                         ValueExpression valueExpression,
+                         String expression,
+                         Class<?> expectedType) {
+            this.expressionFactory = expressionFactory;
+            this.valueExpression = valueExpression;
+            this.expression = expression;
+            this.expectedType = expectedType;
+        }
+
+        @Override
+        public String getExpressionString() {
+            return expression;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            if (valueExpression != null
+                    && linkELContext.getFunctionMapper() == null
+                    && linkELContext.getVariableMapper() == null) {
+                return valueExpression.getValue(linkELContext);
+            }
+            // Functions and variables are bound at parse time, so honour those of the given context
+            return expressionFactory.createValueExpression(linkELContext, expression, expectedType)
+                    .getValue(linkELContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, expectedType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ELLinkExpression other = (ELLinkExpression) obj;
+            return Objects.equals(this.expression, other.expression)
+                    && Objects.equals(this.expectedType, other.expectedType);
+        }
+
+        @Override
+        public String toString() {
+            return "ELLinkExpression{" +
+                    "expression='" + expression + '\'' +
+                    ", expectedType=" + expectedType +
+                    '}';
+        }
+    }
+
+    private static final class ParseContext extends ELContext {
+
+        private final FunctionMapper functionMapper = new FunctionMapper() {
+            @Override
+            public Method resolveFunction(String prefix, String localName) {
+                throw new FunctionReferenceException();
+            }
+        };
+
+        @Override
+        public ELResolver getELResolver() {
+            return null;
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return functionMapper;
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return null;
+        }
+    }
+
+    private static final class FunctionReferenceException extends RuntimeException {
+
+        FunctionReferenceException() {
+            super(null, null, false, false);
+        }
+    }
+}
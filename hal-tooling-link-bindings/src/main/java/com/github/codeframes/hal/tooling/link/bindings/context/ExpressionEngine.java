@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+/**
+ * An Expression Engine, responsible for compiling the expressions declared on link bindings into
+ * {@link LinkExpression}'s. Expressions are compiled once, at descriptor creation, and then evaluated any number of
+ * times against a given {@link LinkELContext}.
+ *
+ * @see ELExpressionEngine
+ * @see SimpleExpressionEngine
+ */
+public interface ExpressionEngine {
+
+    /**
+     * Compiles the given expression into a LinkExpression that evaluates to the expectedType.
+     *
+     * @param expression   the expression to compile
+     * @param expectedType the type the result of the expression will be coerced to after evaluation
+     * @return LinkExpression for the given expression
+     * @throws javax.el.ELException if the expression has syntactical errors
+     */
+    LinkExpression compile(String expression, Class<?> expectedType);
+
+    /**
+     * Evaluates the given expression, once, against the given linkELContext and returns the result coerced to the
+     * expectedType.
+     *
+     * @param expression    the expression to evaluate
+     * @param expectedType  the type the result of the expression will be coerced to after evaluation
+     * @param linkELContext the Link ELContext to evaluate the expression against
+     * @return the result of the evaluated expression
+     * @throws javax.el.ELException if the expression has syntactical errors or fails evaluation
+     */
+    Object evaluate(String expression, Class<?> expectedType, LinkELContext linkELContext);
+}
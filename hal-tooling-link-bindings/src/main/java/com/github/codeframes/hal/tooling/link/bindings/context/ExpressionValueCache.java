@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A cache of evaluated {@link LinkExpression} values scoped to a single bean, so that an expression repeated across
+ * the links of the bean, such as an {@code ${instance.id}} binding or a shared condition, is evaluated only once.
+ * Expressions are matched by equality, i.e. on expression String and expected type.
+ * <p>
+ * Instances are not thread safe and are intended to be used for a single link injection pass; a new scope, sharing
+ * the same {@link CacheStatistics}, should be created for each bean with {@link #newScope()}.
+ */
+public final class ExpressionValueCache {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final CacheStatistics statistics;
+    private Map<LinkExpression, Object> values;
+
+    /**
+     * Constructs an ExpressionValueCache recording hits and misses to a new {@link CacheStatistics}.
+     */
+    public ExpressionValueCache() {
+        this(new CacheStatistics());
+    }
+
+    /**
+     * Constructs an ExpressionValueCache recording hits and misses to the given statistics.
+     *
+     * @param statistics the statistics to record cache hits and misses to
+     */
+    public ExpressionValueCache(CacheStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns a new, empty, ExpressionValueCache sharing the statistics of this cache.
+     */
+    public ExpressionValueCache newScope() {
+        return new ExpressionValueCache(statistics);
+    }
+
+    /**
+     * Returns the value of the given expression, evaluating it against linkELContext only if not already cached.
+     *
+     * @param expression    the expression to get the value of
+     * @param linkELContext the Link ELContext to evaluate expression against, if not cached
+     * @return the value of the evaluated expression
+     */
+    public Object getValue(LinkExpression expression, LinkELContext linkELContext) {
+        if (values == null) {
+            values = new HashMap<>();
+        } else {
+            final Object value = values.get(expression);
+            if (value != null) {
+                statistics.recordHit();
+                return value == NULL_VALUE ? null : value;
+            }
+        }
+
+        statistics.recordMiss();
+        final Object value = expression.getValue(linkELContext);
+        values.put(expression, value == null ? NULL_VALUE : value);
+        return value;
+    }
+
+    /**
+     * Removes all cached values, used when the bean this cache is scoped to is replaced.
+     */
+    void clear() {
+        if (values != null) {
+            values.clear();
+        }
+    }
+
+    /**
+     * @return the statistics this cache records hits and misses to
+     */
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+}
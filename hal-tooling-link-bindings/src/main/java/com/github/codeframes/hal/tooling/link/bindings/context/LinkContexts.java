@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import com.github.codeframes.hal.tooling.link.bindings.Style;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplateExpander;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utilities for working with {@link LinkContext}'s.
+ */
+public final class LinkContexts {
+
+    private LinkContexts() {
+    }
+
+    /**
+     * Returns the given linkContext as a CompiledLinkContext. A linkContext not implementing {@link CompiledLinkContext}
+     * is adapted, evaluating the expression Strings compiled expressions were compiled from through the given
+     * linkContext and never allowing resolved links to be reused. As a LinkContext only evaluates expressions as
+     * Strings, {@link CompiledLinkContext#evaluate(LinkExpression)} of the adapter returns the String result, and
+     * {@link CompiledLinkContext#expandEvaluated(UriTemplate, Map, boolean)} expands with a default
+     * {@link UriTemplateExpander}.
+     *
+     * @param linkContext the LinkContext to return as a CompiledLinkContext
+     * @return the given linkContext as a CompiledLinkContext
+     */
+    public static CompiledLinkContext compiled(LinkContext linkContext) {
+        return linkContext instanceof CompiledLinkContext
+                ? (CompiledLinkContext) linkContext
+                : new LinkContextAdapter(linkContext);
+    }
+
+    private static final class LinkContextAdapter implements CompiledLinkContext {
+
+        private static final UriTemplateExpander URI_TEMPLATE_EXPANDER = new UriTemplateExpander();
+
+        private final LinkContext linkContext;
+
+        LinkContextAdapter(LinkContext linkContext) {
+            this.linkContext = linkContext;
+        }
+
+        @Override
+        public LinkContext forBean(Object bean) {
+            return linkContext.forBean(bean);
+        }
+
+        @Override
+        public Cursor newCursor() {
+            return new Cursor() {
+                @Override
+                public LinkContext moveTo(Object bean) {
+                    return linkContext.forBean(bean);
+                }
+            };
+        }
+
+        @Override
+        public boolean evaluateAsBoolean(String expression) {
+            return linkContext.evaluateAsBoolean(expression);
+        }
+
+        @Override
+        public String evaluateAsString(String expression) {
+            return linkContext.evaluateAsString(expression);
+        }
+
+        @Override
+        public boolean evaluateAsBoolean(LinkExpression expression) {
+            return linkContext.evaluateAsBoolean(expression.getExpressionString());
+        }
+
+        @Override
+        public String evaluateAsString(LinkExpression expression) {
+            return linkContext.evaluateAsString(expression.getExpressionString());
+        }
+
+        @Override
+        public String expand(String template, Map<String, String> bindings, boolean removeUnexpanded) {
+            return linkContext.expand(template, bindings, removeUnexpanded);
+        }
+
+        @Override
+        public String expandCompiled(String template, Map<String, LinkExpression> bindings, boolean removeUnexpanded) {
+            return linkContext.expand(template, toExpressionStrings(bindings), removeUnexpanded);
+        }
+
+        @Override
+        public String expandCompiled(UriTemplate template, Map<String, LinkExpression> bindings, boolean removeUnexpanded) {
+            return linkContext.expand(template.getTemplate(), toExpressionStrings(bindings), removeUnexpanded);
+        }
+
+        @Override
+        public Object evaluate(LinkExpression expression) {
+            return linkContext.evaluateAsString(expression.getExpressionString());
+        }
+
+        @Override
+        public String expandEvaluated(UriTemplate template, Map<String, Object> values, boolean removeUnexpanded) {
+            return URI_TEMPLATE_EXPANDER.expand(template, values, removeUnexpanded);
+        }
+
+        @Override
+        public String style(Style style, String template) {
+            return linkContext.style(style, template);
+        }
+
+        @Override
+        public Object getResolutionKey(Style style) {
+            return null;
+        }
+
+        private static Map<String, String> toExpressionStrings(Map<String, LinkExpression> bindings) {
+            final Map<String, String> expressions = new HashMap<>(bindings.size());
+            for (Map.Entry<String, LinkExpression> binding : bindings.entrySet()) {
+                expressions.put(binding.getKey(), binding.getValue().getExpressionString());
+            }
+            return expressions;
+        }
+    }
+}
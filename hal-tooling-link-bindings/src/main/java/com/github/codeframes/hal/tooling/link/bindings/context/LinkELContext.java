@@ -60,4 +60,33 @@ public abstract class LinkELContext extends ELContext {
      */
     public abstract LinkELContext withInstance(Object instance);
 
+    /**
+     * Returns a Cursor for obtaining the LinkELContext of each of a number of instances in turn, such as the elements
+     * of an embedded list, each equivalent to {@link #withInstance(Object)}. The default implementation delegates to
+     * {@link #withInstance(Object)} for each instance.
+     *
+     * @return a new Cursor over instances of this LinkELContext
+     */
+    public Cursor newCursor() {
+        return new Cursor() {
+            @Override
+            public LinkELContext moveTo(Object instance) {
+                return withInstance(instance);
+            }
+        };
+    }
+
+    /**
+     * A cursor over the instances of a LinkELContext, which may reuse a single LinkELContext for all instances.
+     */
+    public interface Cursor {
+
+        /**
+         * Returns a LinkELContext for the given instance, only valid until the next call to this method.
+         *
+         * @param instance the instance to get a LinkELContext on
+         * @return LinkELContext for the given instance
+         */
+        LinkELContext moveTo(Object instance);
+    }
 }
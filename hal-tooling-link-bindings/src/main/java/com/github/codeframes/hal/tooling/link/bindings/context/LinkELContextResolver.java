@@ -22,17 +22,16 @@ import java.beans.FeatureDescriptor;
 import java.util.Iterator;
 import java.util.Map;
 
+/**
+ * Resolves top level identifiers against the objects of the ELContext being evaluated. The objects are looked up via
+ * {@link ELContext#getContext(Class)} keyed by this class, meaning a single resolver can be shared across contexts.
+ */
 class LinkELContextResolver extends ELResolver {
 
-    private final Map<String, Object> objects;
-
-    LinkELContextResolver(Map<String, Object> objects) {
-        this.objects = objects;
-    }
-
     @Override
     public Object getValue(ELContext context, Object base, Object property) {
-        if (isHandled(context, base, property)) {
+        final Map<String, Object> objects = getObjects(context, base);
+        if (isHandled(context, objects, property)) {
             return objects.get(property.toString());
         }
         return null;
@@ -40,18 +39,24 @@ class LinkELContextResolver extends ELResolver {
 
     @Override
     public Class<?> getType(ELContext context, Object base, Object property) {
-        if (isHandled(context, base, property)) {
+        final Map<String, Object> objects = getObjects(context, base);
+        if (isHandled(context, objects, property)) {
             final Object value = objects.get(property.toString());
             return value == null ? null : value.getClass();
         }
         return null;
     }
 
-    private boolean isHandled(ELContext context, Object base, Object property) {
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getObjects(ELContext context, Object base) {
         if (base != null) {
-            return false;
+            return null;
         }
-        if (objects.containsKey(property.toString())) {
+        return (Map<String, Object>) context.getContext(LinkELContextResolver.class);
+    }
+
+    private static boolean isHandled(ELContext context, Map<String, Object> objects, Object property) {
+        if (objects != null && objects.containsKey(property.toString())) {
             context.setPropertyResolved(true);
             return true;
         }
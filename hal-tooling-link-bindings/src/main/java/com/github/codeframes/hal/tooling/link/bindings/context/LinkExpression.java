@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+/**
+ * A Link expression that has been parsed once, ahead of time, and can then be evaluated any number of times against a
+ * given {@link LinkELContext}.
+ *
+ * @see ExpressionEngine
+ */
+public interface LinkExpression {
+
+    /**
+     * @return the original expression String this LinkExpression was compiled from
+     */
+    String getExpressionString();
+
+    /**
+     * Evaluates this expression against the given linkELContext and returns the result, coerced to the expected type
+     * this expression was compiled for.
+     *
+     * @param linkELContext the Link ELContext to evaluate this expression against
+     * @return the result of the evaluated expression
+     */
+    Object getValue(LinkELContext linkELContext);
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import javax.el.ELException;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides cached, MethodHandle backed, read access to bean properties, resolved in the same manner as EL's
+ * BeanELResolver.
+ */
+final class PropertyAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> ACCESSORS =
+            new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+                @Override
+                protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final PropertyAccessor NO_ACCESSOR = new PropertyAccessor(null);
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * Returns the PropertyAccessor for the given property on the given type, or null if the type has no such property
+     * with a publicly accessible getter.
+     */
+    static PropertyAccessor get(Class<?> type, String property) {
+        final ConcurrentMap<String, PropertyAccessor> accessors = ACCESSORS.get(type);
+        PropertyAccessor accessor = accessors.get(property);
+        if (accessor == null) {
+            accessor = findAccessor(type, property);
+            accessors.putIfAbsent(property, accessor);
+        }
+        return accessor == NO_ACCESSOR ? null : accessor;
+    }
+
+    private static PropertyAccessor findAccessor(Class<?> type, String property) {
+        final PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(type).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            return NO_ACCESSOR;
+        }
+        for (PropertyDescriptor descriptor : descriptors) {
+            if (descriptor.getName().equals(property)) {
+                final Method readMethod = findPublicMethod(type, descriptor.getReadMethod());
+                if (readMethod == null) {
+                    return NO_ACCESSOR;
+                }
+                try {
+                    return new PropertyAccessor(MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE));
+                } catch (IllegalAccessException e) {
+                    return NO_ACCESSOR;
+                }
+            }
+        }
+        return NO_ACCESSOR;
+    }
+
+    /**
+     * Returns the given method if declared by a public class, otherwise the same method declared by a public super
+     * class or interface, as would be invoked by EL's BeanELResolver.
+     */
+    private static Method findPublicMethod(Class<?> type, Method method) {
+        if (method == null || type == null) {
+            return null;
+        }
+        if (Modifier.isPublic(type.getModifiers())) {
+            try {
+                return type.getMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            final Method interfaceMethod = findPublicMethod(interfaceType, method);
+            if (interfaceMethod != null) {
+                return interfaceMethod;
+            }
+        }
+        return findPublicMethod(type.getSuperclass(), method);
+    }
+
+    /**
+     * Read access to a single bean property.
+     */
+    static final class PropertyAccessor {
+
+        private final MethodHandle getter;
+
+        PropertyAccessor(MethodHandle getter) {
+            this.getter = getter;
+        }
+
+        /**
+         * Returns the property value of the given base object.
+         *
+         * @throws ELException wrapping any exception thrown by the getter
+         */
+        Object getValue(Object base) {
+            try {
+                return (Object) getter.invokeExact(base);
+            } catch (Throwable t) {
+                throw new ELException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import javax.el.ExpressionFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A LinkExpression for simple property paths such as <code>${instance.id}</code> or <code>${uri.page}</code>, evaluated
+ * by invoking the property getters directly rather than through EL.
+ * <p>
+ * Paths are only evaluated directly when against a {@link DefaultLinkELContext} (or subclass) using its own ELResolver
+ * and no VariableMapper, any other context or any path that can not be resolved directly (an unknown identifier or
+ * property, or a non public getter) is delegated to the EL fallback expression, preserving EL semantics and errors.
+ */
+final class PropertyPathLinkExpression implements LinkExpression {
+
+    private static final Pattern PROPERTY_PATH_PATTERN =
+            Pattern.compile("\\$\\{\\s*[A-Za-z_$][\\w$]*(\\s*\\.\\s*[A-Za-z_$][\\w$]*)*\\s*}");
+
+    private static final String[] RESERVED_WORDS = {
+            "and", "div", "empty", "eq", "false", "ge", "gt", "instanceof",
+            "le", "lt", "mod", "ne", "not", "null", "or", "true"
+    };
+
+    private final ExpressionFactory expressionFactory;
+    private final LinkExpression fallback;
+    private final String identifier;
+    private final String[] properties;
+    private final Class<?> expectedType;
+
+    private PropertyPathLinkExpression(ExpressionFactory expressionFactory,
+                                       LinkExpression fallback,
+                                       String[] path,
+                                       Class<?> expectedType) {
+        this.expressionFactory = expressionFactory;
+        this.fallback = fallback;
+        this.identifier = path[0];
+        this.properties = Arrays.copyOfRange(path, 1, path.length);
+        this.expectedType = expectedType;
+    }
+
+    /**
+     * Returns a PropertyPathLinkExpression for the given fallback expression if its expression String is a simple
+     * property path, otherwise null.
+     */
+    static PropertyPathLinkExpression of(ExpressionFactory expressionFactory,
+                                         LinkExpression fallback,
+                                         Class<?> expectedType) {
+        final String expression = fallback.getExpressionString();
+        if (!PROPERTY_PATH_PATTERN.matcher(expression).matches()) {
+            return null;
+        }
+        final String[] path = expression.substring(2, expression.length() - 1).trim().split("\\s*\\.\\s*");
+        for (String name : path) {
+            if (Arrays.binarySearch(RESERVED_WORDS, name) >= 0) {
+                return null;
+            }
+        }
+        return new PropertyPathLinkExpression(expressionFactory, fallback, path, expectedType);
+    }
+
+    @Override
+    public String getExpressionString() {
+        return fallback.getExpressionString();
+    }
+
+    @Override
+    public Object getValue(LinkELContext linkELContext) {
+        if (linkELContext.getELResolver() != DefaultLinkELContext.EL_RESOLVER
+                || linkELContext.getVariableMapper() != null) {
+            return fallback.getValue(linkELContext);
+        }
+        final Map<?, ?> objects = (Map<?, ?>) linkELContext.getContext(LinkELContextResolver.class);
+        if (objects == null || !objects.containsKey(identifier)) {
+            return fallback.getValue(linkELContext);
+        }
+
+        Object value = objects.get(identifier);
+        for (int i = 0; i < properties.length && value != null; i++) {
+            if (value instanceof Map) {
+                value = ((Map<?, ?>) value).get(properties[i]);
+            } else {
+                final PropertyAccessors.PropertyAccessor accessor = PropertyAccessors.get(value.getClass(), properties[i]);
+                if (accessor == null) {
+                    return fallback.getValue(linkELContext);
+                }
+                value = accessor.getValue(value);
+            }
+        }
+        return expectedType == Object.class ? value : expressionFactory.coerceToType(value, expectedType);
+    }
+
+    @Override
+    public int hashCode() {
+        return fallback.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final PropertyPathLinkExpression other = (PropertyPathLinkExpression) obj;
+        return Objects.equals(this.fallback, other.fallback);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyPathLinkExpression{" +
+                "expression='" + getExpressionString() + '\'' +
+                ", expectedType=" + expectedType +
+                '}';
+    }
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context;
+
+import javax.el.ELException;
+import javax.el.ELResolver;
+import javax.el.PropertyNotFoundException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A lightweight ExpressionEngine, evaluating expressions without an EL implementation. Supports the subset of EL
+ * commonly used in link bindings:
+ * <ul>
+ * <li>composite expressions of literal text and <code>${...}</code> evaluations, e.g. <code>/people/${instance.id}</code></li>
+ * <li>identifiers and property paths, e.g. <code>${instance.address.city}</code> or <code>${instance.map['key']}</code></li>
+ * <li>string, integer, decimal, boolean and null literals</li>
+ * <li>the operators <code>==</code>/<code>eq</code>, <code>!=</code>/<code>ne</code>, <code>&amp;&amp;</code>/
+ * <code>and</code>, <code>||</code>/<code>or</code>, <code>!</code>/<code>not</code>, <code>empty</code>, the
+ * conditional <code>?:</code> and parenthesis</li>
+ * </ul>
+ * Identifiers and properties are resolved against the ELResolver of the {@link LinkELContext} being evaluated, with
+ * getters of {@link DefaultLinkELContext}'s invoked directly. Functions, variables, deferred (<code>#{...}</code>)
+ * expressions and any operators not listed above are not supported, for which the {@link ELExpressionEngine} is to be
+ * used instead.
+ */
+public final class SimpleExpressionEngine implements ExpressionEngine {
+
+    @Override
+    public LinkExpression compile(String expression, Class<?> expectedType) {
+        return new SimpleLinkExpression(expression, expectedType, new Parser(expression).parseComposite());
+    }
+
+    @Override
+    public Object evaluate(String expression, Class<?> expectedType, LinkELContext linkELContext) {
+        return compile(expression, expectedType).getValue(linkELContext);
+    }
+
+    private static final class SimpleLinkExpression implements LinkExpression {
+
+        private final String expression;
+        private final Class<?> expectedType;
+        private final Node node;
+
+        SimpleLinkExpression(String expression, Class<?> expectedType, Node node) {
+            this.expression = expression;
+            this.expectedType = expectedType;
+            this.node = node;
+        }
+
+        @Override
+        public String getExpressionString() {
+            return expression;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return Coercions.coerce(node.getValue(linkELContext), expectedType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, expectedType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final SimpleLinkExpression other = (SimpleLinkExpression) obj;
+            return Objects.equals(this.expression, other.expression)
+                    && Objects.equals(this.expectedType, other.expectedType);
+        }
+
+        @Override
+        public String toString() {
+            return "SimpleLinkExpression{" +
+                    "expression='" + expression + '\'' +
+                    ", expectedType=" + expectedType +
+                    '}';
+        }
+    }
+
+    private interface Node {
+        Object getValue(LinkELContext linkELContext);
+    }
+
+    private static final class LiteralNode implements Node {
+
+        private final Object value;
+
+        LiteralNode(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return value;
+        }
+    }
+
+    private static final class CompositeNode implements Node {
+
+        private final Node[] nodes;
+
+        CompositeNode(List<Node> nodes) {
+            this.nodes = nodes.toArray(new Node[nodes.size()]);
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            final StringBuilder sb = new StringBuilder();
+            for (Node node : nodes) {
+                sb.append(Coercions.coerceToString(node.getValue(linkELContext)));
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final class PathNode implements Node {
+
+        private final String identifier;
+        private final Object[] properties;
+
+        PathNode(String identifier, List<Object> properties) {
+            this.identifier = identifier;
+            this.properties = properties.toArray();
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            final ELResolver elResolver = linkELContext.getELResolver();
+            final boolean defaultResolver = elResolver == DefaultLinkELContext.EL_RESOLVER;
+            Object value = resolve(linkELContext, elResolver, null, identifier);
+            for (int i = 0; i < properties.length && value != null; i++) {
+                final Object property = properties[i];
+                if (defaultResolver && value instanceof Map) {
+                    value = ((Map<?, ?>) value).get(property);
+                    continue;
+                }
+                final PropertyAccessors.PropertyAccessor accessor =
+                        defaultResolver ? PropertyAccessors.get(value.getClass(), property.toString()) : null;
+                value = accessor == null
+                        ? resolve(linkELContext, elResolver, value, property)
+                        : accessor.getValue(value);
+            }
+            return value;
+        }
+
+        private static Object resolve(LinkELContext linkELContext, ELResolver elResolver, Object base, Object property) {
+            linkELContext.setPropertyResolved(false);
+            final Object value = elResolver.getValue(linkELContext, base, property);
+            if (!linkELContext.isPropertyResolved()) {
+                throw base == null
+                        ? new PropertyNotFoundException("Unable to resolve identifier '" + property + "'")
+                        : new PropertyNotFoundException("Unable to resolve property '" + property + "' on type " + base.getClass().getName());
+            }
+            return value;
+        }
+    }
+
+    private static final class ConditionalNode implements Node {
+
+        private final Node condition;
+        private final Node whenTrue;
+        private final Node whenFalse;
+
+        ConditionalNode(Node condition, Node whenTrue, Node whenFalse) {
+            this.condition = condition;
+            this.whenTrue = whenTrue;
+            this.whenFalse = whenFalse;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return Coercions.coerceToBoolean(condition.getValue(linkELContext))
+                    ? whenTrue.getValue(linkELContext)
+                    : whenFalse.getValue(linkELContext);
+        }
+    }
+
+    private static final class NotNode implements Node {
+
+        private final Node operand;
+
+        NotNode(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return !Coercions.coerceToBoolean(operand.getValue(linkELContext));
+        }
+    }
+
+    private static final class EmptyNode implements Node {
+
+        private final Node operand;
+
+        EmptyNode(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            final Object value = operand.getValue(linkELContext);
+            if (value == null) {
+                return true;
+            }
+            if (value instanceof String) {
+                return ((String) value).isEmpty();
+            }
+            if (value instanceof Collection) {
+                return ((Collection<?>) value).isEmpty();
+            }
+            if (value instanceof Map) {
+                return ((Map<?, ?>) value).isEmpty();
+            }
+            if (value.getClass().isArray()) {
+                return Array.getLength(value) == 0;
+            }
+            return false;
+        }
+    }
+
+    private static final class AndNode implements Node {
+
+        private final Node left;
+        private final Node right;
+
+        AndNode(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return Coercions.coerceToBoolean(left.getValue(linkELContext))
+                    && Coercions.coerceToBoolean(right.getValue(linkELContext));
+        }
+    }
+
+    private static final class OrNode implements Node {
+
+        private final Node left;
+        private final Node right;
+
+        OrNode(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return Coercions.coerceToBoolean(left.getValue(linkELContext))
+                    || Coercions.coerceToBoolean(right.getValue(linkELContext));
+        }
+    }
+
+    private static final class EqualsNode implements Node {
+
+        private final Node left;
+        private final Node right;
+        private final boolean negate;
+
+        EqualsNode(Node left, Node right, boolean negate) {
+            this.left = left;
+            this.right = right;
+            this.negate = negate;
+        }
+
+        @Override
+        public Object getValue(LinkELContext linkELContext) {
+            return negate != Coercions.equals(left.getValue(linkELContext), right.getValue(linkELContext));
+        }
+    }
+
+    /**
+     * The subset of EL type coercion rules needed by the supported operators.
+     */
+    private static final class Coercions {
+
+        static Object coerce(Object value, Class<?> type) {
+            if (type == null || type == Object.class) {
+                return value;
+            }
+            if (type == String.class) {
+                return coerceToString(value);
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return coerceToBoolean(value);
+            }
+            if (value == null && !type.isPrimitive()) {
+                return null;
+            }
+            if (type.isInstance(value) || (type.isPrimitive() && isWrapperOf(value, type))) {
+                return value;
+            }
+            throw new ELException("Cannot convert " + value + " of type " + typeName(value) + " to " + type.getName());
+        }
+
+        static String coerceToString(Object value) {
+            if (value == null) {
+                return "";
+            }
+            if (value instanceof Enum) {
+                return ((Enum<?>) value).name();
+            }
+            return value.toString();
+        }
+
+        static boolean coerceToBoolean(Object value) {
+            if (value == null || "".equals(value)) {
+                return false;
+            }
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            }
+            if (value instanceof String) {
+                return Boolean.valueOf((String) value);
+            }
+            throw new ELException("Cannot convert " + value + " of type " + typeName(value) + " to boolean");
+        }
+
+        static boolean equals(Object left, Object right) {
+            if (left == right) {
+                return true;
+            }
+            if (left == null || right == null) {
+                return false;
+            }
+            if (left instanceof Number || right instanceof Number) {
+                return toBigDecimal(left).compareTo(toBigDecimal(right)) == 0;
+            }
+            if (left instanceof Boolean || right instanceof Boolean) {
+                return coerceToBoolean(left) == coerceToBoolean(right);
+            }
+            if (left instanceof String || right instanceof String) {
+                return coerceToString(left).equals(coerceToString(right));
+            }
+            return left.equals(right);
+        }
+
+        private static BigDecimal toBigDecimal(Object value) {
+            if (value instanceof BigDecimal) {
+                return (BigDecimal) value;
+            }
+            if (value instanceof Number || value instanceof String) {
+                try {
+                    return new BigDecimal(value.toString());
+                } catch (NumberFormatException e) {
+                    throw new ELException("Cannot convert " + value + " of type " + typeName(value) + " to Number", e);
+                }
+            }
+            throw new ELException("Cannot convert " + value + " of type " + typeName(value) + " to Number");
+        }
+
+        private static boolean isWrapperOf(Object value, Class<?> primitiveType) {
+            return (primitiveType == int.class && value instanceof Integer)
+                    || (primitiveType == long.class && value instanceof Long)
+                    || (primitiveType == double.class && value instanceof Double)
+                    || (primitiveType == float.class && value instanceof Float)
+                    || (primitiveType == short.class && value instanceof Short)
+                    || (primitiveType == byte.class && value instanceof Byte)
+                    || (primitiveType == char.class && value instanceof Character);
+        }
+
+        private static String typeName(Object value) {
+            return value == null ? "null" : value.getClass().getName();
+        }
+    }
+
+    /**
+     * A recursive descent parser for the supported subset of EL.
+     */
+    private static final class Parser {
+
+        private final String expression;
+        private int position;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        Node parseComposite() {
+            final List<Node> nodes = new ArrayList<>();
+            final StringBuilder text = new StringBuilder();
+            while (position < expression.length()) {
+                final char c = expression.charAt(position);
+                if (c == '\\' && (startsWith("\\${") || startsWith("\\#{"))) {
+                    text.append(expression.charAt(position + 1));
+                    position += 2;
+                } else if (startsWith("${")) {
+                    if (text.length() > 0) {
+                        nodes.add(new LiteralNode(text.toString()));
+                        text.setLength(0);
+                    }
+                    position += 2;
+                    nodes.add(parseExpression());
+                    skipWhitespace();
+                    expect('}');
+                } else if (startsWith("#{")) {
+                    throw error("deferred expressions are not supported");
+                } else {
+                    text.append(c);
+                    position++;
+                }
+            }
+            if (text.length() > 0 || nodes.isEmpty()) {
+                nodes.add(new LiteralNode(text.toString()));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new CompositeNode(nodes);
+        }
+
+        private Node parseExpression() {
+            final Node node = parseOr();
+            if (acceptOperator("?")) {
+                final Node whenTrue = parseExpression();
+                skipWhitespace();
+                expect(':');
+                return new ConditionalNode(node, whenTrue, parseExpression());
+            }
+            return node;
+        }
+
+        private Node parseOr() {
+            Node node = parseAnd();
+            while (acceptOperator("||") || acceptKeyword("or")) {
+                node = new OrNode(node, parseAnd());
+            }
+            return node;
+        }
+
+        private Node parseAnd() {
+            Node node = parseEquality();
+            while (acceptOperator("&&") || acceptKeyword("and")) {
+                node = new AndNode(node, parseEquality());
+            }
+            return node;
+        }
+
+        private Node parseEquality() {
+            Node node = parseUnary();
+            while (true) {
+                if (acceptOperator("==") || acceptKeyword("eq")) {
+                    node = new EqualsNode(node, parseUnary(), false);
+                } else if (acceptOperator("!=") || acceptKeyword("ne")) {
+                    node = new EqualsNode(node, parseUnary(), true);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            if (acceptKeyword("not")) {
+                return new NotNode(parseUnary());
+            }
+            skipWhitespace();
+            if (startsWith("!") && !startsWith("!=")) {
+                position++;
+                return new NotNode(parseUnary());
+            }
+            if (acceptKeyword("empty")) {
+                return new EmptyNode(parseUnary());
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            skipWhitespace();
+            if (position >= expression.length()) {
+                throw error("unexpected end of expression");
+            }
+            final char c = expression.charAt(position);
+            if (c == '(') {
+                position++;
+                final Node node = parseExpression();
+                skipWhitespace();
+                expect(')');
+                return node;
+            }
+            if (c == '\'' || c == '"') {
+                return new LiteralNode(parseString(c));
+            }
+            if (Character.isDigit(c)) {
+                return new LiteralNode(parseNumber());
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                final String identifier = parseIdentifier();
+                switch (identifier) {
+                    case "true":
+                        return new LiteralNode(Boolean.TRUE);
+                    case "false":
+                        return new LiteralNode(Boolean.FALSE);
+                    case "null":
+                        return new LiteralNode(null);
+                    default:
+                        return parsePath(identifier);
+                }
+            }
+            throw error("unexpected character '" + c + "'");
+        }
+
+        private Node parsePath(String identifier) {
+            final List<Object> properties = new ArrayList<>();
+            while (true) {
+                skipWhitespace();
+                if (startsWith("[")) {
+                    position++;
+                    skipWhitespace();
+                    final char c = position < expression.length() ? expression.charAt(position) : 0;
+                    if (c == '\'' || c == '"') {
+                        properties.add(parseString(c));
+                    } else if (Character.isDigit(c)) {
+                        properties.add(parseNumber());
+                    } else {
+                        throw error("expected string or number literal");
+                    }
+                    skipWhitespace();
+                    expect(']');
+                } else if (position < expression.length() && expression.charAt(position) == '.') {
+                    position++;
+                    skipWhitespace();
+                    if (position >= expression.length()
+                            || !Character.isJavaIdentifierStart(expression.charAt(position))) {
+                        throw error("expected property name");
+                    }
+                    properties.add(parseIdentifier());
+                } else if (startsWith("(")) {
+                    throw error("functions are not supported");
+                } else {
+                    return new PathNode(identifier, properties);
+                }
+            }
+        }
+
+        private String parseIdentifier() {
+            final int start = position;
+            while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+                position++;
+            }
+            return expression.substring(start, position);
+        }
+
+        private String parseString(char quote) {
+            final StringBuilder sb = new StringBuilder();
+            position++;
+            while (position < expression.length()) {
+                final char c = expression.charAt(position++);
+                if (c == quote) {
+                    return sb.toString();
+                }
+                if (c == '\\' && position < expression.length()) {
+                    sb.append(expression.charAt(position++));
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw error("unterminated string literal");
+        }
+
+        private Number parseNumber() {
+            final int start = position;
+            while (position < expression.length()
+                    && (Character.isDigit(expression.charAt(position)) || expression.charAt(position) == '.')) {
+                position++;
+            }
+            final String number = expression.substring(start, position);
+            try {
+                return number.indexOf('.') < 0 ? (Number) Long.valueOf(number) : (Number) Double.valueOf(number);
+            } catch (NumberFormatException e) {
+                throw error("invalid number '" + number + "'");
+            }
+        }
+
+        private boolean acceptOperator(String operator) {
+            skipWhitespace();
+            if (startsWith(operator)) {
+                position += operator.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            skipWhitespace();
+            final int end = position + keyword.length();
+            if (startsWith(keyword)
+                    && (end == expression.length() || !Character.isJavaIdentifierPart(expression.charAt(end)))) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (position >= expression.length() || expression.charAt(position) != c) {
+                throw error("expected '" + c + "'");
+            }
+            position++;
+        }
+
+        private boolean startsWith(String s) {
+            return expression.startsWith(s, position);
+        }
+
+        private void skipWhitespace() {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+
+        private ELException error(String message) {
+            return new ELException("Error Parsing: " + expression + ", " + message + " at position " + position);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core;
+
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, concurrent map evicting by the CLOCK, or second chance, approximation of least recently used. Reads take
+ * no lock and write no more than a flag marking the entry as referenced; a put beyond the maximum size evicts the
+ * longest cached entry not referenced since last passed over, giving referenced entries a second chance.
+ */
+final class ClockCache<K, V> {
+
+    private final int maximumSize;
+    private final ConcurrentMap<K, Entry<V>> entries;
+    private final Queue<K> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    ClockCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 16) * 4 / 3 + 1);
+    }
+
+    /**
+     * Returns the value cached for the given key or {@code null} if none is.
+     */
+    @Nullable
+    V get(K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches the given value for key, unless a value is already cached for key, evicting as necessary to hold at most
+     * the maximum size, and returns the value cached for key.
+     */
+    V put(K key, V value) {
+        final Entry<V> existing = entries.putIfAbsent(key, new Entry<>(value));
+        if (existing != null) {
+            return existing.value;
+        }
+        if (size.incrementAndGet() > maximumSize) {
+            evict();
+        }
+        // Only joins the clock once any eviction is done, so as not to be evicted in place of an entry passed over
+        clock.offer(key);
+        return value;
+    }
+
+    private void evict() {
+        // Referenced entries are passed over at most once per eviction, so that gets racing it cannot prolong it
+        int secondChances = maximumSize;
+        while (size.get() > maximumSize) {
+            final K key = clock.poll();
+            if (key == null) {
+                return;
+            }
+            final Entry<V> entry = entries.get(key);
+            if (entry.referenced && secondChances-- > 0) {
+                entry.referenced = false;
+                clock.offer(key);
+            } else {
+                entries.remove(key);
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+
+        final V value;
+        volatile boolean referenced;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
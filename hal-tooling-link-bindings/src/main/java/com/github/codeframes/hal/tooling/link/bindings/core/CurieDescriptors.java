@@ -24,9 +24,13 @@ import java.util.*;
 public class CurieDescriptors implements Iterable<CurieDescriptor> {
 
     private final Map<String, CurieDescriptor> descriptors;
+    // Immutable, and used as a key for finding element link setters, so only the hash code is cached; equals compares
+    // the descriptors
+    private final int hashCode;
 
     CurieDescriptors() {
         this.descriptors = Collections.emptyMap();
+        this.hashCode = calculateHashCode();
     }
 
     CurieDescriptors(List<CurieDescriptor> descriptors) {
@@ -35,6 +39,7 @@ public class CurieDescriptors implements Iterable<CurieDescriptor> {
             curieDescriptors.put(descriptor.getName(), descriptor);
         }
         this.descriptors = Collections.unmodifiableMap(curieDescriptors);
+        this.hashCode = calculateHashCode();
     }
 
     /**
@@ -81,6 +86,10 @@ public class CurieDescriptors implements Iterable<CurieDescriptor> {
 
     @Override
     public int hashCode() {
+        return hashCode;
+    }
+
+    private int calculateHashCode() {
         return Objects.hash(descriptors);
     }
 
@@ -48,6 +48,13 @@ public class FieldAccessor {
         });
     }
 
+    /**
+     * @return the field accessed by this FieldAccessor
+     */
+    public Field getField() {
+        return field;
+    }
+
     /**
      * Gets the field value on the provided instance.
      *
@@ -17,7 +17,10 @@ package com.github.codeframes.hal.tooling.link.bindings.core;
 
 import java.util.Objects;
 
-final class Href {
+/**
+ * A resolved Link href, i.e. a URI or, where any URI Template parameters remain unexpanded, a URI Template.
+ */
+public final class Href {
 
     private final String value;
     private final boolean templated;
@@ -27,11 +30,17 @@ final class Href {
         this.templated = templated;
     }
 
-    String getValue() {
+    /**
+     * @return the URI or URI Template
+     */
+    public String getValue() {
         return value;
     }
 
-    boolean isTemplated() {
+    /**
+     * @return {@code true} if the value is a URI Template, {@code false} otherwise
+     */
+    public boolean isTemplated() {
         return templated;
     }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core;
+
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A bounded cache of the resolved {@link Href Hrefs} of the {@link LinkDescriptor LinkDescriptors} whose href contains
+ * EL expressions or URI Template parameters, keyed by the {@link HrefTemplate} instance, the resolution key of the link
+ * context and the evaluated EL expressions and binding values. Suited to hrefs resolved for the same few values time
+ * and again, such as the links of a handful of categories referenced by every product.
+ * <p>
+ * A hit saves the expansion of the URI Template and the styling of the result, but not the evaluation of the EL
+ * expressions and bindings the key is made of; the saving is therefore limited for templates whose expansion is cheap
+ * relative to the evaluation of their bindings.
+ * <p>
+ * As binding values form part of the key they must implement {@code equals} and {@code hashCode} by value and must not
+ * be mutated once bound; values compared by identity are merely never hit. Instances are thread safe, a hit taking no
+ * lock, and once full evict an approximately least recently used href for each href cached.
+ */
+public final class HrefCache {
+
+    private final ClockCache<Key, Href> hrefs;
+    private final CacheStatistics statistics;
+
+    /**
+     * Constructs a HrefCache holding at most maximumSize hrefs.
+     *
+     * @param maximumSize the maximum number of hrefs to cache
+     * @param statistics  the statistics to record cache hits and misses to, or {@code null} if not to be recorded
+     * @throws IllegalArgumentException if maximumSize is less than 1
+     */
+    public HrefCache(int maximumSize, @Nullable CacheStatistics statistics) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException(
+                    String.format("'%s' argument must be greater than 0, got: %d", "maximumSize", maximumSize));
+        }
+        this.hrefs = new ClockCache<>(maximumSize);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the Href cached for the given key or {@code null} if none is.
+     */
+    @Nullable
+    Href get(Key key) {
+        final Href href = hrefs.get(key);
+        if (statistics != null) {
+            if (href == null) {
+                statistics.recordMiss();
+            } else {
+                statistics.recordHit();
+            }
+        }
+        return href;
+    }
+
+    /**
+     * Caches the given Href for key, evicting another Href if full, and returns the Href to use for key.
+     */
+    Href put(Key key, Href href) {
+        return hrefs.put(key, href);
+    }
+
+    /**
+     * The key of a resolved Href; the HrefTemplate, compared by identity, together with everything its resolution
+     * depends upon. Binding values are held in the order of the bindings of the HrefTemplate.
+     */
+    static final class Key {
+
+        private final HrefTemplate hrefTemplate;
+        private final Object resolutionKey;
+        private final String template;
+        private final Object[] values;
+        private final int hash;
+
+        Key(HrefTemplate hrefTemplate, Object resolutionKey, String template, Object[] values) {
+            this.hrefTemplate = hrefTemplate;
+            this.resolutionKey = resolutionKey;
+            this.template = template;
+            this.values = values;
+            this.hash = 31 * (31 * (31 * System.identityHashCode(hrefTemplate) + resolutionKey.hashCode())
+                    + template.hashCode()) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.hrefTemplate == other.hrefTemplate
+                    && this.hash == other.hash
+                    && this.resolutionKey.equals(other.resolutionKey)
+                    && this.template.equals(other.template)
+                    && Arrays.equals(this.values, other.values);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" +
+                    "hrefTemplate=" + hrefTemplate +
+                    ", resolutionKey=" + resolutionKey +
+                    ", template='" + template + '\'' +
+                    ", values=" + Arrays.toString(values) +
+                    '}';
+        }
+    }
+}
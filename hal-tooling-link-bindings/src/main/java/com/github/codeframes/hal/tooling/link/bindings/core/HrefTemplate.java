@@ -16,9 +16,15 @@
 package com.github.codeframes.hal.tooling.link.bindings.core;
 
 import com.github.codeframes.hal.tooling.link.bindings.Style;
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContexts;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkExpression;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate;
 import com.github.codeframes.hal.tooling.link.bindings.utils.LinkTemplateUtils;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,26 +32,59 @@ import java.util.Objects;
 
 class HrefTemplate {
 
+    // Absolute hrefs are never styled, so the resolution key of the link context plays no part in them
+    private static final Object ABSOLUTE_KEY = new Object();
+    private static final Object[] NO_VALUES = new Object[0];
+
     private final String value;
     private final Style style;
-    private final boolean containsEL;
+    private final LinkExpression expression;
     private final boolean containsVariables;
-    private final Map<String, String> bindings;
+    private final UriTemplate uriTemplate;
+    private final Boolean absolute;
+    private final Map<String, LinkExpression> bindings;
+    // The bindings as parallel arrays, for keying cached hrefs on binding values without copying them into a Map
+    private final String[] bindingNames;
+    private final LinkExpression[] bindingExpressions;
     private final boolean removeUnexpanded;
 
-    HrefTemplate(String value, Style style) {
-        this(value, style, Collections.<String, String>emptyMap(), false);
+    HrefTemplate(String value, Style style, ExpressionEngine expressionEngine) {
+        this(value, style, Collections.<String, String>emptyMap(), false, expressionEngine);
     }
 
-    HrefTemplate(String value, Style style, Map<String, String> bindings, boolean removeUnexpanded) {
+    HrefTemplate(String value,
+                 Style style,
+                 Map<String, String> bindings,
+                 boolean removeUnexpanded,
+                 ExpressionEngine expressionEngine) {
         this.value = value;
         this.style = style;
-        this.containsEL = LinkTemplateUtils.containsEL(value);
+        this.expression = LinkTemplateUtils.containsEL(value) ? expressionEngine.compile(value, String.class) : null;
         this.containsVariables = !LinkTemplateUtils.extractParameterNames(value).isEmpty();
-        this.bindings = Collections.unmodifiableMap(new HashMap<>(bindings));
+        // Templates containing EL can only be parsed once the EL has been evaluated
+        this.uriTemplate = containsVariables && expression == null ? UriTemplate.compile(value) : null;
+        // null where only known once any EL has been evaluated and URI Template parameters expanded
+        this.absolute = LinkTemplateUtils.isAbsoluteStatic(value) ? LinkTemplateUtils.isAbsolute(value) : null;
+        this.bindings = compileBindings(bindings, expressionEngine);
+        this.bindingNames = this.bindings.keySet().toArray(new String[this.bindings.size()]);
+        this.bindingExpressions = new LinkExpression[bindingNames.length];
+        for (int i = 0; i < bindingNames.length; i++) {
+            bindingExpressions[i] = this.bindings.get(bindingNames[i]);
+        }
         this.removeUnexpanded = removeUnexpanded;
     }
 
+    private static Map<String, LinkExpression> compileBindings(Map<String, String> bindings, ExpressionEngine expressionEngine) {
+        if (bindings.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, LinkExpression> compiledBindings = new HashMap<>(bindings.size());
+        for (Map.Entry<String, String> binding : bindings.entrySet()) {
+            compiledBindings.put(binding.getKey(), expressionEngine.compile(binding.getValue(), Object.class));
+        }
+        return Collections.unmodifiableMap(compiledBindings);
+    }
+
     String getValue() {
         return value;
     }
@@ -55,37 +94,117 @@ class HrefTemplate {
     }
 
     boolean containsEL() {
-        return containsEL;
+        return expression != null;
     }
 
     boolean containsVariables() {
         return containsVariables;
     }
 
+    /**
+     * Returns whether this template resolves to the same href within every link context sharing a resolution key,
+     * i.e. it contains neither EL expressions nor URI Template parameters.
+     */
+    boolean isStatic() {
+        return expression == null && !containsVariables;
+    }
+
+    /**
+     * Returns whether this template is known, without resolving it, to be an absolute URI and thus not styled.
+     */
+    boolean isAbsolute() {
+        return Boolean.TRUE.equals(absolute);
+    }
+
     Href resolve(LinkContext linkContext) {
+        return resolve(LinkContexts.compiled(linkContext));
+    }
+
+    private Href resolve(CompiledLinkContext linkContext) {
         String template = value;
         // First process any embedded EL expressions
         if (containsEL()) {
-            template = linkContext.evaluateAsString(template);
+            template = linkContext.evaluateAsString(expression);
         }
 
         // Now process any embedded URI template parameters
         boolean templated = false;
         if (containsVariables()) {
-            template = linkContext.expand(template, bindings, removeUnexpanded);
+            template = uriTemplate == null
+                    ? linkContext.expandCompiled(template, bindings, removeUnexpanded)
+                    : linkContext.expandCompiled(uriTemplate, bindings, removeUnexpanded);
             templated = LinkTemplateUtils.isTemplated(template);
         }
 
-        if (!LinkTemplateUtils.isAbsolute(template)) {
+        if (!(absolute == null ? LinkTemplateUtils.isAbsolute(template) : absolute)) {
             template = linkContext.style(style, template);
         }
 
         return new Href(template, templated);
     }
 
+    /**
+     * Returns the href of this template for the given linkContext, equal to that of {@link #resolve(LinkContext)} but
+     * reusing any Href cached in hrefCache for the same resolution key, EL expression results and binding values.
+     * Templates that are static, or link contexts that are not a {@link CompiledLinkContext} or without a resolution
+     * key, are resolved without the cache. The EL expressions and bindings are evaluated regardless, only expansion and
+     * styling being saved by a hit.
+     */
+    Href resolve(LinkContext linkContext, @Nullable HrefCache hrefCache) {
+        return linkContext instanceof CompiledLinkContext
+                ? resolve((CompiledLinkContext) linkContext, hrefCache)
+                : resolve(LinkContexts.compiled(linkContext));
+    }
+
+    private Href resolve(CompiledLinkContext linkContext, @Nullable HrefCache hrefCache) {
+        if (hrefCache == null || isStatic()) {
+            return resolve(linkContext);
+        }
+        final Object resolutionKey = isAbsolute() ? ABSOLUTE_KEY : linkContext.getResolutionKey(style);
+        if (resolutionKey == null) {
+            return resolve(linkContext);
+        }
+        final String template = containsEL() ? linkContext.evaluateAsString(expression) : value;
+        final Object[] values = containsVariables() ? evaluateBindings(linkContext) : NO_VALUES;
+        final HrefCache.Key key = new HrefCache.Key(this, resolutionKey, template, values);
+        final Href href = hrefCache.get(key);
+        return href == null ? hrefCache.put(key, resolve(linkContext, template, values)) : href;
+    }
+
+    private Object[] evaluateBindings(CompiledLinkContext linkContext) {
+        if (bindingExpressions.length == 0) {
+            return NO_VALUES;
+        }
+        final Object[] values = new Object[bindingExpressions.length];
+        for (int i = 0; i < bindingExpressions.length; i++) {
+            values[i] = linkContext.evaluate(bindingExpressions[i]);
+        }
+        return values;
+    }
+
+    private Href resolve(CompiledLinkContext linkContext, String template, Object[] values) {
+        String href = template;
+        boolean templated = false;
+        if (containsVariables()) {
+            final Map<String, Object> bindingValues = new HashMap<>(values.length * 4 / 3 + 1);
+            for (int i = 0; i < values.length; i++) {
+                bindingValues.put(bindingNames[i], values[i]);
+            }
+            href = linkContext.expandEvaluated(uriTemplate == null ? UriTemplate.compile(template) : uriTemplate,
+                    bindingValues, removeUnexpanded);
+            templated = LinkTemplateUtils.isTemplated(href);
+        }
+
+        if (!(absolute == null ? LinkTemplateUtils.isAbsolute(href) : absolute)) {
+            href = linkContext.style(style, href);
+        }
+
+        return new Href(href, templated);
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(value, style, containsEL, containsVariables, bindings, removeUnexpanded);
+        return Objects.hash(value, style, expression, containsVariables, uriTemplate, absolute, bindings, removeUnexpanded);
     }
 
     @Override
@@ -99,8 +218,10 @@ class HrefTemplate {
         final HrefTemplate other = (HrefTemplate) obj;
         return Objects.equals(this.value, other.value)
                 && Objects.equals(this.style, other.style)
-                && Objects.equals(this.containsEL, other.containsEL)
+                && Objects.equals(this.expression, other.expression)
                 && Objects.equals(this.containsVariables, other.containsVariables)
+                && Objects.equals(this.uriTemplate, other.uriTemplate)
+                && Objects.equals(this.absolute, other.absolute)
                 && Objects.equals(this.bindings, other.bindings)
                 && Objects.equals(this.removeUnexpanded, other.removeUnexpanded);
     }
@@ -110,8 +231,10 @@ class HrefTemplate {
         return "HrefTemplate{" +
                 "value='" + value + '\'' +
                 ", style=" + style +
-                ", containsEL=" + containsEL +
+                ", expression=" + expression +
                 ", containsVariables=" + containsVariables +
+                ", uriTemplate=" + uriTemplate +
+                ", absolute=" + absolute +
                 ", bindings=" + bindings +
                 ", removeUnexpanded=" + removeUnexpanded +
                 '}';
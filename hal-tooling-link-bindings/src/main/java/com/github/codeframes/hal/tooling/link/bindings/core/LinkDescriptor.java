@@ -16,7 +16,10 @@
 package com.github.codeframes.hal.tooling.link.bindings.core;
 
 import com.github.codeframes.hal.tooling.core.Link;
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContexts;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkExpression;
 
 import javax.annotation.Nullable;
 import java.util.Objects;
@@ -26,6 +29,9 @@ import java.util.Objects;
  */
 public class LinkDescriptor {
 
+    // Absolute hrefs are never styled, so resolve alike in every link context
+    private static final Object ABSOLUTE_KEY = new Object();
+
     private final String rel;
     private final HrefTemplate hrefTemplate;
     private final String type;
@@ -34,8 +40,10 @@ public class LinkDescriptor {
     private final String profile;
     private final String title;
     private final String hreflang;
-    private final String condition;
+    private final LinkExpression condition;
     private final String curie;
+    private final StaticLinkCache staticLinks;
+    private final HrefCache hrefCache;
 
     LinkDescriptor(String rel,
                    HrefTemplate hrefTemplate,
@@ -45,8 +53,22 @@ public class LinkDescriptor {
                    String profile,
                    String title,
                    String hreflang,
-                   String condition,
+                   LinkExpression condition,
                    String curie) {
+        this(rel, hrefTemplate, type, deprecation, name, profile, title, hreflang, condition, curie, LinkDescriptorFactoryOptions.DEFAULT);
+    }
+
+    LinkDescriptor(String rel,
+                   HrefTemplate hrefTemplate,
+                   String type,
+                   String deprecation,
+                   String name,
+                   String profile,
+                   String title,
+                   String hreflang,
+                   LinkExpression condition,
+                   String curie,
+                   LinkDescriptorFactoryOptions options) {
         this.rel = rel;
         this.hrefTemplate = hrefTemplate;
         this.type = type;
@@ -57,6 +79,8 @@ public class LinkDescriptor {
         this.hreflang = hreflang;
         this.condition = condition;
         this.curie = curie;
+        this.staticLinks = hrefTemplate != null && hrefTemplate.isStatic() ? new StaticLinkCache(options.getStaticLinkCacheStatistics()) : null;
+        this.hrefCache = options.getHrefCache();
     }
 
     /**
@@ -145,7 +169,7 @@ public class LinkDescriptor {
      */
     @Nullable
     public String getCondition() {
-        return condition;
+        return condition == null ? null : condition.getExpressionString();
     }
 
     /**
@@ -160,6 +184,10 @@ public class LinkDescriptor {
 
     /**
      * Returns a Link based on this descriptor for the given linkContext.
+     * <p>
+     * Where the href is static the Link is resolved once per resolution key of the linkContext, see
+     * {@link CompiledLinkContext#getResolutionKey(com.github.codeframes.hal.tooling.link.bindings.Style)}, and reused. Otherwise
+     * the href may be reused from the {@link HrefCache} this descriptor was created with, if any.
      *
      * @param linkContext the link context for resolving the link
      * @return Link based on this descriptor for the given linkContext or {@code null} if the condition evaluates to
@@ -167,23 +195,65 @@ public class LinkDescriptor {
      */
     @Nullable
     public Link toLink(LinkContext linkContext) {
+        return toLink(LinkContexts.compiled(linkContext));
+    }
+
+    @Nullable
+    private Link toLink(CompiledLinkContext linkContext) {
         if (condition == null || linkContext.evaluateAsBoolean(condition)) {
-            final Href href = hrefTemplate.resolve(linkContext);
-            return new Link(
-                    rel,
-                    href.getValue(),
-                    href.isTemplated(),
-                    type,
-                    deprecation,
-                    name,
-                    profile,
-                    title,
-                    hreflang
-            );
+            if (staticLinks != null) {
+                final Object key = hrefTemplate.isAbsolute() ? ABSOLUTE_KEY : linkContext.getResolutionKey(hrefTemplate.getStyle());
+                if (key != null) {
+                    final Link link = staticLinks.get(key);
+                    return link == null ? staticLinks.put(key, newLink(linkContext)) : link;
+                }
+            }
+            return newLink(linkContext);
         }
         return null;
     }
 
+    /**
+     * Returns the href of a Link based on this descriptor for the given linkContext, equivalent to that of
+     * {@link #toLink(LinkContext)} but without constructing a Link where the href is not static, for writers of links
+     * taking the remaining properties from this descriptor.
+     *
+     * @param linkContext the link context for resolving the href
+     * @return Href based on this descriptor for the given linkContext or {@code null} if the condition evaluates to
+     * {@code false}
+     */
+    @Nullable
+    public Href toHref(LinkContext linkContext) {
+        final CompiledLinkContext compiledLinkContext = LinkContexts.compiled(linkContext);
+        if (staticLinks != null) {
+            final Link link = toLink(compiledLinkContext);
+            return link == null ? null : new Href(link.getHref(), link.isTemplated());
+        }
+        if (condition == null || compiledLinkContext.evaluateAsBoolean(condition)) {
+            return resolveHref(compiledLinkContext);
+        }
+        return null;
+    }
+
+    private Link newLink(LinkContext linkContext) {
+        final Href href = resolveHref(linkContext);
+        return new Link(
+                rel,
+                href.getValue(),
+                href.isTemplated(),
+                type,
+                deprecation,
+                name,
+                profile,
+                title,
+                hreflang
+        );
+    }
+
+    private Href resolveHref(LinkContext linkContext) {
+        return hrefCache == null ? hrefTemplate.resolve(linkContext) : hrefTemplate.resolve(linkContext, hrefCache);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(rel, hrefTemplate, type, deprecation, name, profile, title, hreflang, condition, curie);
@@ -221,7 +291,7 @@ public class LinkDescriptor {
                 ", profile='" + profile + '\'' +
                 ", title='" + title + '\'' +
                 ", hreflang='" + hreflang + '\'' +
-                ", condition='" + condition + '\'' +
+                ", condition=" + condition +
                 ", curie='" + curie + '\'' +
                 '}';
     }
@@ -22,11 +22,17 @@ import com.github.codeframes.hal.tooling.link.bindings.LinkRel.BindingOption;
 import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkTemplateFactory;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkExpression;
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes.IndexedType;
 import com.github.codeframes.hal.tooling.link.bindings.types.CurieType;
 import com.github.codeframes.hal.tooling.link.bindings.types.LinkRelType;
 import com.github.codeframes.hal.tooling.link.bindings.utils.LinkTemplateUtils;
 import com.github.codeframes.hal.tooling.link.bindings.utils.TextUtils;
 
+import javax.el.ExpressionFactory;
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
@@ -41,14 +47,34 @@ import java.util.*;
 public class LinkDescriptorFactory {
 
     private final LinkTemplateFactory linkTemplateFactory;
+    private final ExpressionEngine expressionEngine;
+    private final LinkDescriptorFactoryOptions options;
+    private final LinkBindingsIndexes linkBindingsIndexes;
 
     /**
-     * Constructs a LinkDescriptorFactory with the provided linkTemplateFactory.
+     * Constructs a LinkDescriptorFactory with the provided linkTemplateFactory and an {@link ELExpressionEngine} backed
+     * by the default {@link ExpressionFactory}.
      *
      * @param linkTemplateFactory the factory to use for creating Link Templates
      */
     public LinkDescriptorFactory(LinkTemplateFactory linkTemplateFactory) {
+        this(linkTemplateFactory, new ELExpressionEngine(ExpressionFactory.newInstance()), LinkDescriptorFactoryOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a LinkDescriptorFactory with the provided linkTemplateFactory, expressionEngine and options.
+     *
+     * @param linkTemplateFactory the factory to use for creating Link Templates
+     * @param expressionEngine    the engine to use for compiling any expressions, once, at descriptor creation
+     * @param options             the options of this and the LinkDescriptors created through it
+     */
+    public LinkDescriptorFactory(LinkTemplateFactory linkTemplateFactory,
+                                 ExpressionEngine expressionEngine,
+                                 LinkDescriptorFactoryOptions options) {
         this.linkTemplateFactory = linkTemplateFactory;
+        this.expressionEngine = expressionEngine;
+        this.options = options;
+        this.linkBindingsIndexes = options.getLinkBindingsIndexes();
     }
 
     /**
@@ -70,7 +96,10 @@ public class LinkDescriptorFactory {
 
         boolean removeUnexpanded = isRemoveUnexpanded(template, bindings, bindingOptions);
 
-        HrefTemplate hrefTemplate = new HrefTemplate(template, linkRelType.getStyle(), bindings, removeUnexpanded);
+        HrefTemplate hrefTemplate = new HrefTemplate(template, linkRelType.getStyle(), bindings, removeUnexpanded, expressionEngine);
+
+        String condition = linkRelType.getCondition();
+        LinkExpression conditionExpression = condition == null ? null : expressionEngine.compile(condition, boolean.class);
 
         return new LinkDescriptor(
                 linkRelType.getRel(),
@@ -81,14 +110,15 @@ public class LinkDescriptorFactory {
                 linkRelType.getProfile(),
                 linkRelType.getTitle(),
                 linkRelType.getHreflang(),
-                linkRelType.getCondition(),
-                linkRelType.getCurie());
+                conditionExpression,
+                linkRelType.getCurie(),
+                options);
     }
 
-    private static Map<String, String> applyBindingOptions(Class<?> declaringClass,
-                                                           String template,
-                                                           Map<String, String> bindings,
-                                                           Set<BindingOption> bindingOptions) {
+    private Map<String, String> applyBindingOptions(Class<?> declaringClass,
+                                                    String template,
+                                                    Map<String, String> bindings,
+                                                    Set<BindingOption> bindingOptions) {
 
         boolean isInstanceParameters = bindingOptions.contains(BindingOption.INSTANCE_PARAMETERS);
         boolean isInstanceParametersSnakeCase = bindingOptions.contains(BindingOption.INSTANCE_PARAMETERS_SNAKE_CASE);
@@ -101,8 +131,8 @@ public class LinkDescriptorFactory {
             Map<String, String> paramBindings = null;
 
             if (isInstanceParameters || isInstanceParametersSnakeCase) {
-                BeanInfo beanInfo = getBeanInfo(declaringClass);
-                paramBindings = withInstanceParamBindings(beanInfo, parameterNames, bindings, isInstanceParametersSnakeCase);
+                Set<String> propertyNames = getPropertyNames(declaringClass);
+                paramBindings = withInstanceParamBindings(propertyNames, parameterNames, bindings, isInstanceParametersSnakeCase);
             }
 
             if (isUriParameters) {
@@ -120,6 +150,19 @@ public class LinkDescriptorFactory {
         }
     }
 
+    private Set<String> getPropertyNames(Class<?> beanClass) {
+        IndexedType indexedType = linkBindingsIndexes.get(beanClass);
+        if (indexedType != null) {
+            return indexedType.getPropertyNames();
+        }
+
+        Set<String> propertyNames = new HashSet<>();
+        for (PropertyDescriptor propertyDescriptor : getBeanInfo(beanClass).getPropertyDescriptors()) {
+            propertyNames.add(propertyDescriptor.getName());
+        }
+        return propertyNames;
+    }
+
     private static BeanInfo getBeanInfo(Class<?> beanClass) {
         try {
             return Introspector.getBeanInfo(beanClass);
@@ -129,7 +172,7 @@ public class LinkDescriptorFactory {
         }
     }
 
-    private static Map<String, String> withInstanceParamBindings(BeanInfo beanInfo,
+    private static Map<String, String> withInstanceParamBindings(Set<String> propertyNames,
                                                                  List<String> parameterNames,
                                                                  Map<String, String> bindings,
                                                                  boolean viewParamsAsSnakeCase) {
@@ -147,23 +190,13 @@ public class LinkDescriptorFactory {
                 parameter = parameterName;
             }
 
-            if (hasProperty(beanInfo, parameter)) {
+            if (propertyNames.contains(parameter)) {
                 paramBindings.put(parameterName, LinkELContext.toParameterExpression(parameter));
             }
         }
         return paramBindings;
     }
 
-    private static boolean hasProperty(BeanInfo beanInfo, String property) {
-        for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
-            String name = propertyDescriptor.getName();
-            if (name.equals(property)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static boolean isRemoveUnexpanded(String template, Map<String, String> bindings, Set<BindingOption> bindingOptions) {
         return !(bindings.isEmpty() && !template.isEmpty()) && !bindingOptions.contains(BindingOption.RETAIN_UNEXPANDED);
     }
@@ -200,7 +233,7 @@ public class LinkDescriptorFactory {
      */
     public CurieDescriptor createCurieDescriptor(CurieDef curieDef) {
         CurieType curieType = CurieType.valueOf(curieDef);
-        return new CurieDescriptor(curieType.getName(), new HrefTemplate(curieType.getValue(), curieType.getStyle()));
+        return new CurieDescriptor(curieType.getName(), new HrefTemplate(curieType.getValue(), curieType.getStyle(), expressionEngine));
     }
 
     /**
@@ -230,7 +263,7 @@ public class LinkDescriptorFactory {
 
     private List<CurieDescriptor> findCurieDescriptors(Class<?> type) {
         List<CurieDescriptor> curieDescriptors = new ArrayList<>();
-        for (Field field : type.getDeclaredFields()) {
+        for (Field field : getDeclaredFields(type)) {
             if (field.isAnnotationPresent(CurieDef.class)) {
                 CurieDef curieDef = field.getAnnotation(CurieDef.class);
                 curieDescriptors.add(createCurieDescriptor(curieDef));
@@ -246,4 +279,10 @@ public class LinkDescriptorFactory {
         }
         return curieDescriptors;
     }
+
+    private Field[] getDeclaredFields(Class<?> type) {
+        IndexedType indexedType = linkBindingsIndexes.get(type);
+        Field[] fields = indexedType == null ? null : indexedType.getBindingFields(type);
+        return fields == null ? type.getDeclaredFields() : fields;
+    }
 }
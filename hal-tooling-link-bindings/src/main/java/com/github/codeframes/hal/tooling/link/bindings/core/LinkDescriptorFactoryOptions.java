@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core;
+
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes;
+import com.github.codeframes.hal.tooling.utils.Validate;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * The options of a {@link LinkDescriptorFactory} and the {@link LinkDescriptor}'s created through it; the compile time
+ * indexes to consult for link binding fields and bean properties, and the caching of static links and hrefs.
+ * Instances are immutable.
+ */
+public final class LinkDescriptorFactoryOptions {
+
+    /**
+     * LinkDescriptorFactoryOptions consulting no indexes, introspecting classes by reflection, and neither recording
+     * static link cache statistics nor caching hrefs.
+     */
+    public static final LinkDescriptorFactoryOptions DEFAULT =
+            new LinkDescriptorFactoryOptions(LinkBindingsIndexes.empty(), null, null);
+
+    private final LinkBindingsIndexes linkBindingsIndexes;
+    private final CacheStatistics staticLinkCacheStatistics;
+    private final HrefCache hrefCache;
+
+    private LinkDescriptorFactoryOptions(LinkBindingsIndexes linkBindingsIndexes,
+                                         @Nullable CacheStatistics staticLinkCacheStatistics,
+                                         @Nullable HrefCache hrefCache) {
+        this.linkBindingsIndexes = linkBindingsIndexes;
+        this.staticLinkCacheStatistics = staticLinkCacheStatistics;
+        this.hrefCache = hrefCache;
+    }
+
+    /**
+     * Returns LinkDescriptorFactoryOptions consulting the given linkBindingsIndexes for link binding fields and bean
+     * properties, before falling back to reflection.
+     *
+     * @param linkBindingsIndexes the compile time indexes to consult
+     * @return LinkDescriptorFactoryOptions with the given linkBindingsIndexes
+     */
+    public LinkDescriptorFactoryOptions withLinkBindingsIndexes(LinkBindingsIndexes linkBindingsIndexes) {
+        return new LinkDescriptorFactoryOptions(
+                Validate.notNull(linkBindingsIndexes, "linkBindingsIndexes"), staticLinkCacheStatistics, hrefCache);
+    }
+
+    /**
+     * Returns LinkDescriptorFactoryOptions recording static link cache hits and misses to the given statistics.
+     *
+     * @param staticLinkCacheStatistics the statistics to record to, or {@code null} if not to be recorded
+     * @return LinkDescriptorFactoryOptions with the given staticLinkCacheStatistics
+     */
+    public LinkDescriptorFactoryOptions withStaticLinkCacheStatistics(@Nullable CacheStatistics staticLinkCacheStatistics) {
+        return new LinkDescriptorFactoryOptions(linkBindingsIndexes, staticLinkCacheStatistics, hrefCache);
+    }
+
+    /**
+     * Returns LinkDescriptorFactoryOptions sharing the hrefs of the LinkDescriptors created through the given hrefCache.
+     *
+     * @param hrefCache the cache to share hrefs through, or {@code null} if hrefs are not to be cached
+     * @return LinkDescriptorFactoryOptions with the given hrefCache
+     */
+    public LinkDescriptorFactoryOptions withHrefCache(@Nullable HrefCache hrefCache) {
+        return new LinkDescriptorFactoryOptions(linkBindingsIndexes, staticLinkCacheStatistics, hrefCache);
+    }
+
+    /**
+     * @return the compile time indexes to consult for link binding fields and bean properties
+     */
+    public LinkBindingsIndexes getLinkBindingsIndexes() {
+        return linkBindingsIndexes;
+    }
+
+    /**
+     * @return the statistics to record static link cache hits and misses to, or {@code null} if not to be recorded
+     */
+    @Nullable
+    public CacheStatistics getStaticLinkCacheStatistics() {
+        return staticLinkCacheStatistics;
+    }
+
+    /**
+     * @return the cache to share hrefs through, or {@code null} if hrefs are not to be cached
+     */
+    @Nullable
+    public HrefCache getHrefCache() {
+        return hrefCache;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(linkBindingsIndexes, staticLinkCacheStatistics, hrefCache);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final LinkDescriptorFactoryOptions other = (LinkDescriptorFactoryOptions) obj;
+        return Objects.equals(this.linkBindingsIndexes, other.linkBindingsIndexes)
+                && Objects.equals(this.staticLinkCacheStatistics, other.staticLinkCacheStatistics)
+                && Objects.equals(this.hrefCache, other.hrefCache);
+    }
+
+    @Override
+    public String toString() {
+        return "LinkDescriptorFactoryOptions{" +
+                "linkBindingsIndexes=" + linkBindingsIndexes +
+                ", staticLinkCacheStatistics=" + staticLinkCacheStatistics +
+                ", hrefCache=" + hrefCache +
+                '}';
+    }
+}
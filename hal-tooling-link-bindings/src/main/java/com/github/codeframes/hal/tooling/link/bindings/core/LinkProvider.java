@@ -16,10 +16,17 @@
 package com.github.codeframes.hal.tooling.link.bindings.core;
 
 import com.github.codeframes.hal.tooling.core.Curie;
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.Link;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContexts;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Provides {@link Link}'s and {@link Curie}'s based on associated descriptors; {@link LinkDescriptor},
@@ -29,6 +36,10 @@ public class LinkProvider {
 
     private final LinkContext linkContext;
     private final CurieDescriptors curieDescriptors;
+    private final RelFilter relFilter;
+    private final EmbedSelector embedSelector;
+    private final int embedDepth;
+    private final Visits visits;
 
     /**
      * Constructs a new LinkProvider with the given linkContext and no registered curie descriptors.
@@ -46,8 +57,32 @@ public class LinkProvider {
      * @param curieDescriptors the curie descriptors to be registered
      */
     public LinkProvider(LinkContext linkContext, CurieDescriptors curieDescriptors) {
+        this(linkContext, curieDescriptors, LinkProviderOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new LinkProvider with the given linkContext and curieDescriptors, providing the Links and
+     * LinkProviders given by options.
+     *
+     * @param linkContext      the link context for resolving links
+     * @param curieDescriptors the curie descriptors to be registered
+     * @param options          the Links of this and any LinkProvider obtained from it to provide, the LinkProviders
+     *                         for the Embeddable's to provide, see {@link #forEmbedded(String)}, and whether each bean
+     *                         is given links on its first visit only, see {@link #visit(Object)}
+     */
+    public LinkProvider(LinkContext linkContext, CurieDescriptors curieDescriptors, LinkProviderOptions options) {
+        this(linkContext, curieDescriptors, options.getRelFilter(), options.getEmbedSelector(), 0,
+                options.isVisitOnce() ? new OnceVisits() : new EnclosingVisits());
+    }
+
+    private LinkProvider(LinkContext linkContext, CurieDescriptors curieDescriptors, RelFilter relFilter, EmbedSelector embedSelector,
+                         int embedDepth, Visits visits) {
         this.linkContext = linkContext;
         this.curieDescriptors = curieDescriptors;
+        this.relFilter = relFilter;
+        this.embedSelector = embedSelector;
+        this.embedDepth = embedDepth;
+        this.visits = visits;
     }
 
     /**
@@ -69,7 +104,81 @@ public class LinkProvider {
      */
     public LinkProvider forBean(Object bean, CurieDescriptors curieDescriptors) {
         final LinkContext newLinkContext = this.linkContext.forBean(bean);
-        return new LinkProvider(newLinkContext, curieDescriptors);
+        return withLinkContext(newLinkContext, curieDescriptors);
+    }
+
+    /**
+     * Returns the LinkProvider from which to obtain the LinkProviders of the resource of an Embeddable of the given rel,
+     * at the next depth of embedding, or {@code null} if the Embeddable is not selected by the EmbedSelector of this
+     * LinkProvider and so is not to be given links.
+     *
+     * @param rel the rel of the Embeddable
+     * @return LinkProvider for the resources of the Embeddable or {@code null} if the Embeddable is not selected
+     */
+    @Nullable
+    public LinkProvider forEmbedded(String rel) {
+        if (embedSelector.selectsAll()) {
+            return this;
+        }
+        final int depth = embedDepth + 1;
+        return embedSelector.selects(rel, depth)
+                ? new LinkProvider(linkContext, curieDescriptors, relFilter, embedSelector, depth, visits)
+                : null;
+    }
+
+    /**
+     * Records a visit of the given bean by the injection pass of this LinkProvider, shared by every LinkProvider
+     * obtained from the one constructed for the pass, to be followed by {@link #leave(Object)} once the bean has been
+     * given links where this returns {@code true}. A bean visited again while still being given links, i.e. embedded
+     * in a cycle back to an enclosing bean, is not to be given links again. Where each bean is visited once, a bean
+     * embedded more than once within an entity, such as one shared under several rels, is also to be given links on its
+     * first visit only; where the EmbedSelector bounds the depth of embedding, a bean is then given links again when
+     * visited at a shallower depth than before, so that the beans embedded within it are given links down to the bound.
+     *
+     * @param bean the bean about to be given links
+     * @return {@code true} if bean is to be given links, {@code false} otherwise
+     */
+    public boolean visit(Object bean) {
+        // Without a bound the depth plays no part, every bean being given links to any depth on its first visit
+        return visits.add(bean, embedSelector.getMaxDepth() == Integer.MAX_VALUE ? 0 : embedDepth);
+    }
+
+    /**
+     * Records that the given bean, whose visit returned {@code true}, and the beans embedded within it have been given
+     * links, so that it may be given links again when visited elsewhere unless each bean is visited once.
+     *
+     * @param bean the bean given links
+     */
+    public void leave(Object bean) {
+        visits.remove(bean);
+    }
+
+    /**
+     * Returns a LinkProvider equivalent to this one for the chunks of a parallel injection, whose visits may be recorded
+     * from several threads at once. The visits are recorded to those of this LinkProvider, which is not to be used
+     * until the chunks have completed.
+     *
+     * @return LinkProvider for the chunks of a parallel injection
+     */
+    public LinkProvider forParallelChunks() {
+        final Visits concurrentVisits = visits.concurrent();
+        return concurrentVisits == visits
+                ? this
+                : new LinkProvider(linkContext, curieDescriptors, relFilter, embedSelector, embedDepth, concurrentVisits);
+    }
+
+    private LinkProvider withLinkContext(LinkContext newLinkContext, CurieDescriptors curieDescriptors) {
+        return new LinkProvider(newLinkContext, curieDescriptors, relFilter, embedSelector, embedDepth, visits);
+    }
+
+    /**
+     * Returns a Cursor for obtaining the LinkProvider of each of a number of beans in turn, such as the elements of an
+     * embedded list, each equivalent to {@link #forBean(Object)} but reusing a single LinkProvider where possible.
+     *
+     * @return a new Cursor over beans of this LinkProvider
+     */
+    public Cursor newCursor() {
+        return new Cursor(LinkContexts.compiled(linkContext).newCursor(), this);
     }
 
     /**
@@ -77,11 +186,15 @@ public class LinkProvider {
      *
      * @param linkDescriptor the linkDescriptor to construct a Link from
      * @return Link based on linkDescriptor or {@code null} if the linkDescriptor condition evaluates to {@code false}
+     * or its rel is not accepted by the RelFilter of this LinkProvider
      * @throws IllegalArgumentException if linkDescriptor defines a rel prefixed with a curie that has not been
      *                                  registered with this LinkProvider
      */
     @Nullable
     public Link getLink(LinkDescriptor linkDescriptor) {
+        if (!relFilter.accepts(linkDescriptor.getRel())) {
+            return null;
+        }
         final Link link = linkDescriptor.toLink(linkContext);
         final String curie = linkDescriptor.getCurie();
         if (link != null && curie != null) {
@@ -103,4 +216,164 @@ public class LinkProvider {
     public Curie getCurie(CurieDescriptor curieDescriptor) {
         return curieDescriptor.toCurie(linkContext);
     }
+
+    /**
+     * The beans visited by an injection pass. Not thread safe; the chunks of a parallel injection record their visits
+     * through {@link #concurrent()}.
+     */
+    private abstract static class Visits {
+
+        /**
+         * Returns whether bean, visited at the given depth, is to be given links, recording the visit if so.
+         */
+        abstract boolean add(Object bean, int depth);
+
+        /**
+         * Records that bean, whose visit was added, has been given links.
+         */
+        abstract void remove(Object bean);
+
+        /**
+         * Returns Visits recording to these under a lock, for the chunks of a parallel injection.
+         */
+        Visits concurrent() {
+            return new ConcurrentVisits(this);
+        }
+    }
+
+    /**
+     * The beans being given links by an injection pass, those enclosing the bean visited, by identity. As few beans
+     * enclose one another these are kept in an array, searched from the most deeply nested bean.
+     */
+    private static final class EnclosingVisits extends Visits {
+
+        private Object[] beans = new Object[4];
+        private int size;
+
+        @Override
+        boolean add(Object bean, int depth) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (beans[i] == bean) {
+                    return false;
+                }
+            }
+            if (size == beans.length) {
+                beans = Arrays.copyOf(beans, size * 2);
+            }
+            beans[size++] = bean;
+            return true;
+        }
+
+        @Override
+        void remove(Object bean) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (beans[i] == bean) {
+                    // The last bean where sequential, any where the chunks of a parallel injection interleave
+                    System.arraycopy(beans, i + 1, beans, i, size - i - 1);
+                    beans[--size] = null;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The beans visited by an injection pass, by identity, with the shallowest depth each was visited at. The map is
+     * only created on the visit of a second bean, as most entities embed no other beans.
+     */
+    private static final class OnceVisits extends Visits {
+
+        private Object first;
+        private int firstDepth;
+        private Map<Object, Integer> depths;
+
+        @Override
+        boolean add(Object bean, int depth) {
+            if (first == null) {
+                first = bean;
+                firstDepth = depth;
+                return true;
+            }
+            if (first == bean) {
+                if (depth < firstDepth) {
+                    firstDepth = depth;
+                    return true;
+                }
+                return false;
+            }
+            if (depths == null) {
+                depths = new IdentityHashMap<>();
+            }
+            final Integer visitedDepth = depths.get(bean);
+            if (visitedDepth == null || depth < visitedDepth) {
+                depths.put(bean, depth);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void remove(Object bean) {
+            // Visited once, so never given links again
+        }
+    }
+
+    /**
+     * The Visits of the chunks of a parallel injection, recorded to the Visits of the enclosing pass under a lock. The
+     * thread having started the parallel injection awaits the chunks, so records no visits of its own meanwhile.
+     */
+    private static final class ConcurrentVisits extends Visits {
+
+        private final Visits visits;
+
+        ConcurrentVisits(Visits visits) {
+            this.visits = visits;
+        }
+
+        @Override
+        synchronized boolean add(Object bean, int depth) {
+            return visits.add(bean, depth);
+        }
+
+        @Override
+        synchronized void remove(Object bean) {
+            visits.remove(bean);
+        }
+
+        @Override
+        Visits concurrent() {
+            return this;
+        }
+    }
+
+    /**
+     * A cursor over the beans of a LinkProvider.
+     */
+    public static final class Cursor {
+
+        private final CompiledLinkContext.Cursor linkContextCursor;
+        private final LinkProvider source;
+        private LinkContext linkContext;
+        private LinkProvider linkProvider;
+
+        Cursor(CompiledLinkContext.Cursor linkContextCursor, LinkProvider source) {
+            this.linkContextCursor = linkContextCursor;
+            this.source = source;
+        }
+
+        /**
+         * Returns a LinkProvider for the given bean, only valid until the next call to this method.
+         *
+         * @param bean the bean to obtain a LinkProvider for
+         * @return LinkProvider for the given bean
+         */
+        public LinkProvider moveTo(Object bean) {
+            final LinkContext newLinkContext = linkContextCursor.moveTo(bean);
+            if (newLinkContext != linkContext) {
+                linkContext = newLinkContext;
+                linkProvider = source.withLinkContext(newLinkContext, source.curieDescriptors);
+            }
+            return linkProvider;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core;
+
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.utils.Validate;
+
+import java.util.Objects;
+
+/**
+ * The Links and LinkProviders provided by a {@link LinkProvider}; the Links of rels accepted by a {@link RelFilter} and
+ * the LinkProviders of the Embeddable's selected by an {@link EmbedSelector}, along with whether each bean visited by the
+ * injection pass of the LinkProvider is given links once only. Instances are immutable.
+ */
+public final class LinkProviderOptions {
+
+    /**
+     * LinkProviderOptions providing Links of any rel and LinkProviders for all Embeddable's, skipping only the beans
+     * visited again while being given links.
+     */
+    public static final LinkProviderOptions DEFAULT = new LinkProviderOptions(RelFilter.ALL, EmbedSelector.ALL, false);
+
+    private final RelFilter relFilter;
+    private final EmbedSelector embedSelector;
+    private final boolean visitOnce;
+
+    private LinkProviderOptions(RelFilter relFilter, EmbedSelector embedSelector, boolean visitOnce) {
+        this.relFilter = relFilter;
+        this.embedSelector = embedSelector;
+        this.visitOnce = visitOnce;
+    }
+
+    /**
+     * Returns LinkProviderOptions providing only the Links of rels accepted by the given relFilter, of the LinkProvider
+     * and any LinkProvider obtained from it.
+     *
+     * @param relFilter the rels of the Links to provide
+     * @return LinkProviderOptions with the given relFilter
+     */
+    public LinkProviderOptions withRelFilter(RelFilter relFilter) {
+        return relFilter == this.relFilter
+                ? this
+                : new LinkProviderOptions(Validate.notNull(relFilter, "relFilter"), embedSelector, visitOnce);
+    }
+
+    /**
+     * Returns LinkProviderOptions providing only the LinkProviders for the Embeddable's selected by the given
+     * embedSelector, see {@link LinkProvider#forEmbedded(String)}.
+     *
+     * @param embedSelector the Embeddable's to provide LinkProviders for
+     * @return LinkProviderOptions with the given embedSelector
+     */
+    public LinkProviderOptions withEmbedSelector(EmbedSelector embedSelector) {
+        return embedSelector == this.embedSelector
+                ? this
+                : new LinkProviderOptions(relFilter, Validate.notNull(embedSelector, "embedSelector"), visitOnce);
+    }
+
+    /**
+     * Returns LinkProviderOptions giving each bean visited by the injection pass of the LinkProvider links on its first
+     * visit only, or, if visitOnce is {@code false}, only skipping those visited again while being given links, i.e.
+     * those embedded in a cycle, see {@link LinkProvider#visit(Object)}.
+     *
+     * @param visitOnce {@code true} to give each bean links on its first visit only
+     * @return LinkProviderOptions with the given visitOnce
+     */
+    public LinkProviderOptions withVisitOnce(boolean visitOnce) {
+        return visitOnce == this.visitOnce ? this : new LinkProviderOptions(relFilter, embedSelector, visitOnce);
+    }
+
+    /**
+     * @return the rels of the Links to provide
+     */
+    public RelFilter getRelFilter() {
+        return relFilter;
+    }
+
+    /**
+     * @return the Embeddable's to provide LinkProviders for
+     */
+    public EmbedSelector getEmbedSelector() {
+        return embedSelector;
+    }
+
+    /**
+     * @return {@code true} if each bean is given links on its first visit only, {@code false} otherwise
+     */
+    public boolean isVisitOnce() {
+        return visitOnce;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(relFilter, embedSelector, visitOnce);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final LinkProviderOptions other = (LinkProviderOptions) obj;
+        return Objects.equals(this.relFilter, other.relFilter)
+                && Objects.equals(this.embedSelector, other.embedSelector)
+                && this.visitOnce == other.visitOnce;
+    }
+
+    @Override
+    public String toString() {
+        return "LinkProviderOptions{" +
+                "relFilter=" + relFilter +
+                ", embedSelector=" + embedSelector +
+                ", visitOnce=" + visitOnce +
+                '}';
+    }
+}
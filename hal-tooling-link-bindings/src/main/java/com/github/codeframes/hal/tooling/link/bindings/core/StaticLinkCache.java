@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core;
+
+import com.github.codeframes.hal.tooling.core.Link;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
+
+import javax.annotation.Nullable;
+
+/**
+ * A cache of the finished {@link Link Links} of a static {@link LinkDescriptor}, one whose href contains no EL
+ * expressions or URI Template parameters, keyed by the resolution key of the link context the Link was resolved in.
+ * <p>
+ * Instances are thread safe. As resolution keys may be derived from requests, e.g. a base URI taken from the Host
+ * header, the number of cached Links is bounded by {@link #MAXIMUM_SIZE}; once full, caching a Link for a further key
+ * evicts that of an approximately least recently used key, so keys seen only once cannot crowd out those in use.
+ */
+public final class StaticLinkCache {
+
+    /**
+     * The maximum number of Links cached per LinkDescriptor.
+     */
+    public static final int MAXIMUM_SIZE = 16;
+
+    private final ClockCache<Object, Link> links = new ClockCache<>(MAXIMUM_SIZE);
+    private final CacheStatistics statistics;
+
+    StaticLinkCache(@Nullable CacheStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the Link cached for the given key or {@code null} if none is.
+     */
+    @Nullable
+    Link get(Object key) {
+        final Link link = links.get(key);
+        if (statistics != null) {
+            if (link == null) {
+                statistics.recordMiss();
+            } else {
+                statistics.recordHit();
+            }
+        }
+        return link;
+    }
+
+    /**
+     * Caches the given Link for key, evicting the Link of another key if full, and returns the Link to use for key.
+     */
+    Link put(Object key, Link link) {
+        return links.put(key, link);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.index;
+
+/**
+ * An index of link binding metadata, generated at compile time by the hal-tooling-link-bindings-processor and
+ * discovered at runtime through a {@link java.util.ServiceLoader}. Allows the link binding fields and bean properties
+ * of an indexed type to be resolved without scanning the annotations of every declared field or introspecting the
+ * type.
+ *
+ * @see LinkBindingsIndexes
+ */
+public interface LinkBindingsIndex {
+
+    /**
+     * Registers each indexed type with the given registry.
+     *
+     * @param registry the registry to register indexed types with
+     */
+    void registerTypes(TypeRegistry registry);
+
+    /**
+     * Registry of indexed types.
+     */
+    interface TypeRegistry {
+
+        /**
+         * Registers an indexed type.
+         *
+         * @param typeName          the binary name of the type
+         * @param fieldNames        the names of all non static fields declared by the type
+         * @param bindingFieldNames the names of the fields declared by the type which are link bindings, in
+         *                          declaration order; fields annotated with one of {@code LinkRel}, {@code LinkRels},
+         *                          {@code CurieDef}, {@code CurieDefs} or of type {@code Embedded} or
+         *                          {@code Embeddable}
+         * @param propertyNames     the names of all bean properties of the type, including inherited properties
+         */
+        void register(String typeName, String[] fieldNames, String[] bindingFieldNames, String[] propertyNames);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.index;
+
+import com.github.codeframes.hal.tooling.core.Embeddable;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDef;
+import com.github.codeframes.hal.tooling.link.bindings.CurieDefs;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
+import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * The combined {@link LinkBindingsIndex}'s available at runtime. Types not indexed, or indexed types whose fields no
+ * longer match their index entry, are to be resolved through reflection instead.
+ */
+public final class LinkBindingsIndexes {
+
+    private static final LinkBindingsIndexes EMPTY = new LinkBindingsIndexes(Collections.<LinkBindingsIndex>emptyList());
+
+    private final Map<String, IndexedType> indexedTypes = new HashMap<>();
+
+    /**
+     * Constructs LinkBindingsIndexes combining the given indexes.
+     *
+     * @param indexes the indexes to combine
+     */
+    public LinkBindingsIndexes(Iterable<? extends LinkBindingsIndex> indexes) {
+        final LinkBindingsIndex.TypeRegistry registry = new LinkBindingsIndex.TypeRegistry() {
+            @Override
+            public void register(String typeName, String[] fieldNames, String[] bindingFieldNames, String[] propertyNames) {
+                indexedTypes.put(typeName, new IndexedType(fieldNames, bindingFieldNames, propertyNames));
+            }
+        };
+        for (LinkBindingsIndex index : indexes) {
+            index.registerTypes(registry);
+        }
+    }
+
+    /**
+     * Returns LinkBindingsIndexes containing no indexed types.
+     */
+    public static LinkBindingsIndexes empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns LinkBindingsIndexes combining all {@link LinkBindingsIndex}'s available to the current thread's context
+     * class loader, or if not set, the class loader of this class.
+     */
+    public static LinkBindingsIndexes load() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return load(contextClassLoader == null ? LinkBindingsIndexes.class.getClassLoader() : contextClassLoader);
+    }
+
+    /**
+     * Returns LinkBindingsIndexes combining all {@link LinkBindingsIndex}'s available to the given class loader.
+     *
+     * @param classLoader the class loader to load {@link LinkBindingsIndex}'s from
+     * @return LinkBindingsIndexes combining all available {@link LinkBindingsIndex}'s
+     */
+    public static LinkBindingsIndexes load(ClassLoader classLoader) {
+        final List<LinkBindingsIndex> indexes = new ArrayList<>();
+        for (LinkBindingsIndex index : ServiceLoader.load(LinkBindingsIndex.class, classLoader)) {
+            indexes.add(index);
+        }
+        return indexes.isEmpty() ? EMPTY : new LinkBindingsIndexes(indexes);
+    }
+
+    /**
+     * Returns the IndexedType for the given type.
+     *
+     * @param type the type to get the IndexedType of
+     * @return IndexedType for the given type or {@code null} if the type has not been indexed
+     */
+    @Nullable
+    public IndexedType get(Class<?> type) {
+        return indexedTypes.isEmpty() ? null : indexedTypes.get(type.getName());
+    }
+
+    /**
+     * The link binding metadata of a single indexed type.
+     */
+    public static final class IndexedType {
+
+        private final Set<String> fieldNames;
+        private final List<String> bindingFieldNames;
+        private final Set<String> propertyNames;
+
+        IndexedType(String[] fieldNames, String[] bindingFieldNames, String[] propertyNames) {
+            this.fieldNames = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(fieldNames)));
+            this.bindingFieldNames = Collections.unmodifiableList(Arrays.asList(bindingFieldNames.clone()));
+            this.propertyNames = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(propertyNames)));
+        }
+
+        /**
+         * @return the names of all non static fields declared by the type
+         */
+        public Set<String> getFieldNames() {
+            return fieldNames;
+        }
+
+        /**
+         * @return the names of the link binding fields declared by the type, in declaration order
+         */
+        public List<String> getBindingFieldNames() {
+            return bindingFieldNames;
+        }
+
+        /**
+         * @return the names of all bean properties of the type
+         */
+        public Set<String> getPropertyNames() {
+            return propertyNames;
+        }
+
+        /**
+         * Returns the link binding fields declared by the given type, provided the non static fields declared by the
+         * type, and those of which are link binding fields, still match this index entry.
+         *
+         * @param type the indexed type
+         * @return the link binding fields declared by type or {@code null} if a field has been added, removed or has
+         * become or ceased to be a link binding field, indicating the index is out of date with the given type
+         */
+        @Nullable
+        public Field[] getBindingFields(Class<?> type) {
+            final Field[] fields = new Field[bindingFieldNames.size()];
+            int declaredFieldCount = 0;
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isSynthetic()) {
+                    continue;
+                }
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    if (!fieldNames.contains(field.getName())) {
+                        return null;
+                    }
+                    declaredFieldCount++;
+                }
+                final int i = bindingFieldNames.indexOf(field.getName());
+                if (i >= 0 != isBindingField(field)) {
+                    return null;
+                }
+                if (i >= 0) {
+                    fields[i] = field;
+                }
+            }
+            if (declaredFieldCount != fieldNames.size()) {
+                return null;
+            }
+            for (Field field : fields) {
+                if (field == null) {
+                    return null;
+                }
+            }
+            return fields;
+        }
+
+        private static boolean isBindingField(Field field) {
+            return field.isAnnotationPresent(LinkRel.class)
+                    || field.isAnnotationPresent(LinkRels.class)
+                    || field.isAnnotationPresent(CurieDef.class)
+                    || field.isAnnotationPresent(CurieDefs.class)
+                    || Embeddable.class.isAssignableFrom(field.getType());
+        }
+    }
+}
@@ -15,9 +15,23 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.inject;
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
 
 interface BeanLinkSetter {
 
     void setLinks(Object entity, LinkContext linkContext);
+
+    /**
+     * Sets only the links of rels accepted by relFilter, of the entity and any bean embedded within it by an Embeddable
+     * selected by embedSelector.
+     */
+    void setLinks(Object entity, LinkContext linkContext, RelFilter relFilter, EmbedSelector embedSelector);
+
+    /**
+     * Sets links as {@link #setLinks(Object, LinkContext, RelFilter, EmbedSelector)} does, given the link context of the
+     * entity itself, such as that of a cursor moved to the entity, rather than one to scope to the entity.
+     */
+    void setBeanLinks(Object entity, LinkContext beanLinkContext, RelFilter relFilter, EmbedSelector embedSelector);
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProviderOptions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.UndeclaredThrowableException;
+
+class CompiledBeanLinkSetter implements BeanLinkSetter {
+
+    private final CurieDescriptors curieDescriptors;
+    private final MethodHandle linkSetter;
+    private final LinkProviderOptions linkProviderOptions;
+
+    public CompiledBeanLinkSetter(CurieDescriptors curieDescriptors, MethodHandle linkSetter) {
+        this(curieDescriptors, linkSetter, false);
+    }
+
+    CompiledBeanLinkSetter(CurieDescriptors curieDescriptors, MethodHandle linkSetter, boolean injectEmbeddedOnce) {
+        this.curieDescriptors = curieDescriptors;
+        this.linkSetter = linkSetter;
+        this.linkProviderOptions = LinkProviderOptions.DEFAULT.withVisitOnce(injectEmbeddedOnce);
+    }
+
+    @Override
+    public void setLinks(Object entity, LinkContext linkContext) {
+        setLinks(entity, linkContext, RelFilter.ALL, EmbedSelector.ALL);
+    }
+
+    @Override
+    public void setLinks(Object entity, LinkContext linkContext, RelFilter relFilter, EmbedSelector embedSelector) {
+        setBeanLinks(entity, linkContext.forBean(entity), relFilter, embedSelector);
+    }
+
+    @Override
+    public void setBeanLinks(Object entity, LinkContext beanLinkContext, RelFilter relFilter, EmbedSelector embedSelector) {
+        final LinkProvider linkProvider = new LinkProvider(beanLinkContext, curieDescriptors,
+                linkProviderOptions.withRelFilter(relFilter).withEmbedSelector(embedSelector));
+        linkProvider.visit(entity);
+        try {
+            linkSetter.invokeExact(entity, linkProvider);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.UndeclaredThrowableException;
+
+class CompiledEmbeddedBeanLinkSetter implements ElementLinkSetter {
+
+    private final MethodHandle linkSetter;
+
+    public CompiledEmbeddedBeanLinkSetter(MethodHandle linkSetter) {
+        this.linkSetter = linkSetter;
+    }
+
+    @Override
+    public void setLinks(Object instance, LinkProvider linkProvider) {
+        setElementLinks(instance, linkProvider.forBean(instance));
+    }
+
+    @Override
+    public void setElementLinks(Object element, LinkProvider elementLinkProvider) {
+        try {
+            linkSetter.invokeExact(element, elementLinkProvider);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
@@ -37,4 +37,12 @@ class CurieFieldSetter implements LinkSetter {
             fieldAccessor.setValue(instance, curie);
         }
     }
+
+    FieldAccessor getFieldAccessor() {
+        return fieldAccessor;
+    }
+
+    CurieDescriptor getCurieDescriptor() {
+        return curieDescriptor;
+    }
 }
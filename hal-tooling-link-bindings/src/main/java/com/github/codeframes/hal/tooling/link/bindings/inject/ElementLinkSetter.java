@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+
+/**
+ * A LinkSetter of embedded element beans, which may also be given a LinkProvider already obtained for the element.
+ */
+interface ElementLinkSetter extends LinkSetter {
+
+    /**
+     * Sets links on the given element using the given elementLinkProvider, obtained for the element.
+     *
+     * @param element             the element bean of which to set links
+     * @param elementLinkProvider the LinkProvider for element
+     */
+    void setElementLinks(Object element, LinkProvider elementLinkProvider);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors;
+
+/**
+ * A monomorphic inline cache of the ElementLinkSetter for the resources of an embedded field, consulting the
+ * LinkSetterFactory only when the class of the resource differs from that of the previous one.
+ */
+final class ElementLinkSetterCache {
+
+    private final LinkSetterFactory linkSetterFactory;
+    private final CurieDescriptors curieDescriptors;
+    private volatile Entry entry;
+
+    ElementLinkSetterCache(LinkSetterFactory linkSetterFactory, CurieDescriptors curieDescriptors) {
+        this.linkSetterFactory = linkSetterFactory;
+        this.curieDescriptors = curieDescriptors;
+    }
+
+    ElementLinkSetter get(Class<?> type) {
+        final Entry entry = this.entry;
+        if (entry != null && entry.type == type) {
+            return entry.linkSetter;
+        }
+        final ElementLinkSetter linkSetter = linkSetterFactory.getElementBeanLinkSetter(type, curieDescriptors);
+        this.entry = new Entry(type, linkSetter);
+        return linkSetter;
+    }
+
+    private static final class Entry {
+
+        final Class<?> type;
+        final ElementLinkSetter linkSetter;
+
+        Entry(Class<?> type, ElementLinkSetter linkSetter) {
+            this.type = type;
+            this.linkSetter = linkSetter;
+        }
+    }
+}
@@ -22,22 +22,26 @@ import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
 
 class EmbeddableFieldLinkSetter implements LinkSetter {
 
-    private final LinkSetterFactory linkSetterFactory;
     private final FieldAccessor fieldAccessor;
-    private final CurieDescriptors curieDescriptors;
+    private final ElementLinkSetterCache linkSetters;
 
     public EmbeddableFieldLinkSetter(LinkSetterFactory linkSetterFactory, FieldAccessor fieldAccessor, CurieDescriptors curieDescriptors) {
-        this.linkSetterFactory = linkSetterFactory;
         this.fieldAccessor = fieldAccessor;
-        this.curieDescriptors = curieDescriptors;
+        this.linkSetters = new ElementLinkSetterCache(linkSetterFactory, curieDescriptors);
     }
 
     @Override
     public void setLinks(Object instance, LinkProvider linkProvider) {
         final Embeddable embeddable = (Embeddable) fieldAccessor.getValue(instance);
         if (embeddable != null) {
-            final LinkSetter linkSetter = linkSetterFactory.getElementBeanLinkSetter(embeddable.getClass(), curieDescriptors);
-            linkSetter.setLinks(embeddable, linkProvider);
+            final LinkProvider embeddedLinkProvider = linkProvider.forEmbedded(embeddable.getRel());
+            if (embeddedLinkProvider != null) {
+                final LinkSetter linkSetter = linkSetters.get(embeddable.getClass());
+                if (linkSetter != LinkSetterFactory.NO_OP_LINK_SETTER && embeddedLinkProvider.visit(embeddable)) {
+                    linkSetter.setLinks(embeddable, embeddedLinkProvider);
+                    embeddedLinkProvider.leave(embeddable);
+                }
+            }
         }
     }
 }
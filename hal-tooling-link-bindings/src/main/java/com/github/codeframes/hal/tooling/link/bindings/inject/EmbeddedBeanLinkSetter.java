@@ -19,7 +19,7 @@ import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
 
 import java.util.List;
 
-class EmbeddedBeanLinkSetter implements LinkSetter {
+class EmbeddedBeanLinkSetter implements ElementLinkSetter {
 
     private final List<LinkSetter> linkSetters;
 
@@ -29,9 +29,13 @@ class EmbeddedBeanLinkSetter implements LinkSetter {
 
     @Override
     public void setLinks(Object instance, LinkProvider linkProvider) {
-        final LinkProvider beanLinkProvider = linkProvider.forBean(instance);
+        setElementLinks(instance, linkProvider.forBean(instance));
+    }
+
+    @Override
+    public void setElementLinks(Object element, LinkProvider elementLinkProvider) {
         for (LinkSetter linkFieldSetter : linkSetters) {
-            linkFieldSetter.setLinks(instance, beanLinkProvider);
+            linkFieldSetter.setLinks(element, elementLinkProvider);
         }
     }
 }
@@ -24,30 +24,58 @@ import java.util.List;
 
 class EmbeddedFieldLinkSetter implements LinkSetter {
 
-    private final LinkSetterFactory linkSetterFactory;
     private final FieldAccessor fieldAccessor;
-    private final CurieDescriptors curieDescriptors;
+    private final ElementLinkSetterCache linkSetters;
+    private final ParallelInjection parallelInjection;
 
     public EmbeddedFieldLinkSetter(LinkSetterFactory linkSetterFactory, FieldAccessor fieldAccessor, CurieDescriptors curieDescriptors) {
-        this.linkSetterFactory = linkSetterFactory;
+        this(linkSetterFactory, fieldAccessor, curieDescriptors, null);
+    }
+
+    EmbeddedFieldLinkSetter(LinkSetterFactory linkSetterFactory,
+                            FieldAccessor fieldAccessor,
+                            CurieDescriptors curieDescriptors,
+                            ParallelInjection parallelInjection) {
         this.fieldAccessor = fieldAccessor;
-        this.curieDescriptors = curieDescriptors;
+        this.linkSetters = new ElementLinkSetterCache(linkSetterFactory, curieDescriptors);
+        this.parallelInjection = parallelInjection;
     }
 
     @Override
     public void setLinks(Object instance, LinkProvider linkProvider) {
         final Embedded embedded = (Embedded) fieldAccessor.getValue(instance);
         if (embedded != null) {
-            Object embeddedResource = embedded.getResource();
+            // Null where the Embedded is not selected for embedding, and so is never serialized
+            final LinkProvider embeddedLinkProvider = linkProvider.forEmbedded(embedded.getRel());
+            final Object embeddedResource = embeddedLinkProvider == null ? null : embedded.getResource();
             if (embeddedResource instanceof List) {
                 final List<?> list = (List<?>) embeddedResource;
-                for (Object listItem : list) {
-                    final LinkSetter linkSetter = linkSetterFactory.getElementBeanLinkSetter(listItem.getClass(), curieDescriptors);
-                    linkSetter.setLinks(listItem, linkProvider);
+                if (parallelInjection != null && parallelInjection.isParallel(list)) {
+                    parallelInjection.setElementLinks(list, embeddedLinkProvider, linkSetters);
+                } else {
+                    setElementLinks(list, embeddedLinkProvider, linkSetters);
                 }
             } else if (embeddedResource != null) {
-                final LinkSetter linkSetter = linkSetterFactory.getElementBeanLinkSetter(embeddedResource.getClass(), curieDescriptors);
-                linkSetter.setLinks(embeddedResource, linkProvider);
+                final LinkSetter linkSetter = linkSetters.get(embeddedResource.getClass());
+                if (linkSetter != LinkSetterFactory.NO_OP_LINK_SETTER && embeddedLinkProvider.visit(embeddedResource)) {
+                    linkSetter.setLinks(embeddedResource, embeddedLinkProvider);
+                    embeddedLinkProvider.leave(embeddedResource);
+                }
+            }
+        }
+    }
+
+    static void setElementLinks(List<?> list, LinkProvider linkProvider, ElementLinkSetterCache linkSetters) {
+        LinkProvider.Cursor cursor = null;
+        for (Object listItem : list) {
+            final ElementLinkSetter linkSetter = linkSetters.get(listItem.getClass());
+            // Beans enclosing this list, or visited before where each is visited once, already have their links
+            if (linkSetter != LinkSetterFactory.NO_OP_LINK_SETTER && linkProvider.visit(listItem)) {
+                if (cursor == null) {
+                    cursor = linkProvider.newCursor();
+                }
+                linkSetter.setElementLinks(listItem, cursor.moveTo(listItem));
+                linkProvider.leave(listItem);
             }
         }
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.utils.Validate;
+
+import java.util.Objects;
+
+/**
+ * The links to be injected by a {@link LinkInjector}; those of the rels accepted by a {@link RelFilter}, into the entity
+ * and the beans embedded within it by the {@link com.github.codeframes.hal.tooling.core.Embeddable Embeddable}'s
+ * selected by an {@link EmbedSelector}. Instances are immutable.
+ */
+public final class InjectionOptions {
+
+    /**
+     * InjectionOptions injecting links of any rel into the entity and all beans embedded within it.
+     */
+    public static final InjectionOptions DEFAULT = new InjectionOptions(RelFilter.ALL, EmbedSelector.ALL);
+
+    private final RelFilter relFilter;
+    private final EmbedSelector embedSelector;
+
+    private InjectionOptions(RelFilter relFilter, EmbedSelector embedSelector) {
+        this.relFilter = relFilter;
+        this.embedSelector = embedSelector;
+    }
+
+    /**
+     * Returns InjectionOptions injecting only the links of rels accepted by the given relFilter, into the beans selected
+     * by the EmbedSelector of this.
+     *
+     * @param relFilter the rels of the links to inject
+     * @return InjectionOptions with the given relFilter
+     */
+    public InjectionOptions withRelFilter(RelFilter relFilter) {
+        return new InjectionOptions(Validate.notNull(relFilter, "relFilter"), embedSelector);
+    }
+
+    /**
+     * Returns InjectionOptions injecting links only into the entity and the beans embedded within it by Embeddable's
+     * selected by the given embedSelector, of the rels accepted by the RelFilter of this. Beans embedded by Embeddable's
+     * not selected are neither given links nor, when serialized with the same embedSelector, written.
+     *
+     * @param embedSelector the Embeddable's of the beans of which to inject links
+     * @return InjectionOptions with the given embedSelector
+     */
+    public InjectionOptions withEmbedSelector(EmbedSelector embedSelector) {
+        return new InjectionOptions(relFilter, Validate.notNull(embedSelector, "embedSelector"));
+    }
+
+    /**
+     * @return the rels of the links to inject
+     */
+    public RelFilter getRelFilter() {
+        return relFilter;
+    }
+
+    /**
+     * @return the Embeddable's of the beans of which to inject links
+     */
+    public EmbedSelector getEmbedSelector() {
+        return embedSelector;
+    }
+
+    /**
+     * @return {@code true} if links of any rel are to be injected into all beans, as with {@link #DEFAULT},
+     * {@code false} otherwise
+     */
+    public boolean injectsAll() {
+        return relFilter == RelFilter.ALL && embedSelector.selectsAll();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(relFilter, embedSelector);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final InjectionOptions other = (InjectionOptions) obj;
+        return Objects.equals(this.relFilter, other.relFilter)
+                && Objects.equals(this.embedSelector, other.embedSelector);
+    }
+
+    @Override
+    public String toString() {
+        return "InjectionOptions{" +
+                "relFilter=" + relFilter +
+                ", embedSelector=" + embedSelector +
+                '}';
+    }
+}
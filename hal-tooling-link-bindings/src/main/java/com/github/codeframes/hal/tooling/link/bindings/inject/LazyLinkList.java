@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.core.Link;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A List of Links which are only created, from the LinkDescriptors of a field, once the List is first accessed, such
+ * as when serialized. Once created the List behaves as the list of links injected eagerly would.
+ * <p>
+ * The LinkProvider, and so the link context resolver and LinkELContext of the injection, are retained until then; the
+ * links are created on whichever thread first accesses the List, with whatever request state those hold.
+ */
+final class LazyLinkList extends AbstractList<Link> {
+
+    private LinkProvider linkProvider;
+    private List<LinkDescriptor> linkDescriptors;
+    private volatile List<Link> links;
+
+    LazyLinkList(LinkProvider linkProvider, List<LinkDescriptor> linkDescriptors) {
+        this.linkProvider = linkProvider;
+        this.linkDescriptors = linkDescriptors;
+    }
+
+    /**
+     * @return {@code true} if the links of this List have been created, {@code false} otherwise
+     */
+    boolean isMaterialized() {
+        return links != null;
+    }
+
+    private List<Link> getLinks() {
+        List<Link> links = this.links;
+        if (links == null) {
+            synchronized (this) {
+                links = this.links;
+                if (links == null) {
+                    links = createLinks();
+                    this.links = links;
+                    // No longer required, released so as not to retain the link context
+                    this.linkProvider = null;
+                    this.linkDescriptors = null;
+                }
+            }
+        }
+        return links;
+    }
+
+    private List<Link> createLinks() {
+        final List<Link> links = new ArrayList<>(linkDescriptors.size());
+        for (final LinkDescriptor linkDescriptor : linkDescriptors) {
+            final Link link = linkProvider.getLink(linkDescriptor);
+            if (link != null) {
+                links.add(link);
+            }
+        }
+        return links;
+    }
+
+    @Override
+    public Link get(int index) {
+        return getLinks().get(index);
+    }
+
+    @Override
+    public int size() {
+        return getLinks().size();
+    }
+
+    @Override
+    public Link set(int index, Link link) {
+        return getLinks().set(index, link);
+    }
+
+    @Override
+    public void add(int index, Link link) {
+        getLinks().add(index, link);
+        modCount++;
+    }
+
+    @Override
+    public Link remove(int index) {
+        final Link link = getLinks().remove(index);
+        modCount++;
+        return link;
+    }
+}
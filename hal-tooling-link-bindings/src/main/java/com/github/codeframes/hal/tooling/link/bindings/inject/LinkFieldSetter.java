@@ -37,4 +37,12 @@ class LinkFieldSetter implements LinkSetter {
             fieldAccessor.setValue(instance, link);
         }
     }
+
+    FieldAccessor getFieldAccessor() {
+        return fieldAccessor;
+    }
+
+    LinkDescriptor getLinkDescriptor() {
+        return linkDescriptor;
+    }
 }
@@ -15,27 +15,39 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.inject;
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.HalRepresentable;
 import com.github.codeframes.hal.tooling.link.bindings.CurieDef;
 import com.github.codeframes.hal.tooling.link.bindings.CurieDefs;
 import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
 import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkTemplateFactory;
 import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkTemplateFactory;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.context.DefaultLinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.context.DefaultLinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionEngine;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionValueCache;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.core.HrefCache;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndex;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes;
 import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplateExpander;
 import com.github.codeframes.hal.tooling.link.bindings.uri.UriValueResolver;
 import com.github.codeframes.hal.tooling.utils.Validate;
 
+import javax.annotation.Nullable;
 import javax.el.ExpressionFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Responsible for injecting links ({@link com.github.codeframes.hal.tooling.core.Link Link},
@@ -64,6 +76,66 @@ public abstract class LinkInjector {
      */
     public abstract void injectLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver, final LinkELContext linkELContext);
 
+    /**
+     * Injects the links selected by the given options into the given entity, and the beans embedded within it, on fields
+     * annotated with one of ({@link LinkRel LinkRel}, {@link LinkRels LinkRels}, {@link CurieDef CurieDef},
+     * {@link CurieDefs CurieDefs}). The expressions and templates of links not selected are not evaluated. Equivalent
+     * to {@link #injectLinks(HalRepresentable, LinkContextResolver, LinkELContext)} given {@link InjectionOptions#DEFAULT}.
+     * <p>
+     * Filtering is best-effort: this implementation injects all links, as by
+     * {@link #injectLinks(HalRepresentable, LinkContextResolver, LinkELContext)}, whatever the options, and is
+     * overridden by the LinkInjector's of {@link #defaultInstance()} and {@link #instanceBuilder()} to inject only those
+     * selected. Callers must not rely on links not selected being absent.
+     *
+     * @param entity              the bean of which to inject links
+     * @param linkContextResolver responsible for resolving link contexts which is used for link styling
+     * @param linkELContext       the Link ELContext used for EL evaluations in link bindings, or {@code null} for one
+     *                            of the entity alone
+     * @param options             the links to inject
+     */
+    public void injectLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver,
+                            @Nullable final LinkELContext linkELContext, final InjectionOptions options) {
+        Validate.notNull(options, "options");
+        if (linkELContext == null) {
+            injectLinks(entity, linkContextResolver);
+        } else {
+            injectLinks(entity, linkContextResolver, linkELContext);
+        }
+    }
+
+    /**
+     * Injects links into each of the given entities on fields annotated with one of ({@link LinkRel LinkRel},
+     * {@link LinkRels LinkRels}, {@link CurieDef CurieDef}, {@link CurieDefs CurieDefs}), equivalent to
+     * {@link #injectLinks(HalRepresentable, LinkContextResolver)} for each entity. Implementations may share state
+     * across the entities, such as link contexts and the link setters of entities of the same type.
+     *
+     * @param entities            the beans of which to inject links
+     * @param linkContextResolver responsible for resolving link contexts which is used for link styling
+     */
+    public void injectAllLinks(final Collection<? extends HalRepresentable> entities, final LinkContextResolver linkContextResolver) {
+        injectAllLinks(entities, linkContextResolver, InjectionOptions.DEFAULT);
+    }
+
+    /**
+     * Injects the links selected by the given options into each of the given entities, equivalent to
+     * {@link #injectLinks(HalRepresentable, LinkContextResolver, LinkELContext, InjectionOptions)} for each entity
+     * without a Link ELContext. Implementations may share state across the entities, such as link contexts and the
+     * link setters of entities of the same type.
+     *
+     * @param entities            the beans of which to inject links
+     * @param linkContextResolver responsible for resolving link contexts which is used for link styling
+     * @param options             the links to inject
+     */
+    public void injectAllLinks(final Collection<? extends HalRepresentable> entities, final LinkContextResolver linkContextResolver,
+                               final InjectionOptions options) {
+        Validate.notNull(options, "options");
+        if (entities != null) {
+            for (HalRepresentable entity : entities) {
+                injectLinks(entity, linkContextResolver, null, options);
+            }
+        }
+    }
+
     /**
      * The default LinkInjector.
      */
@@ -83,22 +155,46 @@ public abstract class LinkInjector {
      */
     public static final class LinkInjectorBuilder {
 
-        private ExpressionFactory expressionFactory;
+        private ExpressionEngine expressionEngine;
         private LinkTemplateFactory linkTemplateFactory;
         private List<UriValueResolver<?>> uriValueResolvers;
+        private boolean strictUriEncoding;
+        private boolean compileLinkSetters;
+        private LinkBindingsIndexes linkBindingsIndexes;
+        private CacheStatistics expressionValueCacheStatistics;
+        private CacheStatistics staticLinkCacheStatistics;
+        private HrefCache hrefCache;
+        private ParallelInjection parallelInjection;
+        private boolean lazyLinks;
+        private boolean injectEmbeddedOnce;
+        private int maxEmbedDepth = Integer.MAX_VALUE;
 
         private LinkInjectorBuilder() {
         }
 
         /**
          * Specifies the Expression Factory to use for the parsing of any expression's declared with
-         * {@link LinkRel LinkRel} annotations.
+         * {@link LinkRel LinkRel} annotations. Equivalent to specifying an {@link ELExpressionEngine} backed by the
+         * given expressionFactory, replacing any previously specified Expression Engine.
          *
          * @param expressionFactory factory to use for the parsing of expression's
          * @return {@code this}
          */
         public LinkInjectorBuilder expressionFactory(ExpressionFactory expressionFactory) {
-            this.expressionFactory = Validate.notNull(expressionFactory, "LinkInjectorBuilder.expressionFactory");
+            Validate.notNull(expressionFactory, "LinkInjectorBuilder.expressionFactory");
+            this.expressionEngine = new ELExpressionEngine(expressionFactory);
+            return this;
+        }
+
+        /**
+         * Specifies the Expression Engine to use for the compilation and evaluation of any expression's declared with
+         * {@link LinkRel LinkRel} annotations, replacing any previously specified Expression Factory.
+         *
+         * @param expressionEngine engine to use for the compilation and evaluation of expression's
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder expressionEngine(ExpressionEngine expressionEngine) {
+            this.expressionEngine = Validate.notNull(expressionEngine, "LinkInjectorBuilder.expressionEngine");
             return this;
         }
 
@@ -126,60 +222,341 @@ public abstract class LinkInjector {
             return this;
         }
 
+        /**
+         * Specifies whether or not to percent-encode values substituted in URI Template expansion strictly as defined by
+         * RFC6570, such that e.g. {@code Hello World!} bound to {@code /greeting/{text}} expands to
+         * {@code /greeting/Hello%20World%21} rather than {@code /greeting/Hello+World%21}, see
+         * {@link UriTemplateExpander}. Disabled by default, in which case values are encoded as by earlier versions.
+         *
+         * @param strictUriEncoding {@code true} to encode values as defined by RFC6570, {@code false} otherwise
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder strictUriEncoding(boolean strictUriEncoding) {
+            this.strictUriEncoding = strictUriEncoding;
+            return this;
+        }
+
+        /**
+         * Specifies whether or not to compile the link setters of each {@link HalRepresentable} type into a single
+         * specialised MethodHandle, writing Link and Curie fields directly in an unrolled sequence, rather than
+         * traversing a tree of reflective field setters. Types which cannot be compiled fall back to the reflective
+         * setters. Disabled by default.
+         *
+         * @param compileLinkSetters {@code true} to compile link setters, {@code false} otherwise
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder compileLinkSetters(boolean compileLinkSetters) {
+            this.compileLinkSetters = compileLinkSetters;
+            return this;
+        }
+
+        /**
+         * Specifies the compile time {@link LinkBindingsIndex}'s to consult for the link binding fields and bean
+         * properties of {@link HalRepresentable} types, replacing reflective scanning of indexed types. Defaults to the
+         * indexes available to the current thread's context class loader, see {@link LinkBindingsIndexes#load()}.
+         *
+         * @param linkBindingsIndexes the indexes to consult for link binding fields and bean properties
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder linkBindingsIndexes(LinkBindingsIndexes linkBindingsIndexes) {
+            this.linkBindingsIndexes = Validate.notNull(linkBindingsIndexes, "LinkInjectorBuilder.linkBindingsIndexes");
+            return this;
+        }
+
+        /**
+         * Specifies that the values of link binding and condition expressions are to be memoized per bean, evaluating
+         * each distinct expression once per bean rather than once per link. Cache hits and misses are recorded to the
+         * given statistics. Disabled by default.
+         *
+         * @param statistics the statistics to record expression value cache hits and misses to
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder memoizeExpressionValues(CacheStatistics statistics) {
+            this.expressionValueCacheStatistics = Validate.notNull(statistics, "LinkInjectorBuilder.statistics");
+            return this;
+        }
+
+        /**
+         * Specifies the statistics to record hits and misses of the caches of static links to. Links whose href
+         * contains neither EL expressions nor URI Template parameters are resolved once per resolution key of a
+         * {@link com.github.codeframes.hal.tooling.link.bindings.api.CacheableLinkContextResolver
+         * CacheableLinkContextResolver} and reused, regardless of whether statistics are specified.
+         *
+         * @param statistics the statistics to record static link cache hits and misses to
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder staticLinkCacheStatistics(CacheStatistics statistics) {
+            this.staticLinkCacheStatistics = Validate.notNull(statistics, "LinkInjectorBuilder.statistics");
+            return this;
+        }
+
+        /**
+         * Specifies that the hrefs of links containing EL expressions or URI Template parameters are to be cached, at
+         * most maximumSize across all links, evicting approximately the least recently used first. An href is reused
+         * where the same link is resolved for equal binding values and EL expression results within link contexts
+         * sharing a resolution key of a {@link com.github.codeframes.hal.tooling.link.bindings.api.CacheableLinkContextResolver
+         * CacheableLinkContextResolver}. As those values form the key they are still evaluated for every link, a hit
+         * only saving URI Template expansion and styling. Binding values must therefore implement {@code equals} and
+         * {@code hashCode} by value and must not be mutated once bound. Disabled by default.
+         *
+         * @param maximumSize the maximum number of hrefs to cache
+         * @param statistics  the statistics to record href cache hits and misses to
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder cacheHrefs(int maximumSize, CacheStatistics statistics) {
+            Validate.notNull(statistics, "LinkInjectorBuilder.statistics");
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException(
+                        String.format("'%s' argument must be greater than 0, got: %d", "LinkInjectorBuilder.maximumSize", maximumSize));
+            }
+            this.hrefCache = new HrefCache(maximumSize, statistics);
+            return this;
+        }
+
+        /**
+         * Specifies that the links of the elements of embedded lists with more than threshold elements are to be
+         * injected in parallel on the given pool, in chunks of at most threshold elements. Each chunk is given its own
+         * link context, however the {@link LinkContextResolver} and {@link LinkELContext} given to
+         * {@link LinkInjector#injectLinks} are shared by all chunks and must be safe to use from the threads of pool.
+         * Any request state they resolve against, such as that of a thread bound request, must therefore be captured
+         * on construction, on the calling thread. Disabled by default.
+         *
+         * @param pool      the pool to inject the links of chunks of elements on
+         * @param threshold the number of elements above which an embedded list is injected in parallel
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder parallelInjection(ForkJoinPool pool, int threshold) {
+            Validate.notNull(pool, "LinkInjectorBuilder.pool");
+            if (threshold < 1) {
+                throw new IllegalArgumentException(
+                        String.format("'%s' argument must be greater than 0, got: %d", "LinkInjectorBuilder.threshold", threshold));
+            }
+            this.parallelInjection = new ParallelInjection(pool, threshold);
+            return this;
+        }
+
+        /**
+         * Specifies whether or not the links of {@link LinkRels LinkRels} fields are to be created on first access of
+         * the injected List, such as when serialized, rather than on injection, so that links never written are never
+         * created. {@link LinkRel LinkRel} fields, of the immutable {@link com.github.codeframes.hal.tooling.core.Link
+         * Link} type, are always injected eagerly. The {@link LinkContextResolver} and {@link LinkELContext} given to
+         * {@link LinkInjector#injectLinks} are retained until the links are accessed, and any error in creating a link
+         * is raised on access. Where links may be accessed on another thread, such as where serialization is
+         * asynchronous, the resolver and objects of the LinkELContext must capture any request state they depend upon
+         * on construction, as the JAX-RS resolver and URI parameters do, rather than read a thread bound request
+         * later; otherwise the links must be accessed on the request thread. Disabled by default.
+         *
+         * @param lazyLinks {@code true} to create the links of LinkRels fields on first access, {@code false} otherwise
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder lazyLinks(boolean lazyLinks) {
+            this.lazyLinks = lazyLinks;
+            return this;
+        }
+
+        /**
+         * Specifies whether or not each bean embedded within an entity is to be given links once only per injection,
+         * tracking the beans visited by identity. Beans shared under several rels are then given links once rather
+         * than on each occurrence. Beans embedded in a cycle back to an enclosing bean are never recursed into again,
+         * regardless of this option. Where the depth is bounded by {@link #maxEmbedDepth(int)}, a bean visited again at
+         * a shallower depth is given links again, so that the beans embedded within it are given links down to the
+         * bound. Disabled by default, as tracking costs an identity map entry for each embedded bean.
+         *
+         * @param injectEmbeddedOnce {@code true} to give each embedded bean links once per injection, {@code false}
+         *                           otherwise
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder injectEmbeddedOnce(boolean injectEmbeddedOnce) {
+            this.injectEmbeddedOnce = injectEmbeddedOnce;
+            return this;
+        }
+
+        /**
+         * Specifies the depth of the most deeply nested embedded beans to inject links into, those of the entity being at
+         * depth 1, those embedded within them at depth 2 and so on; beans embedded any deeper are not given links. The
+         * depth also bounds the {@link EmbedSelector} of any {@link InjectionOptions} given. Unlimited by default, beans
+         * embedded in a cycle back to an enclosing bean being detected and not recursed into again.
+         *
+         * @param maxEmbedDepth the depth of the most deeply nested embedded beans to inject links into, 0 for none
+         * @return {@code this}
+         */
+        public LinkInjectorBuilder maxEmbedDepth(int maxEmbedDepth) {
+            if (maxEmbedDepth < 0) {
+                throw new IllegalArgumentException(
+                        String.format("'%s' argument cannot be negative, got: %d", "LinkInjectorBuilder.maxEmbedDepth", maxEmbedDepth));
+            }
+            this.maxEmbedDepth = maxEmbedDepth;
+            return this;
+        }
+
         /**
          * Returns a LinkInjector configured with the specified options of this builder.
          */
         public LinkInjector build() {
-            return new DefaultLinkInjector(getExpressionFactory(), getLinkSetterFactory(), getUriTemplateExpander());
+            final ExpressionEngine expressionEngine = getExpressionEngine();
+            return new DefaultLinkInjector(expressionEngine, getLinkSetterFactory(expressionEngine), getUriTemplateExpander(),
+                    this.expressionValueCacheStatistics, this.lazyLinks, this.maxEmbedDepth);
         }
 
-        private ExpressionFactory getExpressionFactory() {
-            return this.expressionFactory == null ? ExpressionFactory.newInstance() : this.expressionFactory;
+        private ExpressionEngine getExpressionEngine() {
+            return this.expressionEngine == null
+                    ? new ELExpressionEngine(ExpressionFactory.newInstance())
+                    : this.expressionEngine;
         }
 
-        private LinkSetterFactory getLinkSetterFactory() {
-            return LinkSetterFactory.newInstance(
-                    this.linkTemplateFactory == null ? new LiteralLinkTemplateFactory() : this.linkTemplateFactory
-            );
+        private LinkSetterFactory getLinkSetterFactory(ExpressionEngine expressionEngine) {
+            return LinkSetterFactory.newInstance(this, expressionEngine);
+        }
+
+        LinkTemplateFactory getLinkTemplateFactory() {
+            return this.linkTemplateFactory == null ? new LiteralLinkTemplateFactory() : this.linkTemplateFactory;
+        }
+
+        LinkBindingsIndexes getLinkBindingsIndexes() {
+            return this.linkBindingsIndexes == null ? LinkBindingsIndexes.load() : this.linkBindingsIndexes;
+        }
+
+        boolean isCompileLinkSetters() {
+            return this.compileLinkSetters;
+        }
+
+        @Nullable
+        CacheStatistics getStaticLinkCacheStatistics() {
+            return this.staticLinkCacheStatistics;
+        }
+
+        @Nullable
+        HrefCache getHrefCache() {
+            return this.hrefCache;
+        }
+
+        @Nullable
+        ParallelInjection getParallelInjection() {
+            return this.parallelInjection;
+        }
+
+        boolean isLazyLinks() {
+            return this.lazyLinks;
+        }
+
+        boolean isInjectEmbeddedOnce() {
+            return this.injectEmbeddedOnce;
         }
 
         private UriTemplateExpander getUriTemplateExpander() {
             return new UriTemplateExpander(
-                    this.uriValueResolvers == null ? Collections.<UriValueResolver<?>>emptyList() : this.uriValueResolvers
+                    this.uriValueResolvers == null ? Collections.<UriValueResolver<?>>emptyList() : this.uriValueResolvers,
+                    this.strictUriEncoding
             );
         }
     }
 
     private static final class DefaultLinkInjector extends LinkInjector {
 
-        private final ExpressionFactory expressionFactory;
+        private final ExpressionEngine expressionEngine;
         private final UriTemplateExpander uriTemplateExpander;
         private final LinkSetterFactory linkSetterFactory;
+        private final CacheStatistics expressionValueCacheStatistics;
+        private final boolean lazyLinks;
+        private final int maxEmbedDepth;
+        private final EmbedSelector defaultEmbedSelector;
 
-        DefaultLinkInjector(ExpressionFactory expressionFactory, LinkSetterFactory linkSetterFactory, UriTemplateExpander uriTemplateExpander) {
-            this.expressionFactory = expressionFactory;
+        DefaultLinkInjector(ExpressionEngine expressionEngine,
+                            LinkSetterFactory linkSetterFactory,
+                            UriTemplateExpander uriTemplateExpander,
+                            CacheStatistics expressionValueCacheStatistics,
+                            boolean lazyLinks,
+                            int maxEmbedDepth) {
+            this.expressionEngine = expressionEngine;
             this.linkSetterFactory = linkSetterFactory;
             this.uriTemplateExpander = uriTemplateExpander;
+            this.expressionValueCacheStatistics = expressionValueCacheStatistics;
+            this.lazyLinks = lazyLinks;
+            this.maxEmbedDepth = maxEmbedDepth;
+            this.defaultEmbedSelector = maxEmbedDepth == Integer.MAX_VALUE ? EmbedSelector.ALL : EmbedSelector.ALL.withMaxDepth(maxEmbedDepth);
         }
 
         @Override
         public void injectLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver) {
             if (entity != null) {
-                setLinks(entity, linkContextResolver, new DefaultLinkELContext(entity));
+                setLinks(entity, linkContextResolver, new DefaultLinkELContext(entity), RelFilter.ALL, EmbedSelector.ALL);
             }
         }
 
         @Override
         public void injectLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver, final LinkELContext linkELContext) {
             if (entity != null) {
-                setLinks(entity, linkContextResolver, linkELContext);
+                setLinks(entity, linkContextResolver, linkELContext, RelFilter.ALL, EmbedSelector.ALL);
             }
         }
 
-        private void setLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver, final LinkELContext linkELContext) {
-            final LinkContext linkContext = new DefaultLinkContext(expressionFactory, linkContextResolver, uriTemplateExpander, linkELContext);
+        @Override
+        public void injectLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver,
+                                @Nullable final LinkELContext linkELContext, final InjectionOptions options) {
+            Validate.notNull(options, "options");
+            if (entity != null) {
+                setLinks(entity, linkContextResolver, linkELContext == null ? new DefaultLinkELContext(entity) : linkELContext,
+                        options.getRelFilter(), options.getEmbedSelector());
+            }
+        }
+
+        @Override
+        public void injectAllLinks(final Collection<? extends HalRepresentable> entities, final LinkContextResolver linkContextResolver,
+                                   final InjectionOptions options) {
+            Validate.notNull(options, "options");
+            if (entities == null || entities.isEmpty()) {
+                return;
+            }
+            if (lazyLinks) {
+                // Lazy links retain the link context of their bean, which an entity cursor repositions
+                super.injectAllLinks(entities, linkContextResolver, options);
+                return;
+            }
+            final RelFilter relFilter = options.getRelFilter();
+            final EmbedSelector embedSelector = bound(options.getEmbedSelector());
+            final CompiledLinkContext.Cursor cursor = DefaultLinkContext.newEntityCursor(expressionEngine, linkContextResolver, uriTemplateExpander,
+                    expressionValueCacheStatistics == null ? null : new ExpressionValueCache(expressionValueCacheStatistics));
+            Class<?> type = null;
+            BeanLinkSetter beanLinkSetter = null;
+            for (HalRepresentable entity : entities) {
+                if (entity == null) {
+                    continue;
+                }
+                // Batches are typically of a single type, so only look up setters on a change of type
+                if (entity.getClass() != type) {
+                    type = entity.getClass();
+                    beanLinkSetter = linkSetterFactory.getBeanLinkSetter(entity.getClass());
+                }
+                if (beanLinkSetter != LinkSetterFactory.NO_OP_BEAN_LINK_SETTER) {
+                    // The cursor is positioned on the entity, so its link context is given as is rather than scoped again
+                    beanLinkSetter.setBeanLinks(entity, cursor.moveTo(entity), relFilter, embedSelector);
+                }
+            }
+        }
+
+        private void setLinks(final HalRepresentable entity, final LinkContextResolver linkContextResolver, final LinkELContext linkELContext,
+                              final RelFilter relFilter, final EmbedSelector embedSelector) {
+            final LinkContext linkContext = new DefaultLinkContext(expressionEngine, linkContextResolver, uriTemplateExpander, linkELContext,
+                    expressionValueCacheStatistics == null ? null : new ExpressionValueCache(expressionValueCacheStatistics));
             final BeanLinkSetter beanLinkSetter = linkSetterFactory.getBeanLinkSetter(entity.getClass());
-            beanLinkSetter.setLinks(entity, linkContext);
+            setLinks(beanLinkSetter, entity, linkContext, relFilter, embedSelector);
+        }
+
+        private void setLinks(final BeanLinkSetter beanLinkSetter, final HalRepresentable entity, final LinkContext linkContext,
+                              final RelFilter relFilter, final EmbedSelector embedSelector) {
+            final EmbedSelector boundedEmbedSelector = bound(embedSelector);
+            if (relFilter == RelFilter.ALL && boundedEmbedSelector.selectsAll()) {
+                beanLinkSetter.setLinks(entity, linkContext);
+            } else {
+                beanLinkSetter.setLinks(entity, linkContext, relFilter, boundedEmbedSelector);
+            }
+        }
+
+        private EmbedSelector bound(final EmbedSelector embedSelector) {
+            if (embedSelector == EmbedSelector.ALL) {
+                return defaultEmbedSelector;
+            }
+            return embedSelector.getMaxDepth() > maxEmbedDepth ? embedSelector.withMaxDepth(maxEmbedDepth) : embedSelector;
         }
     }
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.core.Curie;
+import com.github.codeframes.hal.tooling.core.Link;
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptor;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Compiles the LinkSetters of a bean type into a single MethodHandle of type <code>(Object, LinkProvider)void</code>.
+ * Link and Curie fields are unrolled into direct field writes of the Link/Curie provided for each descriptor, any
+ * other LinkSetter (lists, embedded resources) is invoked as is, in declaration order.
+ */
+final class LinkSetterCompiler {
+
+    private static final MethodType SET_LINKS_TYPE = MethodType.methodType(void.class, Object.class, LinkProvider.class);
+
+    private static final MethodHandle GET_LINK;
+    private static final MethodHandle GET_CURIE;
+    private static final MethodHandle SET_LINKS;
+    private static final MethodHandle IS_NOT_NULL;
+    private static final MethodHandle NO_OP;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            GET_LINK = lookup.findVirtual(LinkProvider.class, "getLink",
+                    MethodType.methodType(Link.class, LinkDescriptor.class));
+            GET_CURIE = lookup.findVirtual(LinkProvider.class, "getCurie",
+                    MethodType.methodType(Curie.class, CurieDescriptor.class));
+            SET_LINKS = lookup.findVirtual(LinkSetter.class, "setLinks", SET_LINKS_TYPE);
+            IS_NOT_NULL = lookup.findStatic(LinkSetterCompiler.class, "isNotNull",
+                    MethodType.methodType(boolean.class, Object.class));
+            NO_OP = lookup.findStatic(LinkSetterCompiler.class, "noOp", MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private LinkSetterCompiler() {
+    }
+
+    /**
+     * Returns a MethodHandle of type <code>(Object, LinkProvider)void</code> setting the links of the given
+     * linkSetters, or {@code null} if the linkSetters could not be compiled, in which case they are to be used as is.
+     */
+    static MethodHandle compile(List<LinkSetter> linkSetters) {
+        try {
+            MethodHandle compiled = null;
+            for (int i = linkSetters.size() - 1; i >= 0; i--) {
+                final MethodHandle step = compile(linkSetters.get(i));
+                compiled = compiled == null ? step : MethodHandles.foldArguments(compiled, step);
+            }
+            return compiled;
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle compile(LinkSetter linkSetter) throws IllegalAccessException {
+        if (linkSetter instanceof LinkFieldSetter) {
+            final LinkFieldSetter linkFieldSetter = (LinkFieldSetter) linkSetter;
+            return setIfNotNull(linkFieldSetter.getFieldAccessor().getField(),
+                    MethodHandles.insertArguments(GET_LINK, 1, linkFieldSetter.getLinkDescriptor()));
+        }
+        if (linkSetter instanceof CurieFieldSetter) {
+            final CurieFieldSetter curieFieldSetter = (CurieFieldSetter) linkSetter;
+            return setIfNotNull(curieFieldSetter.getFieldAccessor().getField(),
+                    MethodHandles.insertArguments(GET_CURIE, 1, curieFieldSetter.getCurieDescriptor()));
+        }
+        return SET_LINKS.bindTo(linkSetter);
+    }
+
+    /**
+     * Returns <code>(Object instance, LinkProvider linkProvider)void</code> equivalent to:
+     * <pre>
+     * value = provider(linkProvider);
+     * if (value != null) instance.field = value;
+     * </pre>
+     */
+    private static MethodHandle setIfNotNull(Field field, MethodHandle provider) throws IllegalAccessException {
+        final Class<?> valueType = provider.type().returnType();
+        final MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, valueType));
+        final MethodHandle skip = MethodHandles.dropArguments(NO_OP, 0, Object.class, valueType);
+        final MethodHandle test = MethodHandles.dropArguments(
+                IS_NOT_NULL.asType(MethodType.methodType(boolean.class, valueType)), 0, Object.class);
+        return MethodHandles.filterArguments(MethodHandles.guardWithTest(test, setter, skip), 1, provider);
+    }
+
+    private static boolean isNotNull(Object value) {
+        return value != null;
+    }
+
+    private static void noOp() {
+        // No-Op
+    }
+}
@@ -21,48 +21,102 @@ import com.github.codeframes.hal.tooling.link.bindings.CurieDefs;
 import com.github.codeframes.hal.tooling.link.bindings.LinkRel;
 import com.github.codeframes.hal.tooling.link.bindings.LinkRels;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkTemplateFactory;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionEngine;
 import com.github.codeframes.hal.tooling.link.bindings.core.*;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes.IndexedType;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 class LinkSetterFactory {
 
     public static final BeanLinkSetter NO_OP_BEAN_LINK_SETTER = new NoOpBeanLinkSetter();
-    public static final LinkSetter NO_OP_LINK_SETTER = new NoOpLinkSetter();
+    public static final ElementLinkSetter NO_OP_LINK_SETTER = new NoOpLinkSetter();
 
-    private final Map<Class<?>, BeanLinkSetter> beanLinkSetters = new HashMap<>();
-    private final Map<Class<?>, Map<CurieDescriptors, LinkSetter>> elementBeanLinkSetters = new HashMap<>();
+    private final SetterCache<Class<?>, BeanLinkSetter> beanLinkSetters = new SetterCache<Class<?>, BeanLinkSetter>() {
+        @Override
+        BeanLinkSetter create(Class<?> type) {
+            return createBeanLinkSetter(type);
+        }
+    };
+    private final ConcurrentMap<Class<?>, SetterCache<CurieDescriptors, ElementLinkSetter>> elementBeanLinkSetters =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<CurieDescriptors, CurieDescriptors> curieDescriptors = new ConcurrentHashMap<>();
     private final LinkDescriptorFactory linkDescriptorFactory;
-
-    private LinkSetterFactory(LinkDescriptorFactory linkDescriptorFactory) {
+    private final LinkBindingsIndexes linkBindingsIndexes;
+    private final boolean compileLinkSetters;
+    private final ParallelInjection parallelInjection;
+    private final boolean lazyLinks;
+    private final boolean injectEmbeddedOnce;
+
+    private LinkSetterFactory(LinkDescriptorFactory linkDescriptorFactory,
+                              LinkBindingsIndexes linkBindingsIndexes,
+                              LinkInjector.LinkInjectorBuilder options) {
         this.linkDescriptorFactory = linkDescriptorFactory;
+        this.linkBindingsIndexes = linkBindingsIndexes;
+        this.compileLinkSetters = options.isCompileLinkSetters();
+        this.parallelInjection = options.getParallelInjection();
+        this.lazyLinks = options.isLazyLinks();
+        this.injectEmbeddedOnce = options.isInjectEmbeddedOnce();
     }
 
     public static LinkSetterFactory newInstance(LinkTemplateFactory linkTemplateFactory) {
-        return new LinkSetterFactory(new LinkDescriptorFactory(linkTemplateFactory));
+        return new LinkSetterFactory(new LinkDescriptorFactory(linkTemplateFactory), LinkBindingsIndexes.empty(),
+                LinkInjector.instanceBuilder());
     }
 
-    public synchronized BeanLinkSetter getBeanLinkSetter(Class<? extends HalRepresentable> type) {
-        BeanLinkSetter beanLinkSetter = beanLinkSetters.get(type);
-        if (beanLinkSetter == null) {
-            beanLinkSetter = createBeanLinkSetter(type);
-            beanLinkSetters.put(type, beanLinkSetter);
-        }
-        return beanLinkSetter;
+    /**
+     * Returns a LinkSetterFactory configured with the options of the given builder, compiling any expressions with
+     * expressionEngine.
+     */
+    static LinkSetterFactory newInstance(LinkInjector.LinkInjectorBuilder options, ExpressionEngine expressionEngine) {
+        final LinkBindingsIndexes linkBindingsIndexes = options.getLinkBindingsIndexes();
+        return new LinkSetterFactory(
+                new LinkDescriptorFactory(options.getLinkTemplateFactory(), expressionEngine,
+                        LinkDescriptorFactoryOptions.DEFAULT
+                                .withLinkBindingsIndexes(linkBindingsIndexes)
+                                .withStaticLinkCacheStatistics(options.getStaticLinkCacheStatistics())
+                                .withHrefCache(options.getHrefCache())),
+                linkBindingsIndexes,
+                options);
+    }
+
+    public BeanLinkSetter getBeanLinkSetter(Class<? extends HalRepresentable> type) {
+        return beanLinkSetters.get(type);
     }
 
     private BeanLinkSetter createBeanLinkSetter(Class<?> type) {
-        CurieDescriptors curieDescriptors = linkDescriptorFactory.createCurieDescriptors(type);
+        CurieDescriptors curieDescriptors = intern(linkDescriptorFactory.createCurieDescriptors(type));
         List<LinkSetter> linkSetters = getLinkSetters(true, type, curieDescriptors);
 
         if (linkSetters.isEmpty()) {
             return NO_OP_BEAN_LINK_SETTER;
-        } else {
-            return new RootBeanLinkSetter(curieDescriptors, linkSetters);
         }
+        final MethodHandle compiledLinkSetter = compile(linkSetters);
+        if (compiledLinkSetter != null) {
+            return new CompiledBeanLinkSetter(curieDescriptors, compiledLinkSetter, injectEmbeddedOnce);
+        }
+        return new RootBeanLinkSetter(curieDescriptors, linkSetters, injectEmbeddedOnce);
+    }
+
+    /**
+     * Returns a canonical instance of curieDescriptors. Equality of CurieDescriptors remains by value, only its hash code
+     * being cached, but as every element link setter is then requested with a canonical instance, its lookup matches
+     * the cached key by reference before equals would compare the descriptors.
+     */
+    private CurieDescriptors intern(CurieDescriptors curieDescriptors) {
+        final CurieDescriptors interned = this.curieDescriptors.putIfAbsent(curieDescriptors, curieDescriptors);
+        return interned == null ? curieDescriptors : interned;
     }
 
     private List<LinkSetter> getLinkSetters(boolean root, Class<?> type, CurieDescriptors curieDescriptors) {
@@ -71,8 +125,11 @@ class LinkSetterFactory {
 
     private List<LinkSetter> getLinkSetters(boolean root, Class<?> type, Set<String> fieldNames, CurieDescriptors curieDescriptors, Set<String> rels) {
 
+        final IndexedType indexedType = linkBindingsIndexes.get(type);
+        final Field[] indexedFields = indexedType == null ? null : indexedType.getBindingFields(type);
+
         final List<LinkSetter> linkSetters = new ArrayList<>();
-        for (final Field field : type.getDeclaredFields()) {
+        for (final Field field : indexedFields == null ? type.getDeclaredFields() : indexedFields) {
 
             final String fieldName = field.getName();
             if (Modifier.isStatic(field.getModifiers()) || fieldNames.contains(fieldName)) {
@@ -85,6 +142,10 @@ class LinkSetterFactory {
             }
             fieldNames.add(fieldName);
         }
+        if (indexedFields != null) {
+            // non binding fields may still hide binding fields of a super type
+            fieldNames.addAll(indexedType.getFieldNames());
+        }
 
         final Class<?> superType = type.getSuperclass();
         if (superType != Object.class) {
@@ -161,7 +222,9 @@ class LinkSetterFactory {
 
         final LinkSetter linkSetter;
         if (field.getType() == List.class) {
-            linkSetter = new LinkListFieldSetter(fieldDescriptor, linkDescriptors);
+            linkSetter = lazyLinks
+                    ? new LazyLinkListFieldSetter(fieldDescriptor, linkDescriptors)
+                    : new LinkListFieldSetter(fieldDescriptor, linkDescriptors);
         } else {
             throw new IllegalArgumentException(String.format("A field annotated with: %s must be of type: %s<%s>, got: %s",
                     LinkRels.class, List.class, Link.class, field.getType()));
@@ -185,35 +248,119 @@ class LinkSetterFactory {
     }
 
     private LinkSetter createEmbeddedFieldLinkSetter(Field field, CurieDescriptors curieDescriptors) {
-        return new EmbeddedFieldLinkSetter(this, new FieldAccessor(field), curieDescriptors);
+        return new EmbeddedFieldLinkSetter(this, new FieldAccessor(field), curieDescriptors, parallelInjection);
     }
 
     private LinkSetter createEmbeddableFieldLinkSetter(Field field, CurieDescriptors curieDescriptors) {
         return new EmbeddableFieldLinkSetter(this, new FieldAccessor(field), curieDescriptors);
     }
 
-    synchronized LinkSetter getElementBeanLinkSetter(Class<?> type, CurieDescriptors curieDescriptors) {
+    ElementLinkSetter getElementBeanLinkSetter(final Class<?> type, CurieDescriptors curieDescriptors) {
 
-        Map<CurieDescriptors, LinkSetter> linkSetters = elementBeanLinkSetters.get(type);
+        SetterCache<CurieDescriptors, ElementLinkSetter> linkSetters = elementBeanLinkSetters.get(type);
         if (linkSetters == null) {
-            linkSetters = new HashMap<>(4);
-            elementBeanLinkSetters.put(type, linkSetters);
-        }
-
-        LinkSetter linkSetter = linkSetters.get(curieDescriptors);
-        if (linkSetter == null) {
-            linkSetter = createElementBeanLinkSetter(type, curieDescriptors);
-            linkSetters.put(curieDescriptors, linkSetter);
+            final SetterCache<CurieDescriptors, ElementLinkSetter> newLinkSetters = new SetterCache<CurieDescriptors, ElementLinkSetter>() {
+                @Override
+                ElementLinkSetter create(CurieDescriptors curieDescriptors) {
+                    return createElementBeanLinkSetter(type, curieDescriptors);
+                }
+            };
+            linkSetters = elementBeanLinkSetters.putIfAbsent(type, newLinkSetters);
+            if (linkSetters == null) {
+                linkSetters = newLinkSetters;
+            }
         }
-        return linkSetter;
+        return linkSetters.get(curieDescriptors);
     }
 
-    private LinkSetter createElementBeanLinkSetter(Class<?> type, CurieDescriptors curieDescriptors) {
+    private ElementLinkSetter createElementBeanLinkSetter(Class<?> type, CurieDescriptors curieDescriptors) {
         List<LinkSetter> linkSetters = getLinkSetters(false, type, curieDescriptors);
         if (linkSetters.isEmpty()) {
             return NO_OP_LINK_SETTER;
-        } else {
-            return new EmbeddedBeanLinkSetter(linkSetters);
+        }
+        final MethodHandle compiledLinkSetter = compile(linkSetters);
+        if (compiledLinkSetter != null) {
+            return new CompiledEmbeddedBeanLinkSetter(compiledLinkSetter);
+        }
+        return new EmbeddedBeanLinkSetter(linkSetters);
+    }
+
+    private MethodHandle compile(List<LinkSetter> linkSetters) {
+        return compileLinkSetters ? LinkSetterCompiler.compile(linkSetters) : null;
+    }
+
+    /**
+     * A cache of link setters, created on first request. Cached setters are read without locking, while concurrent
+     * first requests for the same key wait on a single creation. Failed creations are not cached.
+     */
+    abstract static class SetterCache<K, V> {
+
+        private final ConcurrentMap<K, Object> setters = new ConcurrentHashMap<>();
+
+        abstract V create(K key);
+
+        V get(K key) {
+            final Object setter = setters.get(key);
+            return setter == null ? createOrAwait(key) : getOrAwait(setter);
+        }
+
+        private V createOrAwait(final K key) {
+            final Creation<V> creation = new Creation<>(new Callable<V>() {
+                @Override
+                public V call() {
+                    return create(key);
+                }
+            });
+            final Object setter = setters.putIfAbsent(key, creation);
+            if (setter != null) {
+                return getOrAwait(setter);
+            }
+            creation.run();
+            try {
+                final V created = creation.await();
+                setters.replace(key, creation, created);
+                return created;
+            } catch (RuntimeException | Error e) {
+                setters.remove(key, creation);
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V getOrAwait(Object setter) {
+            return setter instanceof Creation ? ((Creation<V>) setter).await() : (V) setter;
+        }
+    }
+
+    private static final class Creation<V> extends FutureTask<V> {
+
+        Creation(Callable<V> callable) {
+            super(callable);
+        }
+
+        V await() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return get();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
         }
     }
 
@@ -222,12 +369,27 @@ class LinkSetterFactory {
         public void setLinks(Object entity, LinkContext linkContext) {
             // No-Op
         }
+
+        @Override
+        public void setLinks(Object entity, LinkContext linkContext, RelFilter relFilter, EmbedSelector embedSelector) {
+            // No-Op
+        }
+
+        @Override
+        public void setBeanLinks(Object entity, LinkContext beanLinkContext, RelFilter relFilter, EmbedSelector embedSelector) {
+            // No-Op
+        }
     }
 
-    private static class NoOpLinkSetter implements LinkSetter {
+    private static class NoOpLinkSetter implements ElementLinkSetter {
         @Override
         public void setLinks(Object instance, LinkProvider linkProvider) {
             // No-Op
         }
+
+        @Override
+        public void setElementLinks(Object element, LinkProvider elementLinkProvider) {
+            // No-Op
+        }
     }
 }
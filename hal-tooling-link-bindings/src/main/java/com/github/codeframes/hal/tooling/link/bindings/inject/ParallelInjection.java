@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject;
+
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Injects the links of the elements of embedded lists larger than a threshold in parallel, splitting them into chunks
+ * of at most threshold elements across a ForkJoinPool. Each chunk derives its own {@link LinkProvider.Cursor}, so no
+ * LinkContext is used by more than one thread. The LinkContextResolver, and the objects of the LinkELContext, are
+ * shared by all chunks and so are to be immutable snapshots of the request taken on the calling thread. The beans
+ * visited by the chunks are recorded through {@link LinkProvider#forParallelChunks()}, only then taking a lock.
+ */
+final class ParallelInjection {
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    ParallelInjection(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns whether the links of the elements of list are to be injected in parallel.
+     */
+    boolean isParallel(List<?> list) {
+        return list.size() > threshold && list instanceof RandomAccess;
+    }
+
+    void setElementLinks(List<?> list, LinkProvider linkProvider, ElementLinkSetterCache linkSetters) {
+        final Chunk chunk = new Chunk(list, 0, list.size(), linkProvider.forParallelChunks(), linkSetters);
+        final Thread thread = Thread.currentThread();
+        if (thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool) {
+            // Nested within a chunk of an enclosing list, fork within the current task
+            chunk.invoke();
+        } else {
+            pool.invoke(chunk);
+        }
+    }
+
+    private final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> list;
+        private final int from;
+        private final int to;
+        private final LinkProvider linkProvider;
+        private final ElementLinkSetterCache linkSetters;
+
+        Chunk(List<?> list, int from, int to, LinkProvider linkProvider, ElementLinkSetterCache linkSetters) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.linkProvider = linkProvider;
+            this.linkSetters = linkSetters;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                EmbeddedFieldLinkSetter.setElementLinks(list.subList(from, to), linkProvider, linkSetters);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(list, from, middle, linkProvider, linkSetters),
+                        new Chunk(list, middle, to, linkProvider, linkSetters));
+            }
+        }
+    }
+}
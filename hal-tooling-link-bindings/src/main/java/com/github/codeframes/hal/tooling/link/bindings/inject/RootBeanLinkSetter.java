@@ -15,9 +15,12 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.inject;
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
 import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors;
 import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider;
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProviderOptions;
 
 import java.util.List;
 
@@ -25,15 +28,33 @@ class RootBeanLinkSetter implements BeanLinkSetter {
 
     private final CurieDescriptors curieDescriptors;
     private final List<LinkSetter> linkSetters;
+    private final LinkProviderOptions linkProviderOptions;
 
     public RootBeanLinkSetter(CurieDescriptors curieDescriptors, List<LinkSetter> linkSetters) {
+        this(curieDescriptors, linkSetters, false);
+    }
+
+    RootBeanLinkSetter(CurieDescriptors curieDescriptors, List<LinkSetter> linkSetters, boolean injectEmbeddedOnce) {
         this.curieDescriptors = curieDescriptors;
         this.linkSetters = linkSetters;
+        this.linkProviderOptions = LinkProviderOptions.DEFAULT.withVisitOnce(injectEmbeddedOnce);
     }
 
     @Override
     public void setLinks(Object entity, LinkContext linkContext) {
-        final LinkProvider linkProvider = new LinkProvider(linkContext.forBean(entity), curieDescriptors);
+        setLinks(entity, linkContext, RelFilter.ALL, EmbedSelector.ALL);
+    }
+
+    @Override
+    public void setLinks(Object entity, LinkContext linkContext, RelFilter relFilter, EmbedSelector embedSelector) {
+        setBeanLinks(entity, linkContext.forBean(entity), relFilter, embedSelector);
+    }
+
+    @Override
+    public void setBeanLinks(Object entity, LinkContext beanLinkContext, RelFilter relFilter, EmbedSelector embedSelector) {
+        final LinkProvider linkProvider = new LinkProvider(beanLinkContext, curieDescriptors,
+                linkProviderOptions.withRelFilter(relFilter).withEmbedSelector(embedSelector));
+        linkProvider.visit(entity);
         for (LinkSetter linkSetter : linkSetters) {
             linkSetter.setLinks(entity, linkProvider);
         }
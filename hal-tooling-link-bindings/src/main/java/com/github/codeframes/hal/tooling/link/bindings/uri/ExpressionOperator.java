@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri;
+
+/**
+ * The URI Template expression operators, as defined by the operator expansion table of
+ * <a href="https://tools.ietf.org/html/rfc6570#appendix-A">[RFC6570] Appendix A</a>.
+ */
+enum ExpressionOperator {
+    STRING("", "", ",", "", false, "", false),
+    RESERVED("+", "", ",", "+", false, "", true),
+    FRAGMENT("#", "#", ",", "#", false, "", true),
+    LABEL(".", ".", ".", ".", false, "", false),
+    PATH("/", "/", "/", "/", false, "", false),
+    PATH_STYLE_PARAMETERS(";", ";", ";", ";", true, "", false),
+    FORM_STYLE_QUERY("?", "?", "&", "&", true, "=", false),
+    FORM_STYLE_QUERY_CONTINUATION("&", "&", "&", "&", true, "=", false);
+
+    private final String operator;
+    private final String first;
+    private final String separator;
+    private final String continuationOperator;
+    private final boolean named;
+    private final String ifEmpty;
+    private final PercentEncoder encoder;
+
+    ExpressionOperator(String operator,
+                       String first,
+                       String separator,
+                       String continuationOperator,
+                       boolean named,
+                       String ifEmpty,
+                       boolean allowReserved) {
+        this.operator = operator;
+        this.first = first;
+        this.separator = separator;
+        this.continuationOperator = continuationOperator;
+        this.named = named;
+        this.ifEmpty = ifEmpty;
+        this.encoder = allowReserved ? PercentEncoder.UNRESERVED_AND_RESERVED : PercentEncoder.UNRESERVED;
+    }
+
+    /**
+     * Returns the ExpressionOperator for the given operator character, or {@code null} if it is not an operator.
+     */
+    static ExpressionOperator forOperator(char operator) {
+        switch (operator) {
+            case '+':
+                return RESERVED;
+            case '#':
+                return FRAGMENT;
+            case '.':
+                return LABEL;
+            case '/':
+                return PATH;
+            case ';':
+                return PATH_STYLE_PARAMETERS;
+            case '?':
+                return FORM_STYLE_QUERY;
+            case '&':
+                return FORM_STYLE_QUERY_CONTINUATION;
+            default:
+                return null;
+        }
+    }
+
+    String getOperator() {
+        return operator;
+    }
+
+    String getFirst() {
+        return first;
+    }
+
+    String getSeparator() {
+        return separator;
+    }
+
+    /**
+     * @return the operator used to retain unexpanded variables of an expression where others have been expanded
+     */
+    String getContinuationOperator() {
+        return continuationOperator;
+    }
+
+    boolean isNamed() {
+        return named;
+    }
+
+    String getIfEmpty() {
+        return ifEmpty;
+    }
+
+    /**
+     * @return the encoder for the characters allowed by this operator
+     */
+    PercentEncoder getEncoder() {
+        return encoder;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri;
+
+/**
+ * Table driven percent-encoder for URI Template expansion values. Characters outside of the allowed set are encoded as
+ * UTF-8 octets directly into the given builder, without intermediate Strings or byte arrays.
+ */
+final class PercentEncoder {
+
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final String UNRESERVED_CHARACTERS = ALPHANUMERIC + "-._~";
+    private static final String RESERVED_CHARACTERS = ":/?#[]@!$&'()*+,;=";
+
+    /**
+     * Encoder allowing only unreserved characters, as used by all operators other than {@code +} and {@code #}.
+     */
+    static final PercentEncoder UNRESERVED = new PercentEncoder(UNRESERVED_CHARACTERS, false, null);
+
+    /**
+     * Encoder allowing unreserved and reserved characters as well as pct-encoded triplets, as used by the {@code +}
+     * and {@code #} operators.
+     */
+    static final PercentEncoder UNRESERVED_AND_RESERVED =
+            new PercentEncoder(UNRESERVED_CHARACTERS + RESERVED_CHARACTERS, true, null);
+
+    /**
+     * Encoder of versions prior to RFC6570 compliant encoding, as used by all operators unless strict encoding is
+     * enabled. Values containing a space, a control or non ASCII character or any of {@code "#%<>[\]^`{|}~} are
+     * encoded as a whole as by {@link java.net.URLEncoder URLEncoder}, encoding a space as {@code +}. All other values
+     * are left as is.
+     */
+    static final PercentEncoder COMPATIBLE = new PercentEncoder(ALPHANUMERIC + "-._*", false, "\"#%<>[\\]^`");
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final boolean[] allowed = new boolean[128];
+    private final boolean allowPctEncoded;
+    private final boolean[] encodedIfContained;
+
+    private PercentEncoder(String allowedCharacters, boolean allowPctEncoded, String encodedIfContained) {
+        for (int i = 0; i < allowedCharacters.length(); i++) {
+            allowed[allowedCharacters.charAt(i)] = true;
+        }
+        this.allowPctEncoded = allowPctEncoded;
+        if (encodedIfContained == null) {
+            this.encodedIfContained = null;
+        } else {
+            this.encodedIfContained = new boolean[128];
+            for (int i = 0; i < encodedIfContained.length(); i++) {
+                this.encodedIfContained[encodedIfContained.charAt(i)] = true;
+            }
+        }
+    }
+
+    /**
+     * Appends the given text to the builder, percent-encoding any characters not allowed by this encoder.
+     *
+     * @param sb   the builder to append to
+     * @param text the text to encode
+     */
+    void encode(StringBuilder sb, String text) {
+        if (encodedIfContained != null && !requiresEncoding(text)) {
+            sb.append(text);
+            return;
+        }
+
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c >= 128 || !allowed[c]) {
+                break;
+            }
+            i++;
+        }
+
+        if (i == length) {
+            sb.append(text);
+            return;
+        }
+        sb.append(text, 0, i);
+
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                if (allowed[c] || (allowPctEncoded && c == '%' && isPctEncoded(text, i))) {
+                    sb.append(c);
+                } else if (c == ' ' && encodedIfContained != null) {
+                    sb.append('+');
+                } else {
+                    appendOctet(sb, c);
+                }
+                i++;
+            } else if (c < 0x800) {
+                appendOctet(sb, 0xC0 | (c >> 6));
+                appendOctet(sb, 0x80 | (c & 0x3F));
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                appendOctet(sb, 0xE0 | (c >> 12));
+                appendOctet(sb, 0x80 | ((c >> 6) & 0x3F));
+                appendOctet(sb, 0x80 | (c & 0x3F));
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+                appendOctet(sb, 0xF0 | (codePoint >> 18));
+                appendOctet(sb, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendOctet(sb, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendOctet(sb, 0x80 | (codePoint & 0x3F));
+                i += 2;
+            } else {
+                // Unpaired surrogates are replaced, as done by String.getBytes(UTF_8)
+                appendOctet(sb, '?');
+                i++;
+            }
+        }
+    }
+
+    private boolean requiresEncoding(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '!' || c > 'z' || encodedIfContained[c]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendOctet(StringBuilder sb, int octet) {
+        sb.append('%').append(HEX_DIGITS[(octet >> 4) & 0xF]).append(HEX_DIGITS[octet & 0xF]);
+    }
+
+    private static boolean isPctEncoded(String text, int i) {
+        return i + 2 < text.length() && isHexDigit(text.charAt(i + 1)) && isHexDigit(text.charAt(i + 2));
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> parsed into a list of literal and
+ * expression parts, with expression operators, variable names and value modifiers already resolved. All level 4
+ * expressions are supported, including the prefix ({@code :n}) and explode ({@code *}) modifiers.
+ * <p>
+ * A UriTemplate is immutable and should be compiled once and expanded many times using
+ * {@link UriTemplateExpander#expand(UriTemplate, java.util.Map, boolean)}. Braces that do not enclose a valid
+ * expression are retained as literal text.
+ */
+public final class UriTemplate {
+
+    private static final int MAX_PREFIX_LENGTH = 9999;
+
+    private final String template;
+    private final Part[] parts;
+    private final List<String> variableNames;
+
+    private UriTemplate(String template, Part[] parts, List<String> variableNames) {
+        this.template = template;
+        this.parts = parts;
+        this.variableNames = variableNames;
+    }
+
+    /**
+     * Parses the given template into a UriTemplate.
+     *
+     * @param template a URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a>
+     * @return the compiled UriTemplate
+     */
+    public static UriTemplate compile(String template) {
+        final List<Part> parts = new ArrayList<>();
+        final List<String> variableNames = new ArrayList<>();
+        int literalStart = 0;
+        int i = template.indexOf('{');
+        while (i >= 0) {
+            int end = template.indexOf('}', i + 1);
+            if (end < 0) {
+                break;
+            }
+
+            Expression expression = parseExpression(template, i + 1, end);
+            if (expression == null) {
+                i = template.indexOf('{', i + 1);
+                continue;
+            }
+
+            if (literalStart != i) {
+                parts.add(new Literal(template.substring(literalStart, i)));
+            }
+            parts.add(expression);
+            for (VarSpec varSpec : expression.getVarSpecs()) {
+                variableNames.add(varSpec.getName());
+            }
+
+            literalStart = end + 1;
+            i = template.indexOf('{', literalStart);
+        }
+
+        if (literalStart != template.length()) {
+            parts.add(new Literal(template.substring(literalStart)));
+        }
+        return new UriTemplate(template, parts.toArray(new Part[parts.size()]),
+                variableNames.isEmpty() ? Collections.<String>emptyList() : Collections.unmodifiableList(variableNames));
+    }
+
+    private static Expression parseExpression(String template, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+
+        ExpressionOperator operator = ExpressionOperator.forOperator(template.charAt(start));
+        if (operator == null) {
+            operator = ExpressionOperator.STRING;
+        } else {
+            start++;
+        }
+
+        final List<VarSpec> varSpecs = new ArrayList<>();
+        int i = start;
+        while (i <= end) {
+            int specEnd = template.indexOf(',', i);
+            if (specEnd < 0 || specEnd > end) {
+                specEnd = end;
+            }
+            VarSpec varSpec = parseVarSpec(template, i, specEnd);
+            if (varSpec == null) {
+                return null;
+            }
+            varSpecs.add(varSpec);
+            i = specEnd + 1;
+        }
+        return new Expression(operator, varSpecs.toArray(new VarSpec[varSpecs.size()]));
+    }
+
+    private static VarSpec parseVarSpec(String template, int start, int end) {
+        int i = start;
+        boolean dotAllowed = false;
+        while (i < end) {
+            char c = template.charAt(i);
+            if (isVarChar(c)) {
+                dotAllowed = true;
+                i++;
+            } else if (c == '%' && i + 2 < end && isHexDigit(template.charAt(i + 1)) && isHexDigit(template.charAt(i + 2))) {
+                dotAllowed = true;
+                i += 3;
+            } else if (c == '.' && dotAllowed) {
+                dotAllowed = false;
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        if (i == start || !dotAllowed) {
+            return null;
+        }
+
+        final String name = template.substring(start, i);
+        if (i == end) {
+            return new VarSpec(name, 0, false);
+        }
+
+        char modifier = template.charAt(i);
+        if (modifier == '*' && i + 1 == end) {
+            return new VarSpec(name, 0, true);
+        }
+        if (modifier == ':' && i + 1 < end && end - i <= 5 && template.charAt(i + 1) != '0') {
+            int prefixLength = 0;
+            for (int j = i + 1; j < end; j++) {
+                char c = template.charAt(j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                prefixLength = prefixLength * 10 + (c - '0');
+            }
+            return prefixLength <= MAX_PREFIX_LENGTH ? new VarSpec(name, prefixLength, false) : null;
+        }
+        return null;
+    }
+
+    private static boolean isVarChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * @return the template this UriTemplate was compiled from
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return the variable names of all expressions contained within this template, in order of appearance and
+     * without any value modifiers
+     */
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * @return {@code true} if this template contains any expressions, else {@code false}
+     */
+    public boolean isTemplated() {
+        return !variableNames.isEmpty();
+    }
+
+    Part[] getParts() {
+        return parts;
+    }
+
+    @Override
+    public int hashCode() {
+        return template.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final UriTemplate other = (UriTemplate) obj;
+        return this.template.equals(other.template);
+    }
+
+    @Override
+    public String toString() {
+        return "UriTemplate{" +
+                "template='" + template + '\'' +
+                '}';
+    }
+
+    abstract static class Part {
+    }
+
+    static final class Literal extends Part {
+
+        private final String value;
+
+        Literal(String value) {
+            this.value = value;
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+
+    static final class Expression extends Part {
+
+        private final ExpressionOperator operator;
+        private final VarSpec[] varSpecs;
+
+        Expression(ExpressionOperator operator, VarSpec[] varSpecs) {
+            this.operator = operator;
+            this.varSpecs = varSpecs;
+        }
+
+        ExpressionOperator getOperator() {
+            return operator;
+        }
+
+        VarSpec[] getVarSpecs() {
+            return varSpecs;
+        }
+    }
+
+    static final class VarSpec {
+
+        private final String name;
+        private final int prefixLength;
+        private final boolean explode;
+
+        VarSpec(String name, int prefixLength, boolean explode) {
+            this.name = name;
+            this.prefixLength = prefixLength;
+            this.explode = explode;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the maximum number of characters to expand a value to, or {@code 0} where no prefix modifier is given
+         */
+        int getPrefixLength() {
+            return prefixLength;
+        }
+
+        boolean isExplode() {
+            return explode;
+        }
+
+        @Override
+        public String toString() {
+            if (explode) {
+                return name + '*';
+            }
+            return prefixLength > 0 ? name + ':' + prefixLength : name;
+        }
+    }
+}
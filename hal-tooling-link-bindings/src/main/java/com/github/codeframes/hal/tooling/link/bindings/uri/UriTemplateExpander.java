@@ -15,30 +15,50 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.uri;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.*;
-import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> Expander. Expansion is supported up to
- * level 3.
+ * level 4, including the prefix ({@code :n}) and explode ({@code *}) modifiers. {@link Collection Collections} and
+ * arrays are expanded as lists and {@link Map Maps} as associative arrays. All other values are resolved to a String
+ * using a configured {@link UriValueResolver}, in which case the resolved value is substituted as is, or else
+ * {@link Object#toString() toString()} and percent-encoded as required by the expression operator. Integer, Long,
+ * Short, Byte and UUID values are written directly into the expansion without an intermediate String.
+ * <p>
+ * By default values are encoded as by earlier versions, for compatibility of expanded URIs: a value containing a
+ * space, a control or non ASCII character or any of {@code "#%<>[\]^`{|}~} is encoded as a whole as by
+ * {@link java.net.URLEncoder URLEncoder}, whereas any other value is substituted as is, and a named parameter with an
+ * empty value is always followed by {@code =}. Encoding as defined by RFC6570, where only unreserved characters (and
+ * reserved characters for the {@code +} and {@code #} operators) are left unencoded, is applied when constructed with
+ * {@code strictEncoding}, in which case a prefix modifier applied to a list or associative array value is also
+ * rejected.
+ * <p>
+ * A UriValueResolver applies to values of its type and all subtypes, the resolver of the most specific superclass
+ * being used before that of any interface. Resolution is determined once per value class.
  */
 public class UriTemplateExpander {
 
-    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{([?.+/&#;])?([\\w,]+)}");
-
     private final Map<Class<?>, UriValueResolver<?>> uriValueResolvers;
+    private final boolean strictEncoding;
+    private final ClassValue<ValueWriter> valueWriters = new ClassValue<ValueWriter>() {
+        @Override
+        protected ValueWriter computeValue(Class<?> type) {
+            final UriValueResolver<?> resolver = findResolver(type, uriValueResolvers);
+            return resolver == null ? ValueWriter.forType(type) : ValueWriter.forResolver(resolver);
+        }
+    };
 
     /**
      * Constructs a new UriTemplateExpander with no configured uriValueResolvers, meaning all value types are resolved
      * using {@link Object#toString() toString()}.
      */
     public UriTemplateExpander() {
-        this(Collections.<Class<?>, UriValueResolver<?>>emptyMap());
+        this(Collections.<Class<?>, UriValueResolver<?>>emptyMap(), false);
     }
 
     /**
@@ -48,11 +68,28 @@ public class UriTemplateExpander {
      *                          expansion parameter substitution.
      */
     public UriTemplateExpander(List<UriValueResolver<?>> uriValueResolvers) {
-        this(toMap(uriValueResolvers));
+        this(toMap(uriValueResolvers), false);
+    }
+
+    /**
+     * Constructs a new UriTemplateExpander with given uriValueResolvers, optionally encoding values strictly as defined
+     * by RFC6570 rather than as by earlier versions. With strict encoding, a value such as {@code Hello World!}
+     * substituted by simple expansion expands to {@code Hello%20World%21} rather than {@code Hello+World%21}, an
+     * ISO-8601 date time to {@code 2017-01-23T00%3A00%3A00.000Z} rather than {@code 2017-01-23T00:00:00.000Z}, and an
+     * empty path-style parameter to {@code ;name} rather than {@code ;name=}.
+     *
+     * @param uriValueResolvers a list of UriValueResolver's to use for resolving value types to Strings used for
+     *                          expansion parameter substitution.
+     * @param strictEncoding    {@code true} to encode values as defined by RFC6570, {@code false} to encode them as
+     *                          by earlier versions
+     */
+    public UriTemplateExpander(List<UriValueResolver<?>> uriValueResolvers, boolean strictEncoding) {
+        this(toMap(uriValueResolvers), strictEncoding);
     }
 
-    private UriTemplateExpander(Map<Class<?>, UriValueResolver<?>> uriValueResolvers) {
+    private UriTemplateExpander(Map<Class<?>, UriValueResolver<?>> uriValueResolvers, boolean strictEncoding) {
         this.uriValueResolvers = uriValueResolvers;
+        this.strictEncoding = strictEncoding;
     }
 
     private static Map<Class<?>, UriValueResolver<?>> toMap(List<UriValueResolver<?>> resolvers) {
@@ -64,8 +101,7 @@ public class UriTemplateExpander {
     }
 
     /**
-     * Expands the given template and returns a URI or URI Template dependant on parameters given. Note: Expansion is
-     * supported up to level 3.
+     * Expands the given template and returns a URI or URI Template dependant on parameters given.
      *
      * @param template         a URI Template <a href="https://tools.ietf.org/html/rfc6570">[RFC6570]</a> to be expanded
      * @param values           a map of values to use for parameter substitution
@@ -74,187 +110,184 @@ public class UriTemplateExpander {
      * @return a URI or URI Template dependant on parameters given
      */
     public String expand(String template, Map<String, Object> values, boolean removeUnexpanded) {
-        StringBuilder expansionBuilder = new StringBuilder();
-        int i = 0;
-        for (Matcher matcher = TEMPLATE_PATTERN.matcher(template); matcher.find(); ) {
+        return expand(UriTemplate.compile(template), values, removeUnexpanded);
+    }
 
-            int start = matcher.start();
-            if (i != start) {
-                String value = template.substring(i, start);
-                expansionBuilder.append(value);
+    /**
+     * Expands the given compiled template and returns a URI or URI Template dependant on parameters given.
+     *
+     * @param template         a compiled URI Template to be expanded
+     * @param values           a map of values to use for parameter substitution
+     * @param removeUnexpanded determines whether or not to preserve templated parameters where no substitution value is
+     *                         available. {@code true} to remove, {@code false} to retain
+     * @return a URI or URI Template dependant on parameters given
+     */
+    public String expand(UriTemplate template, Map<String, Object> values, boolean removeUnexpanded) {
+        final StringBuilder expansionBuilder = new StringBuilder(template.getTemplate().length() + 16);
+        for (UriTemplate.Part part : template.getParts()) {
+            if (part instanceof UriTemplate.Literal) {
+                expansionBuilder.append(((UriTemplate.Literal) part).getValue());
+            } else {
+                expand(expansionBuilder, (UriTemplate.Expression) part, values, removeUnexpanded);
             }
-
-            String operator = matcher.group(1) == null ? "" : matcher.group(1);
-            String[] templateNames = matcher.group(2).split(",");
-
-            expand(expansionBuilder, ExpressionOperator.forOperator(operator), templateNames, values, removeUnexpanded);
-
-            i = matcher.end();
-        }
-
-        if (i != template.length()) {
-            expansionBuilder.append(template.substring(i, template.length()));
         }
         return expansionBuilder.toString();
     }
 
     private void expand(StringBuilder expansionBuilder,
-                        ExpressionOperator expressionOperator,
-                        String[] names,
+                        UriTemplate.Expression expression,
                         Map<String, Object> values,
                         boolean removeUnexpanded) {
 
-        if (removeUnexpanded) {
-            expandRemoveUnExpanded(expansionBuilder, expressionOperator, names, values);
-        } else {
-            expandRestoreUnExpanded(expansionBuilder, expressionOperator, names, values);
-        }
-    }
+        final ExpressionOperator operator = expression.getOperator();
+        final UriTemplate.VarSpec[] varSpecs = expression.getVarSpecs();
 
-    private void expandRestoreUnExpanded(StringBuilder expansionBuilder,
-                                         ExpressionOperator expressionOperator,
-                                         String[] names,
-                                         Map<String, Object> values) {
-
-        Set<Entry<String, String>> expanded = new LinkedHashSet<>();
-        Set<String> unExpanded = new LinkedHashSet<>();
-        for (String name : names) {
-            Object value = values.get(name);
-            if (value == null) {
-                unExpanded.add(name);
+        boolean expanded = false;
+        boolean unExpanded = false;
+        for (UriTemplate.VarSpec varSpec : varSpecs) {
+            Object value = values.get(varSpec.getName());
+            if (isUndefined(value)) {
+                unExpanded = true;
             } else {
-                expanded.add(new SimpleImmutableEntry<>(name, toReplacementValue(value)));
+                expansionBuilder.append(expanded ? operator.getSeparator() : operator.getFirst());
+                expandValue(expansionBuilder, operator, varSpec, value);
+                expanded = true;
             }
         }
 
-        if (expanded.isEmpty()) {
-            if (!unExpanded.isEmpty()) {
-                expansionBuilder.append(expressionOperator.template(unExpanded));
-            }
-        } else {
-            expansionBuilder.append(expressionOperator.expand(expanded));
-            if (!unExpanded.isEmpty()) {
-                expansionBuilder.append(expressionOperator.appendTemplate(unExpanded));
+        if (unExpanded && !removeUnexpanded) {
+            expansionBuilder.append('{').append(expanded ? operator.getContinuationOperator() : operator.getOperator());
+            boolean first = true;
+            for (UriTemplate.VarSpec varSpec : varSpecs) {
+                if (isUndefined(values.get(varSpec.getName()))) {
+                    if (!first) {
+                        expansionBuilder.append(',');
+                    }
+                    expansionBuilder.append(varSpec);
+                    first = false;
+                }
             }
+            expansionBuilder.append('}');
         }
     }
 
-    private void expandRemoveUnExpanded(StringBuilder expansionBuilder,
-                                        ExpressionOperator expressionOperator,
-                                        String[] names,
-                                        Map<String, Object> values) {
+    private boolean isUndefined(Object value) {
+        return value == null || valueWriters.get(value.getClass()).isUndefined(value);
+    }
 
-        Set<Entry<String, String>> expanded = new LinkedHashSet<>();
-        for (String name : names) {
-            Object value = values.get(name);
-            if (value != null) {
-                expanded.add(new SimpleImmutableEntry<>(name, toReplacementValue(value)));
-            }
-        }
+    private void expandValue(StringBuilder expansionBuilder,
+                             ExpressionOperator operator,
+                             UriTemplate.VarSpec varSpec,
+                             Object value) {
 
-        if (!expanded.isEmpty()) {
-            expansionBuilder.append(expressionOperator.expand(expanded));
+        final ValueWriter valueWriter = valueWriters.get(value.getClass());
+        if (strictEncoding && valueWriter.isComposite() && varSpec.getPrefixLength() != 0) {
+            throw new IllegalArgumentException(
+                    "Prefix modifier not applicable to composite value of variable: " + varSpec.getName());
         }
-    }
-
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private String toReplacementValue(Object value) {
-        final UriValueResolver resolver = uriValueResolvers.get(value.getClass());
-        String text = value.toString();
-        try {
-            if (requiresEncoding(text)) {
-                text = URLEncoder.encode(text, "UTF-8");
-            }
-            return resolver == null ? text : resolver.resolve(value);
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalArgumentException("Could not url encode: " + text, e);
+        if (valueWriter == ValueWriter.MAP) {
+            expandMap(expansionBuilder, operator, varSpec, (Map<?, ?>) value);
+        } else if (valueWriter == ValueWriter.COLLECTION) {
+            expandList(expansionBuilder, operator, varSpec, (Collection<?>) value);
+        } else if (valueWriter == ValueWriter.ARRAY) {
+            expandList(expansionBuilder, operator, varSpec, Arrays.asList((Object[]) value));
+        } else if (operator.isNamed()) {
+            expansionBuilder.append(varSpec.getName());
+            valueWriter.append(expansionBuilder, value, encoderFor(operator), varSpec.getPrefixLength(), ifEmptyFor(operator));
+        } else {
+            valueWriter.append(expansionBuilder, value, encoderFor(operator), varSpec.getPrefixLength(), null);
         }
     }
 
-    private static boolean requiresEncoding(String text) {
-        for (char c : text.toCharArray()) {
-            if (c == '%' || c == '#' || c == '"' || (c > 'Z' && c < '_') || c == '<' || c == '>' || c < '!' || c > 'z' || c == '`') {
-                return true;
-            }
+    private void expandList(StringBuilder expansionBuilder,
+                            ExpressionOperator operator,
+                            UriTemplate.VarSpec varSpec,
+                            Collection<?> values) {
+
+        final boolean explode = varSpec.isExplode();
+        final boolean namedElements = operator.isNamed() && explode;
+        if (operator.isNamed() && !explode) {
+            expansionBuilder.append(varSpec.getName()).append('=');
         }
-        return false;
-    }
 
-    private enum ExpressionOperator {
-        STRING("", "", "", ","),
-        RESERVED("+", "", "+", ","),
-        FRAGMENT("#", "#", "#", ","),
-        LABEL(".", ".", ".", "."),
-        PATH("/", "/", "/", "/"),
-        PATH_STYLE_PARAMETERS(";", ";", ";", ";") {
-            @Override
-            String expand(Entry<String, String> value) {
-                return value.getKey() + '=' + value.getValue();
+        boolean first = true;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
             }
-        },
-        FORM_STYLE_QUERY("?", "?", "&", "&") {
-            @Override
-            String expand(Entry<String, String> value) {
-                return value.getKey() + '=' + value.getValue();
+            if (!first) {
+                expansionBuilder.append(explode ? operator.getSeparator() : ",");
             }
-        },
-        FORM_STYLE_QUERY_CONTINUATION("&", "&", "&", "&") {
-            @Override
-            String expand(Entry<String, String> value) {
-                return value.getKey() + '=' + value.getValue();
+            if (namedElements) {
+                expansionBuilder.append(varSpec.getName());
+                appendValue(expansionBuilder, operator, value, ifEmptyFor(operator));
+            } else {
+                appendValue(expansionBuilder, operator, value, null);
             }
-        };
+            first = false;
+        }
+    }
 
-        private final String operator;
-        private final String expandedOperator;
-        private final String templateOperator;
-        private final String expandedSeparator;
+    private void expandMap(StringBuilder expansionBuilder,
+                           ExpressionOperator operator,
+                           UriTemplate.VarSpec varSpec,
+                           Map<?, ?> values) {
 
-        ExpressionOperator(String operator, String expandedOperator, String templateOperator, String expandedSeparator) {
-            this.operator = operator;
-            this.expandedOperator = expandedOperator;
-            this.templateOperator = templateOperator;
-            this.expandedSeparator = expandedSeparator;
+        final boolean explode = varSpec.isExplode();
+        if (operator.isNamed() && !explode) {
+            expansionBuilder.append(varSpec.getName()).append('=');
         }
 
-        static ExpressionOperator forOperator(String operator) {
-            for (ExpressionOperator expressionOperator : values()) {
-                if (expressionOperator.operator.equals(operator)) {
-                    return expressionOperator;
-                }
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            final Object value = entry.getValue();
+            if (value == null) {
+                continue;
             }
-            throw new IllegalArgumentException("No ExpressionOperator constant found for operator: " + operator);
-        }
-
-        String expand(Set<Entry<String, String>> values) {
-            StringBuilder sb = new StringBuilder(expandedOperator);
-            for (Entry<String, String> value : values) {
-                sb.append(expand(value)).append(expandedSeparator);
+            if (!first) {
+                expansionBuilder.append(explode ? operator.getSeparator() : ",");
+            }
+            appendValue(expansionBuilder, operator, entry.getKey(), null);
+            if (explode) {
+                appendValue(expansionBuilder, operator, value, operator.isNamed() ? ifEmptyFor(operator) : "=");
+            } else {
+                expansionBuilder.append(',');
+                appendValue(expansionBuilder, operator, value, null);
             }
-            sb.deleteCharAt(sb.length() - 1);
-            return sb.toString();
+            first = false;
         }
+    }
 
-        String expand(Entry<String, String> value) {
-            return value.getValue();
-        }
+    private void appendValue(StringBuilder expansionBuilder, ExpressionOperator operator, Object value, String ifEmpty) {
+        final ValueWriter valueWriter = valueWriters.get(value.getClass());
+        // Nested composite values are not defined by RFC6570, so are expanded as Strings
+        (valueWriter.isComposite() ? ValueWriter.DEFAULT : valueWriter)
+                .append(expansionBuilder, value, encoderFor(operator), 0, ifEmpty);
+    }
 
-        String template(Set<String> names) {
-            return appendTemplate(names, operator);
-        }
+    private PercentEncoder encoderFor(ExpressionOperator operator) {
+        return strictEncoding ? operator.getEncoder() : PercentEncoder.COMPATIBLE;
+    }
 
-        String appendTemplate(Set<String> names) {
-            return appendTemplate(names, templateOperator);
-        }
+    private String ifEmptyFor(ExpressionOperator operator) {
+        return strictEncoding ? operator.getIfEmpty() : "=";
+    }
 
-        String appendTemplate(Set<String> names, String operator) {
-            StringBuilder sb = new StringBuilder();
-            sb.append('{').append(operator);
-            for (String name : names) {
-                sb.append(name).append(',');
+    private static UriValueResolver<?> findResolver(Class<?> type, Map<Class<?>, UriValueResolver<?>> resolvers) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            UriValueResolver<?> resolver = resolvers.get(c);
+            if (resolver != null) {
+                return resolver;
+            }
+        }
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                UriValueResolver<?> resolver = findResolver(i, resolvers);
+                if (resolver != null) {
+                    return resolver;
+                }
             }
-            sb.setCharAt(sb.length() - 1, '}');
-            return sb.toString();
         }
+        return null;
     }
 }
@@ -33,7 +33,8 @@ public interface UriValueResolver<T> {
     String resolve(T value);
 
     /**
-     * @return the supported type that can be resolved to a String
+     * @return the supported type that can be resolved to a String. Values of any subtype are resolved also, unless a
+     * resolver for a more specific type is configured.
      */
     Class<T> getType();
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes values of a given type into a URI Template expansion. The writer to use for a value is determined once per
+ * class by {@link UriTemplateExpander}.
+ */
+abstract class ValueWriter {
+
+    /**
+     * Writes {@link Object#toString() toString()} percent-encoded as required by the expression operator.
+     */
+    static final ValueWriter DEFAULT = new ValueWriter() {
+        @Override
+        void append(StringBuilder sb, Object value, PercentEncoder encoder, int prefixLength, String ifEmpty) {
+            appendText(sb, value.toString(), encoder, prefixLength, ifEmpty);
+        }
+    };
+
+    /**
+     * Writes Integer, Long, Short and Byte values as decimal digits, which never require encoding.
+     */
+    static final ValueWriter INTEGRAL = new ValueWriter() {
+        @Override
+        void append(StringBuilder sb, Object value, PercentEncoder encoder, int prefixLength, String ifEmpty) {
+            if (prefixLength != 0) {
+                DEFAULT.append(sb, value, encoder, prefixLength, ifEmpty);
+                return;
+            }
+            if (ifEmpty != null) {
+                sb.append('=');
+            }
+            sb.append(((Number) value).longValue());
+        }
+    };
+
+    /**
+     * Writes UUID values in their canonical hex form, which never requires encoding.
+     */
+    static final ValueWriter UUID_HEX = new ValueWriter() {
+        @Override
+        void append(StringBuilder sb, Object value, PercentEncoder encoder, int prefixLength, String ifEmpty) {
+            if (prefixLength != 0) {
+                DEFAULT.append(sb, value, encoder, prefixLength, ifEmpty);
+                return;
+            }
+            if (ifEmpty != null) {
+                sb.append('=');
+            }
+            final UUID uuid = (UUID) value;
+            final long msb = uuid.getMostSignificantBits();
+            final long lsb = uuid.getLeastSignificantBits();
+            appendHex(sb, msb >>> 32, 8);
+            sb.append('-');
+            appendHex(sb, msb >>> 16, 4);
+            sb.append('-');
+            appendHex(sb, msb, 4);
+            sb.append('-');
+            appendHex(sb, lsb >>> 48, 4);
+            sb.append('-');
+            appendHex(sb, lsb, 12);
+        }
+    };
+
+    /**
+     * Marks Map values, which are expanded as associative arrays.
+     */
+    static final ValueWriter MAP = new CompositeValueWriter() {
+        @Override
+        boolean isUndefined(Object value) {
+            return ((Map<?, ?>) value).isEmpty();
+        }
+    };
+
+    /**
+     * Marks Collection values, which are expanded as lists.
+     */
+    static final ValueWriter COLLECTION = new CompositeValueWriter() {
+        @Override
+        boolean isUndefined(Object value) {
+            return ((Collection<?>) value).isEmpty();
+        }
+    };
+
+    /**
+     * Marks Object array values, which are expanded as lists.
+     */
+    static final ValueWriter ARRAY = new CompositeValueWriter() {
+        @Override
+        boolean isUndefined(Object value) {
+            return ((Object[]) value).length == 0;
+        }
+    };
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Returns the built in writer for values of the given type.
+     */
+    static ValueWriter forType(Class<?> type) {
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return INTEGRAL;
+        } else if (type == UUID.class) {
+            return UUID_HEX;
+        } else if (Map.class.isAssignableFrom(type)) {
+            return MAP;
+        } else if (Collection.class.isAssignableFrom(type)) {
+            return COLLECTION;
+        } else if (type.isArray() && !type.getComponentType().isPrimitive()) {
+            return ARRAY;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a writer substituting the value resolved by the given resolver as is.
+     */
+    static ValueWriter forResolver(final UriValueResolver<?> resolver) {
+        return new ValueWriter() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            void append(StringBuilder sb, Object value, PercentEncoder encoder, int prefixLength, String ifEmpty) {
+                appendText(sb, ((UriValueResolver) resolver).resolve(value), null, prefixLength, ifEmpty);
+            }
+        };
+    }
+
+    /**
+     * @return {@code true} if the value is to be treated as undefined, else {@code false}
+     */
+    boolean isUndefined(Object value) {
+        return false;
+    }
+
+    /**
+     * @return {@code true} if values are expanded as lists or associative arrays, else {@code false}
+     */
+    boolean isComposite() {
+        return false;
+    }
+
+    /**
+     * Appends the given value. Where ifEmpty is not {@code null} the value is preceded by '=', or if empty replaced by
+     * ifEmpty, as the value of a name already appended.
+     *
+     * @param sb           the expansion builder to append to
+     * @param value        the value to append
+     * @param encoder      the encoder of the expression operator
+     * @param prefixLength the maximum number of characters to append, or {@code 0} for no limit
+     * @param ifEmpty      the text to append in place of an empty value, or {@code null} if the value is unnamed
+     */
+    abstract void append(StringBuilder sb, Object value, PercentEncoder encoder, int prefixLength, String ifEmpty);
+
+    private static void appendText(StringBuilder sb, String text, PercentEncoder encoder, int prefixLength, String ifEmpty) {
+        if (ifEmpty != null) {
+            if (text.isEmpty()) {
+                sb.append(ifEmpty);
+                return;
+            }
+            sb.append('=');
+        }
+
+        text = prefix(text, prefixLength);
+        if (encoder == null) {
+            sb.append(text);
+        } else {
+            encoder.encode(sb, text);
+        }
+    }
+
+    private static String prefix(String text, int prefixLength) {
+        if (prefixLength == 0 || text.length() <= prefixLength) {
+            return text;
+        }
+        return text.substring(0, text.offsetByCodePoints(0, Math.min(prefixLength, text.codePointCount(0, text.length()))));
+    }
+
+    private static void appendHex(StringBuilder sb, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            sb.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    private abstract static class CompositeValueWriter extends ValueWriter {
+
+        @Override
+        boolean isComposite() {
+            return true;
+        }
+
+        @Override
+        void append(StringBuilder sb, Object value, PercentEncoder encoder, int prefixLength, String ifEmpty) {
+            throw new UnsupportedOperationException("Composite values are expanded by UriTemplateExpander");
+        }
+    }
+}
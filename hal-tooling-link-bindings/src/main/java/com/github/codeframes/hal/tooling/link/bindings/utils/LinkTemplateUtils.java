@@ -15,8 +15,6 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.utils;
 
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -29,7 +27,10 @@ import java.util.regex.Pattern;
 public final class LinkTemplateUtils {
 
     private static final Pattern EXPR_LANG_PTRN = Pattern.compile("\\$\\{.*?\\}");
-    private static final Pattern URI_TEMPLATE_EXPR_PTRN = Pattern.compile("(?<!\\$)\\{([?.+&;/#])?([\\w,]+)\\}");
+    private static final String VAR_NAME = "(?:\\w|%\\p{XDigit}{2})(?:\\.?(?:\\w|%\\p{XDigit}{2}))*";
+    private static final String VAR_SPEC = VAR_NAME + "(?::[1-9]\\d{0,3}|\\*)?";
+    private static final Pattern URI_TEMPLATE_EXPR_PTRN =
+            Pattern.compile("(?<!\\$)\\{([?.+&;/#])?(" + VAR_SPEC + "(?:," + VAR_SPEC + ")*)\\}");
 
     private LinkTemplateUtils() {
     }
@@ -45,7 +46,8 @@ public final class LinkTemplateUtils {
     }
 
     /**
-     * Returns a list of parameter names (URI Template tokens) contained within the given linkTemplate.
+     * Returns a list of parameter names (URI Template tokens) contained within the given linkTemplate. Any prefix
+     * ({@code :n}) or explode ({@code *}) modifiers are excluded from the returned names.
      *
      * @param linkTemplate the link template
      * @return the list of parameter names contained within the given linkTemplate. If no parameters are present
@@ -54,11 +56,21 @@ public final class LinkTemplateUtils {
     public static List<String> extractParameterNames(String linkTemplate) {
         final List<String> paramNames = new ArrayList<>();
         for (Matcher matcher = URI_TEMPLATE_EXPR_PTRN.matcher(linkTemplate); matcher.find(); ) {
-            Collections.addAll(paramNames, matcher.group(2).split(","));
+            for (String varSpec : matcher.group(2).split(",")) {
+                paramNames.add(toParameterName(varSpec));
+            }
         }
         return paramNames.isEmpty() ? Collections.<String>emptyList() : Collections.unmodifiableList(paramNames);
     }
 
+    private static String toParameterName(String varSpec) {
+        if (varSpec.endsWith("*")) {
+            return varSpec.substring(0, varSpec.length() - 1);
+        }
+        int prefixIndex = varSpec.indexOf(':');
+        return prefixIndex < 0 ? varSpec : varSpec.substring(0, prefixIndex);
+    }
+
     /**
      * Returns {@code true} if linkTemplate is templated, else {@code false}.
      *
@@ -70,29 +82,56 @@ public final class LinkTemplateUtils {
     }
 
     /**
-     * Returns {@code true} if linkTemplate represents an absolute Link Template, else {@code false}.
+     * Returns {@code true} if linkTemplate represents an absolute Link Template, else {@code false}. A Link Template is
+     * absolute if it begins with a URI scheme followed by ':'.
      *
      * @param linkTemplate the link template
      * @return {@code true} if linkTemplate represents an absolute Link Template, else {@code false}
      */
     public static boolean isAbsolute(String linkTemplate) {
-        String valueWithoutExpressions = replaceExpressions(linkTemplate);
-        try {
-            return new URI(valueWithoutExpressions).isAbsolute();
-        } catch (URISyntaxException e) {
-            return false;
-        }
+        int schemeEnd = schemeEnd(linkTemplate);
+        return schemeEnd > 0 && schemeEnd < linkTemplate.length() && linkTemplate.charAt(schemeEnd) == ':';
     }
 
-    private static String replaceExpressions(String value) {
-        String replacement = value;
-        if (isTemplated(replacement)) {
-            replacement = URI_TEMPLATE_EXPR_PTRN.matcher(replacement).replaceAll("?");
+    /**
+     * Returns {@code true} if whether or not linkTemplate is absolute can be determined without evaluating any EL
+     * expressions or expanding any URI Template parameters it contains, else {@code false}. This is the case unless an
+     * expression occurs where a scheme could otherwise still be present.
+     *
+     * @param linkTemplate the link template
+     * @return {@code true} if {@link #isAbsolute(String)} holds for all evaluations and expansions of linkTemplate,
+     * else {@code false}
+     */
+    public static boolean isAbsoluteStatic(String linkTemplate) {
+        int schemeEnd = schemeEnd(linkTemplate);
+        if (schemeEnd == linkTemplate.length()) {
+            return true;
         }
+        char c = linkTemplate.charAt(schemeEnd);
+        return c != '{' && c != '$';
+    }
 
-        if (containsEL(replacement)) {
-            replacement = EXPR_LANG_PTRN.matcher(replacement).replaceAll("?");
+    /**
+     * Returns the index following the longest prefix of linkTemplate matching the scheme production of
+     * <a href="https://tools.ietf.org/html/rfc3986#section-3.1">[RFC3986]</a>, or {@code 0} if there is none.
+     */
+    private static int schemeEnd(String linkTemplate) {
+        final int length = linkTemplate.length();
+        if (length == 0 || !isAlpha(linkTemplate.charAt(0))) {
+            return 0;
         }
-        return replacement;
+        int i = 1;
+        while (i < length) {
+            char c = linkTemplate.charAt(i);
+            if (!isAlpha(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.api
+
+import spock.lang.Specification
+
+class CacheStatisticsTest extends Specification {
+
+    def statistics = new CacheStatistics()
+
+    def "test construction"() {
+        expect:
+          statistics.hitCount == 0
+          statistics.missCount == 0
+    }
+
+    def "test record"() {
+        when:
+          statistics.recordHit()
+          statistics.recordHit()
+          statistics.recordMiss()
+        then:
+          statistics.hitCount == 2
+          statistics.missCount == 1
+          statistics.toString() == 'CacheStatistics{hits=2, misses=1}'
+    }
+}
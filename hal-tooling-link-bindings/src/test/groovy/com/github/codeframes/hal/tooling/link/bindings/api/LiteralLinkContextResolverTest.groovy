@@ -15,6 +15,7 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.api
 
+import com.github.codeframes.hal.tooling.link.bindings.Style
 import spock.lang.Specification
 
 class LiteralLinkContextResolverTest extends Specification {
@@ -47,4 +48,11 @@ class LiteralLinkContextResolverTest extends Specification {
         then:
           result == template
     }
+
+    def "test getResolutionKey"() {
+        expect:
+          resolver.getResolutionKey(style) == style
+        where:
+          style << Style.values()
+    }
 }
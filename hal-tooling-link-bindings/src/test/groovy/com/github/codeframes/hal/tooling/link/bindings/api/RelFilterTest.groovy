@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.api
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RelFilterTest extends Specification {
+
+    def "test ALL accepts any rel"() {
+        expect:
+          RelFilter.ALL.accepts('self')
+          RelFilter.ALL.accepts('doc:items')
+          RelFilter.ALL.toString() == 'RelFilter{rels=*}'
+    }
+
+    def "test of"() {
+        given:
+          def relFilter = RelFilter.of('self', 'next')
+        expect:
+          relFilter.accepts('self')
+          relFilter.accepts('next')
+          !relFilter.accepts('prev')
+          relFilter == RelFilter.of(['next', 'self'])
+    }
+
+    def "test of with null rels"() {
+        when:
+          RelFilter.of((Collection<String>) null)
+        then:
+          thrown(NullPointerException)
+    }
+
+    @Unroll
+    def "test parse of '#rels'"() {
+        expect:
+          RelFilter.parse(rels) == expected
+        where:
+          rels              || expected
+          null              || RelFilter.ALL
+          ''                || RelFilter.ALL
+          ' , '             || RelFilter.ALL
+          'self'            || RelFilter.of('self')
+          'self,next'       || RelFilter.of('self', 'next')
+          ' self , next, '  || RelFilter.of('self', 'next')
+          'doc:items,self'  || RelFilter.of('doc:items', 'self')
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context
+
+import spock.lang.Specification
+
+import javax.el.ExpressionFactory
+
+@SuppressWarnings(["GroovyAccessibility", "GroovyUnusedDeclaration"])
+class DefaultLinkELContextTest extends Specification {
+
+    def expressionEngine = new ELExpressionEngine(ExpressionFactory.newInstance())
+
+    def entity = new Bean(name: 'entity')
+
+    def linkELContext = new DefaultLinkELContext(entity, [other: 'other'])
+
+    def "test withInstance overrides instance only"() {
+        given:
+          def bean = new Bean(name: 'bean')
+        when:
+          def beanLinkELContext = linkELContext.withInstance(bean)
+        then:
+          evaluate('${instance.name}', beanLinkELContext) == 'bean'
+          evaluate('${entity.name}', beanLinkELContext) == 'entity'
+          evaluate('${other}', beanLinkELContext) == 'other'
+        and:
+          evaluate('${instance.name}', linkELContext) == 'entity'
+    }
+
+    def "test withInstance shares objects of parent context"() {
+        when:
+          def nestedLinkELContext = linkELContext.withInstance(new Bean(name: 'bean')).withInstance(new Bean(name: 'nested'))
+        then:
+          nestedLinkELContext.objects.@sharedObjects.is(linkELContext.objects)
+          evaluate('${instance.name}', nestedLinkELContext) == 'nested'
+          nestedLinkELContext.objects == [entity: entity, instance: new Bean(name: 'nested'), other: 'other']
+    }
+
+    def "test withInstance with null instance"() {
+        when:
+          linkELContext.withInstance(null)
+        then:
+          thrown(NullPointerException)
+    }
+
+    def "test newCursor reuses a single context"() {
+        given:
+          def cursor = linkELContext.newCursor()
+        when:
+          def linkELContext_1 = cursor.moveTo(new Bean(name: 'bean_1'))
+          def name_1 = evaluate('${instance.name}', linkELContext_1)
+          def linkELContext_2 = cursor.moveTo(new Bean(name: 'bean_2'))
+          def name_2 = evaluate('${instance.name}', linkELContext_2)
+        then:
+          linkELContext_1.is(linkELContext_2)
+          name_1 == 'bean_1'
+          name_2 == 'bean_2'
+          evaluate('${entity.name}', linkELContext_2) == 'entity'
+        and:
+          evaluate('${instance.name}', linkELContext) == 'entity'
+    }
+
+    def "test newCursor for subclass overriding withInstance"() {
+        given:
+          def linkELContext = new InstanceOverridingLinkELContext(entity)
+          def cursor = linkELContext.newCursor()
+        when:
+          def linkELContext_1 = cursor.moveTo(new Bean(name: 'bean_1'))
+          def linkELContext_2 = cursor.moveTo(new Bean(name: 'bean_2'))
+        then:
+          linkELContext_1 instanceof InstanceOverridingLinkELContext
+          !linkELContext_1.is(linkELContext_2)
+    }
+
+    def "test newEntityCursor binds entity and instance to each moved object"() {
+        given:
+          def cursor = DefaultLinkELContext.newEntityCursor()
+        when:
+          def linkELContext_1 = cursor.moveTo(new Bean(name: 'bean_1'))
+          def entityName_1 = evaluate('${entity.name}', linkELContext_1)
+          def instanceName_1 = evaluate('${instance.name}', linkELContext_1)
+          def linkELContext_2 = cursor.moveTo(new Bean(name: 'bean_2'))
+        then:
+          linkELContext_1.is(linkELContext_2)
+          entityName_1 == 'bean_1'
+          instanceName_1 == 'bean_1'
+          evaluate('${entity.name}', linkELContext_2) == 'bean_2'
+          evaluate('${instance.name}', linkELContext_2) == 'bean_2'
+          linkELContext_2.objects == [entity: new Bean(name: 'bean_2'), instance: new Bean(name: 'bean_2')]
+    }
+
+    private Object evaluate(String expression, LinkELContext linkELContext) {
+        return expressionEngine.evaluate(expression, Object, linkELContext)
+    }
+
+    static class InstanceOverridingLinkELContext extends DefaultLinkELContext {
+
+        InstanceOverridingLinkELContext(Object entity) {
+            super(entity)
+        }
+
+        @Override
+        LinkELContext withInstance(Object instance) {
+            return new InstanceOverridingLinkELContext(instance)
+        }
+    }
+
+    @groovy.transform.EqualsAndHashCode
+    static class Bean {
+        String name
+    }
+}
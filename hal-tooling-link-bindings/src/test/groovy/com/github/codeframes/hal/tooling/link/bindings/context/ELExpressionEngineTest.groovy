@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context
+
+import spock.lang.Specification
+
+import javax.el.ELException
+import javax.el.ExpressionFactory
+import javax.el.FunctionMapper
+import java.lang.reflect.Method
+
+class ELExpressionEngineTest extends Specification {
+
+    def expressionEngine = new ELExpressionEngine(ExpressionFactory.newInstance())
+
+    def linkELContext = new DefaultLinkELContext(new Bean(id: 1, name: 'bob', bool: true))
+
+    def "test compile"() {
+        when:
+          def linkExpression = expressionEngine.compile(expression, expected_type)
+        then:
+          linkExpression.expressionString == expression
+          linkExpression.getValue(linkELContext) == expected_result
+        where:
+          expression                  | expected_type | expected_result
+          'true'                      | boolean       | true
+          '${entity.bool}'            | boolean       | true
+          '${instance.name == "bob"}' | boolean       | true
+          '/api/${instance.name}'     | String        | '/api/bob'
+          '${instance.map.not_exist}' | String        | ''
+          '${instance.id}'            | Object        | 1
+    }
+
+    def "test compile is evaluated per context"() {
+        given:
+          def linkExpression = expressionEngine.compile('${instance.name}', String)
+        expect:
+          linkExpression.getValue(new DefaultLinkELContext(new Bean(name: 'bob'))) == 'bob'
+          linkExpression.getValue(new DefaultLinkELContext(new Bean(name: 'bill'))) == 'bill'
+    }
+
+    def "test compile with invalid expression"() {
+        when:
+          expressionEngine.compile('${instance.}', String)
+        then:
+          thrown(ELException)
+    }
+
+    def "test getValue with context providing functions"() {
+        given:
+          def linkExpression = expressionEngine.compile('${fn:upper(instance.name)}', String)
+          def functionMappingContext = new DefaultLinkELContext(new Bean(name: 'bob')) {
+              @Override
+              FunctionMapper getFunctionMapper() {
+                  return new FunctionMapper() {
+                      @Override
+                      Method resolveFunction(String prefix, String localName) {
+                          return ELExpressionEngineTest.getMethod('upper', String)
+                      }
+                  }
+              }
+          }
+        expect:
+          linkExpression.getValue(functionMappingContext) == 'BOB'
+    }
+
+    def "test equals"() {
+        expect:
+          expressionEngine.compile('${instance.id}', Object) == expressionEngine.compile('${instance.id}', Object)
+          expressionEngine.compile('${instance.id}', Object) != expressionEngine.compile('${instance.id}', String)
+          expressionEngine.compile('${instance.id}', Object) != expressionEngine.compile('${entity.id}', Object)
+    }
+
+    static class Bean {
+        int id
+        String name
+        boolean bool
+        Map<String, Object> map = [:]
+    }
+
+    static String upper(String value) {
+        return value.toUpperCase()
+    }
+}
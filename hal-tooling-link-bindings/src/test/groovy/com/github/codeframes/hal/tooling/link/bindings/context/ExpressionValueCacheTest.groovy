@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context
+
+import spock.lang.Specification
+
+@SuppressWarnings("GroovyUnusedDeclaration")
+class ExpressionValueCacheTest extends Specification {
+
+    def linkELContext = Mock(LinkELContext)
+
+    def expressionValueCache = new ExpressionValueCache()
+
+    def "test getValue evaluates expression once"() {
+        given:
+          def expression = Mock(LinkExpression)
+        when:
+          def values = (1..3).collect { expressionValueCache.getValue(expression, linkELContext) }
+        then:
+          1 * expression.getValue(linkELContext) >> 'value'
+        and:
+          values == ['value', 'value', 'value']
+          expressionValueCache.statistics.hitCount == 2
+          expressionValueCache.statistics.missCount == 1
+    }
+
+    def "test getValue evaluates expression once when value is null"() {
+        given:
+          def expression = Mock(LinkExpression)
+        when:
+          def values = (1..2).collect { expressionValueCache.getValue(expression, linkELContext) }
+        then:
+          1 * expression.getValue(linkELContext) >> null
+        and:
+          values == [null, null]
+          expressionValueCache.statistics.hitCount == 1
+    }
+
+    def "test getValue matches equal expressions"() {
+        given:
+          def expressionEngine = new SimpleExpressionEngine()
+          def linkELContext = new DefaultLinkELContext([id: 1])
+        when:
+          def value = expressionValueCache.getValue(expressionEngine.compile('${id}', Object), linkELContext)
+          def cachedValue = expressionValueCache.getValue(expressionEngine.compile('${id}', Object), linkELContext)
+          def stringValue = expressionValueCache.getValue(expressionEngine.compile('${id}', String), linkELContext)
+        then:
+          value == 1
+          cachedValue == 1
+          stringValue == '1'
+          expressionValueCache.statistics.hitCount == 1
+          expressionValueCache.statistics.missCount == 2
+    }
+
+    def "test newScope shares statistics but not values"() {
+        given:
+          def expression = Mock(LinkExpression)
+          expressionValueCache.getValue(expression, linkELContext)
+        when:
+          def scope = expressionValueCache.newScope()
+          scope.getValue(expression, linkELContext)
+        then:
+          1 * expression.getValue(linkELContext) >> 'value'
+        and:
+          scope.statistics.is(expressionValueCache.statistics)
+          expressionValueCache.statistics.missCount == 2
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context
+
+import com.github.codeframes.hal.tooling.link.bindings.Style
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate
+import spock.lang.Specification
+
+@SuppressWarnings("GroovyUnusedDeclaration")
+class LinkContextsTest extends Specification {
+
+    def expressionEngine = new SimpleExpressionEngine()
+
+    def "test compiled returns CompiledLinkContext as is"() {
+        given:
+          def mockCompiledLinkContext = Mock(CompiledLinkContext)
+        expect:
+          LinkContexts.compiled(mockCompiledLinkContext).is(mockCompiledLinkContext)
+    }
+
+    def "test compiled adapts LinkContext evaluating expression Strings"() {
+        given:
+          def mockLinkContext = Mock(LinkContext)
+          def linkContext = LinkContexts.compiled(mockLinkContext)
+        when:
+          def condition = linkContext.evaluateAsBoolean(expressionEngine.compile('${condition}', boolean))
+          def template = linkContext.evaluateAsString(expressionEngine.compile('${template}', String))
+          def href = linkContext.expandCompiled(UriTemplate.compile('/api/{id}'), [id: expressionEngine.compile('${id}', Object)], true)
+        then:
+          1 * mockLinkContext.evaluateAsBoolean('${condition}') >> true
+          1 * mockLinkContext.evaluateAsString('${template}') >> '/api/{id}'
+          1 * mockLinkContext.expand('/api/{id}', [id: '${id}'], true) >> '/api/1'
+        and:
+          condition
+          template == '/api/{id}'
+          href == '/api/1'
+          linkContext.getResolutionKey(Style.ABSOLUTE) == null
+    }
+
+    def "test compiled adapts LinkContext evaluating expressions as Strings and expanding evaluated values"() {
+        given:
+          def mockLinkContext = Mock(LinkContext)
+          def linkContext = LinkContexts.compiled(mockLinkContext)
+        when:
+          def value = linkContext.evaluate(expressionEngine.compile('${id}', Object))
+          def href = linkContext.expandEvaluated(UriTemplate.compile('/api{/id}{?type}'), [id: value], true)
+        then:
+          1 * mockLinkContext.evaluateAsString('${id}') >> '1'
+        and:
+          value == '1'
+          href == '/api/1'
+    }
+
+    def "test compiled adapts LinkContext with Cursor delegating to forBean"() {
+        given:
+          def mockLinkContext = Mock(LinkContext)
+          def mockBeanLinkContext = Mock(LinkContext)
+          def bean = new Object()
+        when:
+          def beanLinkContext = LinkContexts.compiled(mockLinkContext).newCursor().moveTo(bean)
+        then:
+          1 * mockLinkContext.forBean(bean) >> mockBeanLinkContext
+        and:
+          beanLinkContext == mockBeanLinkContext
+    }
+}
@@ -24,6 +24,8 @@ class LinkELContextResolverTest extends Specification {
 
     ELContext mockELContext
 
+    def resolver = new LinkELContextResolver()
+
     def setup() {
         mockELContext = Mock(ELContext)
     }
@@ -32,7 +34,6 @@ class LinkELContextResolverTest extends Specification {
         given:
           def base = new Object()
           def property = new Object()
-          def resolver = new LinkELContextResolver([:])
         when:
           def value = resolver.getValue(mockELContext, base, property)
         then:
@@ -42,10 +43,12 @@ class LinkELContextResolverTest extends Specification {
     def "test getValue with null base object"() {
         given:
           def property = 'name'
-          def resolver = new LinkELContextResolver([name: 'bill'])
+          mockELContext.getContext(LinkELContextResolver) >> [name: 'bill']
         when:
           def value = resolver.getValue(mockELContext, null, property)
         then:
+          1 * mockELContext.setPropertyResolved(true)
+        and:
           value == 'bill'
     }
 
@@ -53,7 +56,6 @@ class LinkELContextResolverTest extends Specification {
         given:
           def base = new Object()
           def property = new Object()
-          def resolver = new LinkELContextResolver([:])
         when:
           def type = resolver.getType(mockELContext, base, property)
         then:
@@ -63,7 +65,7 @@ class LinkELContextResolverTest extends Specification {
     def "test getType with no matching objects and null base object"() {
         given:
           def property = new Object()
-          def resolver = new LinkELContextResolver([:])
+          mockELContext.getContext(LinkELContextResolver) >> [:]
         when:
           def type = resolver.getType(mockELContext, null, property)
         then:
@@ -73,16 +75,37 @@ class LinkELContextResolverTest extends Specification {
     def "test getType with null base object"() {
         given:
           def property = 'name'
-          def resolver = new LinkELContextResolver([name: 'bill'])
+          mockELContext.getContext(LinkELContextResolver) >> [name: 'bill']
         when:
           def type = resolver.getType(mockELContext, null, property)
         then:
           type == String
     }
 
-    def "test setValue"() {
+    def "test getValue with null base object and context providing no objects"() {
+        when:
+          def value = resolver.getValue(mockELContext, null, 'name')
+        then:
+          0 * mockELContext.setPropertyResolved(_)
+        and:
+          value == null
+    }
+
+    def "test getValue resolves against the objects of each DefaultLinkELContext sharing the resolver"() {
         given:
-          def resolver = new LinkELContextResolver([:])
+          def context = new DefaultLinkELContext('entity-1')
+          def instanceContext = context.withInstance('instance-1')
+        when:
+          def entity = resolver.getValue(context, null, 'entity')
+          def instance = resolver.getValue(instanceContext, null, 'instance')
+        then:
+          entity == 'entity-1'
+          instance == 'instance-1'
+        and:
+          context.getELResolver().is(instanceContext.getELResolver())
+    }
+
+    def "test setValue"() {
         when:
           resolver.setValue(mockELContext, null/*N/A*/, 'property', null/*N/A*/)
         then:
@@ -90,8 +113,6 @@ class LinkELContextResolverTest extends Specification {
     }
 
     def "test isReadOnly"() {
-        given:
-          def resolver = new LinkELContextResolver([:])
         expect:
           resolver.isReadOnly(mockELContext, base, 'property')
         where:
@@ -99,15 +120,11 @@ class LinkELContextResolverTest extends Specification {
     }
 
     def "test getFeatureDescriptors"() {
-        given:
-          def resolver = new LinkELContextResolver([:])
         expect:
           resolver.getFeatureDescriptors(/*N/A*/ null, /*N/A*/ null) == null
     }
 
     def "test getCommonPropertyType"() {
-        given:
-          def resolver = new LinkELContextResolver([:])
         expect:
           resolver.getCommonPropertyType(/*N/A*/ null, /*N/A*/ null) == Object
     }
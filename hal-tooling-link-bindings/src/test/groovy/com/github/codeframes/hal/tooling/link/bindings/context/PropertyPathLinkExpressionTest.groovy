@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context
+
+import spock.lang.Specification
+
+import javax.el.ELException
+import javax.el.ExpressionFactory
+import javax.el.PropertyNotFoundException
+import javax.el.VariableMapper
+
+class PropertyPathLinkExpressionTest extends Specification {
+
+    static final ExpressionFactory EXPRESSION_FACTORY = ExpressionFactory.newInstance()
+
+    def expressionEngine = new ELExpressionEngine(EXPRESSION_FACTORY)
+
+    def "test of with property path expressions"() {
+        expect:
+          PropertyPathLinkExpression.of(EXPRESSION_FACTORY, fallback(expression), Object) != null
+        where:
+          expression << ['${instance}', '${instance.id}', '${uri.page}', '${ instance . parent . id }', '${entity.$id_1}']
+    }
+
+    def "test of with non property path expressions"() {
+        expect:
+          PropertyPathLinkExpression.of(EXPRESSION_FACTORY, fallback(expression), Object) == null
+        where:
+          expression << ['true', '/api/${instance.id}', '${instance.id}/', '${instance.name == "bob"}',
+                         '${empty instance.name}', '${instance.items[0]}', '${fn:upper(instance.name)}',
+                         '${instance.not}', '#{instance.id}', '${instance.id}${instance.name}']
+    }
+
+    def "test getValue evaluates property path without EL"() {
+        given:
+          def fallback = fallback('${instance.parent.name}')
+          def linkExpression = PropertyPathLinkExpression.of(EXPRESSION_FACTORY, fallback, String)
+          def bean = new Bean(parent: new Bean(name: 'bob'))
+        when:
+          def value = linkExpression.getValue(new DefaultLinkELContext(bean))
+        then:
+          0 * fallback.getValue(_)
+        and:
+          value == 'bob'
+    }
+
+    def "test getValue"() {
+        given:
+          def linkExpression = expressionEngine.compile(expression, expected_type)
+          def bean = new Bean(id: 1, name: 'bob', bool: true, map: [key: 'value'], parent: new Bean(id: 2))
+        expect:
+          linkExpression instanceof PropertyPathLinkExpression
+          linkExpression.getValue(new DefaultLinkELContext(bean)) == expected_result
+        where:
+          expression                  | expected_type | expected_result
+          '${instance.id}'            | Object        | 1
+          '${instance.id}'            | String        | '1'
+          '${instance.bool}'          | boolean       | true
+          '${entity.parent.id}'       | Object        | 2
+          '${instance.map.key}'       | Object        | 'value'
+          '${instance.map.not_exist}' | String        | ''
+          '${instance.parent.bool}'   | boolean       | false
+          '${instance.parent.parent}' | Object        | null
+          '${instance.parent.name}'   | String        | ''
+    }
+
+    def "test getValue with getter declared by public interface of non public class"() {
+        given:
+          def linkExpression = expressionEngine.compile('${instance.name}', String)
+        expect:
+          linkExpression.getValue(new DefaultLinkELContext(new HiddenNamed())) == 'hidden'
+    }
+
+    def "test getValue with getter throwing exception"() {
+        given:
+          def linkExpression = expressionEngine.compile('${instance.failure}', Object)
+        when:
+          linkExpression.getValue(new DefaultLinkELContext(new Bean()))
+        then:
+          def e = thrown(ELException)
+          e.cause instanceof IllegalStateException
+    }
+
+    def "test getValue falls back to EL for unknown property"() {
+        given:
+          def linkExpression = expressionEngine.compile('${instance.unknown}', Object)
+        when:
+          linkExpression.getValue(new DefaultLinkELContext(new Bean()))
+        then:
+          thrown(PropertyNotFoundException)
+    }
+
+    def "test getValue falls back to EL for unknown identifier"() {
+        given:
+          def linkExpression = expressionEngine.compile('${unknown.id}', Object)
+        when:
+          linkExpression.getValue(new DefaultLinkELContext(new Bean()))
+        then:
+          thrown(PropertyNotFoundException)
+    }
+
+    def "test getValue falls back to EL for context providing variables"() {
+        given:
+          def fallback = fallback('${instance.id}')
+          def linkExpression = PropertyPathLinkExpression.of(EXPRESSION_FACTORY, fallback, Object)
+          def variableMapper = Mock(VariableMapper)
+          def linkELContext = new DefaultLinkELContext(new Bean(id: 1)) {
+              @Override
+              VariableMapper getVariableMapper() {
+                  return variableMapper
+              }
+          }
+        when:
+          def value = linkExpression.getValue(linkELContext)
+        then:
+          1 * fallback.getValue(linkELContext) >> 3
+        and:
+          value == 3
+    }
+
+    def "test equals"() {
+        expect:
+          expressionEngine.compile('${instance.id}', Object) == expressionEngine.compile('${instance.id}', Object)
+          expressionEngine.compile('${instance.id}', Object) != expressionEngine.compile('${instance.id}', String)
+          expressionEngine.compile('${instance.id}', Object).hashCode() == expressionEngine.compile('${instance.id}', Object).hashCode()
+    }
+
+    private LinkExpression fallback(String expression) {
+        def fallback = Mock(LinkExpression)
+        fallback.getExpressionString() >> expression
+        return fallback
+    }
+
+    static class Bean {
+        int id
+        String name
+        boolean bool
+        Map<String, Object> map = [:]
+        Bean parent
+
+        String getFailure() {
+            throw new IllegalStateException()
+        }
+    }
+
+    static interface Named {
+        String getName()
+    }
+
+    private static class HiddenNamed implements Named {
+        @Override
+        String getName() {
+            return 'hidden'
+        }
+    }
+}
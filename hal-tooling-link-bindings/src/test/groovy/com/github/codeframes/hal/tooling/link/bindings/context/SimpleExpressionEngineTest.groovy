@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.context
+
+import spock.lang.Specification
+
+import javax.el.BeanELResolver
+import javax.el.ELException
+import javax.el.ELResolver
+import javax.el.FunctionMapper
+import javax.el.PropertyNotFoundException
+import javax.el.VariableMapper
+
+class SimpleExpressionEngineTest extends Specification {
+
+    def expressionEngine = new SimpleExpressionEngine()
+
+    def linkELContext = new DefaultLinkELContext(
+            new Bean(id: 1, name: 'bob', bool: true, map: [k: 'v'], list: [1, 2], parent: new Bean(id: 2)))
+
+    def "test compile"() {
+        when:
+          def linkExpression = expressionEngine.compile(expression, expected_type)
+        then:
+          linkExpression.expressionString == expression
+          linkExpression.getValue(linkELContext) == expected_result
+        where:
+          expression                                          | expected_type | expected_result
+          ''                                                  | String        | ''
+          ''                                                  | boolean       | false
+          'true'                                              | boolean       | true
+          '/api/people'                                       | String        | '/api/people'
+          '\\${instance.id}'                                  | String        | '${instance.id}'
+          '${instance.id}'                                    | Object        | 1
+          '${instance.parent.id}'                             | Object        | 2
+          '${instance.id}'                                    | String        | '1'
+          '${ entity . parent . id }'                         | Object        | 2
+          '${instance.parent.parent}'                         | Object        | null
+          '${instance.parent.parent.id}'                      | String        | ''
+          '${instance.map.k}'                                 | Object        | 'v'
+          '${instance.map["k"]}'                              | Object        | 'v'
+          "\${instance.map['not_exist']}"                     | String        | ''
+          '/api/${instance.name}/${instance.id}{?page}'       | String        | '/api/bob/1{?page}'
+          '${instance.bool}'                                  | boolean       | true
+          '${!instance.bool}'                                 | boolean       | false
+          '${not instance.bool}'                              | boolean       | false
+          '${instance.name == "bob"}'                         | boolean       | true
+          "\${instance.name eq 'bill'}"                       | boolean       | false
+          '${instance.name != "bob"}'                         | boolean       | false
+          '${instance.id == 1}'                               | boolean       | true
+          '${instance.id == "1"}'                             | boolean       | true
+          '${instance.id ne 1.0}'                             | boolean       | false
+          '${instance.bool == "true"}'                        | boolean       | true
+          '${instance.parent == null}'                        | boolean       | false
+          '${instance.parent.parent == null}'                 | boolean       | true
+          '${empty instance.list}'                            | boolean       | false
+          '${empty instance.name}'                            | boolean       | false
+          '${empty instance.parent.name}'                     | boolean       | true
+          '${instance.bool && instance.id == 2}'              | boolean       | false
+          '${instance.bool and (instance.id == 2 or true)}'   | boolean       | true
+          '${instance.bool || false}'                         | boolean       | true
+          '${instance.bool ? "yes" : "no"}'                   | String        | 'yes'
+          '${!instance.bool ? "yes" : instance.parent.id}'    | Object        | 2
+          '/api/${instance.notes == null ? "{id}" : "bill"}'  | String        | '/api/{id}'
+    }
+
+    def "test compile with invalid expression"() {
+        when:
+          expressionEngine.compile(expression, String)
+        then:
+          thrown(ELException)
+        where:
+          expression << ['${instance.}', '${instance.id', '${"unterminated}', '${instance.id ==}', '#{instance.id}',
+                         '${fn:upper(instance.name)}', '${instance.name.toUpperCase()}', '${instance.list[i]}',
+                         '${instance.bool ? "yes"}', '${1.2.3}', '${@}']
+    }
+
+    def "test getValue with unknown identifier"() {
+        given:
+          def linkExpression = expressionEngine.compile('${unknown.id}', Object)
+        when:
+          linkExpression.getValue(linkELContext)
+        then:
+          thrown(PropertyNotFoundException)
+    }
+
+    def "test getValue with unknown property"() {
+        given:
+          def linkExpression = expressionEngine.compile('${instance.unknown}', Object)
+        when:
+          linkExpression.getValue(linkELContext)
+        then:
+          thrown(PropertyNotFoundException)
+    }
+
+    def "test getValue with non coercible value"() {
+        given:
+          def linkExpression = expressionEngine.compile('${instance.parent}', boolean)
+        when:
+          linkExpression.getValue(linkELContext)
+        then:
+          thrown(ELException)
+    }
+
+    def "test getValue against a context with its own ELResolver"() {
+        given:
+          def linkExpression = expressionEngine.compile('${person.name}', String)
+          def customLinkELContext = new CustomLinkELContext(person: new Bean(name: 'bill'))
+        expect:
+          linkExpression.getValue(customLinkELContext) == 'bill'
+    }
+
+    def "test evaluate"() {
+        expect:
+          expressionEngine.evaluate('/api/${instance.name}', String, linkELContext) == '/api/bob'
+    }
+
+    def "test equals"() {
+        expect:
+          expressionEngine.compile('${instance.id}', Object) == expressionEngine.compile('${instance.id}', Object)
+          expressionEngine.compile('${instance.id}', Object) != expressionEngine.compile('${instance.id}', String)
+          expressionEngine.compile('${instance.id}', Object) != expressionEngine.compile('${entity.id}', Object)
+    }
+
+    static class Bean {
+        int id
+        String name
+        boolean bool
+        Map<String, Object> map = [:]
+        List<Object> list = []
+        Bean parent
+        String notes
+    }
+
+    static class CustomLinkELContext extends LinkELContext {
+
+        Object person
+
+        @Override
+        LinkELContext withInstance(Object instance) {
+            return this
+        }
+
+        @Override
+        ELResolver getELResolver() {
+            return new ELResolver() {
+                private final BeanELResolver beanELResolver = new BeanELResolver(true)
+
+                @Override
+                Object getValue(javax.el.ELContext context, Object base, Object property) {
+                    if (base == null && property == 'person') {
+                        context.setPropertyResolved(true)
+                        return person
+                    }
+                    return base == null ? null : beanELResolver.getValue(context, base, property)
+                }
+
+                @Override
+                Class<?> getType(javax.el.ELContext context, Object base, Object property) {
+                    return null
+                }
+
+                @Override
+                void setValue(javax.el.ELContext context, Object base, Object property, Object value) {
+                }
+
+                @Override
+                boolean isReadOnly(javax.el.ELContext context, Object base, Object property) {
+                    return true
+                }
+
+                @Override
+                Iterator getFeatureDescriptors(javax.el.ELContext context, Object base) {
+                    return null
+                }
+
+                @Override
+                Class<?> getCommonPropertyType(javax.el.ELContext context, Object base) {
+                    return Object
+                }
+            }
+        }
+
+        @Override
+        FunctionMapper getFunctionMapper() {
+            return null
+        }
+
+        @Override
+        VariableMapper getVariableMapper() {
+            return null
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class ClockCacheTest extends Specification {
+
+    def "test put returns the value already cached for key"() {
+        given:
+          def cache = new ClockCache<String, String>(2)
+          cache.put('key', 'value')
+        expect:
+          cache.put('key', 'other') == 'value'
+          cache.get('key') == 'value'
+    }
+
+    def "test put evicts the longest cached value not referenced since"() {
+        given:
+          def cache = new ClockCache<Integer, String>(2)
+          cache.put(1, 'one')
+          cache.put(2, 'two')
+          cache.get(1)
+        when:
+          cache.put(3, 'three')
+        then:
+          cache.get(1) == 'one'
+          cache.get(2) == null
+          cache.get(3) == 'three'
+    }
+
+    def "test put evicts the longest cached value where all are referenced"() {
+        given:
+          def cache = new ClockCache<Integer, String>(2)
+          cache.put(1, 'one')
+          cache.put(2, 'two')
+          cache.get(1)
+          cache.get(2)
+        when:
+          cache.put(3, 'three')
+        then:
+          cache.get(1) == null
+          cache.get(2) == 'two'
+          cache.get(3) == 'three'
+    }
+
+    def "test concurrent puts hold at most maximumSize values"() {
+        given:
+          def cache = new ClockCache<Integer, Integer>(64)
+          def executor = Executors.newFixedThreadPool(4)
+        when:
+          def futures = (0..3).collect { thread ->
+              executor.submit({
+                  (1..10000).each { cache.put(thread * 10000 + it, it); cache.get(thread * 10000 + it - 1) }
+              } as Callable)
+          }
+          futures*.get()
+        then:
+          (1..40000).count { cache.get(it) != null } <= 64
+        cleanup:
+          executor.shutdown()
+    }
+}
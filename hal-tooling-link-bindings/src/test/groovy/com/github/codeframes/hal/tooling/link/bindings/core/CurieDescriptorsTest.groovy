@@ -16,11 +16,16 @@
 package com.github.codeframes.hal.tooling.link.bindings.core
 
 import com.github.codeframes.hal.tooling.link.bindings.Style
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine
 import nl.jqno.equalsverifier.EqualsVerifier
 import spock.lang.Specification
 
+import javax.el.ExpressionFactory
+
 class CurieDescriptorsTest extends Specification {
 
+    static final ELExpressionEngine EXPRESSION_ENGINE = new ELExpressionEngine(ExpressionFactory.newInstance())
+
     def "test get"() {
         when:
           def curieDescriptors = new CurieDescriptors(descriptors)
@@ -49,12 +54,14 @@ class CurieDescriptorsTest extends Specification {
 
     def "test equals"() {
         when:
-          EqualsVerifier.forClass(CurieDescriptors).usingGetClass().verify()
+          EqualsVerifier.forClass(CurieDescriptors).usingGetClass()
+                  .withCachedHashCode('hashCode', 'calculateHashCode', new CurieDescriptors([curieDescriptor('ns', '/docs/{rel}')]))
+                  .verify()
         then:
           noExceptionThrown()
     }
 
     static CurieDescriptor curieDescriptor(String name, String value) {
-        return new CurieDescriptor(name, new HrefTemplate(value, Style.RELATIVE_PATH))
+        return new CurieDescriptor(name, new HrefTemplate(value, Style.RELATIVE_PATH, EXPRESSION_ENGINE))
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core
+
+import com.github.codeframes.hal.tooling.link.bindings.Style
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine
+import spock.lang.Specification
+
+import javax.el.ExpressionFactory
+
+class HrefCacheTest extends Specification {
+
+    def expressionEngine = new ELExpressionEngine(ExpressionFactory.newInstance())
+    def hrefTemplate = new HrefTemplate('/api{/id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
+    def statistics = new CacheStatistics()
+
+    def "test construction with invalid maximumSize"() {
+        when:
+          new HrefCache(0, statistics)
+        then:
+          thrown(IllegalArgumentException)
+    }
+
+    def "test get with no cached href"() {
+        given:
+          def cache = new HrefCache(10, statistics)
+        when:
+          def href = cache.get(key('key', 1))
+        then:
+          href == null
+          statistics.missCount == 1
+          statistics.hitCount == 0
+    }
+
+    def "test get with cached href"() {
+        given:
+          def cache = new HrefCache(10, statistics)
+          def href = new Href('/api/1', false)
+          cache.put(key('key', 1), href)
+        when:
+          def result = cache.get(key('key', 1))
+        then:
+          result.is(href)
+          statistics.missCount == 0
+          statistics.hitCount == 1
+    }
+
+    def "test get with differing keys"() {
+        given:
+          def cache = new HrefCache(10, statistics)
+          cache.put(key('key', 1), new Href('/api/1', false))
+        expect:
+          cache.get(key('key', 2)) == null
+          cache.get(key('other', 1)) == null
+          cache.get(new HrefCache.Key(
+                  new HrefTemplate('/api{/id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine),
+                  'key', '/api{/id}', [1] as Object[])) == null
+    }
+
+    def "test put evicts the least recently used href"() {
+        given:
+          def cache = new HrefCache(2, statistics)
+          cache.put(key('key', 1), new Href('/api/1', false))
+          cache.put(key('key', 2), new Href('/api/2', false))
+          cache.get(key('key', 1))
+        when:
+          cache.put(key('key', 3), new Href('/api/3', false))
+        then:
+          cache.get(key('key', 1)) == new Href('/api/1', false)
+          cache.get(key('key', 2)) == null
+          cache.get(key('key', 3)) == new Href('/api/3', false)
+    }
+
+    def "test put holds at most maximumSize hrefs"() {
+        given:
+          def cache = new HrefCache(64, null)
+        when:
+          (1..1000).each { cache.put(key('key', it), new Href("/api/$it", false)) }
+        then:
+          (1..1000).count { cache.get(key('key', it)) != null } <= 64
+    }
+
+    def key(Object resolutionKey, Object id) {
+        return new HrefCache.Key(hrefTemplate, resolutionKey, '/api{/id}', [id] as Object[])
+    }
+}
@@ -16,15 +16,22 @@
 package com.github.codeframes.hal.tooling.link.bindings.core
 
 import com.github.codeframes.hal.tooling.link.bindings.Style
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate
 import nl.jqno.equalsverifier.EqualsVerifier
 import spock.lang.Specification
 
+import javax.el.ExpressionFactory
+
 class HrefTemplateTest extends Specification {
 
+    def expressionEngine = new ELExpressionEngine(ExpressionFactory.newInstance())
+
     def "test construction"() {
         when:
-          def hrefTemplate = new HrefTemplate(value, style)
+          def hrefTemplate = new HrefTemplate(value, style, expressionEngine)
         then:
           hrefTemplate.value == value
           hrefTemplate.style == style
@@ -43,8 +50,8 @@ class HrefTemplateTest extends Specification {
     def "test resolve with absolute uri value"() {
         given:
           def value = 'http://localhost:8080/api'
-          def mockLinkContext = Mock(LinkContext)
-          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, expressionEngine)
         when:
           def href = hrefTemplate.resolve(mockLinkContext)
         then:
@@ -54,12 +61,12 @@ class HrefTemplateTest extends Specification {
     def "test resolve with absolute uri value and embedded EL"() {
         given:
           def value = 'http://localhost:8080/api/${instance.id}'
-          def mockLinkContext = Mock(LinkContext)
-          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, expressionEngine)
         when:
           def href = hrefTemplate.resolve(mockLinkContext)
         then:
-          1 * mockLinkContext.evaluateAsString(value) >> 'http://localhost:8080/api/1'
+          1 * mockLinkContext.evaluateAsString(expressionEngine.compile(value, String)) >> 'http://localhost:8080/api/1'
         and:
           href == new Href('http://localhost:8080/api/1', false)
     }
@@ -67,12 +74,12 @@ class HrefTemplateTest extends Specification {
     def "test resolve with absolute uri template value"() {
         given:
           def value = 'http://localhost:8080/api{/id}'
-          def mockLinkContext = Mock(LinkContext)
-          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, [id: '${instance.id}'], true)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, [id: '${instance.id}'], true, expressionEngine)
         when:
           def href = hrefTemplate.resolve(mockLinkContext)
         then:
-          1 * mockLinkContext.expand(value, ['id': '${instance.id}'], true) >> 'http://localhost:8080/api/1'
+          1 * mockLinkContext.expandCompiled(UriTemplate.compile(value), ['id': expressionEngine.compile('${instance.id}', Object)], true) >> 'http://localhost:8080/api/1'
         and:
           href == new Href('http://localhost:8080/api/1', false)
     }
@@ -80,21 +87,64 @@ class HrefTemplateTest extends Specification {
     def "test resolve with absolute uri template value and no bindings"() {
         given:
           def value = 'http://localhost:8080/api{/id}'
-          def mockLinkContext = Mock(LinkContext)
-          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, expressionEngine)
         when:
           def href = hrefTemplate.resolve(mockLinkContext)
         then:
-          1 * mockLinkContext.expand(value, [:], false) >> value
+          1 * mockLinkContext.expandCompiled(UriTemplate.compile(value), [:], false) >> value
         and:
           href == new Href(value, true)
     }
 
+    def "test resolve with uri template value and embedded EL"() {
+        given:
+          def value = '/api/${instance.type}{/id}'
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
+        when:
+          def href = hrefTemplate.resolve(mockLinkContext)
+        then:
+          1 * mockLinkContext.evaluateAsString(expressionEngine.compile(value, String)) >> '/api/items{/id}'
+          1 * mockLinkContext.expandCompiled('/api/items{/id}', ['id': expressionEngine.compile('${instance.id}', Object)], true) >> '/api/items/1'
+          1 * mockLinkContext.style(Style.ABSOLUTE_PATH, '/api/items/1') >> '/api/items/1'
+        and:
+          href == new Href('/api/items/1', false)
+    }
+
+    def "test resolve with EL evaluated to absolute uri"() {
+        given:
+          def value = '${instance.base}/api'
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, expressionEngine)
+        when:
+          def href = hrefTemplate.resolve(mockLinkContext)
+        then:
+          1 * mockLinkContext.evaluateAsString(expressionEngine.compile(value, String)) >> 'http://localhost:8080/api'
+          0 * mockLinkContext.style(_, _)
+        and:
+          href == new Href('http://localhost:8080/api', false)
+    }
+
+    def "test resolve with EL evaluated to relative uri"() {
+        given:
+          def value = '${instance.base}/api'
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, expressionEngine)
+        when:
+          def href = hrefTemplate.resolve(mockLinkContext)
+        then:
+          1 * mockLinkContext.evaluateAsString(expressionEngine.compile(value, String)) >> '/base/api'
+          1 * mockLinkContext.style(Style.ABSOLUTE, '/base/api') >> 'http://localhost:8080/base/api'
+        and:
+          href == new Href('http://localhost:8080/base/api', false)
+    }
+
     def "test resolve with relative uri value"() {
         given:
           def value = '/api'
-          def mockLinkContext = Mock(LinkContext)
-          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, expressionEngine)
         when:
           def href = hrefTemplate.resolve(mockLinkContext)
         then:
@@ -103,9 +153,82 @@ class HrefTemplateTest extends Specification {
           href == new Href('http://localhost:8080/api', false)
     }
 
+    def "test resolve with HrefCache reuses href for equal binding values"() {
+        given:
+          def value = '/api{/id}'
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefCache = new HrefCache(10, null)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
+        when:
+          def href_1 = hrefTemplate.resolve(mockLinkContext, hrefCache)
+          def href_2 = hrefTemplate.resolve(mockLinkContext, hrefCache)
+        then:
+          2 * mockLinkContext.getResolutionKey(Style.ABSOLUTE_PATH) >> 'key'
+          2 * mockLinkContext.evaluate(expressionEngine.compile('${instance.id}', Object)) >> 1
+          1 * mockLinkContext.expandEvaluated(UriTemplate.compile(value), [id: 1], true) >> '/api/1'
+          1 * mockLinkContext.style(Style.ABSOLUTE_PATH, '/api/1') >> '/api/1'
+        and:
+          href_1 == new Href('/api/1', false)
+          href_2.is(href_1)
+    }
+
+    def "test resolve with HrefCache and embedded EL keyed by evaluated EL"() {
+        given:
+          def value = '/api/${instance.type}{/id}'
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefCache = new HrefCache(10, null)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
+        and:
+          mockLinkContext.getResolutionKey(Style.ABSOLUTE_PATH) >> 'key'
+          mockLinkContext.evaluate(_) >> 1
+          mockLinkContext.style(Style.ABSOLUTE_PATH, _) >> { style, href -> href }
+        when:
+          def href_1 = hrefTemplate.resolve(mockLinkContext, hrefCache)
+          def href_2 = hrefTemplate.resolve(mockLinkContext, hrefCache)
+        then:
+          2 * mockLinkContext.evaluateAsString(expressionEngine.compile(value, String)) >>> ['/api/items{/id}', '/api/orders{/id}']
+          1 * mockLinkContext.expandEvaluated(UriTemplate.compile('/api/items{/id}'), [id: 1], true) >> '/api/items/1'
+          1 * mockLinkContext.expandEvaluated(UriTemplate.compile('/api/orders{/id}'), [id: 1], true) >> '/api/orders/1'
+        and:
+          href_1 == new Href('/api/items/1', false)
+          href_2 == new Href('/api/orders/1', false)
+    }
+
+    def "test resolve with HrefCache and no resolution key"() {
+        given:
+          def value = '/api{/id}'
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def hrefCache = new HrefCache(10, null)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
+        when:
+          def href = hrefTemplate.resolve(mockLinkContext, hrefCache)
+        then:
+          1 * mockLinkContext.getResolutionKey(Style.ABSOLUTE_PATH) >> null
+          1 * mockLinkContext.expandCompiled(UriTemplate.compile(value), ['id': expressionEngine.compile('${instance.id}', Object)], true) >> '/api/1'
+          1 * mockLinkContext.style(Style.ABSOLUTE_PATH, '/api/1') >> '/api/1'
+          0 * mockLinkContext.evaluate(_)
+        and:
+          href == new Href('/api/1', false)
+    }
+
+    def "test resolve with HrefCache and LinkContext not a CompiledLinkContext"() {
+        given:
+          def value = 'http://localhost/api{/id}'
+          def mockLinkContext = Mock(LinkContext)
+          def hrefCache = new HrefCache(10, null)
+          def hrefTemplate = new HrefTemplate(value, Style.ABSOLUTE, [id: '${instance.id}'], true, expressionEngine)
+        when:
+          def href = hrefTemplate.resolve(mockLinkContext, hrefCache)
+        then:
+          1 * mockLinkContext.expand(value, [id: '${instance.id}'], true) >> 'http://localhost/api/1'
+          0 * mockLinkContext.style(_, _)
+        and:
+          href == new Href('http://localhost/api/1', false)
+    }
+
     def "test equals"() {
         when:
-          EqualsVerifier.forClass(HrefTemplate).usingGetClass().verify()
+          EqualsVerifier.forClass(HrefTemplate).usingGetClass().withIgnoredFields('bindingNames', 'bindingExpressions').verify()
         then:
           noExceptionThrown()
     }
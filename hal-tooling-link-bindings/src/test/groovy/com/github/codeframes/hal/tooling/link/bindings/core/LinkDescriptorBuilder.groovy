@@ -15,8 +15,14 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.core
 
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine
+
+import javax.el.ExpressionFactory
+
 class LinkDescriptorBuilder {
 
+    static final ELExpressionEngine EXPRESSION_ENGINE = new ELExpressionEngine(ExpressionFactory.newInstance())
+
     @SuppressWarnings("GroovyAssignabilityCheck")
     static LinkDescriptor build(args) {
         return new LinkDescriptor(
@@ -28,8 +34,9 @@ class LinkDescriptorBuilder {
                 args['profile'],
                 args['title'],
                 args['hreflang'],
-                args['condition'],
-                args['curie']
+                args['condition'] == null ? null : EXPRESSION_ENGINE.compile(args['condition'] as String, boolean),
+                args['curie'],
+                LinkDescriptorFactoryOptions.DEFAULT.withStaticLinkCacheStatistics(args['staticLinkCacheStatistics'])
         )
     }
 }
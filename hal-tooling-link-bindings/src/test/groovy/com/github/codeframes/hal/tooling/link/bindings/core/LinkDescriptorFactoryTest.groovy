@@ -17,14 +17,21 @@ package com.github.codeframes.hal.tooling.link.bindings.core
 
 import com.github.codeframes.hal.tooling.link.bindings.*
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkTemplateFactory
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexesTest
 import com.github.codeframes.hal.tooling.link.bindings.types.BindingTypeBuilders
 import spock.lang.Specification
 
+import javax.el.ExpressionFactory
+
 @SuppressWarnings("GroovyUnusedDeclaration")
 class LinkDescriptorFactoryTest extends Specification {
 
     def typeBuilders = new BindingTypeBuilders()
 
+    def expressionEngine = new ELExpressionEngine(ExpressionFactory.newInstance())
+
     LinkTemplateFactory mockHrefTemplateFactory
 
     LinkDescriptorFactory linkDescriptorFactory
@@ -56,7 +63,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'doc:rel'
-              hrefTemplate == new HrefTemplate('/api', Style.RELATIVE_PATH)
+              hrefTemplate == new HrefTemplate('/api', Style.RELATIVE_PATH, expressionEngine)
               type == 'type'
               deprecation == 'deprecation'
               name == 'name'
@@ -78,7 +85,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -100,7 +107,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/items/{item_id}', Style.ABSOLUTE_PATH)
+              hrefTemplate == new HrefTemplate('/items/{item_id}', Style.ABSOLUTE_PATH, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -122,7 +129,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${uri.id}'], true)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${uri.id}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -147,7 +154,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -172,7 +179,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -202,7 +209,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.uuid}'], true)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.uuid}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -232,7 +239,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.uuid}'], true)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.uuid}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -248,6 +255,21 @@ class LinkDescriptorFactoryTest extends Specification {
         String id
     }
 
+    def "test createLinkDescriptor with instance parameters binding option for indexed type"() {
+        given:
+          def linkDescriptorFactory = new LinkDescriptorFactory(mockHrefTemplateFactory, expressionEngine, LinkDescriptorFactoryOptions.DEFAULT.withLinkBindingsIndexes(new LinkBindingsIndexes([
+                  LinkBindingsIndexesTest.index(BeanWithIdProperty, ['id'], [], ['class', 'key'])
+          ])))
+        and:
+          def linkRel = typeBuilders.newLinkRel(value: '/api/{id}/{key}', bindingOptions: [LinkRel.BindingOption.INSTANCE_PARAMETERS])
+        when:
+          def linkDescriptor = linkDescriptorFactory.createLinkDescriptor(BeanWithIdProperty, linkRel)
+        then:
+          1 * mockHrefTemplateFactory.createLinkTemplate(_) >> '/api/{id}/{key}'
+        and:
+          linkDescriptor.hrefTemplate == new HrefTemplate('/api/{id}/{key}', Style.ABSOLUTE_PATH, [key: '${instance.key}'], true, expressionEngine)
+    }
+
     def "test createLinkDescriptor with instance parameters snake case binding option"() {
         given:
           def linkRel = typeBuilders.newLinkRel(value: '/items/{item_id}', bindingOptions: [LinkRel.BindingOption.INSTANCE_PARAMETERS_SNAKE_CASE])
@@ -258,7 +280,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/items/{item_id}', Style.ABSOLUTE_PATH, [item_id: '${instance.itemId}'], true)
+              hrefTemplate == new HrefTemplate('/items/{item_id}', Style.ABSOLUTE_PATH, [item_id: '${instance.itemId}'], true, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -280,7 +302,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -314,7 +336,7 @@ class LinkDescriptorFactoryTest extends Specification {
         and:
           with(linkDescriptor) {
               rel == 'self'
-              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], false)
+              hrefTemplate == new HrefTemplate('/api/{id}', Style.ABSOLUTE_PATH, [id: '${instance.id}'], false, expressionEngine)
               type == null
               deprecation == null
               name == null
@@ -352,7 +374,7 @@ class LinkDescriptorFactoryTest extends Specification {
           linkDescriptors == [
                   LinkDescriptorBuilder.build(
                           rel: 'self',
-                          hrefTemplate: new HrefTemplate('/api', Style.ABSOLUTE_PATH)
+                          hrefTemplate: new HrefTemplate('/api', Style.ABSOLUTE_PATH, expressionEngine)
                   )
           ]
     }
@@ -374,11 +396,11 @@ class LinkDescriptorFactoryTest extends Specification {
           linkDescriptors == [
                   LinkDescriptorBuilder.build(
                           rel: 'a',
-                          hrefTemplate: new HrefTemplate('/api/a', Style.ABSOLUTE_PATH)
+                          hrefTemplate: new HrefTemplate('/api/a', Style.ABSOLUTE_PATH, expressionEngine)
                   ),
                   LinkDescriptorBuilder.build(
                           rel: 'b',
-                          hrefTemplate: new HrefTemplate('/api/b', Style.ABSOLUTE_PATH)
+                          hrefTemplate: new HrefTemplate('/api/b', Style.ABSOLUTE_PATH, expressionEngine)
                   )
           ]
     }
@@ -410,7 +432,7 @@ class LinkDescriptorFactoryTest extends Specification {
         then:
           with(curieDescriptor) {
               name == 'doc'
-              hrefTemplate == new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH)
+              hrefTemplate == new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH, expressionEngine)
           }
     }
 
@@ -436,7 +458,7 @@ class LinkDescriptorFactoryTest extends Specification {
           def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(curieDefs)
         then:
           curieDescriptors == [
-                  new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE))
+                  new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE, expressionEngine))
           ]
     }
 
@@ -452,8 +474,8 @@ class LinkDescriptorFactoryTest extends Specification {
           def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(curieDefs)
         then:
           curieDescriptors == [
-                  new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE_PATH)),
-                  new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH))
+                  new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE_PATH, expressionEngine)),
+                  new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH, expressionEngine))
           ]
     }
 
@@ -472,7 +494,7 @@ class LinkDescriptorFactoryTest extends Specification {
           def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(BeanWithCurieDef)
         then:
           curieDescriptors.size() == 1
-          curieDescriptors.get('doc') == new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH))
+          curieDescriptors.get('doc') == new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH, expressionEngine))
     }
 
     static class BeanWithCurieDef {
@@ -485,8 +507,8 @@ class LinkDescriptorFactoryTest extends Specification {
           def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(BeanWithCurieDefs)
         then:
           curieDescriptors.size() == 2
-          curieDescriptors.get('doca') == new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE))
-          curieDescriptors.get('docb') == new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH))
+          curieDescriptors.get('doca') == new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE, expressionEngine))
+          curieDescriptors.get('docb') == new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH, expressionEngine))
     }
 
     static class BeanWithCurieDefs {
@@ -502,13 +524,43 @@ class LinkDescriptorFactoryTest extends Specification {
           def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(BeanWithInheritedCurieDefs)
         then:
           curieDescriptors.size() == 3
-          curieDescriptors.get('doc') == new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH))
-          curieDescriptors.get('doca') == new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE))
-          curieDescriptors.get('docb') == new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH))
+          curieDescriptors.get('doc') == new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH, expressionEngine))
+          curieDescriptors.get('doca') == new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE, expressionEngine))
+          curieDescriptors.get('docb') == new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH, expressionEngine))
     }
 
     static class BeanWithInheritedCurieDefs extends BeanWithCurieDefs {
         @CurieDef(name = 'doc', value = '/docs/{rel}')
         def curie
     }
+
+    def "test createCurieDescriptors for indexed type"() {
+        given:
+          def linkDescriptorFactory = new LinkDescriptorFactory(mockHrefTemplateFactory, expressionEngine, LinkDescriptorFactoryOptions.DEFAULT.withLinkBindingsIndexes(new LinkBindingsIndexes([
+                  LinkBindingsIndexesTest.index(BeanWithInheritedCurieDefs, ['curie'], bindingFieldNames, []),
+                  LinkBindingsIndexesTest.index(BeanWithCurieDefs, ['curies'], ['curies'], [])
+          ])))
+        when:
+          def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(BeanWithInheritedCurieDefs)
+        then:
+          curieDescriptors.size() == 3
+          curieDescriptors.get('doc') == new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH, expressionEngine))
+          curieDescriptors.get('doca') == new CurieDescriptor('doca', new HrefTemplate('/docs/a/{rel}', Style.ABSOLUTE, expressionEngine))
+          curieDescriptors.get('docb') == new CurieDescriptor('docb', new HrefTemplate('/docs/b/{rel}', Style.RELATIVE_PATH, expressionEngine))
+        where:
+          // an index missing a binding field is out of date, so the type is resolved through reflection
+          bindingFieldNames << [['curie'], []]
+    }
+
+    def "test createCurieDescriptors for type with out of date index"() {
+        given:
+          def linkDescriptorFactory = new LinkDescriptorFactory(mockHrefTemplateFactory, expressionEngine, LinkDescriptorFactoryOptions.DEFAULT.withLinkBindingsIndexes(new LinkBindingsIndexes([
+                  LinkBindingsIndexesTest.index(BeanWithCurieDef, ['curie'], ['removed'], [])
+          ])))
+        when:
+          def curieDescriptors = linkDescriptorFactory.createCurieDescriptors(BeanWithCurieDef)
+        then:
+          curieDescriptors.size() == 1
+          curieDescriptors.get('doc') == new CurieDescriptor('doc', new HrefTemplate('/docs/{rel}', Style.ABSOLUTE_PATH, expressionEngine))
+    }
 }
@@ -16,13 +16,15 @@
 package com.github.codeframes.hal.tooling.link.bindings.core
 
 import com.github.codeframes.hal.tooling.core.Link
-import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext
+import com.github.codeframes.hal.tooling.link.bindings.Style
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext
 import nl.jqno.equalsverifier.EqualsVerifier
 import spock.lang.Specification
 
 class LinkDescriptorTest extends Specification {
 
-    def mockLinkContext = Mock(LinkContext)
+    def mockLinkContext = Mock(CompiledLinkContext)
 
     def "test toLink"() {
         given:
@@ -69,7 +71,7 @@ class LinkDescriptorTest extends Specification {
           def link = linkDescriptor.toLink(mockLinkContext)
         then:
           1 * mockHrefTemplate.resolve(mockLinkContext) >> new Href('/api', false)
-          1 * mockLinkContext.evaluateAsBoolean('condition') >> true
+          1 * mockLinkContext.evaluateAsBoolean(LinkDescriptorBuilder.EXPRESSION_ENGINE.compile('condition', boolean)) >> true
         and:
           link == new Link.Builder()
                   .rel('rel')
@@ -86,14 +88,88 @@ class LinkDescriptorTest extends Specification {
         when:
           def link = linkDescriptor.toLink(mockLinkContext)
         then:
-          1 * mockLinkContext.evaluateAsBoolean('condition') >> false
+          1 * mockLinkContext.evaluateAsBoolean(LinkDescriptorBuilder.EXPRESSION_ENGINE.compile('condition', boolean)) >> false
+        and:
+          link == null
+    }
+
+    def "test toLink with static href resolves once per resolution key"() {
+        given:
+          def statistics = new CacheStatistics()
+          def linkDescriptor = LinkDescriptorBuilder.build(
+                  rel: 'rel',
+                  hrefTemplate: new HrefTemplate('/api', Style.ABSOLUTE, LinkDescriptorBuilder.EXPRESSION_ENGINE),
+                  staticLinkCacheStatistics: statistics
+          )
+        when:
+          def first = linkDescriptor.toLink(mockLinkContext)
+          def second = linkDescriptor.toLink(mockLinkContext)
+          def third = linkDescriptor.toLink(mockLinkContext)
+        then:
+          3 * mockLinkContext.getResolutionKey(Style.ABSOLUTE) >>> ['http://localhost:8080/', 'http://localhost:8080/', 'http://127.0.0.1:8080/']
+          1 * mockLinkContext.style(Style.ABSOLUTE, '/api') >> 'http://localhost:8080/api'
+          1 * mockLinkContext.style(Style.ABSOLUTE, '/api') >> 'http://127.0.0.1:8080/api'
+        and:
+          first == new Link('rel', 'http://localhost:8080/api')
+          second.is(first)
+          third == new Link('rel', 'http://127.0.0.1:8080/api')
+          statistics.missCount == 2
+          statistics.hitCount == 1
+    }
+
+    def "test toLink with static absolute href resolves once"() {
+        given:
+          def linkDescriptor = LinkDescriptorBuilder.build(
+                  rel: 'rel',
+                  hrefTemplate: new HrefTemplate('http://localhost:8080/api', Style.ABSOLUTE_PATH, LinkDescriptorBuilder.EXPRESSION_ENGINE)
+          )
+        when:
+          def first = linkDescriptor.toLink(mockLinkContext)
+          def second = linkDescriptor.toLink(mockLinkContext)
+        then:
+          0 * mockLinkContext.getResolutionKey(_)
+          0 * mockLinkContext.style(_, _)
+        and:
+          first == new Link('rel', 'http://localhost:8080/api')
+          second.is(first)
+    }
+
+    def "test toLink with static href and no resolution key"() {
+        given:
+          def linkDescriptor = LinkDescriptorBuilder.build(
+                  rel: 'rel',
+                  hrefTemplate: new HrefTemplate('/api', Style.ABSOLUTE_PATH, LinkDescriptorBuilder.EXPRESSION_ENGINE)
+          )
+        when:
+          def first = linkDescriptor.toLink(mockLinkContext)
+          def second = linkDescriptor.toLink(mockLinkContext)
+        then:
+          2 * mockLinkContext.getResolutionKey(Style.ABSOLUTE_PATH) >> null
+          2 * mockLinkContext.style(Style.ABSOLUTE_PATH, '/api') >> '/root/api'
+        and:
+          first == new Link('rel', '/root/api')
+          !second.is(first)
+    }
+
+    def "test toLink with static href and condition evaluated to false"() {
+        given:
+          def linkDescriptor = LinkDescriptorBuilder.build(
+                  rel: 'rel',
+                  hrefTemplate: new HrefTemplate('/api', Style.ABSOLUTE_PATH, LinkDescriptorBuilder.EXPRESSION_ENGINE),
+                  condition: 'condition'
+          )
+        when:
+          def link = linkDescriptor.toLink(mockLinkContext)
+        then:
+          1 * mockLinkContext.evaluateAsBoolean(_) >> false
+          0 * mockLinkContext.getResolutionKey(_)
         and:
           link == null
     }
 
     def "test equals"() {
         when:
-          EqualsVerifier.forClass(LinkDescriptor).usingGetClass().verify()
+          EqualsVerifier.forClass(LinkDescriptor).usingGetClass().withIgnoredFields('staticLinks', 'hrefCache').verify()
         then:
           noExceptionThrown()
     }
@@ -16,21 +16,23 @@
 package com.github.codeframes.hal.tooling.link.bindings.core
 
 import com.github.codeframes.hal.tooling.core.Curie
+import com.github.codeframes.hal.tooling.core.EmbedSelector
 import com.github.codeframes.hal.tooling.core.Link
-import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext
 import spock.lang.Specification
 
 @SuppressWarnings("GroovyAccessibility")
 class LinkProviderTest extends Specification {
 
-    LinkContext mockLinkContext
-    LinkContext mockNewLinkContext
+    CompiledLinkContext mockLinkContext
+    CompiledLinkContext mockNewLinkContext
 
     LinkProvider linkProvider
 
     def setup() {
-        mockLinkContext = Mock(LinkContext)
-        mockNewLinkContext = Mock(LinkContext)
+        mockLinkContext = Mock(CompiledLinkContext)
+        mockNewLinkContext = Mock(CompiledLinkContext)
 
         linkProvider = new LinkProvider(mockLinkContext)
     }
@@ -63,6 +65,46 @@ class LinkProviderTest extends Specification {
           }
     }
 
+    def "test newCursor"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+        when:
+          def cursor = linkProvider.newCursor()
+          def beanLinkProvider_1 = cursor.moveTo(bean_1)
+          def beanLinkProvider_2 = cursor.moveTo(bean_2)
+        then:
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+          1 * mockLinkContextCursor.moveTo(bean_1) >> mockNewLinkContext
+          1 * mockLinkContextCursor.moveTo(bean_2) >> mockNewLinkContext
+        and:
+          beanLinkProvider_1.is(beanLinkProvider_2)
+          with(beanLinkProvider_2, LinkProvider) {
+              curieDescriptors == linkProvider.curieDescriptors
+              linkContext == mockNewLinkContext
+          }
+    }
+
+    def "test newCursor with new LinkContext per bean"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+          def mockOtherLinkContext = Mock(CompiledLinkContext)
+        when:
+          def cursor = linkProvider.newCursor()
+          def beanLinkProvider_1 = cursor.moveTo(bean_1)
+          def beanLinkProvider_2 = cursor.moveTo(bean_2)
+        then:
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+          1 * mockLinkContextCursor.moveTo(bean_1) >> mockNewLinkContext
+          1 * mockLinkContextCursor.moveTo(bean_2) >> mockOtherLinkContext
+        and:
+          beanLinkProvider_1.linkContext == mockNewLinkContext
+          beanLinkProvider_2.linkContext == mockOtherLinkContext
+    }
+
     def "test getLink"() {
         given:
           def mockLinkDescriptor = Mock(LinkDescriptor)
@@ -86,6 +128,141 @@ class LinkProviderTest extends Specification {
           link == null
     }
 
+    def "test getLink with rel not accepted by RelFilter"() {
+        given:
+          def linkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withRelFilter(RelFilter.of('self')))
+          def mockLinkDescriptor = Mock(LinkDescriptor)
+        when:
+          def link = linkProvider.getLink(mockLinkDescriptor)
+        then:
+          1 * mockLinkDescriptor.getRel() >> 'next'
+          0 * mockLinkDescriptor.toLink(_)
+        and:
+          link == null
+    }
+
+    def "test forBean and newCursor retain RelFilter"() {
+        given:
+          def relFilter = RelFilter.of('self')
+          def linkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withRelFilter(relFilter))
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+        when:
+          def beanLinkProvider = linkProvider.forBean(new Object())
+          def cursorLinkProvider = linkProvider.newCursor().moveTo(new Object())
+        then:
+          1 * mockLinkContext.forBean(_) >> mockNewLinkContext
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+          1 * mockLinkContextCursor.moveTo(_) >> mockNewLinkContext
+        and:
+          beanLinkProvider.relFilter == relFilter
+          cursorLinkProvider.relFilter == relFilter
+    }
+
+    def "test visit"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def trackingLinkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withVisitOnce(true))
+        expect:
+          trackingLinkProvider.visit(bean_1)
+          trackingLinkProvider.visit(bean_2)
+          !trackingLinkProvider.visit(bean_1)
+          !trackingLinkProvider.visit(bean_2)
+          new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withVisitOnce(true)).visit(bean_1)
+    }
+
+    def "test visit once ignores leave"() {
+        given:
+          def bean = new Object()
+          def trackingLinkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withVisitOnce(true))
+        when:
+          def visited = trackingLinkProvider.visit(bean)
+          trackingLinkProvider.leave(bean)
+        then:
+          visited
+          !trackingLinkProvider.visit(bean)
+    }
+
+    def "test visit detects beans visited again while being given links"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+        when:
+          def visits = [linkProvider.visit(bean_1), linkProvider.visit(bean_2), linkProvider.visit(bean_1), linkProvider.visit(bean_2)]
+          linkProvider.leave(bean_2)
+          visits += [linkProvider.visit(bean_2), linkProvider.visit(bean_1)]
+          linkProvider.leave(bean_2)
+          linkProvider.leave(bean_1)
+          visits += linkProvider.visit(bean_1)
+        then:
+          visits == [true, true, false, false, true, false, true]
+    }
+
+    def "test visit detects beans being given links with LinkProvider obtained from forParallelChunks"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def chunkLinkProvider = linkProvider.forParallelChunks()
+        when:
+          def visits = [linkProvider.visit(bean_1), chunkLinkProvider.visit(bean_1), chunkLinkProvider.visit(bean_2)]
+          chunkLinkProvider.leave(bean_2)
+          visits += chunkLinkProvider.visit(bean_2)
+        then:
+          !chunkLinkProvider.is(linkProvider)
+          visits == [true, false, true, true]
+    }
+
+    def "test visit at a shallower depth where the depth is bounded"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def depthBoundLinkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withEmbedSelector(EmbedSelector.ALL.withMaxDepth(3)).withVisitOnce(true))
+          def depth_1 = depthBoundLinkProvider.forEmbedded('rel')
+          def depth_2 = depth_1.forEmbedded('rel')
+        expect:
+          depthBoundLinkProvider.visit(bean_1)
+          depth_2.visit(bean_2)
+          !depth_2.visit(bean_1)
+          !depth_2.visit(bean_2)
+          depth_1.visit(bean_2)
+          !depth_1.visit(bean_2)
+          !depth_2.visit(bean_2)
+    }
+
+    def "test visit is shared with LinkProvider obtained from forParallelChunks"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def trackingLinkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withVisitOnce(true))
+          def chunkLinkProvider = trackingLinkProvider.forParallelChunks()
+        expect:
+          !chunkLinkProvider.is(trackingLinkProvider)
+          chunkLinkProvider.forParallelChunks().is(chunkLinkProvider)
+          trackingLinkProvider.visit(bean_1)
+          !chunkLinkProvider.visit(bean_1)
+          chunkLinkProvider.forBean(bean_2).visit(bean_2)
+          !trackingLinkProvider.visit(bean_2)
+    }
+
+    def "test visit is shared with LinkProviders obtained from forBean, forEmbedded and newCursor"() {
+        given:
+          def bean_1 = new Object()
+          def bean_2 = new Object()
+          def bean_3 = new Object()
+          def embedSelectingLinkProvider = new LinkProvider(mockLinkContext, new CurieDescriptors(), LinkProviderOptions.DEFAULT.withEmbedSelector(EmbedSelector.of('rel')).withVisitOnce(true))
+        and:
+          mockLinkContext.forBean(_) >> mockNewLinkContext
+          mockLinkContext.newCursor() >> Mock(CompiledLinkContext.Cursor) { moveTo(_) >> mockNewLinkContext }
+        when:
+          embedSelectingLinkProvider.visit(bean_1)
+          embedSelectingLinkProvider.forBean(bean_2).visit(bean_2)
+          embedSelectingLinkProvider.forEmbedded('rel').newCursor().moveTo(bean_3).visit(bean_3)
+        then:
+          !embedSelectingLinkProvider.visit(bean_1)
+          !embedSelectingLinkProvider.visit(bean_2)
+          !embedSelectingLinkProvider.visit(bean_3)
+    }
+
     def "test getLink for link with curie when no curie is registered"() {
         given:
           def mockLinkDescriptor = Mock(LinkDescriptor)
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.core
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics
+import spock.lang.Specification
+
+class StaticLinkCacheTest extends Specification {
+
+    def statistics = new CacheStatistics()
+    def cache = new StaticLinkCache(statistics)
+
+    def "test get with no cached link"() {
+        when:
+          def link = cache.get('key')
+        then:
+          link == null
+          statistics.missCount == 1
+          statistics.hitCount == 0
+    }
+
+    def "test get with cached link"() {
+        given:
+          def link = new Link('rel', '/api')
+          cache.put('key', link)
+        when:
+          def result = cache.get('key')
+        then:
+          result.is(link)
+          statistics.missCount == 0
+          statistics.hitCount == 1
+    }
+
+    def "test put returns the link already cached for key"() {
+        given:
+          def link = new Link('rel', '/api')
+          cache.put('key', link)
+        when:
+          def result = cache.put('key', new Link('rel', '/api'))
+        then:
+          result.is(link)
+    }
+
+    def "test put beyond the maximum size evicts a link not recently used"() {
+        given:
+          (1..StaticLinkCache.MAXIMUM_SIZE).each { cache.put(it, new Link('rel', "/api/$it")) }
+          (2..StaticLinkCache.MAXIMUM_SIZE).each { cache.get(it) }
+          def link = new Link('rel', '/api')
+        when:
+          def result = cache.put('key', link)
+        then:
+          result.is(link)
+          cache.get('key').is(link)
+          cache.get(1) == null
+          (2..StaticLinkCache.MAXIMUM_SIZE).every { cache.get(it) == new Link('rel', "/api/$it") }
+    }
+
+    def "test put keeps caching links for new keys once full"() {
+        given:
+          (1..StaticLinkCache.MAXIMUM_SIZE * 4).each { cache.put(it, new Link('rel', "/api/$it")) }
+        expect:
+          cache.get(StaticLinkCache.MAXIMUM_SIZE * 4) == new Link('rel', "/api/${StaticLinkCache.MAXIMUM_SIZE * 4}")
+          (1..StaticLinkCache.MAXIMUM_SIZE * 4).count { cache.get(it) != null } == StaticLinkCache.MAXIMUM_SIZE
+    }
+
+    def "test get without statistics"() {
+        given:
+          def cache = new StaticLinkCache(null)
+          def link = new Link('rel', '/api')
+          cache.put('key', link)
+        expect:
+          cache.get('key').is(link)
+    }
+}
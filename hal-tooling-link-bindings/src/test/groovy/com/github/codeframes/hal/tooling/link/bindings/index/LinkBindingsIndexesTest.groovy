@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.index
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.LinkRel
+import spock.lang.Specification
+
+import java.lang.reflect.Field
+
+@SuppressWarnings("GroovyUnusedDeclaration")
+class LinkBindingsIndexesTest extends Specification {
+
+    static LinkBindingsIndex index(Class type, List<String> fieldNames, List<String> bindingFieldNames, List<String> propertyNames) {
+        return { LinkBindingsIndex.TypeRegistry registry ->
+            registry.register(type.name, fieldNames as String[], bindingFieldNames as String[], propertyNames as String[])
+        } as LinkBindingsIndex
+    }
+
+    def "test get for type not indexed"() {
+        expect:
+          LinkBindingsIndexes.empty().get(Bean) == null
+          new LinkBindingsIndexes([index(Bean, [], [], [])]).get(OtherBean) == null
+    }
+
+    def "test get for indexed type"() {
+        given:
+          def linkBindingsIndexes = new LinkBindingsIndexes([index(Bean, ['link', 'name'], ['link'], ['class', 'name'])])
+        when:
+          def indexedType = linkBindingsIndexes.get(Bean)
+        then:
+          indexedType.fieldNames == ['link', 'name'] as Set
+          indexedType.bindingFieldNames == ['link']
+          indexedType.propertyNames == ['class', 'name'] as Set
+          indexedType.getBindingFields(Bean) == [Bean.getDeclaredField('link')] as Field[]
+    }
+
+    def "test get combines all indexes"() {
+        given:
+          def linkBindingsIndexes = new LinkBindingsIndexes([index(Bean, [], [], []), index(OtherBean, [], [], [])])
+        expect:
+          linkBindingsIndexes.get(Bean) != null
+          linkBindingsIndexes.get(OtherBean) != null
+    }
+
+    def "test getBindingFields for out of date index"() {
+        given:
+          def linkBindingsIndexes = new LinkBindingsIndexes([index(Bean, fieldNames, bindingFieldNames, [])])
+        expect:
+          linkBindingsIndexes.get(Bean).getBindingFields(Bean) == null
+        where:
+          fieldNames                | bindingFieldNames
+          ['link', 'name']          | ['links']
+          ['link', 'name']          | []
+          ['link', 'name']          | ['link', 'name']
+          ['link']                  | ['link']
+          ['link', 'name', 'other'] | ['link']
+    }
+
+    def "test getBindingFields ignores synthetic and static fields not binding links"() {
+        given:
+          def linkBindingsIndexes = new LinkBindingsIndexes([index(BeanWithStaticField, ['link'], ['link'], [])])
+        expect:
+          linkBindingsIndexes.get(BeanWithStaticField).getBindingFields(BeanWithStaticField) ==
+                  [BeanWithStaticField.getDeclaredField('link')] as Field[]
+    }
+
+    def "test load with no indexes available"() {
+        expect:
+          LinkBindingsIndexes.load(new URLClassLoader(new URL[0], getClass().classLoader)).is(LinkBindingsIndexes.empty())
+    }
+
+    static class Bean {
+        @LinkRel('/api/')
+        Link link
+        String name
+    }
+
+    static class BeanWithStaticField {
+        static String NAME = 'name'
+        @LinkRel('/api/')
+        Link link
+    }
+
+    static class OtherBean {
+    }
+}
@@ -26,7 +26,7 @@ class EmbeddableFieldLinkSetterTest extends Specification {
     LinkSetterFactory mockLinkSetterFactory
     FieldAccessor mockFieldAccessor
     LinkProvider mockLinkProvider
-    LinkSetter mockLinkSetter
+    ElementLinkSetter mockLinkSetter
     CurieDescriptors mockCurieDescriptors
 
     EmbeddableFieldLinkSetter embeddableFieldLinkSetter
@@ -35,7 +35,9 @@ class EmbeddableFieldLinkSetterTest extends Specification {
         mockLinkSetterFactory = Mock(LinkSetterFactory)
         mockFieldAccessor = Mock(FieldAccessor)
         mockLinkProvider = Mock(LinkProvider)
-        mockLinkSetter = Mock(LinkSetter)
+        mockLinkProvider.forEmbedded(_) >> mockLinkProvider
+        mockLinkProvider.visit(_) >> true
+        mockLinkSetter = Mock(ElementLinkSetter)
         mockCurieDescriptors = Mock(CurieDescriptors)
 
         embeddableFieldLinkSetter = new EmbeddableFieldLinkSetter(mockLinkSetterFactory, mockFieldAccessor, mockCurieDescriptors)
@@ -65,6 +67,36 @@ class EmbeddableFieldLinkSetterTest extends Specification {
           1 * mockLinkSetterFactory.getElementBeanLinkSetter(AnEmbeddable, mockCurieDescriptors) >> mockLinkSetter
         and:
           1 * mockLinkSetter.setLinks(embeddable, mockLinkProvider)
+        and:
+          1 * mockLinkProvider.leave(embeddable)
+    }
+
+    def "test setLinks with Embeddable not selected"() {
+        given:
+          def instance = new Object()
+          def embeddable = new AnEmbeddable()
+        when:
+          embeddableFieldLinkSetter.setLinks(instance, mockLinkProvider)
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embeddable
+          1 * mockLinkProvider.forEmbedded(null) >> null
+        and:
+          0 * mockLinkSetterFactory.getElementBeanLinkSetter(_ as Class, mockCurieDescriptors)
+    }
+
+    def "test setLinks with Embeddable already visited"() {
+        given:
+          def instance = new Object()
+          def embeddable = new AnEmbeddable()
+        when:
+          embeddableFieldLinkSetter.setLinks(instance, mockLinkProvider)
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embeddable
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(AnEmbeddable, mockCurieDescriptors) >> mockLinkSetter
+          1 * mockLinkProvider.visit(embeddable) >> false
+        and:
+          0 * mockLinkSetter.setLinks(_, _)
+          0 * mockLinkProvider.leave(_)
     }
 
     static class AnEmbeddable implements Embeddable {
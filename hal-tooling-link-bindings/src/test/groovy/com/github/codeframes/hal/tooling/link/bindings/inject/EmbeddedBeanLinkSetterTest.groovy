@@ -53,4 +53,16 @@ class EmbeddedBeanLinkSetterTest extends Specification {
         and:
           2 * mockLinkSetter.setLinks(instance, mockBeanLinkProvider)
     }
+
+    def "test setElementLinks"() {
+        given:
+          def instance = new Object()
+          EmbeddedBeanLinkSetter embeddedBeanLinkSetter = new EmbeddedBeanLinkSetter([mockLinkSetter, mockLinkSetter])
+        when:
+          embeddedBeanLinkSetter.setElementLinks(instance, mockBeanLinkProvider)
+        then:
+          0 * mockBeanLinkProvider.forBean(_)
+        and:
+          2 * mockLinkSetter.setLinks(instance, mockBeanLinkProvider)
+    }
 }
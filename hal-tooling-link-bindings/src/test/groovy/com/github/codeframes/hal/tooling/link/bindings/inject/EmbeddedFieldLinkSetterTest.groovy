@@ -15,18 +15,22 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.inject
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector
 import com.github.codeframes.hal.tooling.core.Embedded
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext
 import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors
 import com.github.codeframes.hal.tooling.link.bindings.core.FieldAccessor
 import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProviderOptions
 import spock.lang.Specification
 
+@SuppressWarnings("GroovyAccessibility")
 class EmbeddedFieldLinkSetterTest extends Specification {
 
     LinkSetterFactory mockLinkSetterFactory
     FieldAccessor mockFieldAccessor
     LinkProvider mockLinkProvider
-    LinkSetter mockLinkSetter
+    ElementLinkSetter mockLinkSetter
     CurieDescriptors mockCurieDescriptors
 
     EmbeddedFieldLinkSetter embeddedFieldLinkSetter
@@ -35,7 +39,9 @@ class EmbeddedFieldLinkSetterTest extends Specification {
         mockLinkSetterFactory = Mock(LinkSetterFactory)
         mockFieldAccessor = Mock(FieldAccessor)
         mockLinkProvider = Mock(LinkProvider)
-        mockLinkSetter = Mock(LinkSetter)
+        mockLinkProvider.forEmbedded(_) >> mockLinkProvider
+        mockLinkProvider.visit(_) >> true
+        mockLinkSetter = Mock(ElementLinkSetter)
         mockCurieDescriptors = Mock(CurieDescriptors)
 
         embeddedFieldLinkSetter = new EmbeddedFieldLinkSetter(mockLinkSetterFactory, mockFieldAccessor, mockCurieDescriptors)
@@ -65,6 +71,53 @@ class EmbeddedFieldLinkSetterTest extends Specification {
           1 * mockLinkSetterFactory.getElementBeanLinkSetter(resource.getClass(), mockCurieDescriptors) >> mockLinkSetter
         and:
           1 * mockLinkSetter.setLinks(resource, mockLinkProvider)
+        and:
+          1 * mockLinkProvider.leave(resource)
+    }
+
+    def "test setLinks with embedded resource already visited"() {
+        given:
+          def instance = new Object()
+          def resource = new Object()
+          def embedded = new Embedded('rel', resource)
+        when:
+          embeddedFieldLinkSetter.setLinks(instance, mockLinkProvider)
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embedded
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(Object, mockCurieDescriptors) >> mockLinkSetter
+          1 * mockLinkProvider.visit(resource) >> false
+        and:
+          0 * mockLinkSetter.setLinks(_, _)
+          0 * mockLinkProvider.leave(_)
+    }
+
+    def "test setLinks with embedded resource not selected"() {
+        given:
+          def instance = new Object()
+          def embedded = new Embedded('rel', [new Object()])
+          def linkProvider = new LinkProvider(Mock(CompiledLinkContext), mockCurieDescriptors, LinkProviderOptions.DEFAULT.withEmbedSelector(EmbedSelector.of('other')))
+        when:
+          embeddedFieldLinkSetter.setLinks(instance, linkProvider)
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embedded
+        and:
+          0 * mockLinkSetterFactory.getElementBeanLinkSetter(_, mockCurieDescriptors)
+    }
+
+    def "test setLinks with embedded resource beyond max depth"() {
+        given:
+          def instance = new Object()
+          def resource = new Object()
+          def embedded = new Embedded('rel', resource)
+          def linkProvider = new LinkProvider(Mock(CompiledLinkContext), mockCurieDescriptors, LinkProviderOptions.DEFAULT.withEmbedSelector(EmbedSelector.ALL.withMaxDepth(1)))
+        when:
+          embeddedFieldLinkSetter.setLinks(instance, linkProvider)
+          embeddedFieldLinkSetter.setLinks(resource, linkProvider.forEmbedded('rel'))
+        then:
+          2 * mockFieldAccessor.getValue(_) >> embedded
+        and:
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(Object, mockCurieDescriptors) >> mockLinkSetter
+          1 * mockLinkSetter.setLinks(resource, _)
     }
 
     def "test setLinks with embedded List of resource"() {
@@ -72,14 +125,21 @@ class EmbeddedFieldLinkSetterTest extends Specification {
           def instance = new Object()
           def resource = new Object()
           def embedded = new Embedded('rel', [resource])
+        and:
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+          def mockResourceLinkContext = Mock(CompiledLinkContext)
         when:
-          embeddedFieldLinkSetter.setLinks(instance, mockLinkProvider)
+          embeddedFieldLinkSetter.setLinks(instance, new LinkProvider(mockLinkContext, mockCurieDescriptors))
         then:
           1 * mockFieldAccessor.getValue(instance) >> embedded
         and:
           1 * mockLinkSetterFactory.getElementBeanLinkSetter(resource.getClass(), mockCurieDescriptors) >> mockLinkSetter
         and:
-          1 * mockLinkSetter.setLinks(resource, mockLinkProvider)
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+          1 * mockLinkContextCursor.moveTo(resource) >> mockResourceLinkContext
+        and:
+          1 * mockLinkSetter.setElementLinks(resource, { it.linkContext == mockResourceLinkContext && it.curieDescriptors == mockCurieDescriptors })
     }
 
     def "test setLinks with embedded List of resources"() {
@@ -88,15 +148,98 @@ class EmbeddedFieldLinkSetterTest extends Specification {
           def resource_1 = new Object()
           def resource_2 = new Object()
           def embedded = new Embedded('rel', [resource_1, resource_2])
+        and:
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+          def mockResourceLinkContext = Mock(CompiledLinkContext)
+        when:
+          embeddedFieldLinkSetter.setLinks(instance, new LinkProvider(mockLinkContext, mockCurieDescriptors))
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embedded
+        and:
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(Object, mockCurieDescriptors) >> mockLinkSetter
+        and:
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+          1 * mockLinkContextCursor.moveTo(resource_1) >> mockResourceLinkContext
+          1 * mockLinkContextCursor.moveTo(resource_2) >> mockResourceLinkContext
+        and:
+          1 * mockLinkSetter.setElementLinks(resource_1, { it.linkContext == mockResourceLinkContext })
+          1 * mockLinkSetter.setElementLinks(resource_2, { it.linkContext == mockResourceLinkContext })
+    }
+
+    def "test setLinks with embedded List of resources sharing an instance"() {
+        given:
+          def instance = new Object()
+          def resource_1 = new Object()
+          def resource_2 = new Object()
+          def embedded = new Embedded('rel', [resource_1, resource_2, resource_1])
+        and:
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+        when:
+          embeddedFieldLinkSetter.setLinks(instance, new LinkProvider(mockLinkContext, mockCurieDescriptors, LinkProviderOptions.DEFAULT.withVisitOnce(true)))
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embedded
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(Object, mockCurieDescriptors) >> mockLinkSetter
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+        and:
+          1 * mockLinkSetter.setElementLinks(resource_1, _)
+          1 * mockLinkSetter.setElementLinks(resource_2, _)
+    }
+
+    def "test setLinks with embedded List of resources without links"() {
+        given:
+          def instance = new Object()
+          def resource = new Object()
+          def embedded = new Embedded('rel', [resource])
         when:
           embeddedFieldLinkSetter.setLinks(instance, mockLinkProvider)
         then:
           1 * mockFieldAccessor.getValue(instance) >> embedded
         and:
-          1 * mockLinkSetterFactory.getElementBeanLinkSetter(resource_1.getClass(), mockCurieDescriptors) >> mockLinkSetter
-          1 * mockLinkSetterFactory.getElementBeanLinkSetter(resource_2.getClass(), mockCurieDescriptors) >> mockLinkSetter
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(resource.getClass(), mockCurieDescriptors) >> LinkSetterFactory.NO_OP_LINK_SETTER
+        and:
+          0 * mockLinkProvider.newCursor()
+    }
+
+    def "test setLinks with embedded List of resources of differing types"() {
+        given:
+          def instance = new Object()
+          def resource_1 = new Object()
+          def resource_2 = 'resource'
+          def resource_3 = new Object()
+          def embedded = new Embedded('rel', [resource_1, resource_2, resource_3])
+        and:
+          def mockStringLinkSetter = Mock(ElementLinkSetter)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def mockLinkContextCursor = Mock(CompiledLinkContext.Cursor)
+        when:
+          embeddedFieldLinkSetter.setLinks(instance, new LinkProvider(mockLinkContext, mockCurieDescriptors))
+        then:
+          1 * mockFieldAccessor.getValue(instance) >> embedded
+        and:
+          2 * mockLinkSetterFactory.getElementBeanLinkSetter(Object, mockCurieDescriptors) >> mockLinkSetter
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(String, mockCurieDescriptors) >> mockStringLinkSetter
+        and:
+          1 * mockLinkContext.newCursor() >> mockLinkContextCursor
+        and:
+          1 * mockLinkSetter.setElementLinks(resource_1, _)
+          1 * mockStringLinkSetter.setElementLinks(resource_2, _)
+          1 * mockLinkSetter.setElementLinks(resource_3, _)
+    }
+
+    def "test setLinks reuses link setter across instances"() {
+        given:
+          def resource = new Object()
+          def embedded = new Embedded('rel', resource)
+        when:
+          embeddedFieldLinkSetter.setLinks(new Object(), mockLinkProvider)
+          embeddedFieldLinkSetter.setLinks(new Object(), mockLinkProvider)
+        then:
+          2 * mockFieldAccessor.getValue(_) >> embedded
+        and:
+          1 * mockLinkSetterFactory.getElementBeanLinkSetter(Object, mockCurieDescriptors) >> mockLinkSetter
         and:
-          1 * mockLinkSetter.setLinks(resource_1, mockLinkProvider)
-          1 * mockLinkSetter.setLinks(resource_2, mockLinkProvider)
+          2 * mockLinkSetter.setLinks(resource, mockLinkProvider)
     }
 }
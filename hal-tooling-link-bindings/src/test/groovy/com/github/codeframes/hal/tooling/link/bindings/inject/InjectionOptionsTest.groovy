@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.EmbedSelector
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter
+import spock.lang.Specification
+
+class InjectionOptionsTest extends Specification {
+
+    def "test DEFAULT injects all"() {
+        expect:
+          InjectionOptions.DEFAULT.relFilter == RelFilter.ALL
+          InjectionOptions.DEFAULT.embedSelector == EmbedSelector.ALL
+          InjectionOptions.DEFAULT.injectsAll()
+    }
+
+    def "test withRelFilter"() {
+        given:
+          def options = InjectionOptions.DEFAULT.withRelFilter(RelFilter.of('self'))
+        expect:
+          options.relFilter == RelFilter.of('self')
+          options.embedSelector == EmbedSelector.ALL
+          !options.injectsAll()
+          options == InjectionOptions.DEFAULT.withRelFilter(RelFilter.of('self'))
+    }
+
+    def "test withEmbedSelector"() {
+        given:
+          def options = InjectionOptions.DEFAULT.withEmbedSelector(EmbedSelector.of('items'))
+        expect:
+          options.relFilter == RelFilter.ALL
+          options.embedSelector == EmbedSelector.of('items')
+          !options.injectsAll()
+          InjectionOptions.DEFAULT.withEmbedSelector(EmbedSelector.parse(null)).injectsAll()
+    }
+
+    def "test withRelFilter with null relFilter"() {
+        when:
+          InjectionOptions.DEFAULT.withRelFilter(null)
+        then:
+          thrown(NullPointerException)
+    }
+
+    def "test withEmbedSelector with null embedSelector"() {
+        when:
+          InjectionOptions.DEFAULT.withEmbedSelector(null)
+        then:
+          thrown(NullPointerException)
+    }
+}
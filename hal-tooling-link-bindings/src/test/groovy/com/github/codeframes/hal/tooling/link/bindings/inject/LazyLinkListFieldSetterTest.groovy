@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.core.FieldAccessor
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider
+import spock.lang.Specification
+
+@SuppressWarnings("GroovyAccessibility")
+class LazyLinkListFieldSetterTest extends Specification {
+
+    FieldAccessor mockFieldAccessor
+    LinkDescriptor mockLinkDescriptor
+    LinkProvider mockLinkProvider
+    LinkProvider mockInstanceLinkProvider
+
+    def setup() {
+        mockFieldAccessor = Mock(FieldAccessor)
+        mockLinkDescriptor = Mock(LinkDescriptor)
+        mockLinkProvider = Mock(LinkProvider)
+        mockInstanceLinkProvider = Mock(LinkProvider)
+    }
+
+    def "test setLinks sets a LazyLinkList without creating links"() {
+        given:
+          def instance = new Object()
+          def linkSetter = new LazyLinkListFieldSetter(mockFieldAccessor, [mockLinkDescriptor])
+        when:
+          linkSetter.setLinks(instance, mockLinkProvider)
+        then:
+          1 * mockLinkProvider.forBean(instance) >> mockInstanceLinkProvider
+          1 * mockFieldAccessor.setValue(instance, { it instanceof LazyLinkList && !it.isMaterialized() })
+          0 * mockLinkProvider.getLink(_)
+          0 * mockInstanceLinkProvider.getLink(_)
+    }
+
+    def "test setLinks creates links from the LinkProvider of the instance on access"() {
+        given:
+          def instance = new Object()
+          def link = new Link('self', '/')
+          def linkSetter = new LazyLinkListFieldSetter(mockFieldAccessor, [mockLinkDescriptor])
+          List<Link> links = null
+          mockLinkProvider.forBean(instance) >> mockInstanceLinkProvider
+          mockFieldAccessor.setValue(instance, _) >> { args -> links = args[1] as List<Link> }
+        when:
+          linkSetter.setLinks(instance, mockLinkProvider)
+          def value = links == [link]
+        then:
+          1 * mockInstanceLinkProvider.getLink(mockLinkDescriptor) >> link
+          0 * mockLinkProvider.getLink(_)
+          value
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider
+import spock.lang.Specification
+
+@SuppressWarnings("GroovyAccessibility")
+class LazyLinkListTest extends Specification {
+
+    LinkDescriptor mockLinkDescriptor_1
+    LinkDescriptor mockLinkDescriptor_2
+    LinkProvider mockLinkProvider
+
+    def link_1 = new Link('self', '/')
+    def link_2 = new Link('next', '/next')
+
+    def setup() {
+        mockLinkDescriptor_1 = Mock(LinkDescriptor)
+        mockLinkDescriptor_2 = Mock(LinkDescriptor)
+        mockLinkProvider = Mock(LinkProvider)
+    }
+
+    def "test links are not created until accessed"() {
+        when:
+          def links = new LazyLinkList(mockLinkProvider, [mockLinkDescriptor_1, mockLinkDescriptor_2])
+        then:
+          0 * mockLinkProvider.getLink(_)
+          !links.isMaterialized()
+    }
+
+    def "test links are created once on first access"() {
+        given:
+          def links = new LazyLinkList(mockLinkProvider, [mockLinkDescriptor_1, mockLinkDescriptor_2])
+        when:
+          def size = links.size()
+          def first = links.get(0)
+          def all = links.collect()
+        then:
+          1 * mockLinkProvider.getLink(mockLinkDescriptor_1) >> link_1
+          1 * mockLinkProvider.getLink(mockLinkDescriptor_2) >> link_2
+          size == 2
+          first == link_1
+          all == [link_1, link_2]
+          links.isMaterialized()
+          links.@linkProvider == null
+    }
+
+    def "test links with null Link are omitted"() {
+        given:
+          def links = new LazyLinkList(mockLinkProvider, [mockLinkDescriptor_1, mockLinkDescriptor_2])
+          mockLinkProvider.getLink(mockLinkDescriptor_1) >> null
+          mockLinkProvider.getLink(mockLinkDescriptor_2) >> link_2
+        expect:
+          links == [link_2]
+          links.hashCode() == [link_2].hashCode()
+    }
+
+    def "test links are modifiable once created"() {
+        given:
+          def links = new LazyLinkList(mockLinkProvider, [mockLinkDescriptor_1])
+          def link_3 = new Link('prev', '/prev')
+          mockLinkProvider.getLink(mockLinkDescriptor_1) >> link_1
+        when:
+          links.add(link_2)
+          links.set(0, link_3)
+          links.remove(link_2)
+        then:
+          links == [link_3]
+    }
+
+    def "test error creating links is raised on access"() {
+        given:
+          def links = new LazyLinkList(mockLinkProvider, [mockLinkDescriptor_1])
+          mockLinkProvider.getLink(mockLinkDescriptor_1) >> { throw new IllegalArgumentException('no curie') }
+        when:
+          links.size()
+        then:
+          thrown(IllegalArgumentException)
+          !links.isMaterialized()
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.core.Curie
+import com.github.codeframes.hal.tooling.core.Link
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptor
+import com.github.codeframes.hal.tooling.link.bindings.core.FieldAccessor
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkDescriptor
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider
+import spock.lang.Specification
+
+class LinkSetterCompilerTest extends Specification {
+
+    LinkProvider mockLinkProvider
+    LinkDescriptor mockSelfLinkDescriptor
+    LinkDescriptor mockNextLinkDescriptor
+    CurieDescriptor mockCurieDescriptor
+    LinkSetter mockLinkSetter
+
+    def setup() {
+        mockLinkProvider = Mock(LinkProvider)
+        mockSelfLinkDescriptor = Mock(LinkDescriptor)
+        mockNextLinkDescriptor = Mock(LinkDescriptor)
+        mockCurieDescriptor = Mock(CurieDescriptor)
+        mockLinkSetter = Mock(LinkSetter)
+    }
+
+    def "test compile"() {
+        given:
+          def bean = new Bean()
+          def self = new Link('self', '/self')
+          def curie = new Curie('doc', '/docs/{rel}')
+          def compiled = LinkSetterCompiler.compile([
+                  new LinkFieldSetter(fieldAccessor('self'), mockSelfLinkDescriptor),
+                  new LinkFieldSetter(fieldAccessor('next'), mockNextLinkDescriptor),
+                  new CurieFieldSetter(fieldAccessor('curie'), mockCurieDescriptor),
+                  mockLinkSetter
+          ])
+        when:
+          compiled.invokeWithArguments(bean, mockLinkProvider)
+        then:
+          1 * mockLinkProvider.getLink(mockSelfLinkDescriptor) >> self
+        then:
+          1 * mockLinkProvider.getLink(mockNextLinkDescriptor) >> null
+        then:
+          1 * mockLinkProvider.getCurie(mockCurieDescriptor) >> curie
+        then:
+          1 * mockLinkSetter.setLinks(bean, mockLinkProvider)
+        and:
+          bean.self.is(self)
+          bean.next == null
+          bean.curie.is(curie)
+    }
+
+    def "test compile with no link setters"() {
+        expect:
+          LinkSetterCompiler.compile([]) == null
+    }
+
+    private static FieldAccessor fieldAccessor(String name) {
+        return new FieldAccessor(Bean.getDeclaredField(name))
+    }
+
+    static class Bean {
+        private Link self
+        private Link next
+        private Curie curie
+    }
+}
@@ -21,9 +21,19 @@ import com.github.codeframes.hal.tooling.link.bindings.CurieDefs
 import com.github.codeframes.hal.tooling.link.bindings.LinkRel
 import com.github.codeframes.hal.tooling.link.bindings.LinkRels
 import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkTemplateFactory
+import com.github.codeframes.hal.tooling.link.bindings.context.ELExpressionEngine
 import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexesTest
 import spock.lang.Specification
 
+import javax.el.ExpressionFactory
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
 @SuppressWarnings(["GroovyAccessibility", "GroovyUnusedDeclaration"])
 class LinkSetterFactoryTest extends Specification {
 
@@ -163,6 +173,28 @@ class LinkSetterFactoryTest extends Specification {
           }
     }
 
+    def "test getBeanLinkSetter for bean with Link field type and compiled link setters"() {
+        given:
+          def compilingLinkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(LinkBindingsIndexes.empty()).compileLinkSetters(true),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = compilingLinkSetterFactory.getBeanLinkSetter(BeanWithLinkFieldType)
+        then:
+          beanLinkSetter instanceof CompiledBeanLinkSetter
+    }
+
+    def "test getElementBeanLinkSetter for bean with Link field type and compiled link setters"() {
+        given:
+          def compilingLinkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(LinkBindingsIndexes.empty()).compileLinkSetters(true),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = compilingLinkSetterFactory.getElementBeanLinkSetter(BeanWithLinkFieldType, new CurieDescriptors())
+        then:
+          beanLinkSetter instanceof CompiledEmbeddedBeanLinkSetter
+    }
+
     static class BeanWithLinkFieldType implements HalRepresentable {
         @LinkRel('/api/')
         Link link
@@ -237,6 +269,20 @@ class LinkSetterFactoryTest extends Specification {
           }
     }
 
+    def "test getBeanLinkSetter for bean with List of Link field type and lazy links"() {
+        given:
+          def lazyLinkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(LinkBindingsIndexes.empty()).lazyLinks(true),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = lazyLinkSetterFactory.getBeanLinkSetter(BeanWithListOfLinkFieldType)
+        then:
+          with(beanLinkSetter, RootBeanLinkSetter) {
+              linkSetters.size() == 1
+              linkSetters.find { it instanceof LazyLinkListFieldSetter }
+          }
+    }
+
     static class BeanWithListOfLinkFieldType implements HalRepresentable {
         @LinkRels([
                 @LinkRel(rel = 'a', value = '/api/a'),
@@ -483,4 +529,146 @@ class LinkSetterFactoryTest extends Specification {
 
         static Embedded embedded
     }
+
+    def "test getBeanLinkSetter for indexed type"() {
+        given:
+          def linkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(new LinkBindingsIndexes([
+                          LinkBindingsIndexesTest.index(BeanWithAllHalFieldTypes,
+                                  ['curie_a', 'curies', 'link_1', 'links', 'embeddable', 'embedded'],
+                                  ['curie_a', 'curies', 'link_1', 'links', 'embeddable', 'embedded'],
+                                  [])
+                  ])),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = linkSetterFactory.getBeanLinkSetter(BeanWithAllHalFieldTypes)
+        then:
+          with(beanLinkSetter, RootBeanLinkSetter) {
+              curieDescriptors.size() == 3
+              linkSetters.size() == 6
+              linkSetters.find { it instanceof LinkFieldSetter }
+              linkSetters.find { it instanceof EmbeddedFieldLinkSetter }
+          }
+    }
+
+    def "test getBeanLinkSetter for type with index missing binding fields"() {
+        given:
+          def linkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(new LinkBindingsIndexes([
+                          LinkBindingsIndexesTest.index(BeanWithAllHalFieldTypes,
+                                  ['curie_a', 'curies', 'link_1', 'links', 'embeddable', 'embedded'],
+                                  ['link_1', 'embedded'],
+                                  [])
+                  ])),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = linkSetterFactory.getBeanLinkSetter(BeanWithAllHalFieldTypes)
+        then:
+          with(beanLinkSetter, RootBeanLinkSetter) {
+              curieDescriptors.size() == 3
+              linkSetters.size() == 6
+          }
+    }
+
+    def "test getBeanLinkSetter for indexed type hiding field of super type"() {
+        given:
+          def linkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(new LinkBindingsIndexes([
+                          LinkBindingsIndexesTest.index(BeanHidingLinkFieldType, ['link'], [], [])
+                  ])),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = linkSetterFactory.getBeanLinkSetter(BeanHidingLinkFieldType)
+        then:
+          beanLinkSetter == LinkSetterFactory.NO_OP_BEAN_LINK_SETTER
+    }
+
+    static class BeanHidingLinkFieldType extends BeanWithLinkFieldType {
+        Link link
+    }
+
+    def "test getBeanLinkSetter for type with out of date index"() {
+        given:
+          def linkSetterFactory = LinkSetterFactory.newInstance(
+                  LinkInjector.instanceBuilder().linkBindingsIndexes(new LinkBindingsIndexes([
+                          LinkBindingsIndexesTest.index(BeanWithLinkFieldType, ['link'], ['removed'], [])
+                  ])),
+                  new ELExpressionEngine(ExpressionFactory.newInstance()))
+        when:
+          def beanLinkSetter = linkSetterFactory.getBeanLinkSetter(BeanWithLinkFieldType)
+        then:
+          with(beanLinkSetter, RootBeanLinkSetter) {
+              linkSetters.size() == 1
+              linkSetters.find { it instanceof LinkFieldSetter }
+          }
+    }
+
+    def "test getBeanLinkSetter returns the same setter on repeated calls"() {
+        expect:
+          linkSetterFactory.getBeanLinkSetter(BeanWithLinkFieldType).is(linkSetterFactory.getBeanLinkSetter(BeanWithLinkFieldType))
+    }
+
+    def "test getElementBeanLinkSetter returns the same setter on repeated calls"() {
+        given:
+          def curieDescriptors = new CurieDescriptors()
+        expect:
+          linkSetterFactory.getElementBeanLinkSetter(BeanWithLinkFieldType, curieDescriptors)
+                  .is(linkSetterFactory.getElementBeanLinkSetter(BeanWithLinkFieldType, curieDescriptors))
+    }
+
+    def "test SetterCache creates once for concurrent first requests"() {
+        given:
+          def creations = new AtomicInteger()
+          def creating = new CountDownLatch(1)
+          def cache = new LinkSetterFactory.SetterCache<String, Object>() {
+              @Override
+              Object create(String key) {
+                  creations.incrementAndGet()
+                  creating.await()
+                  return new Object()
+              }
+          }
+          def executor = Executors.newFixedThreadPool(8)
+        when:
+          def futures = (1..8).collect { executor.submit({ cache.get('key') } as Callable) }
+          Thread.sleep(100)
+          creating.countDown()
+          def setters = futures.collect { it.get(5, TimeUnit.SECONDS) }
+        then:
+          creations.get() == 1
+          setters.every { it.is(setters[0]) }
+        cleanup:
+          executor.shutdownNow()
+    }
+
+    def "test SetterCache does not cache failed creations"() {
+        given:
+          def creations = new AtomicInteger()
+          def cache = new LinkSetterFactory.SetterCache<String, Object>() {
+              @Override
+              Object create(String key) {
+                  if (creations.incrementAndGet() == 1) {
+                      throw new IllegalArgumentException('invalid')
+                  }
+                  return key
+              }
+          }
+        when:
+          cache.get('key')
+        then:
+          thrown(IllegalArgumentException)
+        when:
+          def setter = cache.get('key')
+        then:
+          setter == 'key'
+          creations.get() == 2
+    }
+
+    def "test getBeanLinkSetter shares equal CurieDescriptors between types"() {
+        when:
+          def beanLinkSetter_1 = linkSetterFactory.getBeanLinkSetter(BeanWithLinkFieldType)
+          def beanLinkSetter_2 = linkSetterFactory.getBeanLinkSetter(BeanWithListOfLinkFieldType)
+        then:
+          beanLinkSetter_1.curieDescriptors.is(beanLinkSetter_2.curieDescriptors)
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.inject
+
+import com.github.codeframes.hal.tooling.link.bindings.context.CompiledLinkContext
+import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider
+import com.github.codeframes.hal.tooling.link.bindings.core.LinkProviderOptions
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ForkJoinPool
+
+@SuppressWarnings("GroovyAccessibility")
+class ParallelInjectionTest extends Specification {
+
+    def pool = new ForkJoinPool(4)
+
+    def cleanup() {
+        pool.shutdown()
+    }
+
+    def "test isParallel"() {
+        given:
+          def parallelInjection = new ParallelInjection(pool, 2)
+        expect:
+          !parallelInjection.isParallel([1, 2])
+          parallelInjection.isParallel([1, 2, 3])
+          !parallelInjection.isParallel(new LinkedList([1, 2, 3]))
+    }
+
+    def "test setElementLinks sets the links of every element, each chunk on its own cursor"() {
+        given:
+          def parallelInjection = new ParallelInjection(pool, 10)
+          def list = (1..100).collect { new Object() }
+        and:
+          def mockLinkSetterFactory = Mock(LinkSetterFactory)
+          def mockLinkSetter = Mock(ElementLinkSetter)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def curieDescriptors = new CurieDescriptors()
+          def elements = new ConcurrentHashMap()
+        when:
+          parallelInjection.setElementLinks(list, new LinkProvider(mockLinkContext, curieDescriptors),
+                  new ElementLinkSetterCache(mockLinkSetterFactory, curieDescriptors))
+        then:
+          (1.._) * mockLinkSetterFactory.getElementBeanLinkSetter(Object, curieDescriptors) >> mockLinkSetter
+          16 * mockLinkContext.newCursor() >> { Mock(CompiledLinkContext.Cursor) }
+          100 * mockLinkSetter.setElementLinks(_, _) >> { element, linkProvider -> elements.put(element, element) }
+        and:
+          elements.keySet() == list as Set
+    }
+
+    def "test setElementLinks sets the links of an element shared across chunks once, where visits are tracked"() {
+        given:
+          def parallelInjection = new ParallelInjection(pool, 10)
+          def shared = new Object()
+          def list = (1..100).collect { it % 10 == 0 ? shared : new Object() }
+        and:
+          def mockLinkSetterFactory = Mock(LinkSetterFactory)
+          def mockLinkSetter = Mock(ElementLinkSetter)
+          def mockLinkContext = Mock(CompiledLinkContext)
+          def curieDescriptors = new CurieDescriptors()
+          def linkProvider = new LinkProvider(mockLinkContext, curieDescriptors, LinkProviderOptions.DEFAULT.withVisitOnce(true))
+        when:
+          parallelInjection.setElementLinks(list, linkProvider, new ElementLinkSetterCache(mockLinkSetterFactory, curieDescriptors))
+        then:
+          (1.._) * mockLinkSetterFactory.getElementBeanLinkSetter(Object, curieDescriptors) >> mockLinkSetter
+          (1.._) * mockLinkContext.newCursor() >> { Mock(CompiledLinkContext.Cursor) }
+          1 * mockLinkSetter.setElementLinks(shared, _)
+          90 * mockLinkSetter.setElementLinks({ !it.is(shared) }, _)
+        and:
+          !linkProvider.visit(shared)
+    }
+}
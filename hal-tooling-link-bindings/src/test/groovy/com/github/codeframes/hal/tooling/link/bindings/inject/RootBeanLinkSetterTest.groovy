@@ -15,6 +15,8 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.inject
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext
 import com.github.codeframes.hal.tooling.link.bindings.core.CurieDescriptors
 import com.github.codeframes.hal.tooling.link.bindings.core.LinkProvider
@@ -46,4 +48,15 @@ class RootBeanLinkSetterTest extends Specification {
         and:
           1 * mockLinkSetter.setLinks(entity, _ as LinkProvider)
     }
+
+    def "test setBeanLinks"() {
+        given:
+          def entity = new Object()
+        when:
+          rootBeanLinkSetter.setBeanLinks(entity, mockLinkContext, RelFilter.ALL, EmbedSelector.ALL)
+        then:
+          0 * mockLinkContext.forBean(_)
+        and:
+          1 * mockLinkSetter.setLinks(entity, _ as LinkProvider)
+    }
 }
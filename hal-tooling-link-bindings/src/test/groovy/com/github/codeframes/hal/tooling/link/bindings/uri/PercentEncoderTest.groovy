@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+class PercentEncoderTest extends Specification {
+
+    @Unroll
+    def "test encode '#text' allowing unreserved characters"() {
+        given:
+          def sb = new StringBuilder('>')
+        when:
+          PercentEncoder.UNRESERVED.encode(sb, text)
+        then:
+          sb.toString() == '>' + encoded
+        where:
+          text                  | encoded
+          ''                    | ''
+          'AZaz09-._~'          | 'AZaz09-._~'
+          'Hello World!'        | 'Hello%20World%21'
+          '50%'                 | '50%25'
+          '%7e'                 | '%257e'
+          ':/?#[]@!$&\'()*+,;=' | '%3A%2F%3F%23%5B%5D%40%21%24%26%27%28%29%2A%2B%2C%3B%3D'
+          'caf\u00e9'           | 'caf%C3%A9'
+          '\u20ac'              | '%E2%82%AC'
+          '\ud83d\ude00'        | '%F0%9F%98%80'
+          'a\ud83db'            | 'a%3Fb'
+          'a\ude00'             | 'a%3F'
+    }
+
+    @Unroll
+    def "test encode '#text' compatible with earlier versions"() {
+        given:
+          def sb = new StringBuilder()
+        when:
+          PercentEncoder.COMPATIBLE.encode(sb, text)
+        then:
+          sb.toString() == encoded
+        where:
+          text                  | encoded
+          'AZaz09-._~'          | 'AZaz09-._%7E'
+          '00:00:00.000Z'       | '00:00:00.000Z'
+          'me@example.com'      | 'me@example.com'
+          ':/?[]@!$&\'()*+,;='  | '%3A%2F%3F%5B%5D%40%21%24%26%27%28%29*%2B%2C%3B%3D'
+          ':/?@!$&\'()*+,;='    | ':/?@!$&\'()*+,;='
+          'Hello World!'        | 'Hello+World%21'
+          '50%'                 | '50%25'
+          'caf\u00e9'           | 'caf%C3%A9'
+    }
+
+    def "test compatible encode matches URLEncoder encoding of values requiring encoding"() {
+        given:
+          def random = new Random(1738)
+        expect:
+          1000.times {
+              def text = new String((0..<random.nextInt(16)).collect { (char) random.nextInt(0xFFFF) } as char[])
+              def sb = new StringBuilder()
+              PercentEncoder.COMPATIBLE.encode(sb, 'a b' + text)
+              assert sb.toString() == URLEncoder.encode('a b' + text, 'UTF-8')
+          }
+    }
+
+    @Unroll
+    def "test encode '#text' allowing unreserved and reserved characters"() {
+        given:
+          def sb = new StringBuilder()
+        when:
+          PercentEncoder.UNRESERVED_AND_RESERVED.encode(sb, text)
+        then:
+          sb.toString() == encoded
+        where:
+          text                  | encoded
+          'Hello World!'        | 'Hello%20World!'
+          ':/?#[]@!$&\'()*+,;=' | ':/?#[]@!$&\'()*+,;='
+          '50%'                 | '50%25'
+          '%7e%7E'              | '%7e%7E'
+          '%7g%'                | '%257g%25'
+          '{x}'                 | '%7Bx%7D'
+          'caf\u00e9'           | 'caf%C3%A9'
+    }
+
+    def "test encode matches UTF-8 encoding of all characters"() {
+        given:
+          def random = new Random(6570)
+        expect:
+          1000.times {
+              def text = new String((0..<random.nextInt(16)).collect { (char) random.nextInt(0xFFFF) } as char[])
+              def sb = new StringBuilder()
+              PercentEncoder.UNRESERVED.encode(sb, text)
+              assert sb.toString() == reference(text)
+          }
+    }
+
+    private static String reference(String text) {
+        text.getBytes(StandardCharsets.UTF_8).collect { byte b ->
+            def c = (char) (b & 0xFF)
+            (c ==~ /[A-Za-z0-9\-._~]/) ? c.toString() : String.format('%%%02X', b & 0xFF)
+        }.join('')
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri
+
+import groovy.json.JsonSlurper
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Runs the <a href="https://github.com/uri-templates/uritemplate-test">uritemplate-test</a> suites, vendored under
+ * {@code src/test/resources/uritemplate-test}, against strict expansion.
+ */
+class UriTemplateExpanderConformanceTest extends Specification {
+
+    @Shared
+    UriTemplateExpander templateExpander = new UriTemplateExpander([], true)
+
+    @Unroll
+    def "test #suite '#group' expansion of '#template'"() {
+        when:
+          def expansion = templateExpander.expand(template, variables, true)
+        then:
+          expected instanceof List ? expansion in expected : expansion == expected
+        where:
+          [suite, group, template, variables, expected] << testCases(
+                  'spec-examples.json', 'spec-examples-by-section.json', 'extended-tests.json')
+    }
+
+    @Unroll
+    def "test #suite '#group' does not expand invalid '#template'"() {
+        when:
+          def expansion = templateExpander.expand(template, variables, true)
+        then:
+          // Invalid expressions are retained as literal text rather than failing expansion
+          expansion.contains('{') || expansion.contains('}')
+        where:
+          [suite, group, template, variables, expected] << testCases('negative-tests.json').findAll {
+              !(it[2] in ['{keys:1}', '{+keys:1}'])
+          }
+    }
+
+    @Unroll
+    def "test #suite '#group' fails expansion of '#template'"() {
+        when:
+          templateExpander.expand(template, variables, true)
+        then:
+          thrown(IllegalArgumentException)
+        where:
+          [suite, group, template, variables, expected] << testCases('negative-tests.json').findAll {
+              it[2] in ['{keys:1}', '{+keys:1}']
+          }
+    }
+
+    private static List<List> testCases(String... suites) {
+        suites.collectMany { suite ->
+            def groups = UriTemplateExpanderConformanceTest.getResourceAsStream("/uritemplate-test/$suite").withReader('UTF-8') {
+                new JsonSlurper().parse(it) as Map<String, Map>
+            }
+            groups.collectMany { group, tests ->
+                tests.testcases.collect { testCase -> [suite, group, testCase[0], tests.variables, testCase[1]] }
+            }
+        }
+    }
+}
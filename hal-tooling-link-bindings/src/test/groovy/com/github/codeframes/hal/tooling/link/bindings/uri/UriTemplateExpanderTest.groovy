@@ -243,4 +243,148 @@ class UriTemplateExpanderTest extends Specification {
           '{&x,y,empty}'   | [x: 1024]            | '&x=1024'
           '{&x,y,empty}'   | [empty: '']          | '&empty='
     }
+
+    def "test compiled template expansion"() {
+        given:
+          def uriTemplate = UriTemplate.compile('/items{/id}{?x,y}')
+        expect:
+          templateExpander.expand(uriTemplate, [id: 1, x: 1024], false) == '/items/1?x=1024{&y}'
+          templateExpander.expand(uriTemplate, [id: 1, x: 1024], true) == '/items/1?x=1024'
+          templateExpander.expand(uriTemplate, [id: 2, y: 'Hello World!'], true) == '/items/2?y=Hello+World%21'
+          templateExpander.expand(uriTemplate, [:], false) == '/items{/id}{?x,y}'
+    }
+
+    def "test expansion with modifiers retains unexpanded variable specifications"() {
+        when:
+          def result = templateExpander.expand(template, values, false)
+        then:
+          result == expansion
+        where:
+          template             | values                           | expansion
+          '/items{?ids*,q:3}'  | [:]                              | '/items{?ids*,q:3}'
+          '/items{?ids*,q:3}'  | [ids: []]                        | '/items{?ids*,q:3}'
+          '/items{?ids*,q:3}'  | [ids: [1, 2]]                    | '/items?ids=1&ids=2{&q:3}'
+          '/items{?ids*,q:3}'  | [q: 'query']                     | '/items?q=que{&ids*}'
+          '/items{/path*}{?q}' | [path: ['a b', 'c'] as String[]] | '/items/a+b/c{?q}'
+    }
+
+    def "test expansion of composite values skips null elements"() {
+        expect:
+          templateExpander.expand('/items{?ids*}{&keys*}', [ids: [1, null, 3], keys: [a: null, b: 'c']], true) ==
+                  '/items?ids=1&ids=3&b=c'
+    }
+
+    def "test expansion encodes unicode characters as UTF-8"() {
+        expect:
+          templateExpander.expand('{x}{+y}', [x: 'caf\u00e9 \ud83d\ude00', y: '%7e\u00e9%'], true) ==
+                  'caf%C3%A9+%F0%9F%98%80%257e%C3%A9%25'
+    }
+
+    def "test strict expansion encodes unicode characters as UTF-8"() {
+        given:
+          templateExpander = new UriTemplateExpander([], true)
+        expect:
+          templateExpander.expand('{x}{+y}', [x: 'caf\u00e9 \ud83d\ude00', y: '%7e\u00e9%'], true) ==
+                  'caf%C3%A9%20%F0%9F%98%80%7e%C3%A9%25'
+    }
+
+    def "test prefix does not split surrogate pairs"() {
+        expect:
+          templateExpander.expand('{x:2}', [x: '\ud83d\ude00\ud83d\ude00\ud83d\ude00'], true) ==
+                  '%F0%9F%98%80%F0%9F%98%80'
+    }
+
+    def "test expansion with UriValueResolver substitutes resolved values as is"() {
+        given:
+          def resolver = new UriValueResolver<Date>() {
+              String resolve(Date value) { '1970-01-01T00:00:00Z' }
+
+              Class<Date> getType() { Date }
+          }
+          templateExpander = new UriTemplateExpander([resolver])
+        expect:
+          templateExpander.expand('/dates/{date}{?since*}', [date: new Date(0), since: [new Date(0)]], true) ==
+                  '/dates/1970-01-01T00:00:00Z?since=1970-01-01T00:00:00Z'
+    }
+
+    def "test expansion of integral values"() {
+        expect:
+          templateExpander.expand('{x}{/y}{?z,ids*}{&p:2}', [x: -1, y: 2L, z: (short) 3, ids: [(byte) 4, 5], p: 1234], true) ==
+                  '-1/2?z=3&ids=4&ids=5&p=12'
+    }
+
+    def "test expansion of UUID and enum values"() {
+        expect:
+          templateExpander.expand('/items/{id}{?state}', [id: UUID.fromString('123e4567-e89b-12d3-a456-426655440000'), state: Thread.State.NEW], true) ==
+                  '/items/123e4567-e89b-12d3-a456-426655440000?state=NEW'
+    }
+
+    def "test expansion with UriValueResolver of superclass"() {
+        given:
+          def resolver = new UriValueResolver<Date>() {
+              String resolve(Date value) { 'date' }
+
+              Class<Date> getType() { Date }
+          }
+          templateExpander = new UriTemplateExpander([resolver])
+        expect:
+          templateExpander.expand('{x}', [x: new java.sql.Timestamp(0)], true) == 'date'
+    }
+
+    def "test expansion with UriValueResolver of interface"() {
+        given:
+          def resolver = new UriValueResolver<CharSequence>() {
+              String resolve(CharSequence value) { 'chars:' + value }
+
+              Class<CharSequence> getType() { CharSequence }
+          }
+          templateExpander = new UriTemplateExpander([resolver])
+        expect:
+          templateExpander.expand('{x}{/y*}', [x: new StringBuilder('sb'), y: ['a', 'b']], true) == 'chars:sb/chars:a/chars:b'
+    }
+
+    def "test expansion with UriValueResolver prefers superclass to interface"() {
+        given:
+          def numberResolver = new UriValueResolver<Number>() {
+              String resolve(Number value) { 'number' }
+
+              Class<Number> getType() { Number }
+          }
+          def comparableResolver = new UriValueResolver<Comparable>() {
+              String resolve(Comparable value) { 'comparable' }
+
+              Class<Comparable> getType() { Comparable }
+          }
+          templateExpander = new UriTemplateExpander([comparableResolver, numberResolver])
+        expect:
+          templateExpander.expand('{x,y}', [x: 1L, y: 'text'], true) == 'number,comparable'
+    }
+
+    def "test expansion leaves values without characters requiring encoding as is"() {
+        expect:
+          templateExpander.expand(template, values, true) == expansion
+        where:
+          template        | values                             | expansion
+          '/date/{date}'  | [date: '2017-01-23T00:00:00.000Z'] | '/date/2017-01-23T00:00:00.000Z'
+          '/users{/user}' | [user: 'me@example.com']           | '/users/me@example.com'
+          '/find{?q}'     | [q: 'a/b?c=d&e,f+g']               | '/find?q=a/b?c=d&e,f+g'
+          '/find{?q}'     | [q: 'a/b c']                       | '/find?q=a%2Fb+c'
+          '/list{;key}'   | [key: '']                          | '/list;key='
+    }
+
+    def "test strict expansion"() {
+        given:
+          templateExpander = new UriTemplateExpander([], true)
+        expect:
+          templateExpander.expand(template, values, true) == expansion
+        where:
+          template        | values                             | expansion
+          '/date/{date}'  | [date: '2017-01-23T00:00:00.000Z'] | '/date/2017-01-23T00%3A00%3A00.000Z'
+          '/users{/user}' | [user: 'me@example.com']           | '/users/me%40example.com'
+          '/find{?q}'     | [q: 'a/b?c=d&e,f+g']               | '/find?q=a%2Fb%3Fc%3Dd%26e%2Cf%2Bg'
+          '/find{?q}'     | [q: 'a/b c']                       | '/find?q=a%2Fb%20c'
+          '/list{;key}'   | [key: '']                          | '/list;key'
+          '{x,hello,y}'   | [x: 1024, hello: 'Hello World!']   | '1024,Hello%20World%21'
+          '{+x,hello,y}'  | [x: 1024, hello: 'Hello World!']   | '1024,Hello%20World!'
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri
+
+import nl.jqno.equalsverifier.EqualsVerifier
+import nl.jqno.equalsverifier.Warning
+import spock.lang.Specification
+
+class UriTemplateTest extends Specification {
+
+    def "test compile"() {
+        when:
+          def uriTemplate = UriTemplate.compile(template)
+        then:
+          uriTemplate.template == template
+          uriTemplate.variableNames == variable_names
+          uriTemplate.templated == !variable_names.isEmpty()
+          uriTemplate.parts.collect { it instanceof UriTemplate.Literal ? it.value : it.operator } == parts
+        where:
+          template                      | variable_names         | parts
+          ''                            | []                     | []
+          '/items'                      | []                     | ['/items']
+          '/items/{id}'                 | ['id']                 | ['/items/', ExpressionOperator.STRING]
+          '{/id}'                       | ['id']                 | [ExpressionOperator.PATH]
+          '/items{/id}{?page,size}'     | ['id', 'page', 'size'] | ['/items', ExpressionOperator.PATH, ExpressionOperator.FORM_STYLE_QUERY]
+          '/items{;x}/all{&y}#top'      | ['x', 'y']             | ['/items', ExpressionOperator.PATH_STYLE_PARAMETERS, '/all', ExpressionOperator.FORM_STYLE_QUERY_CONTINUATION, '#top']
+          'X{.x}{+path}{#frag}'         | ['x', 'path', 'frag']  | ['X', ExpressionOperator.LABEL, ExpressionOperator.RESERVED, ExpressionOperator.FRAGMENT]
+          '/items{?ids*,q:3}'           | ['ids', 'q']           | ['/items', ExpressionOperator.FORM_STYLE_QUERY]
+          '/items/{a.b,%2F}'            | ['a.b', '%2F']         | ['/items/', ExpressionOperator.STRING]
+          '/items/{not-a-variable}'     | []                     | ['/items/{not-a-variable}']
+          '/items/{}{x,}{.a}{a.}{a..b}' | ['a']                  | ['/items/{}{x,}', ExpressionOperator.LABEL, '{a.}{a..b}']
+          '/items/{x:0}{x:10000}{x*:1}' | []                     | ['/items/{x:0}{x:10000}{x*:1}']
+          '/items/{=x}{x'               | []                     | ['/items/{=x}{x']
+    }
+
+    def "test compiled variable specifications"() {
+        when:
+          def expression = UriTemplate.compile('/items{?page,size:3,ids*}').parts[1] as UriTemplate.Expression
+        then:
+          expression.varSpecs.collect { [it.name, it.prefixLength, it.explode, it.toString()] } == [
+                  ['page', 0, false, 'page'],
+                  ['size', 3, false, 'size:3'],
+                  ['ids', 0, true, 'ids*']
+          ]
+    }
+
+    def "test equals"() {
+        when:
+          EqualsVerifier.forClass(UriTemplate)
+                  .withIgnoredFields('parts', 'variableNames')
+                  .suppress(Warning.NULL_FIELDS)
+                  .verify()
+        then:
+          noExceptionThrown()
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2016 Richard Burrow (https://github.com/codeframes)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.codeframes.hal.tooling.link.bindings.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ValueWriterTest extends Specification {
+
+    @Unroll
+    def "test forType #type.simpleName"() {
+        expect:
+          ValueWriter.forType(type).is(writer)
+        where:
+          type          | writer
+          Integer       | ValueWriter.INTEGRAL
+          Long          | ValueWriter.INTEGRAL
+          Short         | ValueWriter.INTEGRAL
+          Byte          | ValueWriter.INTEGRAL
+          UUID          | ValueWriter.UUID_HEX
+          LinkedHashMap | ValueWriter.MAP
+          ArrayList     | ValueWriter.COLLECTION
+          HashSet       | ValueWriter.COLLECTION
+          String[]      | ValueWriter.ARRAY
+          Object[]      | ValueWriter.ARRAY
+          int[]         | ValueWriter.DEFAULT
+          String        | ValueWriter.DEFAULT
+          BigDecimal    | ValueWriter.DEFAULT
+          Thread.State  | ValueWriter.DEFAULT
+    }
+
+    @Unroll
+    def "test append #value"() {
+        given:
+          def sb = new StringBuilder()
+        when:
+          ValueWriter.forType(value.getClass()).append(sb, value, PercentEncoder.UNRESERVED, prefix_length, if_empty)
+        then:
+          sb.toString() == expected
+        where:
+          value                                                  | prefix_length | if_empty | expected
+          Long.MIN_VALUE                                         | 0             | null     | '-9223372036854775808'
+          42                                                     | 0             | ''       | '=42'
+          (short) 12345                                          | 3             | null     | '123'
+          UUID.fromString('123e4567-e89b-12d3-a456-426655440000') | 0             | null     | '123e4567-e89b-12d3-a456-426655440000'
+          new UUID(0L, 0L)                                       | 0             | '='      | '=00000000-0000-0000-0000-000000000000'
+          new UUID(-1L, -1L)                                     | 0             | null     | 'ffffffff-ffff-ffff-ffff-ffffffffffff'
+          UUID.fromString('123e4567-e89b-12d3-a456-426655440000') | 8             | null     | '123e4567'
+          'a b'                                                  | 0             | null     | 'a%20b'
+          ''                                                     | 0             | '='      | '='
+          Thread.State.NEW                                       | 0             | ''       | '=NEW'
+    }
+
+    def "test UUID matches toString"() {
+        given:
+          def uuids = (1..100).collect { UUID.randomUUID() }
+        expect:
+          uuids.every { uuid ->
+              def sb = new StringBuilder()
+              ValueWriter.UUID_HEX.append(sb, uuid, PercentEncoder.UNRESERVED, 0, null)
+              sb.toString() == uuid.toString()
+          }
+    }
+}
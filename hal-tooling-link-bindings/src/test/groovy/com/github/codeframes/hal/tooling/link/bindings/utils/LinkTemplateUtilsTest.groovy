@@ -64,6 +64,9 @@ class LinkTemplateUtilsTest extends Specification {
           '/api/{+path,p}'             | ['path', 'p']
           '/api/{.x,y}'                | ['x', 'y']
           '/api/{;z}'                  | ['z']
+          '/api{/path*}{?ids*,q:3}'    | ['path', 'ids', 'q']
+          '/api/{a.b,%2F}'             | ['a.b', '%2F']
+          '/api/{x:0}{y*:3}'           | []
     }
 
     @Unroll
@@ -81,7 +84,9 @@ class LinkTemplateUtilsTest extends Specification {
                   '/api/?query=123{#fragment}',
                   '/api/{+path,x}',
                   '/api/{.x,y}',
-                  '/api/{;x}'
+                  '/api/{;x}',
+                  '/api{?ids*}',
+                  '/api/{q:3}'
           ]
     }
 
@@ -117,7 +122,10 @@ class LinkTemplateUtilsTest extends Specification {
                   'http://localhost:8080/{+path,x}',
                   'http://localhost:8080/{.x,y}',
                   'http://localhost:8080/{;x}',
-                  'http://localhost:8080/?query=${arg}'
+                  'http://localhost:8080/?query=${arg}',
+                  'mailto:john@example.com',
+                  'urn:isbn:0451450523',
+                  'svn+ssh://example.com/{path}'
           ]
     }
 
@@ -140,7 +148,31 @@ class LinkTemplateUtilsTest extends Specification {
                   '/api/{.x,y}',
                   '/api/{;x}',
                   '/api/?query=${arg}',
-                  '\\\\'
+                  '\\\\',
+                  '',
+                  ':api',
+                  '1http://localhost:8080/',
+                  '{+base}/api',
+                  '${base}/api',
+                  'http{+rest}',
+                  'http'
           ]
     }
+
+    @Unroll
+    def "test that whether '#link_template' is absolute is static: #is_static"() {
+        expect:
+          LinkTemplateUtils.isAbsoluteStatic(link_template) == is_static
+        where:
+          link_template                     | is_static
+          ''                                | true
+          'http://localhost:8080/{+path}'   | true
+          'http://${host}/api'              | true
+          '/api/${arg}{?query}'             | true
+          'api'                             | true
+          '{+base}/api'                     | false
+          '${base}/api'                     | false
+          'http{+rest}'                     | false
+          'http${rest}'                     | false
+    }
 }
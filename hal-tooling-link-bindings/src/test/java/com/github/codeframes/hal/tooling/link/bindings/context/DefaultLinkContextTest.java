@@ -16,7 +16,9 @@
 package com.github.codeframes.hal.tooling.link.bindings.context;
 
 import com.github.codeframes.hal.tooling.link.bindings.Style;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheableLinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplate;
 import com.github.codeframes.hal.tooling.link.bindings.uri.UriTemplateExpander;
 import mockit.Injectable;
 import mockit.Mocked;
@@ -61,6 +63,33 @@ public class DefaultLinkContextTest {
         assertThat(result, not(sameInstance((LinkContext) linkContext)));
     }
 
+    @Test
+    public void testNewCursor(@Mocked final LinkELContext.Cursor mockLinkELContextCursor,
+                              @Mocked final LinkELContext newMockLinkELContext) throws Exception {
+
+        final Object bean_1 = new Object();
+        final Object bean_2 = new Object();
+
+        new StrictExpectations() {{
+            mockLinkELContext.newCursor();
+            result = mockLinkELContextCursor;
+
+            mockLinkELContextCursor.moveTo(bean_1);
+            result = newMockLinkELContext;
+
+            mockLinkELContextCursor.moveTo(bean_2);
+            result = newMockLinkELContext;
+        }};
+
+        CompiledLinkContext.Cursor cursor = linkContext.newCursor();
+        LinkContext result_1 = cursor.moveTo(bean_1);
+        LinkContext result_2 = cursor.moveTo(bean_2);
+
+        assertThat(result_1, is(notNullValue()));
+        assertThat(result_2, is(sameInstance(result_1)));
+        assertThat(result_1, not(sameInstance((LinkContext) linkContext)));
+    }
+
     @Test
     public void testEvaluateAsBoolean() {
 
@@ -95,6 +124,32 @@ public class DefaultLinkContextTest {
         assertThat(result, is(equalTo("evaluated_string")));
     }
 
+    @Test
+    public void testEvaluateAsBoolean_with_compiled_expression(@Mocked final LinkExpression mockExpression) {
+
+        new StrictExpectations() {{
+            mockExpression.getValue(mockLinkELContext);
+            result = Boolean.TRUE;
+        }};
+
+        boolean result = linkContext.evaluateAsBoolean(mockExpression);
+
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void testEvaluateAsString_with_compiled_expression(@Mocked final LinkExpression mockExpression) {
+
+        new StrictExpectations() {{
+            mockExpression.getValue(mockLinkELContext);
+            result = "evaluated_string";
+        }};
+
+        String result = linkContext.evaluateAsString(mockExpression);
+
+        assertThat(result, is(equalTo("evaluated_string")));
+    }
+
     @Test
     public void testExpand() {
 
@@ -121,6 +176,115 @@ public class DefaultLinkContextTest {
         assertThat(result, is(equalTo("/template/123")));
     }
 
+    @Test
+    public void testExpandCompiled(@Mocked final LinkExpression mockExpression) {
+
+        final String template = "/template/{id}";
+
+        Map<String, LinkExpression> bindings = new HashMap<>();
+        bindings.put("id", mockExpression);
+
+        final Map<String, Object> evaluatedBindings = new HashMap<>();
+        evaluatedBindings.put("id", 123);
+
+        new StrictExpectations() {{
+            mockExpression.getValue(mockLinkELContext);
+            result = 123;
+
+            mockUriTemplateExpander.expand(template, evaluatedBindings, true);
+            result = "/template/123";
+        }};
+
+        String result = linkContext.expandCompiled(template, bindings, true);
+
+        assertThat(result, is(equalTo("/template/123")));
+    }
+
+    @Test
+    public void testExpandCompiled_with_uriTemplate(@Mocked final LinkExpression mockExpression) {
+
+        final UriTemplate template = UriTemplate.compile("/template/{id}");
+
+        Map<String, LinkExpression> bindings = new HashMap<>();
+        bindings.put("id", mockExpression);
+
+        final Map<String, Object> evaluatedBindings = new HashMap<>();
+        evaluatedBindings.put("id", 123);
+
+        new StrictExpectations() {{
+            mockExpression.getValue(mockLinkELContext);
+            result = 123;
+
+            mockUriTemplateExpander.expand(template, evaluatedBindings, true);
+            result = "/template/123";
+        }};
+
+        String result = linkContext.expandCompiled(template, bindings, true);
+
+        assertThat(result, is(equalTo("/template/123")));
+    }
+
+    @Test
+    public void testExpandCompiled_with_expressionValueCache(@Mocked final LinkExpression mockExpression) {
+
+        final ExpressionValueCache expressionValueCache = new ExpressionValueCache();
+        final DefaultLinkContext linkContext = new DefaultLinkContext(new ELExpressionEngine(mockExpressionFactory),
+                mockLinkContextResolver, mockUriTemplateExpander, mockLinkELContext, expressionValueCache);
+
+        final String template = "/template/{id}";
+
+        Map<String, LinkExpression> bindings = new HashMap<>();
+        bindings.put("id", mockExpression);
+
+        final Map<String, Object> evaluatedBindings = new HashMap<>();
+        evaluatedBindings.put("id", 123);
+
+        new StrictExpectations() {{
+            mockExpression.getValue(mockLinkELContext);
+            result = 123;
+            times = 1;
+
+            mockUriTemplateExpander.expand(template, evaluatedBindings, true);
+            result = "/template/123";
+            times = 2;
+        }};
+
+        linkContext.expandCompiled(template, bindings, true);
+        String result = linkContext.expandCompiled(template, bindings, true);
+
+        assertThat(result, is(equalTo("/template/123")));
+        assertThat(expressionValueCache.getStatistics().getHitCount(), is(1L));
+        assertThat(expressionValueCache.getStatistics().getMissCount(), is(1L));
+    }
+
+    @Test
+    public void testForBean_with_expressionValueCache(@Mocked final LinkELContext newMockLinkELContext,
+                                                      @Mocked final LinkExpression mockExpression) {
+
+        final ExpressionValueCache expressionValueCache = new ExpressionValueCache();
+        final DefaultLinkContext linkContext = new DefaultLinkContext(new ELExpressionEngine(mockExpressionFactory),
+                mockLinkContextResolver, mockUriTemplateExpander, mockLinkELContext, expressionValueCache);
+
+        final Object bean = new Object();
+
+        new StrictExpectations() {{
+            mockExpression.getValue(mockLinkELContext);
+            result = "value";
+
+            mockLinkELContext.withInstance(bean);
+            result = newMockLinkELContext;
+
+            mockExpression.getValue(newMockLinkELContext);
+            result = "bean_value";
+        }};
+
+        linkContext.evaluateAsString(mockExpression);
+        String result = linkContext.forBean(bean).evaluateAsString(mockExpression);
+
+        assertThat(result, is(equalTo("bean_value")));
+        assertThat(expressionValueCache.getStatistics().getMissCount(), is(2L));
+    }
+
     @Test
     public void testStyle_with_ABSOLUTE() throws Exception {
 
@@ -168,4 +332,28 @@ public class DefaultLinkContextTest {
 
         assertThat(result, is(equalTo(styledTemplate)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetResolutionKey() throws Exception {
+
+        Object result = linkContext.getResolutionKey(Style.ABSOLUTE);
+
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void testGetResolutionKey_with_CacheableLinkContextResolver(@Mocked final CacheableLinkContextResolver mockCacheableLinkContextResolver) throws Exception {
+
+        final DefaultLinkContext linkContext = new DefaultLinkContext(
+                mockExpressionFactory, mockCacheableLinkContextResolver, mockUriTemplateExpander, mockLinkELContext);
+
+        new StrictExpectations() {{
+            mockCacheableLinkContextResolver.getResolutionKey(Style.ABSOLUTE);
+            result = "http://localhost:8080/";
+        }};
+
+        Object result = linkContext.getResolutionKey(Style.ABSOLUTE);
+
+        assertThat(result, is(equalTo((Object) "http://localhost:8080/")));
+    }
+}
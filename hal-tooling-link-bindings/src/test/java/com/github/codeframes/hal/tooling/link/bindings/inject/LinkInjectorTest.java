@@ -15,10 +15,17 @@
  */
 package com.github.codeframes.hal.tooling.link.bindings.inject;
 
+import com.github.codeframes.hal.tooling.core.EmbedSelector;
 import com.github.codeframes.hal.tooling.core.HalRepresentable;
+import com.github.codeframes.hal.tooling.link.bindings.api.CacheStatistics;
+import com.github.codeframes.hal.tooling.link.bindings.api.LinkContextResolver;
 import com.github.codeframes.hal.tooling.link.bindings.api.LinkTemplateFactory;
 import com.github.codeframes.hal.tooling.link.bindings.api.LiteralLinkContextResolver;
+import com.github.codeframes.hal.tooling.link.bindings.api.RelFilter;
+import com.github.codeframes.hal.tooling.link.bindings.context.ExpressionEngine;
 import com.github.codeframes.hal.tooling.link.bindings.context.LinkContext;
+import com.github.codeframes.hal.tooling.link.bindings.context.LinkELContext;
+import com.github.codeframes.hal.tooling.link.bindings.index.LinkBindingsIndexes;
 import com.github.codeframes.hal.tooling.link.bindings.uri.UriValueResolver;
 import mockit.Expectations;
 import mockit.Mocked;
@@ -28,8 +35,11 @@ import org.junit.Test;
 import javax.el.ExpressionFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 public class LinkInjectorTest {
@@ -62,7 +72,63 @@ public class LinkInjectorTest {
         }};
     }
 
-    private static class Entity implements HalRepresentable {
+    @Test
+    public void testInjectAllLinks(@Mocked final LinkSetterFactory mockLinkSetterFactory,
+                                   @Mocked final BeanLinkSetter mockBeanLinkSetter) throws Exception {
+
+        final Entity entity_1 = new Entity();
+        final Entity entity_2 = new Entity();
+
+        LinkInjector linkInjector = LinkInjector.defaultInstance();
+
+        linkInjector.injectAllLinks(Arrays.asList(entity_1, null, entity_2), new LiteralLinkContextResolver());
+
+        new Verifications() {{
+            mockLinkSetterFactory.getBeanLinkSetter(Entity.class);
+            times = 1;
+            mockBeanLinkSetter.setBeanLinks(entity_1, (LinkContext) any, RelFilter.ALL, (EmbedSelector) any);
+            times = 1;
+            mockBeanLinkSetter.setBeanLinks(entity_2, (LinkContext) any, RelFilter.ALL, (EmbedSelector) any);
+            times = 1;
+            mockBeanLinkSetter.setLinks(any, (LinkContext) any, (RelFilter) any, (EmbedSelector) any);
+            times = 0;
+        }};
+    }
+
+    @Test
+    public void testInjectAllLinks_with_null_entities(@Mocked final BeanLinkSetter mockBeanLinkSetter) throws Exception {
+
+        LinkInjector linkInjector = LinkInjector.defaultInstance();
+
+        linkInjector.injectAllLinks(null, new LiteralLinkContextResolver());
+
+        new Verifications() {{
+            mockBeanLinkSetter.setBeanLinks(any, (LinkContext) any, (RelFilter) any, (EmbedSelector) any);
+            times = 0;
+        }};
+    }
+
+    @Test
+    public void testInjectLinks_with_default_options_of_LinkInjector_not_supporting_options() throws Exception {
+
+        final Entity entity = new Entity();
+        final List<HalRepresentable> injected = new ArrayList<>();
+
+        new BasicLinkInjector(injected).injectLinks(entity, new LiteralLinkContextResolver(), null, InjectionOptions.DEFAULT);
+
+        assertEquals(Arrays.<HalRepresentable>asList(entity), injected);
+    }
+
+    @Test
+    public void testInjectLinks_with_options_of_LinkInjector_not_supporting_options() throws Exception {
+
+        final Entity entity = new Entity();
+        final List<HalRepresentable> injected = new ArrayList<>();
+
+        new BasicLinkInjector(injected).injectLinks(entity, new LiteralLinkContextResolver(), null,
+                InjectionOptions.DEFAULT.withRelFilter(RelFilter.of("self")));
+
+        assertEquals(Arrays.<HalRepresentable>asList(entity), injected);
     }
 
     @Test
@@ -89,6 +155,23 @@ public class LinkInjectorTest {
                 .expressionFactory(mockExpressionFactory)
                 .linkTemplateFactory(mockLinkTemplateFactory)
                 .uriValueResolvers(uriValueResolvers)
+                .compileLinkSetters(true)
+                .linkBindingsIndexes(LinkBindingsIndexes.empty())
+                .memoizeExpressionValues(new CacheStatistics())
+                .staticLinkCacheStatistics(new CacheStatistics())
+                .cacheHrefs(1000, new CacheStatistics())
+                .parallelInjection(new ForkJoinPool(), 1000)
+                .lazyLinks(true)
+                .build();
+
+        assertNotNull(linkInjector);
+    }
+
+    @Test
+    public void testInstanceBuilder_with_expressionEngine(@Mocked ExpressionEngine mockExpressionEngine) throws Exception {
+
+        LinkInjector linkInjector = LinkInjector.instanceBuilder()
+                .expressionEngine(mockExpressionEngine)
                 .build();
 
         assertNotNull(linkInjector);
@@ -100,6 +183,12 @@ public class LinkInjectorTest {
         LinkInjector.instanceBuilder().expressionFactory(null);
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testInstanceBuilder_with_null_expressionEngine() throws Exception {
+
+        LinkInjector.instanceBuilder().expressionEngine(null);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testInstanceBuilder_with_null_linkTemplateFactory() throws Exception {
 
@@ -111,4 +200,74 @@ public class LinkInjectorTest {
 
         LinkInjector.instanceBuilder().uriValueResolvers(null);
     }
-}
\ No newline at end of file
+
+    @Test(expected = NullPointerException.class)
+    public void testInstanceBuilder_with_null_linkBindingsIndexes() throws Exception {
+
+        LinkInjector.instanceBuilder().linkBindingsIndexes(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInstanceBuilder_with_null_expressionValueCacheStatistics() throws Exception {
+
+        LinkInjector.instanceBuilder().memoizeExpressionValues(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInstanceBuilder_with_null_staticLinkCacheStatistics() throws Exception {
+
+        LinkInjector.instanceBuilder().staticLinkCacheStatistics(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInstanceBuilder_with_null_parallelInjection_pool() throws Exception {
+
+        LinkInjector.instanceBuilder().parallelInjection(null, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInstanceBuilder_with_invalid_parallelInjection_threshold() throws Exception {
+
+        LinkInjector.instanceBuilder().parallelInjection(new ForkJoinPool(), 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testInstanceBuilder_with_null_cacheHrefs_statistics() throws Exception {
+
+        LinkInjector.instanceBuilder().cacheHrefs(1000, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInstanceBuilder_with_invalid_cacheHrefs_maximumSize() throws Exception {
+
+        LinkInjector.instanceBuilder().cacheHrefs(0, new CacheStatistics());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInstanceBuilder_with_negative_maxEmbedDepth() throws Exception {
+
+        LinkInjector.instanceBuilder().maxEmbedDepth(-1);
+    }
+
+    private static class Entity implements HalRepresentable {
+    }
+
+    private static class BasicLinkInjector extends LinkInjector {
+
+        private final List<HalRepresentable> injected;
+
+        BasicLinkInjector(List<HalRepresentable> injected) {
+            this.injected = injected;
+        }
+
+        @Override
+        public void injectLinks(HalRepresentable entity, LinkContextResolver linkContextResolver) {
+            injected.add(entity);
+        }
+
+        @Override
+        public void injectLinks(HalRepresentable entity, LinkContextResolver linkContextResolver, LinkELContext linkELContext) {
+            injected.add(entity);
+        }
+    }
+}